@@ -21,95 +21,96 @@ package org.sonar.java.externalreport;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
 import javax.annotation.Nullable;
-import javax.xml.namespace.QName;
-import javax.xml.stream.XMLEventReader;
+import javax.xml.stream.XMLStreamConstants;
 import javax.xml.stream.XMLStreamException;
-import javax.xml.stream.events.Attribute;
-import javax.xml.stream.events.StartElement;
-import javax.xml.stream.events.XMLEvent;
-import org.sonar.api.batch.fs.FilePredicates;
+import javax.xml.stream.XMLStreamReader;
 import org.sonar.api.batch.fs.InputFile;
 import org.sonar.api.batch.sensor.SensorContext;
 import org.sonar.api.utils.log.Logger;
 import org.sonar.api.utils.log.Loggers;
+import org.sonar.java.externalreport.ExternalIssueUtils.ReportEntry;
 import org.sonarsource.analyzer.commons.xml.SafetyFactory;
 
 class CheckstyleXmlReportReader {
 
   private static final Logger LOG = Loggers.get(CheckstyleXmlReportReader.class);
 
-  private static final QName CHECKSTYLE = new QName("checkstyle");
-  private static final QName FILE = new QName("file");
-  private static final QName ERROR = new QName("error");
-  private static final QName NAME = new QName("name");
-  private static final QName SOURCE = new QName("source");
-  private static final QName LINE = new QName("line");
-  private static final QName MESSAGE = new QName("message");
+  private static final String CHECKSTYLE = "checkstyle";
+  private static final String FILE = "file";
+  private static final String ERROR = "error";
+  private static final String NAME = "name";
+  private static final String SOURCE = "source";
+  private static final String LINE = "line";
+  private static final String MESSAGE = "message";
 
   private static final String CHECKSTYLE_PREFIX = "com.puppycrawl.tools.checkstyle.checks.";
 
-  private final SensorContext context;
   private final IssueConsumer consumer;
+  private final Consumer<ReportEntry> entries;
 
   private int level = 0;
 
   @Nullable
-  private InputFile inputFile = null;
+  private FileErrors fileErrors = null;
 
   @FunctionalInterface
   interface IssueConsumer {
     void onError(SensorContext context, InputFile inputFile, String key, String line, String message);
   }
 
-  private CheckstyleXmlReportReader(SensorContext context, IssueConsumer consumer) {
-    this.context = context;
+  private CheckstyleXmlReportReader(IssueConsumer consumer, Consumer<ReportEntry> entries) {
     this.consumer = consumer;
+    this.entries = entries;
   }
 
-  static void read(SensorContext context, InputStream in, IssueConsumer consumer) throws XMLStreamException, IOException {
-    new CheckstyleXmlReportReader(context, consumer).read(in);
+  static void read(InputStream in, IssueConsumer consumer, Consumer<ReportEntry> entries) throws XMLStreamException, IOException {
+    new CheckstyleXmlReportReader(consumer, entries).read(in);
   }
 
   private void read(InputStream in) throws XMLStreamException, IOException {
-    XMLEventReader reader = SafetyFactory.createXMLInputFactory().createXMLEventReader(in);
-
-    while (reader.hasNext()) {
-      XMLEvent event = reader.nextEvent();
-      if (event.isStartElement()) {
-        level++;
-        onElement(event.asStartElement());
-      } else if (event.isEndElement()) {
-        level--;
+    XMLStreamReader reader = SafetyFactory.createXMLInputFactory().createXMLStreamReader(in);
+    try {
+      while (reader.hasNext()) {
+        int event = reader.next();
+        if (event == XMLStreamConstants.START_ELEMENT) {
+          level++;
+          onElement(reader);
+        } else if (event == XMLStreamConstants.END_ELEMENT) {
+          level--;
+        }
       }
+    } finally {
+      reader.close();
     }
   }
 
-  private void onElement(StartElement element) throws IOException {
-    if (level == 1 && !CHECKSTYLE.equals(element.getName())) {
-      throw new IOException("Unexpected document root '" + element.getName().getLocalPart() + "' instead of 'checkstyle'.");
-    } else if (level == 2 && FILE.equals(element.getName())) {
+  private void onElement(XMLStreamReader element) throws IOException {
+    String elementName = element.getLocalName();
+    if (level == 1 && !CHECKSTYLE.equals(elementName)) {
+      throw new IOException("Unexpected document root '" + elementName + "' instead of 'checkstyle'.");
+    } else if (level == 2 && FILE.equals(elementName)) {
       onFileElement(element);
-    } else if (level == 3 && ERROR.equals(element.getName())) {
+    } else if (level == 3 && ERROR.equals(elementName)) {
       onErrorElement(element);
     }
   }
 
-  private void onFileElement(StartElement element) {
+  private void onFileElement(XMLStreamReader element) {
     String filePath = getAttributeValue(element, NAME);
     if (filePath.isEmpty()) {
-      inputFile = null;
+      fileErrors = null;
       return;
     }
-    FilePredicates predicates = context.fileSystem().predicates();
-    inputFile = context.fileSystem().inputFile(predicates.hasPath(filePath));
-    if (inputFile == null) {
-      LOG.warn("No input file found for '{}'. No checkstyle issues will be imported on this file.", filePath);
-    }
+    fileErrors = new FileErrors(filePath);
+    entries.accept(fileErrors);
   }
 
-  private void onErrorElement(StartElement element) {
-    if (inputFile == null) {
+  private void onErrorElement(XMLStreamReader element) {
+    if (fileErrors == null) {
       return;
     }
     String source = getAttributeValue(element, SOURCE);
@@ -124,12 +125,45 @@ class CheckstyleXmlReportReader {
       return;
     }
     String key = source.substring(CHECKSTYLE_PREFIX.length());
-    consumer.onError(context, inputFile, key, line, message);
+    fileErrors.errors.add(new CheckstyleError(key, line, message));
+  }
+
+  private static String getAttributeValue(XMLStreamReader element, String attributeName) {
+    String value = element.getAttributeValue(null, attributeName);
+    return value != null ? value : "";
   }
 
-  private static String getAttributeValue(StartElement element, QName attributeName) {
-    Attribute attribute = element.getAttributeByName(attributeName);
-    return attribute != null ? attribute.getValue() : "";
+  private class FileErrors implements ReportEntry {
+    private final String filePath;
+    private final List<CheckstyleError> errors = new ArrayList<>();
+
+    private FileErrors(String filePath) {
+      this.filePath = filePath;
+    }
+
+    @Override
+    public void save(SensorContext context, InputFileCache inputFiles) {
+      InputFile inputFile = inputFiles.inputFile(filePath);
+      if (inputFile == null) {
+        LOG.warn("No input file found for '{}'. No checkstyle issues will be imported on this file.", filePath);
+        return;
+      }
+      for (CheckstyleError error : errors) {
+        consumer.onError(context, inputFile, error.key, error.line, error.message);
+      }
+    }
+  }
+
+  private static class CheckstyleError {
+    private final String key;
+    private final String line;
+    private final String message;
+
+    private CheckstyleError(String key, String line, String message) {
+      this.key = key;
+      this.line = line;
+      this.message = message;
+    }
   }
 
 }
@@ -20,7 +20,13 @@
 package org.sonar.java.externalreport;
 
 import java.io.File;
-import java.util.function.BiConsumer;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import javax.annotation.Nullable;
+import javax.xml.stream.XMLStreamException;
 import org.sonar.api.batch.fs.InputFile;
 import org.sonar.api.batch.sensor.SensorContext;
 import org.sonar.api.batch.sensor.issue.NewExternalIssue;
@@ -37,12 +43,27 @@ public final class ExternalIssueUtils {
     // utility class
   }
 
-  public static void importIfExist(String linterName, SensorContext sensorContext,  File reportFile, BiConsumer<File, SensorContext> importFunction) {
+  /**
+   * Reports are read concurrently, without accessing the sensor context. Their issues are then saved from the calling
+   * thread, following the order of the reports.
+   */
+  static void importReports(String linterName, SensorContext context, List<File> reportFiles, ReportReader reportReader) {
+    List<File> existingReports = reportFiles.stream()
+      .filter(reportFile -> exists(linterName, reportFile))
+      .collect(Collectors.toList());
+    List<ReadReport> readReports = existingReports.parallelStream()
+      .map(reportFile -> ReadReport.read(reportFile, reportReader))
+      .collect(Collectors.toList());
+    InputFileCache inputFiles = new InputFileCache(context.fileSystem());
+    readReports.forEach(readReport -> readReport.save(context, inputFiles));
+  }
+
+  private static boolean exists(String linterName, File reportFile) {
     if (!reportFile.exists()) {
       LOG.warn("{} report not found: {}", linterName, reportFile);
-      return;
+      return false;
     }
-    importFunction.accept(reportFile, sensorContext);
+    return true;
   }
 
   public static void saveIssue(SensorContext context, ExternalRuleLoader ruleLoader, InputFile inputFile, String engineId, String ruleId, String line, String message) {
@@ -68,4 +89,51 @@ public final class ExternalIssueUtils {
       .save();
   }
 
+  @FunctionalInterface
+  interface ReportReader {
+    void read(File reportFile, Consumer<ReportEntry> entries) throws XMLStreamException, IOException;
+  }
+
+  /**
+   * Part of a report, read from any thread, whose issues are saved from the sensor thread.
+   */
+  @FunctionalInterface
+  interface ReportEntry {
+    void save(SensorContext context, InputFileCache inputFiles);
+  }
+
+  private static final class ReadReport {
+    private final File reportFile;
+    private final List<ReportEntry> entries = new ArrayList<>();
+    @Nullable
+    private Exception failure = null;
+
+    private ReadReport(File reportFile) {
+      this.reportFile = reportFile;
+    }
+
+    private static ReadReport read(File reportFile, ReportReader reportReader) {
+      ReadReport readReport = new ReadReport(reportFile);
+      try {
+        reportReader.read(reportFile, readReport.entries::add);
+      } catch (Exception e) {
+        // entries read before the failure are still imported
+        readReport.failure = e;
+      }
+      return readReport;
+    }
+
+    private void save(SensorContext context, InputFileCache inputFiles) {
+      LOG.info("Importing {}", reportFile);
+      try {
+        entries.forEach(entry -> entry.save(context, inputFiles));
+      } catch (Exception e) {
+        failure = e;
+      }
+      if (failure != null) {
+        LOG.error("Failed to import external issues report: " + reportFile, failure);
+      }
+    }
+  }
+
 }
@@ -0,0 +1,49 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2020 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java.externalreport;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import javax.annotation.CheckForNull;
+import org.sonar.api.batch.fs.FileSystem;
+import org.sonar.api.batch.fs.InputFile;
+
+/**
+ * Resolves paths referenced by external reports to input files, each path being resolved only once.
+ * Not thread-safe: only used while saving issues, from the sensor thread.
+ */
+final class InputFileCache {
+
+  private final FileSystem fileSystem;
+  private final Map<String, Optional<InputFile>> inputFilesByPath = new HashMap<>();
+
+  InputFileCache(FileSystem fileSystem) {
+    this.fileSystem = fileSystem;
+  }
+
+  @CheckForNull
+  InputFile inputFile(String path) {
+    return inputFilesByPath
+      .computeIfAbsent(path, p -> Optional.ofNullable(fileSystem.inputFile(fileSystem.predicates().hasPath(p))))
+      .orElse(null);
+  }
+
+}
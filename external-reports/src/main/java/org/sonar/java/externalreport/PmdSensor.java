@@ -24,17 +24,13 @@ import java.util.List;
 import org.sonar.api.batch.sensor.Sensor;
 import org.sonar.api.batch.sensor.SensorContext;
 import org.sonar.api.batch.sensor.SensorDescriptor;
-import org.sonar.api.utils.log.Logger;
-import org.sonar.api.utils.log.Loggers;
 import org.sonarsource.analyzer.commons.ExternalReportProvider;
 import org.sonarsource.analyzer.commons.ExternalRuleLoader;
 
-import static org.sonar.java.externalreport.ExternalIssueUtils.importIfExist;
+import static org.sonar.java.externalreport.ExternalIssueUtils.importReports;
 
 public class PmdSensor implements Sensor {
 
-  private static final Logger LOG = Loggers.get(PmdSensor.class);
-
   public static final String REPORT_PROPERTY_KEY = "sonar.java.pmd.reportPaths";
 
   public static final String LINTER_KEY = "pmd";
@@ -57,16 +53,7 @@ public class PmdSensor implements Sensor {
   @Override
   public void execute(SensorContext context) {
     List<File> reportFiles = ExternalReportProvider.getReportFiles(context, REPORT_PROPERTY_KEY);
-    reportFiles.forEach(report -> importIfExist(LINTER_NAME, context, report, PmdSensor::importReport));
-  }
-
-  private static void importReport(File reportFile, SensorContext context) {
-    try {
-      LOG.info("Importing {}", reportFile);
-      PmdXmlReportReader.read(context, reportFile, RULE_LOADER);
-    } catch (Exception e) {
-      LOG.error("Failed to import external issues report: " + reportFile.getAbsolutePath(), e);
-    }
+    importReports(LINTER_NAME, context, reportFiles, (reportFile, entries) -> PmdXmlReportReader.read(reportFile, RULE_LOADER, entries));
   }
 
 }
@@ -23,15 +23,15 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import javax.xml.namespace.QName;
-import javax.xml.stream.XMLEventReader;
+import java.util.function.Consumer;
+import javax.annotation.Nullable;
+import javax.xml.stream.XMLStreamConstants;
 import javax.xml.stream.XMLStreamException;
-import javax.xml.stream.events.Attribute;
-import javax.xml.stream.events.StartElement;
-import javax.xml.stream.events.XMLEvent;
-import org.sonar.api.batch.fs.FilePredicates;
+import javax.xml.stream.XMLStreamReader;
 import org.sonar.api.batch.fs.InputFile;
 import org.sonar.api.batch.fs.TextRange;
 import org.sonar.api.batch.rule.Severity;
@@ -41,6 +41,7 @@ import org.sonar.api.batch.sensor.issue.NewIssueLocation;
 import org.sonar.api.rules.RuleType;
 import org.sonar.api.utils.log.Logger;
 import org.sonar.api.utils.log.Loggers;
+import org.sonar.java.externalreport.ExternalIssueUtils.ReportEntry;
 import org.sonarsource.analyzer.commons.ExternalRuleLoader;
 import org.sonarsource.analyzer.commons.xml.SafetyFactory;
 
@@ -50,102 +51,66 @@ public class PmdXmlReportReader {
 
   private static final Map<Integer, Severity> SEVERITIES = severities();
 
-  private final SensorContext context;
   private final File reportFile;
   private final ExternalRuleLoader ruleLoader;
+  private final Consumer<ReportEntry> entries;
 
-  private InputFile inputFile = null;
-  private NewExternalIssue issue = null;
-  private NewIssueLocation issueLocation = null;
+  @Nullable
+  private FileViolations fileViolations = null;
+  @Nullable
+  private Violation violation = null;
   private StringBuilder issueMessage = new StringBuilder();
 
-  public PmdXmlReportReader(SensorContext context, File reportFile, ExternalRuleLoader ruleLoader) {
-    this.context = context;
+  private PmdXmlReportReader(File reportFile, ExternalRuleLoader ruleLoader, Consumer<ReportEntry> entries) {
     this.reportFile = reportFile;
     this.ruleLoader = ruleLoader;
+    this.entries = entries;
   }
 
-  public static void read(SensorContext context, File reportFile, ExternalRuleLoader ruleLoader) throws XMLStreamException, IOException {
-    new PmdXmlReportReader(context, reportFile, ruleLoader).parse();
+  static void read(File reportFile, ExternalRuleLoader ruleLoader, Consumer<ReportEntry> entries) throws XMLStreamException, IOException {
+    new PmdXmlReportReader(reportFile, ruleLoader, entries).parse();
   }
 
   private void parse() throws XMLStreamException, IOException {
     try (InputStream inputStream = new FileInputStream(reportFile)) {
-      XMLEventReader reader = SafetyFactory.createXMLInputFactory().createXMLEventReader(inputStream);
-      while (reader.hasNext()) {
-        onXmlEvent(reader.nextEvent());
+      XMLStreamReader reader = SafetyFactory.createXMLInputFactory().createXMLStreamReader(inputStream);
+      try {
+        while (reader.hasNext()) {
+          onXmlEvent(reader.next(), reader);
+        }
+      } finally {
+        reader.close();
       }
     }
   }
 
-  private void onXmlEvent(XMLEvent event) {
-    if (event.isStartElement()) {
-      StartElement element = event.asStartElement();
-      String elementName = element.getName().getLocalPart();
+  private void onXmlEvent(int event, XMLStreamReader reader) {
+    if (event == XMLStreamConstants.START_ELEMENT) {
+      String elementName = reader.getLocalName();
       if ("file".equals(elementName)) {
-        String filePath = getAttributeValue(element, "name");
-        FilePredicates predicates = context.fileSystem().predicates();
-        inputFile = context.fileSystem().inputFile(predicates.hasPath(filePath));
-        if (inputFile == null) {
-          LOG.warn("No input file found for {}. No PMD issue will be imported on this file.", filePath);
-        }
-      } else if ("violation".equals(elementName) && inputFile != null) {
-        onViolationStartElement(element);
+        fileViolations = new FileViolations(getAttributeValue(reader, "name"));
+        entries.accept(fileViolations);
+      } else if ("violation".equals(elementName) && fileViolations != null) {
+        violation = new Violation(reader);
+        issueMessage = new StringBuilder();
       }
 
-    } else if (event.isCharacters()) {
-      issueMessage.append(event.asCharacters().getData());
-
-    } else if (event.isEndElement()
-      && "violation".equals(event.asEndElement().getName().getLocalPart())
-      && inputFile != null
-      && issue != null) {
-      issueLocation.message(issueMessage.toString());
-      issue.at(issueLocation).save();
-    }
-  }
+    } else if (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA || event == XMLStreamConstants.SPACE) {
+      issueMessage.append(reader.getText());
 
-  private void onViolationStartElement(StartElement element) {
-    try {
-      TextRange textRange = textRange(element);
-      String ruleId = getAttributeValue(element, "rule");
-      issue = context.newExternalIssue()
-        .engineId(PmdSensor.LINTER_KEY)
-        .ruleId(ruleId)
-        .type(RuleType.CODE_SMELL)
-        .severity(SEVERITIES.get(getAttributeAsInt(element, "priority")))
-        .remediationEffortMinutes(ruleLoader.ruleConstantDebtMinutes(ruleId));
-      issueLocation = issue.newLocation()
-        .on(inputFile)
-        .at(textRange);
-      issueMessage = new StringBuilder();
-    } catch (RuntimeException e) {
-      int lineNumber = element.getLocation().getLineNumber();
-      LOG.warn("Can't import issue at line " + lineNumber + " in " + reportFile + ": " + e.getMessage());
-      issue = null;
+    } else if (event == XMLStreamConstants.END_ELEMENT
+      && "violation".equals(reader.getLocalName())
+      && fileViolations != null
+      && violation != null) {
+      violation.message = issueMessage.toString();
+      fileViolations.violations.add(violation);
+      violation = null;
     }
   }
 
-  private TextRange textRange(StartElement violationElement) {
-    Integer beginLine = getAttributeAsInt(violationElement, "beginline");
-    try {
-      Integer endLine = getAttributeAsInt(violationElement, "endline");
-      Integer beginColumn = getAttributeAsInt(violationElement, "begincolumn");
-      Integer endColumn = getAttributeAsInt(violationElement, "endcolumn");
-      return inputFile.newRange(beginLine, beginColumn - 1, endLine, endColumn);
-    } catch (RuntimeException e) {
-      // Some PMD rules seem to report invalid line offsets, e.g. TooManyStaticImports
-      return inputFile.selectLine(beginLine);
-    }
-  }
-
-  private static String getAttributeValue(StartElement startElement, String attributeName) {
-    Attribute attribute = startElement.getAttributeByName(new QName(attributeName));
-    return attribute == null ? "" : attribute.getValue();
-  }
-
-  private static Integer getAttributeAsInt(StartElement startElement, String attributeName) {
-    return Integer.parseInt(getAttributeValue(startElement, attributeName));
+  private static String getAttributeValue(XMLStreamReader element, String attributeName) {
+    String value = element.getAttributeValue(null, attributeName);
+    return value == null ? "" : value;
   }
 
   private static Map<Integer, Severity> severities() {
@@ -158,4 +123,78 @@ public class PmdXmlReportReader {
     return map;
   }
 
+  private class FileViolations implements ReportEntry {
+    private final String filePath;
+    private final List<Violation> violations = new ArrayList<>();
+
+    private FileViolations(String filePath) {
+      this.filePath = filePath;
+    }
+
+    @Override
+    public void save(SensorContext context, InputFileCache inputFiles) {
+      InputFile inputFile = inputFiles.inputFile(filePath);
+      if (inputFile == null) {
+        LOG.warn("No input file found for {}. No PMD issue will be imported on this file.", filePath);
+        return;
+      }
+      for (Violation fileViolation : violations) {
+        fileViolation.save(context, inputFile);
+      }
+    }
+  }
+
+  private class Violation {
+    private final int lineNumber;
+    private final String ruleId;
+    private final String priority;
+    private final String beginLine;
+    private final String endLine;
+    private final String beginColumn;
+    private final String endColumn;
+    private String message = "";
+
+    private Violation(XMLStreamReader element) {
+      lineNumber = element.getLocation().getLineNumber();
+      ruleId = getAttributeValue(element, "rule");
+      priority = getAttributeValue(element, "priority");
+      beginLine = getAttributeValue(element, "beginline");
+      endLine = getAttributeValue(element, "endline");
+      beginColumn = getAttributeValue(element, "begincolumn");
+      endColumn = getAttributeValue(element, "endcolumn");
+    }
+
+    private void save(SensorContext context, InputFile inputFile) {
+      NewExternalIssue issue;
+      NewIssueLocation issueLocation;
+      try {
+        TextRange textRange = textRange(inputFile);
+        issue = context.newExternalIssue()
+          .engineId(PmdSensor.LINTER_KEY)
+          .ruleId(ruleId)
+          .type(RuleType.CODE_SMELL)
+          .severity(SEVERITIES.get(Integer.parseInt(priority)))
+          .remediationEffortMinutes(ruleLoader.ruleConstantDebtMinutes(ruleId));
+        issueLocation = issue.newLocation()
+          .on(inputFile)
+          .at(textRange);
+      } catch (RuntimeException e) {
+        LOG.warn("Can't import issue at line " + lineNumber + " in " + reportFile + ": " + e.getMessage());
+        return;
+      }
+      issueLocation.message(message);
+      issue.at(issueLocation).save();
+    }
+
+    private TextRange textRange(InputFile inputFile) {
+      int beginLineNumber = Integer.parseInt(beginLine);
+      try {
+        return inputFile.newRange(beginLineNumber, Integer.parseInt(beginColumn) - 1, Integer.parseInt(endLine), Integer.parseInt(endColumn));
+      } catch (RuntimeException e) {
+        // Some PMD rules seem to report invalid line offsets, e.g. TooManyStaticImports
+        return inputFile.selectLine(beginLineNumber);
+      }
+    }
+  }
+
 }
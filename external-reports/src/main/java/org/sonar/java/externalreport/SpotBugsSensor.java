@@ -21,24 +21,24 @@ package org.sonar.java.externalreport;
 
 import java.io.File;
 import java.io.FileInputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
+import javax.xml.stream.XMLStreamException;
 import org.sonar.api.batch.sensor.Sensor;
 import org.sonar.api.batch.sensor.SensorContext;
 import org.sonar.api.batch.sensor.SensorDescriptor;
-import org.sonar.api.utils.log.Logger;
-import org.sonar.api.utils.log.Loggers;
+import org.sonar.java.externalreport.ExternalIssueUtils.ReportEntry;
 import org.sonarsource.analyzer.commons.ExternalReportProvider;
 import org.sonarsource.analyzer.commons.ExternalRuleLoader;
 
-import static org.sonar.java.externalreport.ExternalIssueUtils.importIfExist;
+import static org.sonar.java.externalreport.ExternalIssueUtils.importReports;
 
 public class SpotBugsSensor implements Sensor {
 
-  private static final Logger LOG = Loggers.get(SpotBugsSensor.class);
-
   public static final String SPOTBUGS_KEY = "spotbugs";
   private static final String SPOTBUGS_NAME = "SpotBugs";
   public static final String FINDSECBUGS_KEY = "findsecbugs";
@@ -78,19 +78,15 @@ public class SpotBugsSensor implements Sensor {
   @Override
   public void execute(SensorContext context) {
     List<File> reportFiles = ExternalReportProvider.getReportFiles(context, REPORT_PROPERTY_KEY);
-    reportFiles.forEach(report -> importIfExist(SPOTBUGS_NAME, context, report, SpotBugsSensor::importReport));
+    importReports(SPOTBUGS_NAME, context, reportFiles, SpotBugsSensor::readReport);
   }
 
-  private static void importReport(File reportPath, SensorContext context) {
-    try (InputStream in = new FileInputStream(reportPath)) {
-      LOG.info("Importing {}", reportPath);
-
+  private static void readReport(File reportFile, Consumer<ReportEntry> entries) throws XMLStreamException, IOException {
+    try (InputStream in = new FileInputStream(reportFile)) {
       Map<String, ExternalRuleLoader> otherLoaders = new HashMap<>();
       otherLoaders.put(FINDSECBUGS_KEY, FINDSECBUGS_LOADER);
       otherLoaders.put(FBCONTRIB_KEY, FBCONTRIB_LOADER);
-      SpotBugsXmlReportReader.read(context, in, RULE_LOADER, otherLoaders);
-    } catch (Exception e) {
-      LOG.error("Failed to import external issues report: " + reportPath, e);
+      SpotBugsXmlReportReader.read(in, RULE_LOADER, otherLoaders, entries);
     }
   }
 
@@ -23,21 +23,20 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Deque;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
-import javax.xml.namespace.QName;
-import javax.xml.stream.XMLEventReader;
+import java.util.function.Consumer;
+import javax.xml.stream.XMLStreamConstants;
 import javax.xml.stream.XMLStreamException;
-import javax.xml.stream.events.Attribute;
-import javax.xml.stream.events.StartElement;
-import javax.xml.stream.events.XMLEvent;
-import org.sonar.api.batch.fs.FilePredicates;
+import javax.xml.stream.XMLStreamReader;
 import org.sonar.api.batch.fs.InputFile;
 import org.sonar.api.batch.sensor.SensorContext;
 import org.sonar.api.utils.log.Logger;
 import org.sonar.api.utils.log.Loggers;
+import org.sonar.java.externalreport.ExternalIssueUtils.ReportEntry;
 import org.sonarsource.analyzer.commons.ExternalRuleLoader;
 import org.sonarsource.analyzer.commons.xml.SafetyFactory;
 
@@ -45,58 +44,69 @@ public class SpotBugsXmlReportReader {
 
   private static final Logger LOG = Loggers.get(SpotBugsXmlReportReader.class);
 
-  private static final QName TYPE_ATTRIBUTE = new QName("type");
-  private static final QName SOURCE_PATH_ATTRIBUTE = new QName("sourcepath");
-  private static final QName START_ATTRIBUTE = new QName("start");
+  private static final String TYPE_ATTRIBUTE = "type";
+  private static final String SOURCE_PATH_ATTRIBUTE = "sourcepath";
+  private static final String START_ATTRIBUTE = "start";
 
-  private final SensorContext context;
   private final ExternalRuleLoader defaultRuleLoader;
   private final Map<String, ExternalRuleLoader> otherLoaders;
+  private final Consumer<ReportEntry> entries;
 
-  private List<String> sourceDirs = new ArrayList<>();
+  /**
+   * Never modified once shared with the read bug instances: a new list is created for each source directory.
+   */
+  private List<String> sourceDirs = Collections.emptyList();
   private String bugInstanceType = "";
   private String bugInstanceLongMessage = "";
   private String sourceLinePath = "";
   private String sourceLineStart = "";
   private StringBuilder textBuilder = null;
 
-  private SpotBugsXmlReportReader(SensorContext context, ExternalRuleLoader defaultRuleLoader, Map<String, ExternalRuleLoader> otherLoaders) {
-    this.context = context;
+  private SpotBugsXmlReportReader(ExternalRuleLoader defaultRuleLoader, Map<String, ExternalRuleLoader> otherLoaders, Consumer<ReportEntry> entries) {
     this.defaultRuleLoader = defaultRuleLoader;
     this.otherLoaders = otherLoaders;
+    this.entries = entries;
   }
 
-  static void read(SensorContext context, InputStream in, ExternalRuleLoader defaultRuleLoader, Map<String, ExternalRuleLoader> otherLoaders)
+  static void read(InputStream in, ExternalRuleLoader defaultRuleLoader, Map<String, ExternalRuleLoader> otherLoaders, Consumer<ReportEntry> entries)
     throws XMLStreamException, IOException {
-    new SpotBugsXmlReportReader(context, defaultRuleLoader, otherLoaders).read(in);
+    new SpotBugsXmlReportReader(defaultRuleLoader, otherLoaders, entries).read(in);
   }
 
   private void read(InputStream in) throws XMLStreamException, IOException {
-    XMLEventReader reader = SafetyFactory.createXMLInputFactory().createXMLEventReader(in);
-    Deque<String> elementStack = new LinkedList<>();
-    while (reader.hasNext()) {
-      XMLEvent event = reader.nextEvent();
-      if (event.isStartElement()) {
-        String elementName = event.asStartElement().getName().getLocalPart();
-        if (elementStack.isEmpty() && !"BugCollection".equals(elementName)) {
-          throw new IOException("Unexpected document root '" + elementName + "' instead of 'BugCollection'.");
+    XMLStreamReader reader = SafetyFactory.createXMLInputFactory().createXMLStreamReader(in);
+    try {
+      Deque<String> elementStack = new LinkedList<>();
+      while (reader.hasNext()) {
+        int event = reader.next();
+        if (event == XMLStreamConstants.START_ELEMENT) {
+          String elementName = reader.getLocalName();
+          if (elementStack.isEmpty() && !"BugCollection".equals(elementName)) {
+            throw new IOException("Unexpected document root '" + elementName + "' instead of 'BugCollection'.");
+          }
+          elementStack.add(elementName);
+          onStartElement(xpath(elementStack), reader);
+        } else if (event == XMLStreamConstants.END_ELEMENT) {
+          onEndElement(xpath(elementStack));
+          elementStack.removeLast();
+        } else if (isCharacters(event) && textBuilder != null) {
+          textBuilder.append(reader.getText());
         }
-        elementStack.add(elementName);
-        onStartElement(xpath(elementStack), event.asStartElement());
-      } else if (event.isEndElement()) {
-        onEndElement(xpath(elementStack));
-        elementStack.removeLast();
-      } else if (event.isCharacters() && textBuilder != null) {
-        textBuilder.append(event.asCharacters().getData());
       }
+    } finally {
+      reader.close();
     }
   }
 
+  private static boolean isCharacters(int event) {
+    return event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA || event == XMLStreamConstants.SPACE;
+  }
+
   private static String xpath(Deque<String> elementStack) {
     return String.join("/", elementStack);
   }
 
-  private void onStartElement(String xpath, StartElement element) {
+  private void onStartElement(String xpath, XMLStreamReader element) {
     switch (xpath) {
       case "BugCollection/BugInstance":
         bugInstanceType = getAttributeValue(element, TYPE_ATTRIBUTE);
@@ -131,7 +141,9 @@ public class SpotBugsXmlReportReader {
         break;
       case "BugCollection/Project/SrcDir":
         if(textBuilder != null) {
-          sourceDirs.add(textBuilder.toString());
+          List<String> newSourceDirs = new ArrayList<>(sourceDirs);
+          newSourceDirs.add(textBuilder.toString());
+          sourceDirs = newSourceDirs;
           textBuilder = null;
         }
         break;
@@ -158,12 +170,6 @@ public class SpotBugsXmlReportReader {
       LOG.debug("Unexpected empty 'BugCollection/BugInstance/LongMessage/text()' for bug '{}'", bugInstanceType);
       return;
     }
-    InputFile inputFile = findInputFile(context, sourceDirs, sourceLinePath);
-    if (inputFile == null) {
-      LOG.warn("No input file found for '{}'. No SpotBugs issues will be imported on this file.", sourceLinePath);
-      return;
-    }
-
     String engineId = SpotBugsSensor.SPOTBUGS_KEY;
     ExternalRuleLoader ruleLoader = defaultRuleLoader;
     for (Map.Entry<String, ExternalRuleLoader> otherLoader : otherLoaders.entrySet()) {
@@ -172,20 +178,49 @@ public class SpotBugsXmlReportReader {
         engineId = otherLoader.getKey();
       }
     }
-    ExternalIssueUtils.saveIssue(context, ruleLoader, inputFile, engineId, bugInstanceType, sourceLineStart, bugInstanceLongMessage);
+    entries.accept(new BugInstance(sourceDirs, sourceLinePath, ruleLoader, engineId, bugInstanceType, sourceLineStart, bugInstanceLongMessage));
   }
 
-  private static String getAttributeValue(StartElement element, QName attributeName) {
-    Attribute attribute = element.getAttributeByName(attributeName);
-    return attribute != null ? attribute.getValue() : "";
+  private static String getAttributeValue(XMLStreamReader element, String attributeName) {
+    String value = element.getAttributeValue(null, attributeName);
+    return value != null ? value : "";
+  }
+
+  private static class BugInstance implements ReportEntry {
+    private final List<String> sourceDirs;
+    private final String sourceLinePath;
+    private final ExternalRuleLoader ruleLoader;
+    private final String engineId;
+    private final String type;
+    private final String line;
+    private final String message;
+
+    private BugInstance(List<String> sourceDirs, String sourceLinePath, ExternalRuleLoader ruleLoader, String engineId, String type, String line, String message) {
+      this.sourceDirs = sourceDirs;
+      this.sourceLinePath = sourceLinePath;
+      this.ruleLoader = ruleLoader;
+      this.engineId = engineId;
+      this.type = type;
+      this.line = line;
+      this.message = message;
+    }
+
+    @Override
+    public void save(SensorContext context, InputFileCache inputFiles) {
+      InputFile inputFile = findInputFile(inputFiles, sourceDirs, sourceLinePath);
+      if (inputFile == null) {
+        LOG.warn("No input file found for '{}'. No SpotBugs issues will be imported on this file.", sourceLinePath);
+        return;
+      }
+      ExternalIssueUtils.saveIssue(context, ruleLoader, inputFile, engineId, type, line, message);
+    }
   }
 
-  private static InputFile findInputFile(SensorContext context, List<String> sourceDirs, String relativeLinuxPath) {
-    FilePredicates predicates = context.fileSystem().predicates();
+  private static InputFile findInputFile(InputFileCache inputFiles, List<String> sourceDirs, String relativeLinuxPath) {
     InputFile inputFile = null;
     for (String sourceDir : sourceDirs) {
       File sourceFile = new File(sourceDir, relativeLinuxPath);
-      inputFile = context.fileSystem().inputFile(predicates.hasPath(sourceFile.toString()));
+      inputFile = inputFiles.inputFile(sourceFile.toString());
       if (inputFile != null) {
         break;
       }
@@ -125,6 +125,23 @@ public class CheckstyleSensorTest {
     assertThat(logTester.logs(LoggerLevel.ERROR)).isEmpty();
   }
 
+  @Test
+  public void issues_of_multiple_reports_are_imported_in_order() throws IOException {
+    SensorContextTester context = ExternalReportTestUtils.createContext(PROJECT_DIR);
+    File validReport = ExternalReportTestUtils.generateReport(PROJECT_DIR, tmp, "checkstyle-result.xml");
+    File invalidReport = ExternalReportTestUtils.generateReport(PROJECT_DIR, tmp, "not-checkstyle-file.xml");
+    File reportWithErrors = ExternalReportTestUtils.generateReport(PROJECT_DIR, tmp, "checkstyle-with-errors.xml");
+    context.settings().setProperty("sonar.java.checkstyle.reportPaths", validReport.getPath() + "," + invalidReport.getPath() + "," + reportWithErrors.getPath());
+    checkstyleSensor.execute(context);
+
+    assertThat(context.allExternalIssues())
+      .extracting(issue -> issue.ruleKey().rule())
+      .containsExactly("javadoc.JavadocPackageCheck", "modifier.ModifierOrderCheck", "javadoc.JavadocTypeCheck", "UnknownRuleKey");
+    assertThat(onlyOneLogElement(logTester.logs(LoggerLevel.ERROR)))
+      .startsWith("Failed to import external issues report:")
+      .endsWith("not-checkstyle-file.xml");
+  }
+
   @Test
   public void no_issues_without_report_paths_property() throws IOException {
     List<ExternalIssue> externalIssues = executeSensorImporting(null);
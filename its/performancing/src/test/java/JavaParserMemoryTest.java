@@ -0,0 +1,85 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2013-2020 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+import com.sonar.sslr.api.RecognitionException;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.sonar.java.model.JParser;
+import org.sonar.plugins.java.api.tree.CompilationUnitTree;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Measures the heap retained by the syntax trees of the java-checks-test-sources files, all kept alive at the same time.
+ * Fails when a line of code retains more heap than the bound, which was about 1550 bytes when measured.
+ */
+public class JavaParserMemoryTest {
+
+  private static final Logger LOG = LoggerFactory.getLogger(JavaParserMemoryTest.class);
+  private static final Path SOURCES = Paths.get("../../java-checks-test-sources/src/main/java");
+  private static final long MAX_RETAINED_BYTES_PER_LINE = 2_000;
+
+  @Test
+  public void retained_heap_of_syntax_trees() throws IOException {
+    List<Path> files;
+    try (Stream<Path> paths = Files.walk(SOURCES)) {
+      files = paths.filter(path -> path.toString().endsWith(".java")).collect(Collectors.toList());
+    }
+
+    List<CompilationUnitTree> trees = new ArrayList<>(files.size());
+    long lines = 0;
+    long heapBefore = usedHeap();
+    for (Path file : files) {
+      String source = new String(Files.readAllBytes(file), UTF_8);
+      lines += source.chars().filter(c -> c == '\n').count();
+      try {
+        trees.add(JParser.parse(JParser.MAXIMUM_SUPPORTED_JAVA_VERSION, file.getFileName().toString(), source, Collections.emptyList(), false));
+      } catch (RecognitionException e) {
+        // files which can not be parsed are not part of the measure
+      }
+    }
+    long retainedHeap = usedHeap() - heapBefore;
+    long retainedBytesPerLine = retainedHeap / Math.max(1, lines);
+
+    LOG.info(String.format("Syntax trees of %d files (%d lines): %d MB retained, %d bytes per line",
+      trees.size(), lines, retainedHeap / (1024 * 1024), retainedBytesPerLine));
+    assertThat(trees).isNotEmpty();
+    assertThat(retainedBytesPerLine).isLessThanOrEqualTo(MAX_RETAINED_BYTES_PER_LINE);
+  }
+
+  private static long usedHeap() {
+    for (int i = 0; i < 3; i++) {
+      System.gc();
+    }
+    return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+  }
+
+}
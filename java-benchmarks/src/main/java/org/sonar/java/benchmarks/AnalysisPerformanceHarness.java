@@ -0,0 +1,313 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2020 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java.benchmarks;
+
+import com.google.gson.Gson;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import org.sonar.api.batch.fs.InputFile;
+import org.sonar.api.batch.fs.internal.TestInputFileBuilder;
+import org.sonar.api.batch.rule.ActiveRules;
+import org.sonar.api.batch.rule.CheckFactory;
+import org.sonar.api.batch.rule.internal.ActiveRulesBuilder;
+import org.sonar.api.batch.rule.internal.NewActiveRule;
+import org.sonar.api.batch.sensor.internal.SensorContextTester;
+import org.sonar.api.config.internal.MapSettings;
+import org.sonar.api.issue.NoSonarFilter;
+import org.sonar.api.measures.FileLinesContext;
+import org.sonar.api.rule.RuleKey;
+import org.sonar.api.utils.AnnotationUtils;
+import org.sonar.check.Rule;
+import org.sonar.java.AnalysisTimings;
+import org.sonar.java.DefaultJavaResourceLocator;
+import org.sonar.java.JavaClasspath;
+import org.sonar.java.JavaClasspathProperties;
+import org.sonar.java.JavaSquid;
+import org.sonar.java.JavaTestClasspath;
+import org.sonar.java.Measurer;
+import org.sonar.java.RspecKey;
+import org.sonar.java.SonarComponents;
+import org.sonar.java.checks.CheckList;
+import org.sonar.java.model.JavaVersionImpl;
+import org.sonar.java.se.SymbolicExecutionVisitor;
+
+/**
+ * End-to-end analysis of the benchmark sources (see {@link BenchmarkSources}) by {@link JavaSquid} with the rules of the Sonar way profile,
+ * in an in-memory sensor context: no SonarQube server nor network access is needed. Reports the time spent in each phase of the analysis
+ * and in each rule, the peak heap usage and the garbage collections, and fails when they exceed the ones of a baseline report by more than
+ * a threshold. Symbolic execution is reported as a phase, rules based on it only account for reporting their issues.
+ * <p>
+ * Configured with system properties, on top of the ones of {@link BenchmarkSources}:
+ * <ul>
+ *   <li>{@value #BINARIES_PROPERTY}: compiled classes of the sources</li>
+ *   <li>{@value #BASELINE_PROPERTY}: baseline report, written from the analysis when it does not exist</li>
+ *   <li>{@value #UPDATE_BASELINE_PROPERTY}: overwrite the baseline report with the one of the analysis</li>
+ *   <li>{@value #THRESHOLD_PROPERTY}: maximum relative increase of a value compared to the baseline, 0.2 by default</li>
+ *   <li>{@value #WARMUP_PROPERTY}: number of analyses run to warm the JVM up before the measured one</li>
+ * </ul>
+ */
+public final class AnalysisPerformanceHarness {
+
+  public static final String BINARIES_PROPERTY = "sonar.java.benchmarks.binaries";
+  public static final String BASELINE_PROPERTY = "sonar.java.benchmarks.baseline";
+  public static final String UPDATE_BASELINE_PROPERTY = "sonar.java.benchmarks.updateBaseline";
+  public static final String THRESHOLD_PROPERTY = "sonar.java.benchmarks.threshold";
+  public static final String WARMUP_PROPERTY = "sonar.java.benchmarks.warmup";
+
+  static final String RESULT_FILE = "target/analysis-performance.json";
+
+  private static final String DEFAULT_BINARIES = "../java-checks-test-sources/target/classes";
+  private static final String DEFAULT_BASELINE = "analysis-performance-baseline.json";
+  private static final double DEFAULT_THRESHOLD = 0.2;
+  private static final int DEFAULT_WARMUP = 1;
+  private static final String SONAR_WAY_PROFILE = "/org/sonar/l10n/java/rules/java/Sonar_way_profile.json";
+
+  private AnalysisPerformanceHarness() {
+  }
+
+  public static void main(String[] args) {
+    List<InputFile> inputFiles = inputFiles();
+    for (int i = 0; i < Integer.getInteger(WARMUP_PROPERTY, DEFAULT_WARMUP); i++) {
+      analyze(inputFiles);
+    }
+    PerformanceReport report = analyze(inputFiles);
+    System.out.println(report);
+    report.write(Paths.get(RESULT_FILE));
+
+    Path baselinePath = Paths.get(System.getProperty(BASELINE_PROPERTY, DEFAULT_BASELINE));
+    if (Boolean.getBoolean(UPDATE_BASELINE_PROPERTY) || !baselinePath.toFile().exists()) {
+      report.write(baselinePath);
+      System.out.println("Baseline written to " + baselinePath.toAbsolutePath());
+      return;
+    }
+    double threshold = Double.parseDouble(System.getProperty(THRESHOLD_PROPERTY, Double.toString(DEFAULT_THRESHOLD)));
+    List<String> regressions = report.regressions(PerformanceReport.read(baselinePath), threshold);
+    if (!regressions.isEmpty()) {
+      System.out.println(String.format("Regressions of more than %.0f%% compared to %s:", threshold * 100, baselinePath.toAbsolutePath()));
+      regressions.forEach(regression -> System.out.println("  " + regression));
+      System.exit(1);
+    }
+    System.out.println("No regression compared to " + baselinePath.toAbsolutePath());
+  }
+
+  private static List<InputFile> inputFiles() {
+    List<InputFile> inputFiles = new ArrayList<>();
+    for (Path directory : BenchmarkSources.sourceDirectories()) {
+      if (directory.toFile().isDirectory()) {
+        BenchmarkSources.javaFiles(directory).sorted().forEach(path -> inputFiles.add(inputFile(directory, path)));
+      }
+    }
+    if (inputFiles.isEmpty()) {
+      throw new IllegalStateException("No Java file found in " + BenchmarkSources.sourceDirectories() + ", see property " + BenchmarkSources.SOURCES_PROPERTY);
+    }
+    return inputFiles;
+  }
+
+  private static InputFile inputFile(Path directory, Path path) {
+    try {
+      return TestInputFileBuilder.create("", directory.toFile(), path.toFile())
+        .setContents(new String(Files.readAllBytes(path), StandardCharsets.UTF_8))
+        .setCharset(StandardCharsets.UTF_8)
+        .setLanguage("java")
+        .setType(InputFile.Type.MAIN)
+        .build();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static PerformanceReport analyze(List<InputFile> inputFiles) {
+    System.gc();
+    HeapSampler heapSampler = new HeapSampler();
+    long gcCount = gcCount();
+    long gcMillis = gcMillis();
+
+    long start = System.nanoTime();
+    SensorContextTester context = SensorContextTester.create(new File("."));
+    context.setSettings(new MapSettings()
+      .setProperty(JavaClasspathProperties.SONAR_JAVA_BINARIES, System.getProperty(BINARIES_PROPERTY, DEFAULT_BINARIES))
+      .setProperty(JavaClasspathProperties.SONAR_JAVA_LIBRARIES, BenchmarkSources.classpath().stream().map(File::getAbsolutePath).collect(Collectors.joining(","))));
+    inputFiles.forEach(context.fileSystem()::add);
+    JavaClasspath javaClasspath = new JavaClasspath(context.config(), context.fileSystem());
+    SonarComponents sonarComponents = new SonarComponents(inputFile -> new NoOpFileLinesContext(), context.fileSystem(), javaClasspath,
+      new JavaTestClasspath(context.config(), context.fileSystem()), new CheckFactory(sonarWayRules()));
+    sonarComponents.setSensorContext(context);
+    AnalysisTimings timings = new AnalysisTimings();
+    sonarComponents.setAnalysisTimings(timings);
+    sonarComponents.registerCheckClasses(CheckList.REPOSITORY_KEY, CheckList.getJavaChecks());
+    JavaSquid squid = new JavaSquid(new JavaVersionImpl(8), sonarComponents, new Measurer(context, new NoSonarFilter()),
+      new DefaultJavaResourceLocator(javaClasspath), null, sonarComponents.checkClasses());
+    long initializationNanos = System.nanoTime() - start;
+
+    start = System.nanoTime();
+    squid.scan(inputFiles, Collections.emptyList(), Collections.emptyList());
+    long analysisNanos = System.nanoTime() - start;
+
+    PerformanceReport report = new PerformanceReport();
+    report.files = inputFiles.size();
+    report.issues = context.allIssues().size();
+    report.peakHeapMegabytes = heapSampler.stop() / (1024 * 1024);
+    report.gcCount = gcCount() - gcCount;
+    report.gcMillis = gcMillis() - gcMillis;
+    fillTimings(report, timings, initializationNanos, analysisNanos);
+    return report;
+  }
+
+  private static void fillTimings(PerformanceReport report, AnalysisTimings timings, long initializationNanos, long analysisNanos) {
+    long symbolicExecutionNanos = 0L;
+    long otherVisitorsNanos = 0L;
+    Map<String, Long> rulesNanos = new HashMap<>();
+    for (Map.Entry<Class<?>, Long> entry : timings.nanosByScanner().entrySet()) {
+      Rule rule = AnnotationUtils.getAnnotation(entry.getKey(), Rule.class);
+      if (entry.getKey() == SymbolicExecutionVisitor.class) {
+        symbolicExecutionNanos += entry.getValue();
+      } else if (rule != null) {
+        rulesNanos.merge(rule.key(), entry.getValue(), Long::sum);
+      } else {
+        otherVisitorsNanos += entry.getValue();
+      }
+    }
+    long rulesTotalNanos = rulesNanos.values().stream().mapToLong(Long::longValue).sum();
+    report.phasesMillis.put("initialization", millis(initializationNanos));
+    report.phasesMillis.put("parsing", millis(timings.parseNanos()));
+    report.phasesMillis.put("symbolic execution", millis(symbolicExecutionNanos));
+    report.phasesMillis.put("rules", millis(rulesTotalNanos));
+    report.phasesMillis.put("other visitors", millis(otherVisitorsNanos));
+    report.phasesMillis.put("analysis", millis(analysisNanos));
+    rulesNanos.entrySet().stream()
+      .sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder()))
+      .forEach(entry -> report.rulesMillis.put(entry.getKey(), millis(entry.getValue())));
+  }
+
+  private static long millis(long nanos) {
+    return TimeUnit.NANOSECONDS.toMillis(nanos);
+  }
+
+  private static long gcCount() {
+    return ManagementFactory.getGarbageCollectorMXBeans().stream().mapToLong(GarbageCollectorMXBean::getCollectionCount).sum();
+  }
+
+  private static long gcMillis() {
+    return ManagementFactory.getGarbageCollectorMXBeans().stream().mapToLong(GarbageCollectorMXBean::getCollectionTime).sum();
+  }
+
+  /**
+   * Rules of the Sonar way profile, whose keys are RSPEC keys: they are mapped to the keys of the rules when those differ.
+   */
+  private static ActiveRules sonarWayRules() {
+    Map<String, String> ruleKeysByRspecKey = new HashMap<>();
+    for (Class<?> checkClass : CheckList.getJavaChecks()) {
+      String ruleKey = AnnotationUtils.getAnnotation(checkClass, Rule.class).key();
+      RspecKey rspecKey = AnnotationUtils.getAnnotation(checkClass, RspecKey.class);
+      ruleKeysByRspecKey.put(rspecKey == null ? ruleKey : rspecKey.value(), ruleKey);
+    }
+    ActiveRulesBuilder activeRules = new ActiveRulesBuilder();
+    for (String rspecKey : readSonarWayProfile().ruleKeys) {
+      String ruleKey = ruleKeysByRspecKey.get(rspecKey);
+      if (ruleKey != null) {
+        activeRules.addRule(new NewActiveRule.Builder().setRuleKey(RuleKey.of(CheckList.REPOSITORY_KEY, ruleKey)).build());
+      }
+    }
+    return activeRules.build();
+  }
+
+  private static Profile readSonarWayProfile() {
+    try (Reader reader = new InputStreamReader(AnalysisPerformanceHarness.class.getResourceAsStream(SONAR_WAY_PROFILE), StandardCharsets.UTF_8)) {
+      return new Gson().fromJson(reader, Profile.class);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static class Profile {
+    List<String> ruleKeys;
+  }
+
+  private static class NoOpFileLinesContext implements FileLinesContext {
+    @Override
+    public void setIntValue(String metricKey, int line, int value) {
+      // lines data is not stored
+    }
+
+    @Override
+    public void setStringValue(String metricKey, int line, String value) {
+      // lines data is not stored
+    }
+
+    @Override
+    public void save() {
+      // lines data is not stored
+    }
+  }
+
+  /**
+   * Samples the total heap usage while the analysis runs. The heap pools reach their peaks at different times, so the sum of their peak
+   * usages would overestimate the peak heap usage.
+   */
+  private static class HeapSampler {
+    private static final long PERIOD_MILLIS = 10;
+
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    private final AtomicLong peakUsed = new AtomicLong();
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "heap-sampler");
+      thread.setDaemon(true);
+      return thread;
+    });
+
+    HeapSampler() {
+      executor.scheduleAtFixedRate(this::sample, 0, PERIOD_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    private void sample() {
+      peakUsed.accumulateAndGet(memory.getHeapMemoryUsage().getUsed(), Math::max);
+    }
+
+    /**
+     * @return peak of the total heap usage in bytes since the creation of the sampler
+     */
+    long stop() {
+      executor.shutdownNow();
+      sample();
+      return peakUsed.get();
+    }
+  }
+}
@@ -0,0 +1,166 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2020 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java.benchmarks;
+
+import com.sonar.sslr.api.RecognitionException;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.sonar.api.batch.fs.InputFile;
+import org.sonar.api.batch.fs.internal.TestInputFileBuilder;
+import org.sonar.java.model.JParser;
+import org.sonar.java.testing.FilesUtils;
+import org.sonar.plugins.java.api.tree.CompilationUnitTree;
+
+/**
+ * Java files the benchmarks are run against. By default, the sources of the checks tests and of the integration tests are used, analyzed
+ * with the binaries of the checks tests on the classpath. Both can be changed with system properties, so that benchmarks run offline against
+ * any sources:
+ * <ul>
+ *   <li>{@value #SOURCES_PROPERTY}: comma-separated directories of the sources</li>
+ *   <li>{@value #CLASSPATH_PROPERTY}: directory of the jars used as classpath</li>
+ *   <li>{@value #MAX_FILES_PROPERTY}: maximum number of files taken from these directories, in path order</li>
+ * </ul>
+ */
+public final class BenchmarkSources {
+
+  public static final String SOURCES_PROPERTY = "sonar.java.benchmarks.sources";
+  public static final String CLASSPATH_PROPERTY = "sonar.java.benchmarks.classpath";
+  public static final String MAX_FILES_PROPERTY = "sonar.java.benchmarks.maxFiles";
+
+  static final String JAVA_VERSION = "8";
+
+  private static final String DEFAULT_SOURCES = "../java-checks-test-sources/src/main/java,../its/sources";
+  private static final int DEFAULT_MAX_FILES = 200;
+
+  private BenchmarkSources() {
+  }
+
+  public static List<File> classpath() {
+    // ECJ rejects classpath entries which do not exist
+    return FilesUtils.getClassPath(System.getProperty(CLASSPATH_PROPERTY, FilesUtils.DEFAULT_TEST_JARS_DIRECTORY)).stream()
+      .filter(File::exists)
+      .collect(Collectors.toList());
+  }
+
+  /**
+   * @return the source files, excluding the ones which can not be parsed
+   */
+  public static List<SourceFile> load() {
+    int maxFiles = Integer.getInteger(MAX_FILES_PROPERTY, DEFAULT_MAX_FILES);
+    List<SourceFile> files = new ArrayList<>();
+    for (Path path : javaFiles()) {
+      if (files.size() >= maxFiles) {
+        break;
+      }
+      SourceFile sourceFile = new SourceFile(path.toFile());
+      try {
+        JParser.parse(JAVA_VERSION, sourceFile.name(), sourceFile.content(), Collections.emptyList(), false);
+        files.add(sourceFile);
+      } catch (RecognitionException e) {
+        // not valid Java: not representative of the analysis of a project
+      }
+    }
+    if (files.isEmpty()) {
+      throw new IllegalStateException("No Java file found in " + sourceDirectories() + ", see property " + SOURCES_PROPERTY);
+    }
+    return files;
+  }
+
+  /**
+   * @return the trees of the source files, with resolved bindings
+   */
+  public static List<CompilationUnitTree> parse(List<SourceFile> files) {
+    List<File> classpath = classpath();
+    return files.stream()
+      .map(file -> JParser.parse(JAVA_VERSION, file.name(), file.content(), classpath))
+      .collect(Collectors.toList());
+  }
+
+  static List<Path> javaFiles() {
+    return sourceDirectories().stream()
+      .filter(Files::isDirectory)
+      .flatMap(BenchmarkSources::javaFiles)
+      .sorted()
+      .collect(Collectors.toList());
+  }
+
+  static Stream<Path> javaFiles(Path directory) {
+    try (Stream<Path> paths = Files.walk(directory)) {
+      return paths
+        .filter(path -> path.toString().endsWith(".java") && Files.isRegularFile(path))
+        .collect(Collectors.toList())
+        .stream();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  static List<Path> sourceDirectories() {
+    return Arrays.stream(System.getProperty(SOURCES_PROPERTY, DEFAULT_SOURCES).split(","))
+      .map(String::trim)
+      .filter(directory -> !directory.isEmpty())
+      .map(Paths::get)
+      .collect(Collectors.toList());
+  }
+
+  public static final class SourceFile {
+
+    private final String name;
+    private final String content;
+    private final InputFile inputFile;
+
+    SourceFile(File file) {
+      name = file.getName();
+      try {
+        content = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+      inputFile = TestInputFileBuilder.create("", file.getParentFile(), file)
+        .setContents(content)
+        .setCharset(StandardCharsets.UTF_8)
+        .setLanguage("java")
+        .build();
+    }
+
+    public String name() {
+      return name;
+    }
+
+    public String content() {
+      return content;
+    }
+
+    public InputFile inputFile() {
+      return inputFile;
+    }
+  }
+}
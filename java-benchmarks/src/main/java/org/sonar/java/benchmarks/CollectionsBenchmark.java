@@ -0,0 +1,120 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2020 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.sonar.java.collections.PCollections;
+import org.sonar.java.collections.PMap;
+
+/**
+ * Operations of the persistent maps backing program states (AVL trees), for map sizes typical of program states.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class CollectionsBenchmark {
+
+  @Param({"8", "64", "512"})
+  public int size;
+
+  private Key[] keys;
+  private PMap<Key, Integer> map;
+
+  @Setup
+  public void setup() {
+    keys = new Key[size];
+    map = PCollections.emptyMap();
+    for (int i = 0; i < size; i++) {
+      keys[i] = new Key(i);
+      map = map.put(keys[i], i);
+    }
+  }
+
+  @Benchmark
+  public PMap<Key, Integer> put() {
+    PMap<Key, Integer> result = PCollections.emptyMap();
+    for (int i = 0; i < size; i++) {
+      result = result.put(keys[i], i);
+    }
+    return result;
+  }
+
+  @Benchmark
+  public void get(Blackhole blackhole) {
+    for (Key key : keys) {
+      blackhole.consume(map.get(key));
+    }
+  }
+
+  @Benchmark
+  public PMap<Key, Integer> remove() {
+    PMap<Key, Integer> result = map;
+    for (Key key : keys) {
+      result = result.remove(key);
+    }
+    return result;
+  }
+
+  @Benchmark
+  public void forEach(Blackhole blackhole) {
+    map.forEach((key, value) -> blackhole.consume(value));
+  }
+
+  @Benchmark
+  public boolean equalMaps() {
+    return put().equals(map);
+  }
+
+  /**
+   * Keys with spread hash codes, like the symbolic values and symbols used as keys in program states.
+   */
+  static final class Key {
+    private final int id;
+
+    Key(int id) {
+      this.id = id;
+    }
+
+    @Override
+    public int hashCode() {
+      return id * 0x9E3779B9;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      return obj instanceof Key && ((Key) obj).id == id;
+    }
+  }
+}
@@ -0,0 +1,102 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2020 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.sonar.java.matcher.MethodMatcher;
+import org.sonar.java.matcher.MethodMatcherCollection;
+import org.sonar.java.matcher.NameCriteria;
+import org.sonar.java.matcher.TypeCriteria;
+import org.sonar.plugins.java.api.tree.BaseTreeVisitor;
+import org.sonar.plugins.java.api.tree.CompilationUnitTree;
+import org.sonar.plugins.java.api.tree.MethodInvocationTree;
+import org.sonar.plugins.java.api.tree.NewClassTree;
+
+/**
+ * Matching of all the method invocations and constructor calls of the source files against matchers combining the criteria used by checks:
+ * exact and subtype owners, exact and prefix names, exact and any parameters.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class MethodMatcherBenchmark {
+
+  private static final MethodMatcherCollection MATCHERS = MethodMatcherCollection.create(
+    MethodMatcher.create().typeDefinition("java.lang.String").name("equals").parameters("java.lang.Object"),
+    MethodMatcher.create().typeDefinition("java.util.Objects").name("requireNonNull").withAnyParameters(),
+    MethodMatcher.create().typeDefinition(TypeCriteria.subtypeOf("java.util.Collection")).name("size").withoutParameter(),
+    MethodMatcher.create().typeDefinition(TypeCriteria.subtypeOf("java.io.Closeable")).name("close").withoutParameter(),
+    MethodMatcher.create().typeDefinition(TypeCriteria.subtypeOf("java.util.Map")).name("put").withAnyParameters(),
+    MethodMatcher.create().typeDefinition(TypeCriteria.anyType()).name(NameCriteria.startsWith("get")).withoutParameter(),
+    MethodMatcher.create().typeDefinition("java.io.FileInputStream").name("<init>").withAnyParameters(),
+    MethodMatcher.create().typeDefinition(TypeCriteria.subtypeOf("java.lang.Throwable")).name("<init>").parameters("java.lang.String"));
+
+  private final List<MethodInvocationTree> methodInvocations = new ArrayList<>();
+  private final List<NewClassTree> newClasses = new ArrayList<>();
+
+  @Setup
+  public void setup() {
+    for (CompilationUnitTree tree : BenchmarkSources.parse(BenchmarkSources.load())) {
+      tree.accept(new BaseTreeVisitor() {
+        @Override
+        public void visitMethodInvocation(MethodInvocationTree tree) {
+          methodInvocations.add(tree);
+          super.visitMethodInvocation(tree);
+        }
+
+        @Override
+        public void visitNewClass(NewClassTree tree) {
+          newClasses.add(tree);
+          super.visitNewClass(tree);
+        }
+      });
+    }
+  }
+
+  @Benchmark
+  public void matchMethodInvocations(Blackhole blackhole) {
+    for (MethodInvocationTree methodInvocation : methodInvocations) {
+      blackhole.consume(MATCHERS.anyMatch(methodInvocation));
+    }
+  }
+
+  @Benchmark
+  public void matchNewClasses(Blackhole blackhole) {
+    for (NewClassTree newClass : newClasses) {
+      blackhole.consume(MATCHERS.anyMatch(newClass));
+    }
+  }
+}
@@ -0,0 +1,108 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2020 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java.benchmarks;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.dom.AST;
+import org.eclipse.jdt.core.dom.ASTParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.sonar.java.benchmarks.BenchmarkSources.SourceFile;
+import org.sonar.java.model.JParser;
+
+/**
+ * Parsing of all the source files. The ECJ benchmarks only build the ECJ AST, configured as in {@link JParser}: the cost of the conversion
+ * to the trees of the frontend is the difference with the corresponding parse benchmark.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ParserBenchmark {
+
+  private List<SourceFile> files;
+  private List<File> classpath;
+
+  @Setup
+  public void setup() {
+    files = BenchmarkSources.load();
+    classpath = BenchmarkSources.classpath();
+  }
+
+  @Benchmark
+  public void parseWithBindings(Blackhole blackhole) {
+    for (SourceFile file : files) {
+      blackhole.consume(JParser.parse(BenchmarkSources.JAVA_VERSION, file.name(), file.content(), classpath, true));
+    }
+  }
+
+  @Benchmark
+  public void parseWithoutBindings(Blackhole blackhole) {
+    for (SourceFile file : files) {
+      blackhole.consume(JParser.parse(BenchmarkSources.JAVA_VERSION, file.name(), file.content(), classpath, false));
+    }
+  }
+
+  @Benchmark
+  public void ecjWithBindings(Blackhole blackhole) {
+    for (SourceFile file : files) {
+      blackhole.consume(ecjParser(file, true).createAST(null));
+    }
+  }
+
+  @Benchmark
+  public void ecjWithoutBindings(Blackhole blackhole) {
+    for (SourceFile file : files) {
+      blackhole.consume(ecjParser(file, false).createAST(null));
+    }
+  }
+
+  private ASTParser ecjParser(SourceFile file, boolean resolveBindings) {
+    ASTParser astParser = ASTParser.newParser(AST.JLS13);
+    Map<String, String> options = new HashMap<>();
+    options.put(JavaCore.COMPILER_COMPLIANCE, BenchmarkSources.JAVA_VERSION);
+    options.put(JavaCore.COMPILER_SOURCE, BenchmarkSources.JAVA_VERSION);
+    astParser.setCompilerOptions(options);
+    if (resolveBindings) {
+      astParser.setEnvironment(classpath.stream().map(File::getAbsolutePath).toArray(String[]::new), new String[] {}, new String[] {}, true);
+    }
+    astParser.setUnitName(file.name());
+    astParser.setResolveBindings(resolveBindings);
+    astParser.setBindingsRecovery(resolveBindings);
+    astParser.setSource(file.content().toCharArray());
+    return astParser;
+  }
+}
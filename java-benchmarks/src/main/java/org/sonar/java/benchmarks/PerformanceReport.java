@@ -0,0 +1,109 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2020 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java.benchmarks;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Timings and memory usage of one analysis by {@link AnalysisPerformanceHarness}, stored as JSON to be used as baseline of later analyses.
+ */
+final class PerformanceReport {
+
+  /**
+   * Differences below these values are considered as noise, whatever the relative threshold.
+   */
+  private static final long MIN_DELTA_MILLIS = 100;
+  private static final long MIN_DELTA_MEGABYTES = 32;
+
+  private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+
+  int files;
+  int issues;
+  final Map<String, Long> phasesMillis = new LinkedHashMap<>();
+  final Map<String, Long> rulesMillis = new LinkedHashMap<>();
+  long peakHeapMegabytes;
+  long gcCount;
+  long gcMillis;
+
+  /**
+   * @param threshold maximum relative increase of a value, 0.2 allowing values 20% above the ones of the baseline
+   * @return descriptions of the values of this report exceeding the ones of the baseline by more than the threshold
+   */
+  List<String> regressions(PerformanceReport baseline, double threshold) {
+    List<String> regressions = new ArrayList<>();
+    baseline.phasesMillis.forEach((phase, millis) ->
+      checkRegression(regressions, "Phase '" + phase + "'", phasesMillis.getOrDefault(phase, 0L), millis, threshold, MIN_DELTA_MILLIS, "ms"));
+    baseline.rulesMillis.forEach((rule, millis) ->
+      checkRegression(regressions, "Rule " + rule, rulesMillis.getOrDefault(rule, 0L), millis, threshold, MIN_DELTA_MILLIS, "ms"));
+    checkRegression(regressions, "Peak heap", peakHeapMegabytes, baseline.peakHeapMegabytes, threshold, MIN_DELTA_MEGABYTES, "MB");
+    return regressions;
+  }
+
+  private static void checkRegression(List<String> regressions, String name, long value, long baselineValue, double threshold, long minDelta, String unit) {
+    if (value > baselineValue * (1 + threshold) && value - baselineValue >= minDelta) {
+      regressions.add(String.format("%s: %d %s, baseline %d %s", name, value, unit, baselineValue, unit));
+    }
+  }
+
+  static PerformanceReport read(Path path) {
+    try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+      return GSON.fromJson(reader, PerformanceReport.class);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  void write(Path path) {
+    try {
+      Path parent = path.toAbsolutePath().getParent();
+      if (parent != null) {
+        Files.createDirectories(parent);
+      }
+      try (Writer writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+        GSON.toJson(this, writer);
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder();
+    sb.append(String.format("Files: %d, issues: %d%n", files, issues));
+    phasesMillis.forEach((phase, millis) -> sb.append(String.format("  %-20s %8d ms%n", phase, millis)));
+    sb.append(String.format("Peak heap: %d MB, GC: %d collections, %d ms%n", peakHeapMegabytes, gcCount, gcMillis));
+    sb.append(String.format("Rules:%n"));
+    rulesMillis.forEach((rule, millis) -> sb.append(String.format("  %-20s %8d ms%n", rule, millis)));
+    return sb.toString();
+  }
+}
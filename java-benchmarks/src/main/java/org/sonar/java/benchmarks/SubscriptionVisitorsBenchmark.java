@@ -0,0 +1,91 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2020 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java.benchmarks;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.sonar.api.batch.sensor.internal.SensorContextTester;
+import org.sonar.api.internal.SonarRuntimeImpl;
+import org.sonar.api.utils.Version;
+import org.sonar.java.SonarComponents;
+import org.sonar.java.benchmarks.BenchmarkSources.SourceFile;
+import org.sonar.java.checks.CheckList;
+import org.sonar.java.model.JavaVersionImpl;
+import org.sonar.java.model.VisitorsBridgeForTests;
+import org.sonar.plugins.java.api.IssuableSubscriptionVisitor;
+import org.sonar.plugins.java.api.JavaCheck;
+import org.sonar.plugins.java.api.tree.CompilationUnitTree;
+
+/**
+ * Dispatch of the trees of the source files to all the subscription checks of the plugin, as done for each file by the visitors bridge.
+ * Issues are collected in memory rather than saved, so that only the dispatch and the work of the checks are measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SubscriptionVisitorsBenchmark {
+
+  private List<SourceFile> files;
+  private List<CompilationUnitTree> trees;
+  private VisitorsBridgeForTests visitorsBridge;
+
+  @Setup
+  public void setup() throws ReflectiveOperationException {
+    files = BenchmarkSources.load();
+    trees = BenchmarkSources.parse(files);
+    List<JavaCheck> checks = new ArrayList<>();
+    for (Class<? extends JavaCheck> checkClass : CheckList.getJavaChecks()) {
+      if (IssuableSubscriptionVisitor.class.isAssignableFrom(checkClass)) {
+        checks.add(checkClass.getDeclaredConstructor().newInstance());
+      }
+    }
+    // SonarLint runtime: symbol highlighting is not computed, it is not part of the dispatch
+    SensorContextTester context = SensorContextTester.create(new File("."));
+    context.setRuntime(SonarRuntimeImpl.forSonarLint(Version.create(7, 9)));
+    SonarComponents sonarComponents = new SonarComponents(null, context.fileSystem(), null, null, null);
+    sonarComponents.setSensorContext(context);
+    visitorsBridge = new VisitorsBridgeForTests(checks, BenchmarkSources.classpath(), sonarComponents);
+    visitorsBridge.setJavaVersion(new JavaVersionImpl(8));
+  }
+
+  @Benchmark
+  public VisitorsBridgeForTests.TestJavaFileScannerContext visitFiles() {
+    for (int i = 0; i < trees.size(); i++) {
+      visitorsBridge.setCurrentFile(files.get(i).inputFile());
+      visitorsBridge.visitFile(trees.get(i));
+    }
+    return visitorsBridge.lastCreatedTestContext();
+  }
+}
@@ -0,0 +1,86 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2020 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java.benchmarks;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.sonar.java.benchmarks.BenchmarkSources.SourceFile;
+import org.sonar.java.bytecode.loader.SquidClassLoader;
+import org.sonar.java.model.DefaultJavaFileScannerContext;
+import org.sonar.java.model.JavaTree;
+import org.sonar.java.model.JavaVersionImpl;
+import org.sonar.java.se.SymbolicExecutionVisitor;
+import org.sonar.java.se.xproc.BehaviorCache;
+import org.sonar.plugins.java.api.tree.CompilationUnitTree;
+
+/**
+ * Symbolic execution of all the methods of the source files, with the default symbolic execution checks: each method is explored by
+ * {@link org.sonar.java.se.ExplodedGraphWalker#visitMethod}, driven by the {@link SymbolicExecutionVisitor} of its file as during an
+ * analysis. Behaviors of methods from the classpath are computed once per benchmark invocation, as they are once per analysis.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SymbolicExecutionBenchmark {
+
+  private List<SourceFile> files;
+  private List<CompilationUnitTree> trees;
+  private SquidClassLoader classLoader;
+
+  @Setup
+  public void setup() {
+    files = BenchmarkSources.load();
+    trees = BenchmarkSources.parse(files);
+    classLoader = new SquidClassLoader(BenchmarkSources.classpath());
+  }
+
+  @TearDown
+  public void tearDown() {
+    classLoader.close();
+  }
+
+  @Benchmark
+  public void visitMethods(Blackhole blackhole) {
+    BehaviorCache behaviorCache = new BehaviorCache(classLoader);
+    for (int i = 0; i < trees.size(); i++) {
+      JavaTree.CompilationUnitTreeImpl tree = (JavaTree.CompilationUnitTreeImpl) trees.get(i);
+      SymbolicExecutionVisitor visitor = new SymbolicExecutionVisitor(Collections.emptyList(), behaviorCache);
+      visitor.scanFile(new DefaultJavaFileScannerContext(tree, files.get(i).inputFile(), tree.sema, null, new JavaVersionImpl(8), true));
+      blackhole.consume(visitor);
+      behaviorCache.cleanup();
+    }
+  }
+}
@@ -28,12 +28,13 @@ import javax.annotation.Nullable;
 import org.sonar.check.Rule;
 import org.sonar.check.RuleProperty;
 import org.sonar.java.IllegalRuleParameterException;
+import org.sonar.java.SemanticAwareVisitor;
 import org.sonar.plugins.java.api.IssuableSubscriptionVisitor;
 import org.sonar.plugins.java.api.tree.SyntaxTrivia;
 import org.sonar.plugins.java.api.tree.Tree;
 
 @Rule(key = "S124")
-public class CommentRegularExpressionCheck extends IssuableSubscriptionVisitor {
+public class CommentRegularExpressionCheck extends IssuableSubscriptionVisitor implements SemanticAwareVisitor {
 
   private static final String DEFAULT_REGULAR_EXPRESSION = "";
   private static final String DEFAULT_MESSAGE = "The regular expression matches this comment.";
@@ -72,4 +73,9 @@ public class CommentRegularExpressionCheck extends IssuableSubscriptionVisitor {
     }
   }
 
+  @Override
+  public boolean requiresSemantic() {
+    return false;
+  }
+
 }
@@ -20,6 +20,7 @@
 package org.sonar.java.checks;
 
 import org.sonar.check.Rule;
+import org.sonar.java.SemanticAwareVisitor;
 import org.sonar.plugins.java.api.JavaFileScanner;
 import org.sonar.plugins.java.api.JavaFileScannerContext;
 import org.sonar.plugins.java.api.tree.CompilationUnitTree;
@@ -27,7 +28,7 @@ import org.sonarsource.analyzer.commons.annotations.DeprecatedRuleKey;
 
 @DeprecatedRuleKey(ruleKey = "EmptyFile", repositoryKey = "squid")
 @Rule(key = "S2309")
-public final class EmptyFileCheck implements JavaFileScanner {
+public final class EmptyFileCheck implements JavaFileScanner, SemanticAwareVisitor {
 
   @Override
   public void scanFile(JavaFileScannerContext context) {
@@ -39,4 +40,9 @@ public final class EmptyFileCheck implements JavaFileScanner {
     }
   }
 
+  @Override
+  public boolean requiresSemantic() {
+    return false;
+  }
+
 }
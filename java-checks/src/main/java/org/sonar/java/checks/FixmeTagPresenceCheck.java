@@ -20,6 +20,7 @@
 package org.sonar.java.checks;
 
 import org.sonar.check.Rule;
+import org.sonar.java.SemanticAwareVisitor;
 import org.sonar.plugins.java.api.IssuableSubscriptionVisitor;
 import org.sonar.plugins.java.api.tree.SyntaxTrivia;
 import org.sonar.plugins.java.api.tree.Tree;
@@ -28,7 +29,7 @@ import java.util.Collections;
 import java.util.List;
 
 @Rule(key = "S1134")
-public class FixmeTagPresenceCheck extends IssuableSubscriptionVisitor {
+public class FixmeTagPresenceCheck extends IssuableSubscriptionVisitor implements SemanticAwareVisitor {
 
   private static final String PATTERN = "FIXME";
   private static final String MESSAGE = "Take the required action to fix the issue indicated by this comment.";
@@ -43,4 +44,9 @@ public class FixmeTagPresenceCheck extends IssuableSubscriptionVisitor {
   public void visitTrivia(SyntaxTrivia syntaxTrivia) {
     checker.checkTrivia(syntaxTrivia);
   }
+
+  @Override
+  public boolean requiresSemantic() {
+    return false;
+  }
 }
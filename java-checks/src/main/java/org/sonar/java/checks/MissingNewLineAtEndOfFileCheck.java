@@ -20,13 +20,14 @@
 package org.sonar.java.checks;
 
 import org.sonar.check.Rule;
+import org.sonar.java.SemanticAwareVisitor;
 import org.sonar.plugins.java.api.JavaFileScanner;
 import org.sonar.plugins.java.api.JavaFileScannerContext;
 import org.sonarsource.analyzer.commons.annotations.DeprecatedRuleKey;
 
 @DeprecatedRuleKey(ruleKey = "S00113", repositoryKey = "squid")
 @Rule(key = "S113")
-public class MissingNewLineAtEndOfFileCheck implements JavaFileScanner {
+public class MissingNewLineAtEndOfFileCheck implements JavaFileScanner, SemanticAwareVisitor {
 
 
   @Override
@@ -43,4 +44,9 @@ public class MissingNewLineAtEndOfFileCheck implements JavaFileScanner {
     char lastChar = content.charAt(content.length() - 1);
     return lastChar != '\n' && lastChar != '\r';
   }
+
+  @Override
+  public boolean requiresSemantic() {
+    return false;
+  }
 }
@@ -20,6 +20,7 @@
 package org.sonar.java.checks;
 
 import org.sonar.check.Rule;
+import org.sonar.java.SemanticAwareVisitor;
 import org.sonar.plugins.java.api.IssuableSubscriptionVisitor;
 import org.sonar.plugins.java.api.tree.SyntaxTrivia;
 import org.sonar.plugins.java.api.tree.Tree;
@@ -28,7 +29,7 @@ import java.util.Collections;
 import java.util.List;
 
 @Rule(key = "S1310")
-public class NoPmdTagPresenceCheck extends IssuableSubscriptionVisitor {
+public class NoPmdTagPresenceCheck extends IssuableSubscriptionVisitor implements SemanticAwareVisitor {
 
   private static final String PATTERN = "NOPMD";
   private static final String MESSAGE = "Remove usage of this \"NOPMD\" suppression comment filter.";
@@ -45,4 +46,9 @@ public class NoPmdTagPresenceCheck extends IssuableSubscriptionVisitor {
     checker.checkTrivia(syntaxTrivia);
   }
 
+  @Override
+  public boolean requiresSemantic() {
+    return false;
+  }
+
 }
@@ -20,6 +20,7 @@
 package org.sonar.java.checks;
 
 import org.sonar.check.Rule;
+import org.sonar.java.SemanticAwareVisitor;
 import org.sonar.plugins.java.api.IssuableSubscriptionVisitor;
 import org.sonar.plugins.java.api.JavaFileScannerContext;
 import org.sonar.plugins.java.api.tree.Tree;
@@ -30,7 +31,7 @@ import org.sonarsource.analyzer.commons.annotations.DeprecatedRuleKey;
 
 @DeprecatedRuleKey(ruleKey = "S00105", repositoryKey = "squid")
 @Rule(key = "S105")
-public class TabCharacterCheck extends IssuableSubscriptionVisitor {
+public class TabCharacterCheck extends IssuableSubscriptionVisitor implements SemanticAwareVisitor {
 
   @Override
   public List<Tree.Kind> nodesToVisit() {
@@ -49,5 +50,9 @@ public class TabCharacterCheck extends IssuableSubscriptionVisitor {
     }
   }
 
+  @Override
+  public boolean requiresSemantic() {
+    return false;
+  }
 
 }
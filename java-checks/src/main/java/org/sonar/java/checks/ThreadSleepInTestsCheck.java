@@ -22,13 +22,15 @@ package org.sonar.java.checks;
 import java.util.Collections;
 import java.util.List;
 import org.sonar.check.Rule;
+import org.sonar.java.FileContentAwareVisitor;
 import org.sonar.java.checks.methods.AbstractMethodDetection;
 import org.sonar.java.matcher.MethodMatcher;
 import org.sonar.java.model.ExpressionUtils;
+import org.sonar.java.model.FileContentIndex;
 import org.sonar.plugins.java.api.tree.MethodInvocationTree;
 
 @Rule(key = "S2925")
-public class ThreadSleepInTestsCheck extends AbstractMethodDetection {
+public class ThreadSleepInTestsCheck extends AbstractMethodDetection implements FileContentAwareVisitor {
   @Override
   protected void onMethodInvocationFound(MethodInvocationTree mit) {
     reportIssue(ExpressionUtils.methodName(mit), "Remove this use of \"Thread.sleep()\".");
@@ -38,4 +40,9 @@ public class ThreadSleepInTestsCheck extends AbstractMethodDetection {
   protected List<MethodMatcher> getMethodInvocationMatchers() {
     return Collections.singletonList(MethodMatcher.create().typeDefinition("java.lang.Thread").name("sleep").withAnyParameters());
   }
+
+  @Override
+  public boolean isApplicable(FileContentIndex index) {
+    return index.hasIdentifier("sleep");
+  }
 }
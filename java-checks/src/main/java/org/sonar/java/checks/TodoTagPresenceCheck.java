@@ -20,6 +20,7 @@
 package org.sonar.java.checks;
 
 import org.sonar.check.Rule;
+import org.sonar.java.SemanticAwareVisitor;
 import org.sonar.plugins.java.api.IssuableSubscriptionVisitor;
 import org.sonar.plugins.java.api.tree.SyntaxTrivia;
 import org.sonar.plugins.java.api.tree.Tree;
@@ -28,7 +29,7 @@ import java.util.Collections;
 import java.util.List;
 
 @Rule(key = "S1135")
-public class TodoTagPresenceCheck extends IssuableSubscriptionVisitor {
+public class TodoTagPresenceCheck extends IssuableSubscriptionVisitor implements SemanticAwareVisitor {
 
   private static final String PATTERN = "TODO";
   private static final String MESSAGE = "Complete the task associated to this TODO comment.";
@@ -44,4 +45,9 @@ public class TodoTagPresenceCheck extends IssuableSubscriptionVisitor {
   public void visitTrivia(SyntaxTrivia syntaxTrivia) {
     checker.checkTrivia(syntaxTrivia);
   }
+
+  @Override
+  public boolean requiresSemantic() {
+    return false;
+  }
 }
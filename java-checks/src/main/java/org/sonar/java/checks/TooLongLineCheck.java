@@ -21,6 +21,7 @@ package org.sonar.java.checks;
 
 import org.sonar.check.Rule;
 import org.sonar.check.RuleProperty;
+import org.sonar.java.SemanticAwareVisitor;
 import org.sonar.plugins.java.api.IssuableSubscriptionVisitor;
 import org.sonar.plugins.java.api.JavaFileScannerContext;
 import org.sonar.plugins.java.api.tree.CompilationUnitTree;
@@ -38,7 +39,7 @@ import org.sonarsource.analyzer.commons.annotations.DeprecatedRuleKey;
 
 @DeprecatedRuleKey(ruleKey = "S00103", repositoryKey = "squid")
 @Rule(key = "S103")
-public class TooLongLineCheck extends IssuableSubscriptionVisitor {
+public class TooLongLineCheck extends IssuableSubscriptionVisitor implements SemanticAwareVisitor {
 
   private static final int DEFAULT_MAXIMUM_LINE_LENGTH = 120;
 
@@ -105,4 +106,9 @@ public class TooLongLineCheck extends IssuableSubscriptionVisitor {
       // @see <a href="http://docs.oracle.com/javase/7/docs/technotes/tools/windows/javadoc.html#see">@see reference</a>
       .replaceAll("^(\\s*(\\*|//).*?)\\s*@see .+\\s*", "$1");
   }
+
+  @Override
+  public boolean requiresSemantic() {
+    return false;
+  }
 }
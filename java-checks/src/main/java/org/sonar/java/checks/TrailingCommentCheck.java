@@ -29,6 +29,7 @@ import java.util.regex.Pattern;
 import org.apache.commons.lang.StringUtils;
 import org.sonar.check.Rule;
 import org.sonar.check.RuleProperty;
+import org.sonar.java.SemanticAwareVisitor;
 import org.sonar.plugins.java.api.IssuableSubscriptionVisitor;
 import org.sonar.plugins.java.api.JavaFileScannerContext;
 import org.sonar.plugins.java.api.tree.SyntaxToken;
@@ -38,7 +39,7 @@ import org.sonarsource.analyzer.commons.annotations.DeprecatedRuleKey;
 
 @DeprecatedRuleKey(ruleKey = "TrailingCommentCheck", repositoryKey = "squid")
 @Rule(key = "S139")
-public class TrailingCommentCheck extends IssuableSubscriptionVisitor {
+public class TrailingCommentCheck extends IssuableSubscriptionVisitor implements SemanticAwareVisitor {
 
   private static final String DEFAULT_LEGAL_COMMENT_PATTERN = "^\\s*+[^\\s]++$";
   private static final Set<String> EXCLUDED_PATTERNS = ImmutableSet.of("NOSONAR", "NOPMD", "CHECKSTYLE:", "$NON-NLS");
@@ -113,4 +114,9 @@ public class TrailingCommentCheck extends IssuableSubscriptionVisitor {
     }
     return false;
   }
+
+  @Override
+  public boolean requiresSemantic() {
+    return false;
+  }
 }
@@ -22,6 +22,7 @@ package org.sonar.java.checks;
 import com.google.common.collect.Iterables;
 
 import org.sonar.check.Rule;
+import org.sonar.java.SemanticAwareVisitor;
 import org.sonar.plugins.java.api.IssuableSubscriptionVisitor;
 import org.sonar.plugins.java.api.tree.ListTree;
 import org.sonar.plugins.java.api.tree.Tree;
@@ -31,7 +32,7 @@ import java.util.Collections;
 import java.util.List;
 
 @Rule(key = "S2959")
-public class UnnecessarySemicolonCheck extends IssuableSubscriptionVisitor {
+public class UnnecessarySemicolonCheck extends IssuableSubscriptionVisitor implements SemanticAwareVisitor {
 
   @Override
   public List<Tree.Kind> nodesToVisit() {
@@ -47,4 +48,9 @@ public class UnnecessarySemicolonCheck extends IssuableSubscriptionVisitor {
     }
   }
 
+  @Override
+  public boolean requiresSemantic() {
+    return false;
+  }
+
 }
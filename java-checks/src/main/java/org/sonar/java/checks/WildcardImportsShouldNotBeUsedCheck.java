@@ -20,6 +20,7 @@
 package org.sonar.java.checks;
 
 import org.sonar.check.Rule;
+import org.sonar.java.SemanticAwareVisitor;
 import org.sonar.plugins.java.api.IssuableSubscriptionVisitor;
 import org.sonar.plugins.java.api.tree.IdentifierTree;
 import org.sonar.plugins.java.api.tree.ImportTree;
@@ -31,7 +32,7 @@ import java.util.Collections;
 import java.util.List;
 
 @Rule(key = "S2208")
-public class WildcardImportsShouldNotBeUsedCheck extends IssuableSubscriptionVisitor {
+public class WildcardImportsShouldNotBeUsedCheck extends IssuableSubscriptionVisitor implements SemanticAwareVisitor {
 
   @Override
   public List<Kind> nodesToVisit() {
@@ -57,4 +58,9 @@ public class WildcardImportsShouldNotBeUsedCheck extends IssuableSubscriptionVis
     }
     throw new UnsupportedOperationException(String.format("Kind/Class '%s' not supported", tree.getClass()));
   }
+
+  @Override
+  public boolean requiresSemantic() {
+    return false;
+  }
 }
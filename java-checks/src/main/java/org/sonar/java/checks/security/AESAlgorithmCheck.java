@@ -22,16 +22,18 @@ package org.sonar.java.checks.security;
 import java.util.Collections;
 import java.util.List;
 import org.sonar.check.Rule;
+import org.sonar.java.FileContentAwareVisitor;
 import org.sonar.java.checks.helpers.ExpressionsHelper;
 import org.sonar.java.checks.helpers.JavaPropertiesHelper;
 import org.sonar.java.checks.methods.AbstractMethodDetection;
 import org.sonar.java.matcher.MethodMatcher;
 import org.sonar.java.matcher.TypeCriteria;
+import org.sonar.java.model.FileContentIndex;
 import org.sonar.plugins.java.api.tree.ExpressionTree;
 import org.sonar.plugins.java.api.tree.MethodInvocationTree;
 
 @Rule(key = "S4432")
-public class AESAlgorithmCheck extends AbstractMethodDetection {
+public class AESAlgorithmCheck extends AbstractMethodDetection implements FileContentAwareVisitor {
 
   @Override
   protected List<MethodMatcher> getMethodInvocationMatchers() {
@@ -59,4 +61,9 @@ public class AESAlgorithmCheck extends AbstractMethodDetection {
   private static boolean isInsecureAESAlgorithm(String algorithmName) {
     return algorithmName.startsWith("AES/ECB/") || "AES/CBC/PKCS5Padding".equals(algorithmName);
   }
+
+  @Override
+  public boolean isApplicable(FileContentIndex index) {
+    return index.hasIdentifier("getInstance");
+  }
 }
@@ -21,60 +21,82 @@ package org.sonar.java.checks.security;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.stream.Collectors;
 import org.sonar.check.Rule;
+import org.sonar.java.FileContentAwareVisitor;
 import org.sonar.java.checks.methods.AbstractMethodDetection;
 import org.sonar.java.matcher.MethodMatcher;
-import org.sonar.java.matcher.MethodMatcherCollection;
+import org.sonar.java.model.FileContentIndex;
+import org.sonar.plugins.java.api.tree.Arguments;
 import org.sonar.plugins.java.api.tree.MethodInvocationTree;
 
 import static org.sonar.plugins.java.api.tree.Tree.Kind.NULL_LITERAL;
 
 @Rule(key = "S5320")
-public class AndroidBroadcastingCheck extends AbstractMethodDetection {
+public class AndroidBroadcastingCheck extends AbstractMethodDetection implements FileContentAwareVisitor {
 
   private static final String MESSAGE = "Make sure that broadcasting intents is safe here.";
 
-  private static final MethodMatcher SEND_BROADCAST = androidContext().name("sendBroadcast").withAnyParameters();
-  private static final MethodMatcher SEND_BROADCAST_AS_USER = androidContext().name("sendBroadcastAsUser").withAnyParameters();
-  private static final MethodMatcher SEND_ORDERED_BROADCAST = androidContext().name("sendOrderedBroadcast").withAnyParameters();
-  private static final MethodMatcher SEND_ORDERED_BROADCAST_AS_USER = androidContext().name("sendOrderedBroadcastAsUser").withAnyParameters();
-  private static final MethodMatcher SEND_STICKY_BROADCAST = androidContext().name("sendStickyBroadcast").withAnyParameters();
-  private static final MethodMatcher SEND_STICKY_BROADCAST_AS_USER = androidContext().name("sendStickyBroadcastAsUser").withAnyParameters();
-  private static final MethodMatcher SEND_STICKY_ORDERED_BROADCAST = androidContext().name("sendStickyOrderedBroadcast").withAnyParameters();
-  private static final MethodMatcher SEND_STICKY_ORDERED_BROADCAST_AS_USER = androidContext().name("sendStickyOrderedBroadcastAsUser").withAnyParameters();
-  private static final MethodMatcherCollection STICKY_BROADCAST = MethodMatcherCollection.create(SEND_STICKY_BROADCAST,
-    SEND_STICKY_BROADCAST_AS_USER, SEND_STICKY_ORDERED_BROADCAST, SEND_STICKY_ORDERED_BROADCAST_AS_USER);
+  private static final String SEND_BROADCAST = "sendBroadcast";
+  private static final String SEND_BROADCAST_AS_USER = "sendBroadcastAsUser";
+  private static final String SEND_ORDERED_BROADCAST = "sendOrderedBroadcast";
+  private static final String SEND_ORDERED_BROADCAST_AS_USER = "sendOrderedBroadcastAsUser";
 
-  private static MethodMatcher androidContext() {
-    return MethodMatcher.create().typeDefinition("android.content.Context");
-  }
+  // names of the matched methods, also used to skip files not invoking any of them
+  private static final List<String> METHOD_NAMES = Arrays.asList(
+    SEND_BROADCAST,
+    SEND_BROADCAST_AS_USER,
+    SEND_ORDERED_BROADCAST,
+    SEND_ORDERED_BROADCAST_AS_USER,
+    "sendStickyBroadcast",
+    "sendStickyBroadcastAsUser",
+    "sendStickyOrderedBroadcast",
+    "sendStickyOrderedBroadcastAsUser");
 
   @Override
   protected List<MethodMatcher> getMethodInvocationMatchers() {
-    return Arrays.asList(
-      SEND_BROADCAST,
-      SEND_BROADCAST_AS_USER,
-      SEND_ORDERED_BROADCAST,
-      SEND_ORDERED_BROADCAST_AS_USER,
-      SEND_STICKY_BROADCAST,
-      SEND_STICKY_BROADCAST_AS_USER,
-      SEND_STICKY_ORDERED_BROADCAST,
-      SEND_STICKY_ORDERED_BROADCAST_AS_USER
-    );
+    return METHOD_NAMES.stream()
+      .map(methodName -> MethodMatcher.create().typeDefinition("android.content.Context").name(methodName).withAnyParameters())
+      .collect(Collectors.toList());
   }
 
   @Override
   protected void onMethodInvocationFound(MethodInvocationTree mit) {
-    if (SEND_BROADCAST.matches(mit) && (mit.arguments().size() < 2 || mit.arguments().get(1).is(NULL_LITERAL))) {
-      reportIssue(mit.methodSelect(), MESSAGE);
-    } else if (SEND_BROADCAST_AS_USER.matches(mit) && (mit.arguments().size() < 3 || mit.arguments().get(2).is(NULL_LITERAL))) {
-      reportIssue(mit.methodSelect(), MESSAGE);
-    } else if (SEND_ORDERED_BROADCAST.matches(mit) && mit.arguments().size() > 1 && mit.arguments().get(1).is(NULL_LITERAL)) {
-      reportIssue(mit.methodSelect(), MESSAGE);
-    } else if (SEND_ORDERED_BROADCAST_AS_USER.matches(mit) && mit.arguments().size() > 2 && mit.arguments().get(2).is(NULL_LITERAL)) {
-      reportIssue(mit.methodSelect(), MESSAGE);
-    } else if (STICKY_BROADCAST.anyMatch(mit)) {
+    Arguments arguments = mit.arguments();
+    boolean unprotected;
+    switch (mit.symbol().name()) {
+      case SEND_BROADCAST:
+        unprotected = isMissingOrNull(arguments, 1);
+        break;
+      case SEND_BROADCAST_AS_USER:
+        unprotected = isMissingOrNull(arguments, 2);
+        break;
+      case SEND_ORDERED_BROADCAST:
+        unprotected = isNull(arguments, 1);
+        break;
+      case SEND_ORDERED_BROADCAST_AS_USER:
+        unprotected = isNull(arguments, 2);
+        break;
+      default:
+        // sticky broadcasts can not be restricted by a receiver permission
+        unprotected = true;
+        break;
+    }
+    if (unprotected) {
       reportIssue(mit.methodSelect(), MESSAGE);
     }
   }
+
+  private static boolean isMissingOrNull(Arguments arguments, int index) {
+    return arguments.size() <= index || arguments.get(index).is(NULL_LITERAL);
+  }
+
+  private static boolean isNull(Arguments arguments, int index) {
+    return arguments.size() > index && arguments.get(index).is(NULL_LITERAL);
+  }
+
+  @Override
+  public boolean isApplicable(FileContentIndex index) {
+    return index.hasAnyIdentifier(METHOD_NAMES);
+  }
 }
@@ -21,31 +21,50 @@ package org.sonar.java.checks.security;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.sonar.check.Rule;
+import org.sonar.java.FileContentAwareVisitor;
 import org.sonar.java.checks.methods.AbstractMethodDetection;
 import org.sonar.java.matcher.MethodMatcher;
+import org.sonar.java.model.FileContentIndex;
 import org.sonar.plugins.java.api.tree.MethodInvocationTree;
 
 @Rule(key = "S5324")
-public class AndroidExternalStorageCheck extends AbstractMethodDetection {
+public class AndroidExternalStorageCheck extends AbstractMethodDetection implements FileContentAwareVisitor {
+
+  // names of the matched methods, also used to skip files not invoking any of them
+  private static final List<String> ENVIRONMENT_METHOD_NAMES = Arrays.asList(
+    "getExternalStorageDirectory",
+    "getExternalStoragePublicDirectory");
+  private static final List<String> CONTEXT_METHOD_NAMES = Arrays.asList(
+    "getExternalFilesDir",
+    "getExternalFilesDirs",
+    "getExternalMediaDirs",
+    "getExternalCacheDir",
+    "getExternalCacheDirs",
+    "getObbDir",
+    "getObbDirs");
 
   @Override
   protected List<MethodMatcher> getMethodInvocationMatchers() {
-    return Arrays.asList(
-      MethodMatcher.create().typeDefinition("android.os.Environment").name("getExternalStorageDirectory").withAnyParameters(),
-      MethodMatcher.create().typeDefinition("android.os.Environment").name("getExternalStoragePublicDirectory").withAnyParameters(),
-      MethodMatcher.create().typeDefinition("android.content.Context").name("getExternalFilesDir").withAnyParameters(),
-      MethodMatcher.create().typeDefinition("android.content.Context").name("getExternalFilesDirs").withAnyParameters(),
-      MethodMatcher.create().typeDefinition("android.content.Context").name("getExternalMediaDirs").withAnyParameters(),
-      MethodMatcher.create().typeDefinition("android.content.Context").name("getExternalCacheDir").withAnyParameters(),
-      MethodMatcher.create().typeDefinition("android.content.Context").name("getExternalCacheDirs").withAnyParameters(),
-      MethodMatcher.create().typeDefinition("android.content.Context").name("getObbDir").withAnyParameters(),
-      MethodMatcher.create().typeDefinition("android.content.Context").name("getObbDirs").withAnyParameters()
-    );
+    return Stream.concat(
+      methodMatchers("android.os.Environment", ENVIRONMENT_METHOD_NAMES),
+      methodMatchers("android.content.Context", CONTEXT_METHOD_NAMES))
+      .collect(Collectors.toList());
+  }
+
+  private static Stream<MethodMatcher> methodMatchers(String typeDefinition, List<String> methodNames) {
+    return methodNames.stream().map(methodName -> MethodMatcher.create().typeDefinition(typeDefinition).name(methodName).withAnyParameters());
   }
 
   @Override
   protected void onMethodInvocationFound(MethodInvocationTree mit) {
     reportIssue(mit, "Make sure that external files are accessed safely here.");
   }
+
+  @Override
+  public boolean isApplicable(FileContentIndex index) {
+    return index.hasAnyIdentifier(ENVIRONMENT_METHOD_NAMES) || index.hasAnyIdentifier(CONTEXT_METHOD_NAMES);
+  }
 }
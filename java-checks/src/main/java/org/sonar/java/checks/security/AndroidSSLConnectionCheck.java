@@ -20,6 +20,8 @@
 package org.sonar.java.checks.security;
 
 import org.sonar.check.Rule;
+import org.sonar.java.FileContentAwareVisitor;
+import org.sonar.java.model.FileContentIndex;
 import org.sonar.plugins.java.api.IssuableSubscriptionVisitor;
 import org.sonar.plugins.java.api.tree.MethodTree;
 import org.sonar.plugins.java.api.tree.Tree;
@@ -28,7 +30,7 @@ import java.util.List;
 import org.sonar.plugins.java.api.tree.VariableTree;
 
 @Rule(key = "S5326")
-public class AndroidSSLConnectionCheck extends IssuableSubscriptionVisitor {
+public class AndroidSSLConnectionCheck extends IssuableSubscriptionVisitor implements FileContentAwareVisitor {
   @Override
   public List<Tree.Kind> nodesToVisit() {
     return Collections.singletonList(Tree.Kind.METHOD);
@@ -48,4 +50,9 @@ public class AndroidSSLConnectionCheck extends IssuableSubscriptionVisitor {
       }
     }
   }
+
+  @Override
+  public boolean isApplicable(FileContentIndex index) {
+    return index.hasIdentifier("onReceivedSslError");
+  }
 }
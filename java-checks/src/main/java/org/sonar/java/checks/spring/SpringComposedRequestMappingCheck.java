@@ -26,6 +26,8 @@ import java.util.Map;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.sonar.check.Rule;
+import org.sonar.java.FileContentAwareVisitor;
+import org.sonar.java.model.FileContentIndex;
 import org.sonar.plugins.java.api.IssuableSubscriptionVisitor;
 import org.sonar.plugins.java.api.JavaFileScannerContext;
 import org.sonar.plugins.java.api.semantic.Symbol;
@@ -38,7 +40,7 @@ import org.sonar.plugins.java.api.tree.NewArrayTree;
 import org.sonar.plugins.java.api.tree.Tree;
 
 @Rule(key = "S4488")
-public class SpringComposedRequestMappingCheck extends IssuableSubscriptionVisitor {
+public class SpringComposedRequestMappingCheck extends IssuableSubscriptionVisitor implements FileContentAwareVisitor {
 
   private static final Map<String, String> PREFERRED_METHOD_MAP = buildPreferredMethodMap();
 
@@ -114,4 +116,9 @@ public class SpringComposedRequestMappingCheck extends IssuableSubscriptionVisit
     }
     return Stream.of(expression);
   }
+
+  @Override
+  public boolean isApplicable(FileContentIndex index) {
+    return index.hasIdentifier("RequestMapping");
+  }
 }
@@ -0,0 +1,73 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2020 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java.checks.xml;
+
+import java.util.Locale;
+import javax.annotation.Nullable;
+import org.sonar.api.batch.fs.InputFile;
+import org.sonar.java.checks.xml.web.AbstractWebXmlXPathBasedCheck;
+import org.sonarsource.analyzer.commons.xml.checks.SonarXmlCheck;
+
+/**
+ * Kinds of XML files which can be told apart from their file name only, allowing to skip checks which can not raise issues on a file
+ * before parsing it.
+ */
+public enum XmlFileKind {
+  MAVEN_POM("pom.xml"),
+  WEB_DEPLOYMENT_DESCRIPTOR("web.xml"),
+  OTHER(null);
+
+  private static final String MAVEN_CHECKS_PACKAGE = XmlFileKind.class.getPackage().getName() + ".maven";
+
+  @Nullable
+  private final String filename;
+
+  XmlFileKind(@Nullable String filename) {
+    this.filename = filename;
+  }
+
+  public static XmlFileKind of(InputFile inputFile) {
+    String lowerCaseFilename = inputFile.filename().toLowerCase(Locale.ENGLISH);
+    for (XmlFileKind kind : values()) {
+      if (lowerCaseFilename.equals(kind.filename)) {
+        return kind;
+      }
+    }
+    return OTHER;
+  }
+
+  /**
+   * @return the only kind of file on which the check can raise issues, or {@link #OTHER} when it applies to any XML file
+   */
+  public static XmlFileKind targetedBy(Class<? extends SonarXmlCheck> checkClass) {
+    if (AbstractWebXmlXPathBasedCheck.class.isAssignableFrom(checkClass)) {
+      return WEB_DEPLOYMENT_DESCRIPTOR;
+    }
+    if (MAVEN_CHECKS_PACKAGE.equals(checkClass.getPackage().getName())) {
+      return MAVEN_POM;
+    }
+    return OTHER;
+  }
+
+  public boolean isTargetedBy(Class<? extends SonarXmlCheck> checkClass) {
+    XmlFileKind targetedKind = targetedBy(checkClass);
+    return targetedKind == OTHER || targetedKind == this;
+  }
+}
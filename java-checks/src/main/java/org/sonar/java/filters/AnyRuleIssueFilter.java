@@ -19,15 +19,11 @@
  */
 package org.sonar.java.filters;
 
-import com.google.common.collect.ContiguousSet;
-import com.google.common.collect.DiscreteDomain;
-import com.google.common.collect.Range;
-
 import java.util.Collections;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import org.sonar.api.scan.issue.filter.FilterableIssue;
+import org.sonar.java.collections.LineSet;
 import org.sonar.plugins.java.api.JavaCheck;
 import org.sonar.plugins.java.api.JavaFileScannerContext;
 import org.sonar.plugins.java.api.tree.BaseTreeVisitor;
@@ -38,7 +34,7 @@ import org.sonar.plugins.java.api.tree.Tree;
 public abstract class AnyRuleIssueFilter extends BaseTreeVisitor implements JavaIssueFilter {
 
   private String componentKey;
-  private final Set<Integer> excludedLines = new HashSet<>();
+  private final LineSet excludedLines = new LineSet();
 
   @Override
   public void scanFile(JavaFileScannerContext context) {
@@ -58,10 +54,6 @@ public abstract class AnyRuleIssueFilter extends BaseTreeVisitor implements Java
   }
 
   public void excludeLines(Tree tree) {
-    excludedLines.addAll(filteredLines(tree));
-  }
-
-  private static Set<Integer> filteredLines(Tree tree) {
     SyntaxToken firstSyntaxToken = tree.firstToken();
     SyntaxToken lastSyntaxToken = tree.lastToken();
     if (firstSyntaxToken != null && lastSyntaxToken != null) {
@@ -74,8 +66,7 @@ public abstract class AnyRuleIssueFilter extends BaseTreeVisitor implements Java
         startLine = trivias.get(0).startLine();
       }
 
-      return ContiguousSet.create(Range.closed(startLine, endLine), DiscreteDomain.integers());
+      excludedLines.addRange(startLine, endLine);
     }
-    return new HashSet<>();
   }
 }
@@ -19,12 +19,6 @@
  */
 package org.sonar.java.filters;
 
-import com.google.common.collect.ContiguousSet;
-import com.google.common.collect.DiscreteDomain;
-import com.google.common.collect.HashMultimap;
-import com.google.common.collect.Multimap;
-import com.google.common.collect.Range;
-
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
@@ -32,6 +26,7 @@ import javax.annotation.Nullable;
 import org.sonar.api.scan.issue.filter.FilterableIssue;
 import org.sonar.api.utils.AnnotationUtils;
 import org.sonar.check.Rule;
+import org.sonar.java.collections.LineSet;
 import org.sonar.plugins.java.api.JavaCheck;
 import org.sonar.plugins.java.api.JavaFileScannerContext;
 import org.sonar.plugins.java.api.tree.BaseTreeVisitor;
@@ -41,11 +36,11 @@ import org.sonar.plugins.java.api.tree.Tree;
 public abstract class BaseTreeVisitorIssueFilter extends BaseTreeVisitor implements JavaIssueFilter {
 
   private String componentKey;
-  private final Multimap<String, Integer> excludedLinesByRule;
+  private final Map<String, LineSet> excludedLinesByRule;
   private final Map<Class<? extends JavaCheck>, String> rulesKeysByRulesClass;
 
   public BaseTreeVisitorIssueFilter() {
-    excludedLinesByRule = HashMultimap.create();
+    excludedLinesByRule = new HashMap<>();
     rulesKeysByRulesClass = rulesKeysByRulesClass(filteredRules());
   }
 
@@ -73,10 +68,14 @@ public abstract class BaseTreeVisitorIssueFilter extends BaseTreeVisitor impleme
 
   @Override
   public boolean accept(FilterableIssue issue) {
-    return !(issue.componentKey().equals(componentKey) && excludedLinesByRule.get(issue.ruleKey().rule()).contains(issue.line()));
+    if (!issue.componentKey().equals(componentKey)) {
+      return true;
+    }
+    LineSet excludedLines = excludedLinesByRule.get(issue.ruleKey().rule());
+    return excludedLines == null || !excludedLines.contains(issue.line());
   }
 
-  public Multimap<String, Integer> excludedLinesByRule() {
+  public Map<String, LineSet> excludedLinesByRule() {
     return excludedLinesByRule;
   }
 
@@ -96,8 +95,8 @@ public abstract class BaseTreeVisitorIssueFilter extends BaseTreeVisitor impleme
     }
   }
 
-  public void excludeLines(Set<Integer> lines, String ruleKey) {
-    computeFilteredLinesForRule(lines, ruleKey, true);
+  public void excludeLines(int firstLine, int lastLine, String ruleKey) {
+    computeFilteredLinesForRule(firstLine, lastLine, ruleKey, true);
   }
 
   public void excludeLines(@Nullable Tree tree, Class<? extends JavaCheck> rule) {
@@ -111,16 +110,23 @@ public abstract class BaseTreeVisitorIssueFilter extends BaseTreeVisitor impleme
     SyntaxToken firstSyntaxToken = tree.firstToken();
     SyntaxToken lastSyntaxToken = tree.lastToken();
     if (firstSyntaxToken != null && lastSyntaxToken != null) {
-      Set<Integer> filteredlines = ContiguousSet.create(Range.closed(firstSyntaxToken.line(), lastSyntaxToken.line()), DiscreteDomain.integers());
-      computeFilteredLinesForRule(filteredlines, rulesKeysByRulesClass.get(filteredRule), excludeLine);
+      computeFilteredLinesForRule(firstSyntaxToken.line(), lastSyntaxToken.line(), rulesKeysByRulesClass.get(filteredRule), excludeLine);
     }
   }
 
-  private void computeFilteredLinesForRule(Set<Integer> lines, String ruleKey, boolean excludeLine) {
+  private void computeFilteredLinesForRule(int firstLine, int lastLine, String ruleKey, boolean excludeLine) {
     if (excludeLine) {
-      excludedLinesByRule.putAll(ruleKey, lines);
+      if (firstLine <= lastLine) {
+        excludedLinesByRule.computeIfAbsent(ruleKey, k -> new LineSet()).addRange(firstLine, lastLine);
+      }
     } else {
-      excludedLinesByRule.get(ruleKey).removeAll(lines);
+      LineSet excludedLines = excludedLinesByRule.get(ruleKey);
+      if (excludedLines != null) {
+        excludedLines.removeRange(firstLine, lastLine);
+        if (excludedLines.isEmpty()) {
+          excludedLinesByRule.remove(ruleKey);
+        }
+      }
     }
   }
 }
@@ -19,25 +19,44 @@
  */
 package org.sonar.java.filters;
 
+import java.util.Arrays;
+import java.util.List;
+import org.sonar.java.SemanticAwareVisitor;
+import org.sonar.java.checks.helpers.ExpressionsHelper;
 import org.sonar.plugins.java.api.JavaFileScannerContext;
 import org.sonar.plugins.java.api.semantic.Symbol;
+import org.sonar.plugins.java.api.tree.AnnotationTree;
 import org.sonar.plugins.java.api.tree.ClassTree;
+import org.sonar.plugins.java.api.tree.ExpressionTree;
+import org.sonar.plugins.java.api.tree.ImportTree;
 import org.sonar.plugins.java.api.tree.MethodTree;
+import org.sonar.plugins.java.api.tree.ModifiersTree;
+import org.sonar.plugins.java.api.tree.Tree;
 
-public class GeneratedCodeFilter extends AnyRuleIssueFilter {
+public class GeneratedCodeFilter extends AnyRuleIssueFilter implements SemanticAwareVisitor {
+
+  private static final List<String> GENERATED_ANNOTATIONS = Arrays.asList("javax.annotation.Generated", "javax.annotation.processing.Generated");
+
+  private boolean generatedAnnotationImported;
 
   @Override
   public void scanFile(JavaFileScannerContext context) {
-    if (context.getSemanticModel() == null) {
-      // Filter requires semantic
-      return;
-    }
+    generatedAnnotationImported = context.getTree().imports().stream()
+      .filter(importClause -> importClause.is(Tree.Kind.IMPORT))
+      .map(importClause -> ExpressionsHelper.concatenate((ExpressionTree) ((ImportTree) importClause).qualifiedIdentifier()))
+      .anyMatch(GENERATED_ANNOTATIONS::contains);
     super.scanFile(context);
   }
 
+  @Override
+  public boolean requiresSemantic() {
+    // generated annotations are recognized by their name when types are not resolved
+    return false;
+  }
+
   @Override
   public void visitClass(ClassTree tree) {
-    if (isGenerated(tree.symbol())) {
+    if (isGenerated(tree.symbol(), tree.modifiers())) {
       excludeLines(tree);
     }
     super.visitClass(tree);
@@ -45,14 +64,23 @@ public class GeneratedCodeFilter extends AnyRuleIssueFilter {
 
   @Override
   public void visitMethod(MethodTree tree) {
-    if (isGenerated(tree.symbol())) {
+    if (isGenerated(tree.symbol(), tree.modifiers())) {
       excludeLines(tree);
     }
     super.visitMethod(tree);
   }
 
-  private static boolean isGenerated(Symbol symbol) {
-    return symbol.metadata().isAnnotatedWith("javax.annotation.Generated")
-      || symbol.metadata().isAnnotatedWith("javax.annotation.processing.Generated");
+  private boolean isGenerated(Symbol symbol, ModifiersTree modifiers) {
+    return GENERATED_ANNOTATIONS.stream().anyMatch(symbol.metadata()::isAnnotatedWith)
+      || modifiers.annotations().stream().anyMatch(this::isUnresolvedGeneratedAnnotation);
+  }
+
+  private boolean isUnresolvedGeneratedAnnotation(AnnotationTree annotation) {
+    if (!annotation.annotationType().symbolType().isUnknown()) {
+      return false;
+    }
+    // file parsed without semantic, or annotation missing from the classpath ('javax.annotation.processing' before Java 9): rely on the name
+    String name = ExpressionsHelper.concatenate((ExpressionTree) annotation.annotationType());
+    return GENERATED_ANNOTATIONS.contains(name) || (generatedAnnotationImported && "Generated".equals(name));
   }
 }
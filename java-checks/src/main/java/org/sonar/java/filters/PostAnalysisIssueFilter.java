@@ -21,12 +21,15 @@ package org.sonar.java.filters;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableList;
+import java.util.Set;
 import org.sonar.api.scan.issue.filter.FilterableIssue;
 import org.sonar.api.scan.issue.filter.IssueFilterChain;
+import org.sonar.java.SemanticAwareVisitor;
+import org.sonar.plugins.java.api.JavaCheck;
 import org.sonar.plugins.java.api.JavaFileScanner;
 import org.sonar.plugins.java.api.JavaFileScannerContext;
 
-public class PostAnalysisIssueFilter implements JavaFileScanner, SonarJavaIssueFilter {
+public class PostAnalysisIssueFilter implements JavaFileScanner, SonarJavaIssueFilter, SemanticAwareVisitor {
 
   private static final Iterable<JavaIssueFilter> DEFAULT_ISSUE_FILTERS = ImmutableList.<JavaIssueFilter>of(
     new EclipseI18NFilter(),
@@ -64,4 +67,24 @@ public class PostAnalysisIssueFilter implements JavaFileScanner, SonarJavaIssueF
       javaIssueFilter.scanFile(context);
     }
   }
+
+  @Override
+  public boolean requiresSemantic() {
+    // filters relying on symbols would silently accept every issue of files parsed without semantic
+    for (JavaIssueFilter javaIssueFilter : getIssueFilters()) {
+      if (requiresSemantic(javaIssueFilter)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static boolean requiresSemantic(JavaIssueFilter javaIssueFilter) {
+    if (javaIssueFilter instanceof SemanticAwareVisitor) {
+      return ((SemanticAwareVisitor) javaIssueFilter).requiresSemantic();
+    }
+    Set<Class<? extends JavaCheck>> filteredRules = javaIssueFilter.filteredRules();
+    // rules not implementing SemanticAwareVisitor always require semantic: files parsed without semantic have none of their issues to filter
+    return filteredRules.isEmpty() || filteredRules.stream().anyMatch(SemanticAwareVisitor.class::isAssignableFrom);
+  }
 }
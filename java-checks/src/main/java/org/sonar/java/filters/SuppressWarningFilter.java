@@ -19,14 +19,7 @@
  */
 package org.sonar.java.filters;
 
-import com.google.common.collect.ContiguousSet;
-import com.google.common.collect.DiscreteDomain;
-import com.google.common.collect.HashMultimap;
-import com.google.common.collect.Multimap;
-import com.google.common.collect.Range;
-
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -36,28 +29,42 @@ import org.sonar.api.rule.RuleKey;
 import org.sonar.api.scan.issue.filter.FilterableIssue;
 import org.sonar.api.utils.AnnotationUtils;
 import org.sonar.check.Rule;
+import org.sonar.java.SemanticAwareVisitor;
 import org.sonar.java.checks.CheckList;
 import org.sonar.java.checks.SuppressWarningsCheck;
+import org.sonar.java.checks.helpers.ExpressionsHelper;
+import org.sonar.java.collections.LineSet;
 import org.sonar.plugins.java.api.JavaCheck;
 import org.sonar.plugins.java.api.JavaFileScannerContext;
+import org.sonar.plugins.java.api.semantic.Type;
 import org.sonar.plugins.java.api.tree.AnnotationTree;
+import org.sonar.plugins.java.api.tree.BaseTreeVisitor;
 import org.sonar.plugins.java.api.tree.ClassTree;
+import org.sonar.plugins.java.api.tree.CompilationUnitTree;
 import org.sonar.plugins.java.api.tree.ExpressionTree;
+import org.sonar.plugins.java.api.tree.IdentifierTree;
+import org.sonar.plugins.java.api.tree.ImportTree;
 import org.sonar.plugins.java.api.tree.MethodTree;
 import org.sonar.plugins.java.api.tree.NewArrayTree;
 import org.sonar.plugins.java.api.tree.SyntaxToken;
 import org.sonar.plugins.java.api.tree.Tree;
+import org.sonar.plugins.java.api.tree.TypeTree;
 import org.sonar.plugins.java.api.tree.VariableTree;
 import org.sonarsource.analyzer.commons.annotations.DeprecatedRuleKey;
 
-public class SuppressWarningFilter extends BaseTreeVisitorIssueFilter {
+public class SuppressWarningFilter extends BaseTreeVisitorIssueFilter implements SemanticAwareVisitor {
 
-  private final Map<String, Multimap<String, Integer>> excludedLinesByComponent = new HashMap<>();
+  private final Map<String, Map<String, LineSet>> excludedLinesByComponent = new HashMap<>();
 
   private static final String SUPPRESS_WARNING_RULE_KEY = getSuppressWarningRuleKey();
 
   private static final Map<String, RuleKey> DEPRRECATED_RULE_KEYS = getDeprecatedRuleKeys();
 
+  private static final String SUPPRESS_WARNINGS = "SuppressWarnings";
+  private static final String JAVA_LANG_SUPPRESS_WARNINGS = "java.lang.SuppressWarnings";
+
+  private boolean suppressWarningsShadowed;
+
   private static String getSuppressWarningRuleKey() {
     return AnnotationUtils.getAnnotation(SuppressWarningsCheck.class, Rule.class).key();
   }
@@ -69,8 +76,30 @@ public class SuppressWarningFilter extends BaseTreeVisitorIssueFilter {
 
   @Override
   public void scanFile(JavaFileScannerContext context) {
+    suppressWarningsShadowed = context.getSemanticModel() == null && isSuppressWarningsShadowed(context.getTree());
     super.scanFile(context);
-    excludedLinesByComponent.put(getComponentKey(), HashMultimap.create(excludedLinesByRule()));
+    excludedLinesByComponent.put(getComponentKey(), new HashMap<>(excludedLinesByRule()));
+  }
+
+  @Override
+  public boolean requiresSemantic() {
+    // @SuppressWarnings annotations are recognized by their name when types are not resolved
+    return false;
+  }
+
+  private static boolean isSuppressWarningsShadowed(CompilationUnitTree tree) {
+    boolean imported = tree.imports().stream()
+      .filter(importClause -> importClause.is(Tree.Kind.IMPORT))
+      .map(ImportTree.class::cast)
+      .filter(importTree -> !importTree.isStatic())
+      .map(importTree -> ExpressionsHelper.concatenate((ExpressionTree) importTree.qualifiedIdentifier()))
+      .anyMatch(name -> name.endsWith("." + SUPPRESS_WARNINGS) && !JAVA_LANG_SUPPRESS_WARNINGS.equals(name));
+    if (imported) {
+      return true;
+    }
+    SuppressWarningsDeclarationFinder finder = new SuppressWarningsDeclarationFinder();
+    tree.accept(finder);
+    return finder.found;
   }
 
   private static Map<String, RuleKey> getDeprecatedRuleKeys() {
@@ -87,19 +116,16 @@ public class SuppressWarningFilter extends BaseTreeVisitorIssueFilter {
 
   @Override
   public boolean accept(FilterableIssue issue) {
-    Multimap<String, Integer> excludedLinesByRule = HashMultimap.create();
-    if (excludedLinesByComponent.containsKey(issue.componentKey())) {
-      excludedLinesByRule = excludedLinesByComponent.get(issue.componentKey());
-    }
+    Map<String, LineSet> excludedLinesByRule = excludedLinesByComponent.getOrDefault(issue.componentKey(), Collections.emptyMap());
     return !issueShouldNotBeReported(issue, excludedLinesByRule);
   }
 
-  private static boolean issueShouldNotBeReported(FilterableIssue issue, Multimap<String, Integer> excludedLineByRule) {
+  private static boolean issueShouldNotBeReported(FilterableIssue issue, Map<String, LineSet> excludedLineByRule) {
     RuleKey issueRuleKey = issue.ruleKey();
-    for (String excludedRule : excludedLineByRule.keySet()) {
-      if (("all".equals(excludedRule) || isRuleKey(excludedRule, issueRuleKey)) && !isSuppressWarningRule(issueRuleKey)) {
-        Collection<Integer> excludedLines = excludedLineByRule.get(excludedRule);
-        if (excludedLines.contains(issue.line())) {
+    for (Map.Entry<String, LineSet> excludedRule : excludedLineByRule.entrySet()) {
+      String ruleKey = excludedRule.getKey();
+      if (("all".equals(ruleKey) || isRuleKey(ruleKey, issueRuleKey)) && !isSuppressWarningRule(issueRuleKey)) {
+        if (excludedRule.getValue().contains(issue.line())) {
           return true;
         }
       }
@@ -154,9 +180,8 @@ public class SuppressWarningFilter extends BaseTreeVisitorIssueFilter {
 
     if (startLine != -1) {
       int endLine = tree.lastToken().line();
-      Set<Integer> filteredlines = ContiguousSet.create(Range.closed(startLine, endLine), DiscreteDomain.integers());
       for (String rule : rules) {
-        excludeLines(filteredlines, rule);
+        excludeLines(startLine, endLine, rule);
       }
     }
   }
@@ -170,8 +195,19 @@ public class SuppressWarningFilter extends BaseTreeVisitorIssueFilter {
     return firstToken.line();
   }
 
-  private static boolean isSuppressWarningsAnnotation(AnnotationTree annotationTree) {
-    return annotationTree.annotationType().symbolType().is("java.lang.SuppressWarnings") && !annotationTree.arguments().isEmpty();
+  private boolean isSuppressWarningsAnnotation(AnnotationTree annotationTree) {
+    return isSuppressWarningsType(annotationTree.annotationType()) && !annotationTree.arguments().isEmpty();
+  }
+
+  private boolean isSuppressWarningsType(TypeTree annotationType) {
+    Type type = annotationType.symbolType();
+    if (type.isUnknown()) {
+      // file parsed without semantic: rely on the name, the simple name being ambiguous when the file imports or declares another
+      // 'SuppressWarnings' type. A type of the same package declared in another file is not detected and also shadows 'java.lang'.
+      String name = ExpressionsHelper.concatenate((ExpressionTree) annotationType);
+      return (SUPPRESS_WARNINGS.equals(name) && !suppressWarningsShadowed) || JAVA_LANG_SUPPRESS_WARNINGS.equals(name);
+    }
+    return type.is(JAVA_LANG_SUPPRESS_WARNINGS);
   }
 
   private static List<String> getRules(AnnotationTree annotationTree) {
@@ -189,4 +225,19 @@ public class SuppressWarningFilter extends BaseTreeVisitorIssueFilter {
     }
     return args;
   }
+
+  private static class SuppressWarningsDeclarationFinder extends BaseTreeVisitor {
+
+    private boolean found = false;
+
+    @Override
+    public void visitClass(ClassTree tree) {
+      IdentifierTree simpleName = tree.simpleName();
+      if (simpleName != null && SUPPRESS_WARNINGS.equals(simpleName.name())) {
+        found = true;
+      } else {
+        super.visitClass(tree);
+      }
+    }
+  }
 }
@@ -8,7 +8,7 @@ class this_is_a_bad_class_name { // WithIssue
 
   @Generated("value")
   void Bad_Generated_Method_Name() {  // NoIssue
-    Object Bad_Variable_Name; // NoIssue
+    Object Bad_Variable_Name; // alpha NoIssue
   }
 
   void Bad_Method_Name() { // WithIssue
@@ -46,6 +46,6 @@ class unrelated_bad_name { //WithIssue
   Object Bad_Field_Name; // WithIssue
 
   void Bad_Method_Name() { // WithIssue
-    Object Bad_Variable_Name; // WithIssue
+    Object Bad_Variable_Name; // alpha WithIssue
   }
 }
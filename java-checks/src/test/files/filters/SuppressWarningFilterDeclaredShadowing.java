@@ -0,0 +1,19 @@
+/**
+ * Extra rules running:
+ * - TodoTagPresenceCheck (S1135)
+ */
+class A {
+  @interface SuppressWarnings {
+    String[] value();
+  }
+
+  @SuppressWarnings("repo:S1135")
+  void foo() {
+    // TODO not java.lang.SuppressWarnings WithIssue
+  }
+
+  @java.lang.SuppressWarnings("repo:S1135")
+  void bar() {
+    // TODO suppressed NoIssue
+  }
+}
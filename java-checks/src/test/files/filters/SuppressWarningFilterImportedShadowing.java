@@ -0,0 +1,17 @@
+import org.foo.SuppressWarnings;
+
+/**
+ * Extra rules running:
+ * - TodoTagPresenceCheck (S1135)
+ */
+class A {
+  @SuppressWarnings("repo:S1135")
+  void foo() {
+    // TODO not java.lang.SuppressWarnings WithIssue
+  }
+
+  @java.lang.SuppressWarnings("repo:S1135")
+  void bar() {
+    // TODO suppressed NoIssue
+  }
+}
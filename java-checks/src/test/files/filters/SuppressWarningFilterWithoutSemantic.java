@@ -0,0 +1,20 @@
+/**
+ * Extra rules running:
+ * - TodoTagPresenceCheck (S1135)
+ */
+class A {
+  @SuppressWarnings("repo:S1135")
+  void foo() {
+    // TODO suppressed NoIssue
+  }
+
+  @java.lang.SuppressWarnings("all")
+  void bar() {
+    // TODO suppressed NoIssue
+  }
+
+  @SuppressWarnings("repo:S115")
+  void qix() {
+    // TODO other rule suppressed WithIssue
+  }
+}
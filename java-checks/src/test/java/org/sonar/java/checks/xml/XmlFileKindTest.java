@@ -0,0 +1,60 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2020 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java.checks.xml;
+
+import org.junit.Test;
+import org.sonar.api.batch.fs.internal.TestInputFileBuilder;
+import org.sonar.java.checks.CheckList;
+import org.sonar.java.checks.xml.ejb.DefaultInterceptorsLocationCheck;
+import org.sonar.java.checks.xml.maven.PomElementOrderCheck;
+import org.sonar.java.checks.xml.spring.SingleConnectionFactoryCheck;
+import org.sonar.java.checks.xml.web.ValidationFiltersCheck;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class XmlFileKindTest {
+
+  @Test
+  public void kind_of_file() {
+    assertThat(XmlFileKind.of(TestInputFileBuilder.create("", "module/pom.xml").build())).isEqualTo(XmlFileKind.MAVEN_POM);
+    assertThat(XmlFileKind.of(TestInputFileBuilder.create("", "module/POM.XML").build())).isEqualTo(XmlFileKind.MAVEN_POM);
+    assertThat(XmlFileKind.of(TestInputFileBuilder.create("", "WEB-INF/web.xml").build())).isEqualTo(XmlFileKind.WEB_DEPLOYMENT_DESCRIPTOR);
+    assertThat(XmlFileKind.of(TestInputFileBuilder.create("", "META-INF/ejb-jar.xml").build())).isEqualTo(XmlFileKind.OTHER);
+    assertThat(XmlFileKind.of(TestInputFileBuilder.create("", "my-pom.xml").build())).isEqualTo(XmlFileKind.OTHER);
+  }
+
+  @Test
+  public void kind_targeted_by_checks() {
+    assertThat(XmlFileKind.targetedBy(PomElementOrderCheck.class)).isEqualTo(XmlFileKind.MAVEN_POM);
+    assertThat(XmlFileKind.targetedBy(ValidationFiltersCheck.class)).isEqualTo(XmlFileKind.WEB_DEPLOYMENT_DESCRIPTOR);
+    assertThat(XmlFileKind.targetedBy(DefaultInterceptorsLocationCheck.class)).isEqualTo(XmlFileKind.OTHER);
+    assertThat(XmlFileKind.targetedBy(SingleConnectionFactoryCheck.class)).isEqualTo(XmlFileKind.OTHER);
+    assertThat(CheckList.getXmlChecks()).filteredOn(c -> XmlFileKind.targetedBy(c) == XmlFileKind.MAVEN_POM).hasSize(6);
+  }
+
+  @Test
+  public void checks_applying_to_kind() {
+    assertThat(XmlFileKind.MAVEN_POM.isTargetedBy(PomElementOrderCheck.class)).isTrue();
+    assertThat(XmlFileKind.MAVEN_POM.isTargetedBy(SingleConnectionFactoryCheck.class)).isTrue();
+    assertThat(XmlFileKind.MAVEN_POM.isTargetedBy(ValidationFiltersCheck.class)).isFalse();
+    assertThat(XmlFileKind.OTHER.isTargetedBy(PomElementOrderCheck.class)).isFalse();
+    assertThat(XmlFileKind.OTHER.isTargetedBy(DefaultInterceptorsLocationCheck.class)).isTrue();
+  }
+}
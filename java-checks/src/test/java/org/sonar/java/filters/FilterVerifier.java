@@ -43,6 +43,7 @@ import org.sonar.api.utils.Version;
 import org.sonar.check.Rule;
 import org.sonar.java.AnalyzerMessage;
 import org.sonar.java.CheckTestUtils;
+import org.sonar.java.SemanticAwareVisitor;
 import org.sonar.java.SonarComponents;
 import org.sonar.java.ast.JavaAstScanner;
 import org.sonar.java.ast.visitors.SubscriptionVisitor;
@@ -126,7 +127,7 @@ public class FilterVerifier {
     return rules;
   }
 
-  private static class IssueCollector extends SubscriptionVisitor {
+  private static class IssueCollector extends SubscriptionVisitor implements SemanticAwareVisitor {
 
     private final Set<Integer> rejectedIssuesLines = new HashSet<>();
     private final Set<Integer> acceptedIssuesLines = new HashSet<>();
@@ -136,6 +137,11 @@ public class FilterVerifier {
       return Collections.singletonList(Tree.Kind.TRIVIA);
     }
 
+    @Override
+    public boolean requiresSemantic() {
+      return false;
+    }
+
     @Override
     public void visitTrivia(SyntaxTrivia syntaxTrivia) {
       String comment = syntaxTrivia.comment().trim();
@@ -38,4 +38,12 @@ public class GeneratedCodeFilterTest {
       new BadMethodNameCheck(),
       new BadLocalVariableNameCheck());
   }
+
+  @Test
+  public void test_without_semantic() {
+    // only syntactic rules are active: the file is parsed without resolving bindings
+    CommentRegularExpressionCheck commentRegularExpressionCheck = new CommentRegularExpressionCheck();
+    commentRegularExpressionCheck.regularExpression = ".*alpha.*";
+    FilterVerifier.verify("src/test/files/filters/GeneratedCodeFilter.java", new GeneratedCodeFilter(), commentRegularExpressionCheck);
+  }
 }
@@ -19,6 +19,7 @@
  */
 package org.sonar.java.filters;
 
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
 import java.util.ArrayList;
 import java.util.Set;
@@ -28,6 +29,9 @@ import org.sonar.api.batch.fs.InputFile;
 import org.sonar.api.scan.issue.filter.FilterableIssue;
 import org.sonar.api.scan.issue.filter.IssueFilterChain;
 import org.sonar.java.CheckTestUtils;
+import org.sonar.java.SemanticAwareVisitor;
+import org.sonar.java.checks.TodoTagPresenceCheck;
+import org.sonar.java.checks.naming.BadMethodNameCheck;
 import org.sonar.plugins.java.api.JavaCheck;
 import org.sonar.plugins.java.api.JavaFileScannerContext;
 
@@ -55,6 +59,27 @@ public class PostAnalysisIssueFilterTest {
     assertThat(postAnalysisIssueFilter.getIssueFilters()).hasSize(4);
   }
 
+  @Test
+  public void requires_semantic_when_any_issue_filter_does() {
+    // default filters either recognize annotations by their name or only filter issues of rules requiring semantic
+    assertThat(postAnalysisIssueFilter.requiresSemantic()).isFalse();
+
+    postAnalysisIssueFilter.setIssueFilters(Lists.newArrayList(new SyntacticJavaIssueFilter()));
+    assertThat(postAnalysisIssueFilter.requiresSemantic()).isFalse();
+
+    postAnalysisIssueFilter.setIssueFilters(Lists.newArrayList(new SyntacticJavaIssueFilter(), new FakeJavaIssueFilter(true)));
+    assertThat(postAnalysisIssueFilter.requiresSemantic()).isTrue();
+  }
+
+  @Test
+  public void requires_semantic_when_filtering_issues_of_syntactic_rules() {
+    postAnalysisIssueFilter.setIssueFilters(Lists.newArrayList(new FakeJavaIssueFilter(true, BadMethodNameCheck.class)));
+    assertThat(postAnalysisIssueFilter.requiresSemantic()).isFalse();
+
+    postAnalysisIssueFilter.setIssueFilters(Lists.newArrayList(new FakeJavaIssueFilter(true, BadMethodNameCheck.class, TodoTagPresenceCheck.class)));
+    assertThat(postAnalysisIssueFilter.requiresSemantic()).isTrue();
+  }
+
   @Test
   public void issue_filter_should_reject_issue_if_any_issue_filter_reject_the_issue() {
     postAnalysisIssueFilter.setIssueFilters(ISSUE_FILTERS);
@@ -89,10 +114,13 @@ public class PostAnalysisIssueFilterTest {
   private static class FakeJavaIssueFilter implements JavaIssueFilter {
 
     private final boolean accepted;
+    private final Set<Class<? extends JavaCheck>> filteredRules;
     private boolean scanned = false;
 
-    FakeJavaIssueFilter(boolean accept) {
+    @SafeVarargs
+    FakeJavaIssueFilter(boolean accept, Class<? extends JavaCheck>... filteredRules) {
       this.accepted = accept;
+      this.filteredRules = ImmutableSet.copyOf(filteredRules);
     }
 
     @Override
@@ -107,7 +135,19 @@ public class PostAnalysisIssueFilterTest {
 
     @Override
     public Set<Class<? extends JavaCheck>> filteredRules() {
-      return null;
+      return filteredRules;
+    }
+  }
+
+  private static class SyntacticJavaIssueFilter extends FakeJavaIssueFilter implements SemanticAwareVisitor {
+
+    SyntacticJavaIssueFilter() {
+      super(true);
+    }
+
+    @Override
+    public boolean requiresSemantic() {
+      return false;
     }
   }
 
@@ -43,4 +43,12 @@ public class SuppressWarningFilterTest {
     );
   }
 
+  @Test
+  public void verify_without_semantic() {
+    // only syntactic rules are active: the files are parsed without resolving bindings
+    FilterVerifier.verify("src/test/files/filters/SuppressWarningFilterWithoutSemantic.java", new SuppressWarningFilter(), new TodoTagPresenceCheck());
+    FilterVerifier.verify("src/test/files/filters/SuppressWarningFilterDeclaredShadowing.java", new SuppressWarningFilter(), new TodoTagPresenceCheck());
+    FilterVerifier.verify("src/test/files/filters/SuppressWarningFilterImportedShadowing.java", new SuppressWarningFilter(), new TodoTagPresenceCheck());
+  }
+
 }
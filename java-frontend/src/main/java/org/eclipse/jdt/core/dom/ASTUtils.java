@@ -20,6 +20,7 @@
 package org.eclipse.jdt.core.dom;
 
 import org.eclipse.jdt.core.compiler.CharOperation;
+import org.eclipse.jdt.internal.compiler.lookup.LookupEnvironment;
 import org.eclipse.jdt.internal.compiler.lookup.ReferenceBinding;
 import org.sonar.api.utils.log.Logger;
 import org.sonar.api.utils.log.Loggers;
@@ -40,8 +41,12 @@ public final class ASTUtils {
   public static ITypeBinding resolveType(AST ast, String name) {
     try {
       BindingResolver bindingResolver = ast.getBindingResolver();
-      ReferenceBinding referenceBinding = bindingResolver
-        .lookupEnvironment()
+      LookupEnvironment lookupEnvironment = bindingResolver.lookupEnvironment();
+      if (lookupEnvironment == null) {
+        // bindings not resolved
+        return null;
+      }
+      ReferenceBinding referenceBinding = lookupEnvironment
         .getType(CharOperation.splitOn('.', name.toCharArray()));
       return bindingResolver.getTypeBinding(referenceBinding);
     } catch (Exception e) {
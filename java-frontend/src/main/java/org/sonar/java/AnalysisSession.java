@@ -0,0 +1,240 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2020 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.sonar.api.Startable;
+import org.sonar.api.utils.log.Logger;
+import org.sonar.api.utils.log.Loggers;
+import org.sonar.java.bytecode.ClassLoaderBuilder;
+import org.sonar.java.bytecode.ClasspathFingerprints;
+import org.sonar.java.bytecode.loader.SquidClassLoader;
+import org.sonar.java.se.xproc.MethodBehavior;
+import org.sonarsource.api.sonarlint.SonarLintSide;
+
+/**
+ * State kept warm between the analyses of a SonarLint session, which re-analyze a few files at each edition: class loaders indexing the
+ * classpath, and method behaviors computed from bytecode. They are shared as long as the classpath is unchanged, and dropped as soon as
+ * one of its entries or one of the files of its directories is added, removed or modified. Method behaviors of edited source files are
+ * never kept, as they are computed again for each analyzed file.
+ * Directories of the classpath are watched, so that they are not walked again at each analysis, where the platform notifies file changes.
+ * Only the states of the most recently analyzed classpaths are kept, class loaders of dropped states are closed once no analysis uses them.
+ */
+@SonarLintSide(lifespan = SonarLintSide.MULTIPLE_ANALYSES)
+public class AnalysisSession implements Startable {
+
+  private static final Logger LOG = Loggers.get(AnalysisSession.class);
+  private static final int MAX_CLASSPATH_STATES = 8;
+
+  // in access order, to evict the states of the classpaths which were not analyzed for the longest time
+  private final Map<List<File>, ClasspathState> statesByClasspath = new LinkedHashMap<>(16, 0.75f, true);
+  // watchers of the directories of the kept classpaths
+  private final Map<File, ClasspathFingerprints.DirectoryWatcher> watchersByDirectory = new HashMap<>();
+
+  /**
+   * @return the state of the given classpath, shared with previous analyses when none of its entries changed since then. It has to be
+   * released once the analysis is over.
+   */
+  public synchronized ClasspathState classpathState(List<File> classpath) {
+    List<Fingerprint> fingerprints = fingerprints(classpath);
+    ClasspathState state = statesByClasspath.get(classpath);
+    if (state == null || !state.fingerprints.equals(fingerprints)) {
+      if (state != null) {
+        LOG.debug("Classpath changed since previous analysis, dropping its cached state");
+        drop(state);
+      }
+      state = new ClasspathState(this, fingerprints, ClassLoaderBuilder.create(classpath));
+      statesByClasspath.put(new ArrayList<>(classpath), state);
+      evictLeastRecentlyUsedStates();
+      closeUnusedWatchers();
+    }
+    state.users++;
+    return state;
+  }
+
+  synchronized void release(ClasspathState state) {
+    state.users--;
+    if (state.dropped) {
+      closeIfUnused(state);
+    }
+  }
+
+  private void evictLeastRecentlyUsedStates() {
+    Iterator<ClasspathState> states = statesByClasspath.values().iterator();
+    while (statesByClasspath.size() > MAX_CLASSPATH_STATES && states.hasNext()) {
+      ClasspathState state = states.next();
+      states.remove();
+      drop(state);
+    }
+  }
+
+  private void closeUnusedWatchers() {
+    Set<File> directories = new HashSet<>();
+    statesByClasspath.keySet().forEach(directories::addAll);
+    Iterator<Map.Entry<File, ClasspathFingerprints.DirectoryWatcher>> watchers = watchersByDirectory.entrySet().iterator();
+    while (watchers.hasNext()) {
+      Map.Entry<File, ClasspathFingerprints.DirectoryWatcher> watcher = watchers.next();
+      if (!directories.contains(watcher.getKey())) {
+        watcher.getValue().close();
+        watchers.remove();
+      }
+    }
+  }
+
+  private static void drop(ClasspathState state) {
+    state.dropped = true;
+    closeIfUnused(state);
+  }
+
+  private static void closeIfUnused(ClasspathState state) {
+    if (state.users <= 0) {
+      state.classLoader.close();
+      state.bytecodeBehaviors.clear();
+    }
+  }
+
+  @Override
+  public void start() {
+    // nothing to do, states are created on first analysis
+  }
+
+  @Override
+  public synchronized void stop() {
+    statesByClasspath.values().forEach(state -> state.classLoader.close());
+    statesByClasspath.clear();
+    watchersByDirectory.values().forEach(ClasspathFingerprints.DirectoryWatcher::close);
+    watchersByDirectory.clear();
+  }
+
+  private List<Fingerprint> fingerprints(List<File> classpath) {
+    List<Fingerprint> fingerprints = new ArrayList<>(classpath.size());
+    for (File file : classpath) {
+      long lastModified = file.lastModified();
+      long content;
+      if (file.isDirectory()) {
+        content = directoryContent(file);
+      } else {
+        content = file.isFile() ? file.length() : 0L;
+      }
+      fingerprints.add(new Fingerprint(file, lastModified, content));
+    }
+    return fingerprints;
+  }
+
+  /**
+   * @return version of the watcher of the directory, or hash of its files when it can not be watched
+   */
+  private long directoryContent(File directory) {
+    ClasspathFingerprints.DirectoryWatcher watcher = watchersByDirectory.get(directory);
+    if (watcher != null) {
+      long version = watcher.version();
+      if (watcher.isValid()) {
+        return version;
+      }
+      watcher.close();
+      watchersByDirectory.remove(directory);
+    }
+    watcher = ClasspathFingerprints.DirectoryWatcher.watch(directory.toPath());
+    if (watcher == null) {
+      return ClasspathFingerprints.contentHash(directory.toPath());
+    }
+    watchersByDirectory.put(directory, watcher);
+    return watcher.version();
+  }
+
+  public static class ClasspathState {
+
+    private final AnalysisSession session;
+    private final List<Fingerprint> fingerprints;
+    private final SquidClassLoader classLoader;
+    private final Map<String, MethodBehavior> bytecodeBehaviors = new ConcurrentHashMap<>();
+    // number of running analyses using the state, which is closed once it is dropped and no longer used
+    private int users = 0;
+    private boolean dropped = false;
+
+    private ClasspathState(AnalysisSession session, List<Fingerprint> fingerprints, SquidClassLoader classLoader) {
+      this.session = session;
+      this.fingerprints = fingerprints;
+      this.classLoader = classLoader;
+    }
+
+    public SquidClassLoader classLoader() {
+      return classLoader;
+    }
+
+    /**
+     * @return method behaviors computed from bytecode by previous analyses, only filled with behaviors which are no longer explored
+     */
+    public Map<String, MethodBehavior> bytecodeBehaviors() {
+      return bytecodeBehaviors;
+    }
+
+    /**
+     * To be called once the analysis using this state is over.
+     */
+    public void release() {
+      session.release(this);
+    }
+  }
+
+  /**
+   * Classpath entry as seen by the class loader. Directories are fingerprinted by the version of their watcher, or by the modification times
+   * and sizes of all their files, for classes recompiled in place to be noticed.
+   */
+  private static class Fingerprint {
+    private final File file;
+    private final long lastModified;
+    // length of a file, version of the watcher of a directory or hash of its files
+    private final long content;
+
+    Fingerprint(File file, long lastModified, long content) {
+      this.file = file;
+      this.lastModified = lastModified;
+      this.content = content;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      Fingerprint that = (Fingerprint) o;
+      return lastModified == that.lastModified && content == that.content && file.equals(that.file);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(file, lastModified, content);
+    }
+  }
+}
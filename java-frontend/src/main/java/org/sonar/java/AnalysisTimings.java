@@ -0,0 +1,57 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2020 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Time spent by an analysis in parsing files and in each of the scanners executed on them, used to profile the analysis offline.
+ * Measured only when an instance is set on {@link SonarComponents}, as scanners subscribed to trees are timed at each visited node.
+ * The time of these scanners is accumulated over each file, and added once per scanner and per file.
+ */
+public class AnalysisTimings {
+
+  private long parseNanos;
+  private final Map<Class<?>, Long> nanosByScanner = new LinkedHashMap<>();
+
+  public void addParse(long nanos) {
+    parseNanos += nanos;
+  }
+
+  public void addScanner(Class<?> scannerClass, long nanos) {
+    nanosByScanner.merge(scannerClass, nanos, Long::sum);
+  }
+
+  /**
+   * @return time spent in parsing files in nanoseconds
+   */
+  public long parseNanos() {
+    return parseNanos;
+  }
+
+  /**
+   * @return time spent in each scanner in nanoseconds, in order of first execution
+   */
+  public Map<Class<?>, Long> nanosByScanner() {
+    return Collections.unmodifiableMap(nanosByScanner);
+  }
+}
@@ -0,0 +1,89 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2020 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java;
+
+/**
+ * Cooperative cancellation of the analysis of a file, cancelled by the {@link FileAnalysisWatchdog} when the file exceeds its time limit.
+ * Long-running loops (tree walk, symbolic execution, flow computation) poll the token of the current thread and give up on the file by
+ * throwing {@link CancelledException}, which is caught once per file by the scanner.
+ */
+public class CancellationToken {
+
+  /**
+   * Token of threads not analyzing files under a watchdog, which is never cancelled.
+   */
+  public static final CancellationToken NONE = new CancellationToken() {
+    @Override
+    public void cancel() {
+      // never cancelled
+    }
+  };
+
+  private static final ThreadLocal<CancellationToken> CURRENT = ThreadLocal.withInitial(() -> NONE);
+
+  private volatile boolean cancelled = false;
+
+  /**
+   * @return the token of the file analyzed by the current thread
+   */
+  public static CancellationToken current() {
+    return CURRENT.get();
+  }
+
+  static void setCurrent(CancellationToken token) {
+    CURRENT.set(token);
+  }
+
+  static void clearCurrent() {
+    CURRENT.remove();
+  }
+
+  public void cancel() {
+    cancelled = true;
+  }
+
+  public boolean isCancelled() {
+    return cancelled;
+  }
+
+  /**
+   * @param phase phase of the analysis currently running, reported when giving up on the file
+   * @throws CancelledException when the token has been cancelled
+   */
+  public void checkCancelled(String phase) {
+    if (cancelled) {
+      throw new CancelledException(phase);
+    }
+  }
+
+  public static class CancelledException extends RuntimeException {
+
+    private final String phase;
+
+    public CancelledException(String phase) {
+      super("Analysis cancelled during " + phase);
+      this.phase = phase;
+    }
+
+    public String phase() {
+      return phase;
+    }
+  }
+}
@@ -23,22 +23,32 @@ import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSortedSet;
 import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.annotation.Nullable;
 import org.sonar.api.batch.fs.InputFile;
 import org.sonar.api.utils.log.Logger;
 import org.sonar.api.utils.log.Loggers;
 import org.sonar.plugins.java.api.JavaFileScannerContext;
 import org.sonar.plugins.java.api.JavaResourceLocator;
 
-public class DefaultJavaResourceLocator implements JavaResourceLocator {
+public class DefaultJavaResourceLocator implements JavaResourceLocator, SemanticAwareVisitor {
 
   private static final Logger LOG = Loggers.get(DefaultJavaResourceLocator.class);
+  private static final String CLASS_FILE_SUFFIX = ".class";
 
   private final JavaClasspath javaClasspath;
   @VisibleForTesting
   Map<String, InputFile> resourcesByClass;
+  @Nullable
+  private Map<String, File> classFilesByKey;
 
   public DefaultJavaResourceLocator(JavaClasspath javaClasspath) {
     this.javaClasspath = javaClasspath;
@@ -61,20 +71,51 @@ public class DefaultJavaResourceLocator implements JavaResourceLocator {
 
   @Override
   public Collection<File> classFilesToAnalyze() {
+    Map<String, File> classFiles = classFilesByKey();
     ImmutableList.Builder<File> result = ImmutableList.builder();
     for (String key : classKeys()) {
-      String filePath = key + ".class";
-      for (File binaryDir : javaClasspath.getBinaryDirs()) {
-        File classFile = new File(binaryDir, filePath);
-        if (classFile.isFile()) {
-          result.add(classFile);
-          break;
-        }
+      File classFile = classFiles.get(key);
+      if (classFile != null) {
+        result.add(classFile);
       }
     }
     return result.build();
   }
 
+  /**
+   * Binary directories are walked once to index their class files by class key, rather than probing every directory for every class.
+   * When a class is compiled in several binary directories, the first one in classpath order is kept.
+   */
+  private Map<String, File> classFilesByKey() {
+    if (classFilesByKey == null) {
+      Map<String, File> classFiles = new HashMap<>();
+      for (File binaryDir : javaClasspath.getBinaryDirs()) {
+        indexClassFiles(binaryDir.toPath()).forEach(classFiles::putIfAbsent);
+      }
+      classFilesByKey = classFiles;
+    }
+    return classFilesByKey;
+  }
+
+  private static Map<String, File> indexClassFiles(Path binaryDir) {
+    if (!Files.isDirectory(binaryDir)) {
+      return new HashMap<>();
+    }
+    try (Stream<Path> paths = Files.walk(binaryDir)) {
+      return paths.parallel()
+        .filter(path -> path.getFileName().toString().endsWith(CLASS_FILE_SUFFIX) && Files.isRegularFile(path))
+        .collect(Collectors.toMap(path -> classKey(binaryDir, path), Path::toFile, (first, second) -> first));
+    } catch (IOException | UncheckedIOException e) {
+      LOG.warn("Unable to index class files of binary directory '{}': {}", binaryDir, e.getMessage());
+      return new HashMap<>();
+    }
+  }
+
+  private static String classKey(Path binaryDir, Path classFile) {
+    String relativePath = binaryDir.relativize(classFile).toString().replace(File.separatorChar, '/');
+    return relativePath.substring(0, relativePath.length() - CLASS_FILE_SUFFIX.length());
+  }
+
   @Override
   public Collection<File> classpath() {
     return javaClasspath.getElements();
@@ -87,4 +128,9 @@ public class DefaultJavaResourceLocator implements JavaResourceLocator {
     javaFilesCache.scanFile(context);
     javaFilesCache.getClassNames().forEach(className -> resourcesByClass.put(className, inputFile));
   }
+
+  @Override
+  public boolean requiresSemantic() {
+    return false;
+  }
 }
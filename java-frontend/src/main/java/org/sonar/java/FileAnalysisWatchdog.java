@@ -0,0 +1,77 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2020 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
+
+/**
+ * Enforces a time limit on the analysis of each file: a single daemon thread cancels the {@link CancellationToken} of the file being
+ * analyzed once its time limit is reached, letting the analysis move on to the next file.
+ */
+public class FileAnalysisWatchdog implements AutoCloseable {
+
+  private final long timeoutMillis;
+  private final ScheduledExecutorService executor;
+  @Nullable
+  private ScheduledFuture<?> timer;
+
+  public FileAnalysisWatchdog(long timeoutMillis) {
+    this.timeoutMillis = timeoutMillis;
+    this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "sonar-java-file-analysis-watchdog");
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  public long timeoutMillis() {
+    return timeoutMillis;
+  }
+
+  /**
+   * Starts the analysis of a file by the current thread, whose token gets cancelled after the time limit unless {@link #stop()} is
+   * called before.
+   */
+  public CancellationToken start() {
+    stop();
+    CancellationToken token = new CancellationToken();
+    timer = executor.schedule(token::cancel, timeoutMillis, TimeUnit.MILLISECONDS);
+    CancellationToken.setCurrent(token);
+    return token;
+  }
+
+  public void stop() {
+    if (timer != null) {
+      timer.cancel(false);
+      timer = null;
+    }
+    CancellationToken.clearCurrent();
+  }
+
+  @Override
+  public void close() {
+    stop();
+    executor.shutdownNow();
+  }
+}
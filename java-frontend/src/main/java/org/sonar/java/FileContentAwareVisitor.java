@@ -0,0 +1,41 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2020 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java;
+
+import com.google.common.annotations.Beta;
+import org.sonar.java.model.FileContentIndex;
+
+/**
+ * Implementing this interface allows a check to be skipped on files which can not contain any issue for it,
+ * based on what is referenced in the file (types, methods, imports).
+ * <br />
+ * The check is executed only on files for which {@link #isApplicable(FileContentIndex)} returns true.
+ */
+@Beta
+public interface FileContentAwareVisitor {
+  /**
+   * Control if the check can raise an issue on the file being analyzed. This predicate is evaluated once per file,
+   * before visiting the tree, and should remain cheap. It must not return false for a file on which the check could raise an issue.
+   *
+   * @param index content of the file being analyzed
+   * @return true if the check should be executed on the file, false otherwise.
+   */
+  boolean isApplicable(FileContentIndex index);
+}
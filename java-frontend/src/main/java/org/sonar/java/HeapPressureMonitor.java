@@ -0,0 +1,183 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2020 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java;
+
+import com.google.common.annotations.VisibleForTesting;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.DoubleSupplier;
+import java.util.stream.Collectors;
+import org.sonar.api.utils.log.Logger;
+import org.sonar.api.utils.log.Loggers;
+
+/**
+ * Degrades the analysis step by step when the heap gets close to its limit, so that the analysis completes instead of failing with an
+ * {@link OutOfMemoryError}: caches are dropped first, then symbolic execution budgets are lowered, then symbolic execution is skipped.
+ * Heap usage is the occupancy of the tenured pools after their last collection, as reported by their MXBeans, or the current heap usage
+ * reported by the {@link java.lang.management.MemoryMXBean} when no such pool is found. It is polled by the analysis between files and
+ * between explored methods. A level is only left once heap usage goes clearly below its threshold, not to flip between two levels while
+ * heap usage stays around a threshold. Levels above a given maximum are never reached, so that symbolic execution is only degraded on demand.
+ */
+public class HeapPressureMonitor {
+
+  private static final Logger LOG = Loggers.get(HeapPressureMonitor.class);
+  private static final double HYSTERESIS = 0.05;
+
+  public enum Level {
+    NONE(0.0, "heap usage back to normal"),
+    DROP_CACHES(0.70, "dropping caches"),
+    REDUCE_SE_BUDGETS(0.80, "lowering symbolic execution budgets"),
+    SKIP_SE(0.90, "skipping symbolic execution");
+
+    private final double minHeapUsageRatio;
+    private final String action;
+
+    Level(double minHeapUsageRatio, String action) {
+      this.minHeapUsageRatio = minHeapUsageRatio;
+      this.action = action;
+    }
+
+    public boolean isAtLeast(Level other) {
+      return compareTo(other) >= 0;
+    }
+
+    private static Level forHeapUsageRatio(double heapUsageRatio, Level maxLevel) {
+      Level result = NONE;
+      for (Level level : values()) {
+        if (heapUsageRatio >= level.minHeapUsageRatio && maxLevel.isAtLeast(level)) {
+          result = level;
+        }
+      }
+      return result;
+    }
+  }
+
+  private final DoubleSupplier heapUsageRatio;
+  private final Level maxLevel;
+  private final Map<Level, Integer> degradations = new EnumMap<>(Level.class);
+  private Level level = Level.NONE;
+  private boolean cachesDropped = false;
+
+  public HeapPressureMonitor(Level maxLevel) {
+    this(HeapPressureMonitor::tenuredHeapUsageRatio, maxLevel);
+  }
+
+  @VisibleForTesting
+  public HeapPressureMonitor(DoubleSupplier heapUsageRatio) {
+    this(heapUsageRatio, Level.SKIP_SE);
+  }
+
+  @VisibleForTesting
+  public HeapPressureMonitor(DoubleSupplier heapUsageRatio, Level maxLevel) {
+    this.heapUsageRatio = heapUsageRatio;
+    this.maxLevel = maxLevel;
+  }
+
+  /**
+   * Polls the heap usage, logging any change of level.
+   *
+   * @return the current level of degradation of the analysis
+   */
+  public Level check() {
+    double ratio = heapUsageRatio.getAsDouble();
+    Level newLevel = Level.forHeapUsageRatio(ratio, maxLevel);
+    if (newLevel.compareTo(level) < 0) {
+      Level lowered = Level.forHeapUsageRatio(ratio + HYSTERESIS, maxLevel);
+      newLevel = lowered.compareTo(level) < 0 ? lowered : level;
+    }
+    if (newLevel != level) {
+      String message = String.format("Heap usage at %d%% of maximum heap size: %s", Math.round(ratio * 100), newLevel.action);
+      if (newLevel == Level.NONE) {
+        LOG.info(message);
+      } else {
+        LOG.warn(message);
+      }
+      level = newLevel;
+      if (level == Level.NONE) {
+        cachesDropped = false;
+      }
+    }
+    return level;
+  }
+
+  /**
+   * Polls the heap usage, see {@link #check()}.
+   *
+   * @return true only the first time heap usage is found at {@link Level#DROP_CACHES} or above since it was last back to normal, dropping
+   * caches again at each check while they are being filled up would only slow down the analysis
+   */
+  public boolean shouldDropCaches() {
+    if (check().isAtLeast(Level.DROP_CACHES) && !cachesDropped) {
+      cachesDropped = true;
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   * Counts one application of the degradation step of the given level.
+   */
+  public void degraded(Level level) {
+    degradations.merge(level, 1, Integer::sum);
+  }
+
+  public Map<Level, Integer> degradations() {
+    return Collections.unmodifiableMap(degradations);
+  }
+
+  /**
+   * @return true when symbolic execution budgets were lowered or symbolic execution was skipped, issues may then be missing
+   */
+  public boolean symbolicExecutionDegraded() {
+    return degradations.containsKey(Level.REDUCE_SE_BUDGETS) || degradations.containsKey(Level.SKIP_SE);
+  }
+
+  public void logSummary() {
+    if (!degradations.isEmpty()) {
+      LOG.info("Analysis degraded under heap pressure: " + degradations.entrySet().stream()
+        .map(e -> String.format("%s %d times", e.getKey().action, e.getValue()))
+        .collect(Collectors.joining(", ")));
+    }
+  }
+
+  private static double tenuredHeapUsageRatio() {
+    double ratio = -1;
+    for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+      // among heap pools, only tenured ones support usage thresholds
+      if (pool.getType() == MemoryType.HEAP && pool.isUsageThresholdSupported() && pool.isCollectionUsageThresholdSupported()) {
+        MemoryUsage usage = pool.getCollectionUsage();
+        if (usage != null && usage.getMax() > 0) {
+          ratio = Math.max(ratio, (double) usage.getUsed() / usage.getMax());
+        }
+      }
+    }
+    if (ratio < 0) {
+      MemoryUsage heapUsage = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+      long max = heapUsage.getMax() > 0 ? heapUsage.getMax() : Runtime.getRuntime().maxMemory();
+      ratio = (double) heapUsage.getUsed() / max;
+    }
+    return ratio;
+  }
+}
@@ -19,8 +19,8 @@
  */
 package org.sonar.java;
 
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 import javax.annotation.Nullable;
 import org.sonar.api.batch.fs.InputComponent;
 import org.sonar.api.batch.fs.InputFile;
@@ -80,12 +80,14 @@ public final class JavaIssue {
 
   public JavaIssue addFlow(InputFile file, List<List<AnalyzerMessage>> flows) {
     for (List<AnalyzerMessage> flow : flows) {
-      newIssue.addFlow(flow.stream()
-        .map(am -> newIssue.newLocation()
+      List<NewIssueLocation> locations = new ArrayList<>(flow.size());
+      for (AnalyzerMessage am : flow) {
+        locations.add(newIssue.newLocation()
           .on(file)
           .at(range(file, am.primaryLocation()))
-          .message(am.getMessage()))
-        .collect(Collectors.toList()));
+          .message(am.getMessage()));
+      }
+      newIssue.addFlow(locations);
     }
     return this;
   }
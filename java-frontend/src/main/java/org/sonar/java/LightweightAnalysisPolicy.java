@@ -0,0 +1,183 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2020 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java;
+
+import java.nio.charset.Charset;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import javax.annotation.CheckForNull;
+
+/**
+ * Decides, before parsing a file, whether it is analyzed in lightweight mode: generated files and oversized files only get their syntax
+ * metrics computed and the rules relying only on the syntax tree executed, skipping binding resolution, symbol table, highlighting and
+ * symbolic execution. Lightweight mode is opt-in: rules relying on the semantic model, and issue filters such as the one of generated code,
+ * are less accurate on files analyzed that way.
+ */
+public class LightweightAnalysisPolicy {
+
+  public static final LightweightAnalysisPolicy DISABLED = new LightweightAnalysisPolicy(false, 0, 0L);
+
+  // package and import declarations, comments and annotations preceding the modifiers of the first top-level type
+  private static final Pattern HEADER_DECLARATION = Pattern.compile("(?:package|import)\\b[^;]*+;");
+  private static final Pattern ANNOTATION = Pattern.compile("@\\s*+([\\w$]++(?:\\s*+\\.\\s*+[\\w$]++)*+)");
+  private static final Pattern GENERATED_ANNOTATION = Pattern.compile("(?:javax\\.annotation\\.(?:processing\\.)?)?Generated");
+  // markers written by code generators, ordinary documentation only mentioning generated values is not matched
+  private static final Pattern GENERATED_COMMENT = Pattern.compile(
+    "\\bdo not (?:edit|modify)\\b|@generated\\b|\\bauto-?generated\\b|\\b(?:file|class|code|source) (?:was|is|has been) (?:automatically )?generated\\b"
+      + "|^[\\s/*]*+(?:automatically )?generated (?:by|from|with|using)\\b",
+    Pattern.CASE_INSENSITIVE | Pattern.MULTILINE);
+
+  private final boolean generatedFiles;
+  private final int maxLines;
+  private final long maxBytes;
+
+  /**
+   * @param generatedFiles whether files marked as generated are analyzed in lightweight mode
+   * @param maxLines number of lines above which files are analyzed in lightweight mode, not limited when not positive
+   * @param maxBytes size in bytes above which files are analyzed in lightweight mode, not limited when not positive
+   */
+  public LightweightAnalysisPolicy(boolean generatedFiles, int maxLines, long maxBytes) {
+    this.generatedFiles = generatedFiles;
+    this.maxLines = maxLines;
+    this.maxBytes = maxBytes;
+  }
+
+  /**
+   * @return why the file should be analyzed in lightweight mode, or null when it should be fully analyzed
+   */
+  @CheckForNull
+  public String lightweightReason(String content, Charset charset) {
+    if (maxBytes > 0 && content.length() > maxBytes / 4) {
+      // every character takes between 1 and 4 bytes, only encode when the limit can be exceeded
+      long bytes = content.length() > maxBytes ? content.length() : content.getBytes(charset).length;
+      if (bytes > maxBytes) {
+        return String.format("larger than %d bytes", maxBytes);
+      }
+    }
+    if (maxLines > 0 && exceedsLines(content)) {
+      return String.format("longer than %d lines", maxLines);
+    }
+    if (generatedFiles && isMarkedAsGenerated(content)) {
+      return "marked as generated";
+    }
+    return null;
+  }
+
+  private boolean exceedsLines(String content) {
+    int lines = 1;
+    for (int i = content.indexOf('\n'); i >= 0; i = content.indexOf('\n', i + 1)) {
+      lines++;
+      if (lines > maxLines) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Only the comments and annotations coming before the modifiers of the first top-level type are considered, so that code generators
+   * markers are not confused with the content of the type.
+   */
+  private static boolean isMarkedAsGenerated(String content) {
+    int length = content.length();
+    int index = 0;
+    while (index < length) {
+      if (Character.isWhitespace(content.charAt(index))) {
+        index++;
+      } else if (content.startsWith("//", index) || content.startsWith("/*", index)) {
+        int end = commentEnd(content, index);
+        if (GENERATED_COMMENT.matcher(content.subSequence(index, end)).find()) {
+          return true;
+        }
+        index = end;
+      } else if (content.startsWith("@", index) && !content.startsWith("interface", skipWhitespaces(content, index + 1))) {
+        Matcher annotation = ANNOTATION.matcher(content).region(index, length);
+        if (!annotation.lookingAt()) {
+          return false;
+        }
+        if (GENERATED_ANNOTATION.matcher(annotation.group(1).replaceAll("\\s++", "")).matches()) {
+          return true;
+        }
+        index = annotationEnd(content, annotation.end());
+      } else {
+        Matcher declaration = HEADER_DECLARATION.matcher(content).region(index, length);
+        if (!declaration.lookingAt()) {
+          // modifiers or keyword of the first top-level type
+          return false;
+        }
+        index = declaration.end();
+      }
+    }
+    return false;
+  }
+
+  private static int commentEnd(String content, int start) {
+    int end = content.startsWith("//", start) ? content.indexOf('\n', start) : content.indexOf("*/", start + 2);
+    if (end < 0) {
+      return content.length();
+    }
+    return content.charAt(end) == '\n' ? end : (end + 2);
+  }
+
+  private static int skipWhitespaces(String content, int start) {
+    int index = start;
+    while (index < content.length() && Character.isWhitespace(content.charAt(index))) {
+      index++;
+    }
+    return index;
+  }
+
+  /**
+   * @return the index following the arguments of the annotation whose name ends at the given index, if any
+   */
+  private static int annotationEnd(String content, int nameEnd) {
+    int index = skipWhitespaces(content, nameEnd);
+    if (index >= content.length() || content.charAt(index) != '(') {
+      return nameEnd;
+    }
+    int depth = 0;
+    while (index < content.length()) {
+      char c = content.charAt(index);
+      if (c == '"' || c == '\'') {
+        index = literalEnd(content, index);
+        continue;
+      }
+      if (c == '(') {
+        depth++;
+      } else if (c == ')') {
+        depth--;
+        if (depth == 0) {
+          return index + 1;
+        }
+      }
+      index++;
+    }
+    return index;
+  }
+
+  private static int literalEnd(String content, int start) {
+    char quote = content.charAt(start);
+    int index = start + 1;
+    while (index < content.length() && content.charAt(index) != quote) {
+      index += content.charAt(index) == '\\' ? 2 : 1;
+    }
+    return index + 1;
+  }
+}
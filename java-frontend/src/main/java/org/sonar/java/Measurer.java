@@ -41,7 +41,7 @@ import org.sonar.plugins.java.api.tree.ClassTree;
 import org.sonar.plugins.java.api.tree.NewClassTree;
 import org.sonar.plugins.java.api.tree.Tree;
 
-public class Measurer extends SubscriptionVisitor {
+public class Measurer extends SubscriptionVisitor implements SemanticAwareVisitor {
 
   private final SensorContext sensorContext;
   private final NoSonarFilter noSonarFilter;
@@ -55,12 +55,17 @@ public class Measurer extends SubscriptionVisitor {
     this.noSonarFilter = noSonarFilter;
   }
 
-  public class TestFileMeasurer implements JavaFileScanner {
+  public class TestFileMeasurer implements JavaFileScanner, SemanticAwareVisitor {
     @Override
     public void scanFile(JavaFileScannerContext context) {
       sonarFile = context.getInputFile();
       createCommentLineVisitorAndFindNoSonar(context);
     }
+
+    @Override
+    public boolean requiresSemantic() {
+      return false;
+    }
   }
 
   @Override
@@ -96,6 +101,12 @@ public class Measurer extends SubscriptionVisitor {
     saveMetricOnFile(CoreMetrics.COGNITIVE_COMPLEXITY, CognitiveComplexityVisitor.compilationUnitComplexity(context.getTree()));
   }
 
+  @Override
+  public boolean requiresSemantic() {
+    // only comment lines are computed on SonarLint side
+    return !isSonarLintContext();
+  }
+
   private boolean isSonarLintContext() {
     return sensorContext.runtime().getProduct() == SonarProduct.SONARLINT;
   }
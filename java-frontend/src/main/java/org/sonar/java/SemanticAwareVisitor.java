@@ -0,0 +1,42 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2020 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java;
+
+import com.google.common.annotations.Beta;
+
+/**
+ * Implementing this interface allows a check to declare whether it relies on semantic information (symbols and types).
+ * <br />
+ * When none of the checks executed on a set of files requires semantic, bindings are not resolved while parsing these files,
+ * and the semantic model provided to the checks is <code>null</code>. Checks not implementing this interface are considered
+ * as requiring semantic.
+ * <br />
+ * Binding resolution is only skipped in SonarLint, when no symbolic execution rule is active: on SonarQube, the symbol table is always
+ * computed to highlight symbol references.
+ */
+@Beta
+public interface SemanticAwareVisitor {
+  /**
+   * Control if the check needs bindings to be resolved in order to raise issues.
+   *
+   * @return true if the check relies on symbols or types, false if it only relies on the syntax tree.
+   */
+  boolean requiresSemantic();
+}
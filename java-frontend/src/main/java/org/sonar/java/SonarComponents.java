@@ -27,10 +27,13 @@ import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Scanner;
 import java.util.stream.Collectors;
+import javax.annotation.CheckForNull;
 import javax.annotation.Nullable;
 import org.sonar.api.SonarProduct;
 import org.sonar.api.batch.ScannerSide;
@@ -43,9 +46,11 @@ import org.sonar.api.batch.rule.Checks;
 import org.sonar.api.batch.sensor.SensorContext;
 import org.sonar.api.batch.sensor.highlighting.NewHighlighting;
 import org.sonar.api.batch.sensor.symbol.NewSymbolTable;
+import org.sonar.api.config.Configuration;
 import org.sonar.api.measures.FileLinesContext;
 import org.sonar.api.measures.FileLinesContextFactory;
 import org.sonar.api.rule.RuleKey;
+import org.sonar.java.se.ExplorationStrategy;
 import org.sonar.plugins.java.api.CheckRegistrar;
 import org.sonar.plugins.java.api.JavaCheck;
 import org.sonar.plugins.java.api.JspCodeVisitor;
@@ -56,6 +61,34 @@ import org.sonarsource.api.sonarlint.SonarLintSide;
 public class SonarComponents {
 
   public static final String FAIL_ON_EXCEPTION_KEY = "sonar.internal.analysis.failFast";
+  public static final String SE_EXPLORATION_STRATEGY_KEY = "sonar.internal.analysis.se.explorationStrategy";
+  public static final String SE_STATE_SUBSUMPTION_KEY = "sonar.internal.analysis.se.stateSubsumption";
+  public static final String SE_LOOP_WIDENING_KEY = "sonar.internal.analysis.se.loopWidening";
+  /**
+   * Time limit in milliseconds for the analysis of a single file, after which the file is skipped. Not limited when absent or not positive.
+   */
+  public static final String FILE_ANALYSIS_TIMEOUT_KEY = "sonar.internal.analysis.fileTimeout";
+  /**
+   * Set to false to not drop caches when the heap is close to its limit, see {@link HeapPressureMonitor}.
+   */
+  public static final String HEAP_PRESSURE_MONITORING_KEY = "sonar.internal.analysis.heapPressureMonitoring";
+  /**
+   * Set to true to also lower symbolic execution budgets, then skip symbolic execution, when the heap is close to its limit. Off by default
+   * as issues found by symbolic execution would then depend on the heap usage of the analysis.
+   */
+  public static final String HEAP_PRESSURE_SE_DEGRADATION_KEY = "sonar.internal.analysis.heapPressureMonitoring.symbolicExecution";
+  /**
+   * Set to true to analyze generated files in lightweight mode, see {@link LightweightAnalysisPolicy}.
+   */
+  public static final String LIGHTWEIGHT_GENERATED_FILES_KEY = "sonar.internal.analysis.lightweight.generatedFiles";
+  /**
+   * Number of lines above which files are analyzed in lightweight mode, not limited when not set or not positive.
+   */
+  public static final String LIGHTWEIGHT_MAX_LINES_KEY = "sonar.internal.analysis.lightweight.maxLines";
+  /**
+   * Size in bytes above which files are analyzed in lightweight mode, not limited when not set or not positive.
+   */
+  public static final String LIGHTWEIGHT_MAX_BYTES_KEY = "sonar.internal.analysis.lightweight.maxBytes";
   /**
    * Approximate limit of feedback of 200ko to roughly 100_000 characters of useful feedback.
    * This does not take into account eventual overhead of serialization.
@@ -72,8 +105,19 @@ public class SonarComponents {
   private final List<Checks<JavaCheck>> checks;
   private final List<Checks<JavaCheck>> testChecks;
   private final List<Checks<JavaCheck>> allChecks;
+  /**
+   * Rule keys of registered checks, looked up by check instance for each reported issue.
+   * Built on first lookup, once all the checks have been registered.
+   */
+  @Nullable
+  private Map<JavaCheck, RuleKey> ruleKeysByCheck;
   private SensorContext context;
   private int errorsSize = 0;
+  @Nullable
+  private AnalysisTimings analysisTimings;
+  @Nullable
+  private AnalysisSession analysisSession;
+  private AnalysisWarningsWrapper analysisWarnings = AnalysisWarningsWrapper.NOOP_ANALYSIS_WARNINGS;
 
   public SonarComponents(FileLinesContextFactory fileLinesContextFactory, FileSystem fs,
                          JavaClasspath javaClasspath, JavaTestClasspath javaTestClasspath,
@@ -130,6 +174,32 @@ public class SonarComponents {
     this.context = context;
   }
 
+  public void setAnalysisTimings(@Nullable AnalysisTimings analysisTimings) {
+    this.analysisTimings = analysisTimings;
+  }
+
+  @CheckForNull
+  public AnalysisTimings analysisTimings() {
+    return analysisTimings;
+  }
+
+  public void setAnalysisSession(@Nullable AnalysisSession analysisSession) {
+    this.analysisSession = analysisSession;
+  }
+
+  @CheckForNull
+  public AnalysisSession analysisSession() {
+    return analysisSession;
+  }
+
+  public void setAnalysisWarnings(AnalysisWarningsWrapper analysisWarnings) {
+    this.analysisWarnings = analysisWarnings;
+  }
+
+  public void addAnalysisWarning(String text) {
+    analysisWarnings.addUnique(text);
+  }
+
   public FileLinesContext fileLinesContextFor(InputFile inputFile) {
     return fileLinesContextFactory.createFor(inputFile);
   }
@@ -158,6 +228,7 @@ public class SonarComponents {
     Checks<JavaCheck> createdChecks = checkFactory.<JavaCheck>create(repositoryKey).addAnnotatedChecks(checkClasses);
     checks.add(createdChecks);
     allChecks.add(createdChecks);
+    ruleKeysByCheck = null;
   }
 
   public JavaCheck[] checkClasses() {
@@ -172,6 +243,7 @@ public class SonarComponents {
     Checks<JavaCheck> createdChecks = checkFactory.<JavaCheck>create(repositoryKey).addAnnotatedChecks(checkClasses);
     testChecks.add(createdChecks);
     allChecks.add(createdChecks);
+    ruleKeysByCheck = null;
   }
 
   public Collection<JavaCheck> testCheckClasses() {
@@ -193,6 +265,13 @@ public class SonarComponents {
   }
 
   public RuleKey getRuleKey(JavaCheck check) {
+    if (ruleKeysByCheck == null) {
+      ruleKeysByCheck = indexRuleKeys();
+    }
+    RuleKey indexedRuleKey = ruleKeysByCheck.get(check);
+    if (indexedRuleKey != null) {
+      return indexedRuleKey;
+    }
     for (Checks<JavaCheck> sonarChecks : checks()) {
       RuleKey ruleKey = sonarChecks.ruleKey(check);
       if (ruleKey != null) {
@@ -202,6 +281,19 @@ public class SonarComponents {
     return null;
   }
 
+  private Map<JavaCheck, RuleKey> indexRuleKeys() {
+    Map<JavaCheck, RuleKey> result = new IdentityHashMap<>();
+    for (Checks<JavaCheck> sonarChecks : checks()) {
+      for (JavaCheck check : sonarChecks.all()) {
+        RuleKey ruleKey = sonarChecks.ruleKey(check);
+        if (ruleKey != null) {
+          result.putIfAbsent(check, ruleKey);
+        }
+      }
+    }
+    return result;
+  }
+
   public void addIssue(InputComponent inputComponent, JavaCheck check, int line, String message, @Nullable Integer cost) {
     reportIssue(new AnalyzerMessage(check, inputComponent, line, message, cost != null ? cost.intValue() : 0));
   }
@@ -286,6 +378,47 @@ public class SonarComponents {
     return context.config().getBoolean(FAIL_ON_EXCEPTION_KEY).orElse(false);
   }
 
+  public ExplorationStrategy explorationStrategy() {
+    if (context == null) {
+      return ExplorationStrategy.DEFAULT;
+    }
+    return ExplorationStrategy.fromName(context.config().get(SE_EXPLORATION_STRATEGY_KEY).orElse(null));
+  }
+
+  public boolean isStateSubsumptionEnabled() {
+    return context != null && context.config().getBoolean(SE_STATE_SUBSUMPTION_KEY).orElse(false);
+  }
+
+  public boolean isLoopWideningEnabled() {
+    return context != null && context.config().getBoolean(SE_LOOP_WIDENING_KEY).orElse(false);
+  }
+
+  public boolean isHeapPressureMonitoringEnabled() {
+    return context != null && context.config().getBoolean(HEAP_PRESSURE_MONITORING_KEY).orElse(true);
+  }
+
+  public boolean isHeapPressureSymbolicExecutionDegradationEnabled() {
+    return isHeapPressureMonitoringEnabled() && context.config().getBoolean(HEAP_PRESSURE_SE_DEGRADATION_KEY).orElse(false);
+  }
+
+  public LightweightAnalysisPolicy lightweightAnalysisPolicy() {
+    if (context == null) {
+      return LightweightAnalysisPolicy.DISABLED;
+    }
+    Configuration config = context.config();
+    return new LightweightAnalysisPolicy(
+      config.getBoolean(LIGHTWEIGHT_GENERATED_FILES_KEY).orElse(false),
+      config.getInt(LIGHTWEIGHT_MAX_LINES_KEY).orElse(0),
+      config.getLong(LIGHTWEIGHT_MAX_BYTES_KEY).orElse(0L));
+  }
+
+  public long fileAnalysisTimeoutMillis() {
+    if (context == null) {
+      return 0L;
+    }
+    return context.config().getLong(FILE_ANALYSIS_TIMEOUT_KEY).orElse(0L);
+  }
+
   public File workDir() {
     ProjectDefinition current = projectDefinition;
     if(current == null) {
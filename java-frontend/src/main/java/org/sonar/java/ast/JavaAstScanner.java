@@ -31,6 +31,10 @@ import org.sonar.api.batch.fs.InputFile;
 import org.sonar.api.utils.log.Logger;
 import org.sonar.api.utils.log.Loggers;
 import org.sonar.java.AnalysisException;
+import org.sonar.java.AnalysisTimings;
+import org.sonar.java.CancellationToken;
+import org.sonar.java.FileAnalysisWatchdog;
+import org.sonar.java.LightweightAnalysisPolicy;
 import org.sonar.java.SonarComponents;
 import org.sonar.java.model.JParser;
 import org.sonar.java.model.JavaVersionImpl;
@@ -44,6 +48,7 @@ public class JavaAstScanner {
 
   private final SonarComponents sonarComponents;
   private VisitorsBridge visitor;
+  private LightweightAnalysisPolicy lightweightAnalysisPolicy = LightweightAnalysisPolicy.DISABLED;
 
   public JavaAstScanner(@Nullable SonarComponents sonarComponents) {
     this.sonarComponents = sonarComponents;
@@ -55,13 +60,18 @@ public class JavaAstScanner {
 
     boolean successfullyCompleted = false;
     boolean cancelled = false;
+    long fileAnalysisTimeout = sonarComponents == null ? 0L : sonarComponents.fileAnalysisTimeoutMillis();
+    FileAnalysisWatchdog watchdog = fileAnalysisTimeout > 0 ? new FileAnalysisWatchdog(fileAnalysisTimeout) : null;
+    if (sonarComponents != null) {
+      lightweightAnalysisPolicy = sonarComponents.lightweightAnalysisPolicy();
+    }
     try {
       for (InputFile inputFile : inputFiles) {
         if (analysisCancelled()) {
           cancelled = true;
           break;
         }
-        simpleScan(inputFile);
+        scanWithinTimeLimit(inputFile, watchdog);
         progressReport.nextFile();
       }
       successfullyCompleted = !cancelled;
@@ -71,10 +81,31 @@ public class JavaAstScanner {
       } else {
         progressReport.cancel();
       }
+      if (watchdog != null) {
+        watchdog.close();
+      }
       visitor.endOfAnalysis();
     }
   }
 
+  private void scanWithinTimeLimit(InputFile inputFile, @Nullable FileAnalysisWatchdog watchdog) {
+    if (watchdog == null) {
+      simpleScan(inputFile);
+      return;
+    }
+    watchdog.start();
+    try {
+      simpleScan(inputFile);
+    } catch (CancellationToken.CancelledException e) {
+      String message = String.format("Analysis of file '%s' was interrupted during %s, as it exceeded the time limit of %d ms set by %s",
+        inputFile, e.phase(), watchdog.timeoutMillis(), SonarComponents.FILE_ANALYSIS_TIMEOUT_KEY);
+      LOG.warn(message);
+      sonarComponents.addAnalysisWarning(message);
+    } finally {
+      watchdog.stop();
+    }
+  }
+
   private boolean analysisCancelled() {
     return sonarComponents != null && sonarComponents.analysisCancelled();
   }
@@ -89,20 +120,32 @@ public class JavaAstScanner {
       } else {
         version = Integer.toString(visitor.getJavaVersion().asInt());
       }
+      String lightweightReason = lightweightAnalysisPolicy.lightweightReason(fileContent, inputFile.charset());
+      boolean lightweight = lightweightReason != null;
+      if (lightweight) {
+        LOG.info(String.format("File '%s' is %s: analyzing it in lightweight mode, skipping binding resolution, symbol table, highlighting, "
+          + "symbolic execution and rules requiring semantic", inputFile, lightweightReason));
+      }
+      long start = System.nanoTime();
       Tree ast = JParser.parse(
         version,
         inputFile.filename(),
         fileContent,
-        visitor.getClasspath()
+        visitor.getClasspath(),
+        visitor.requiresSemantic() && !lightweight
       );
-      visitor.visitFile(ast);
+      AnalysisTimings analysisTimings = sonarComponents == null ? null : sonarComponents.analysisTimings();
+      if (analysisTimings != null) {
+        analysisTimings.addParse(System.nanoTime() - start);
+      }
+      visitor.visitFile(ast, lightweight);
     } catch (RecognitionException e) {
       checkInterrupted(e);
       LOG.error(String.format("Unable to parse source file : '%s'", inputFile));
       LOG.error(e.getMessage());
 
       parseErrorWalkAndVisit(e, inputFile);
-    } catch (AnalysisException e) {
+    } catch (AnalysisException | CancellationToken.CancelledException e) {
       throw e;
     } catch (Exception e) {
       checkInterrupted(e);
@@ -20,9 +20,9 @@
 package org.sonar.java.ast.visitors;
 
 import java.util.Collections;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import org.sonar.java.collections.LineSet;
 import org.sonar.plugins.java.api.tree.CompilationUnitTree;
 import org.sonar.plugins.java.api.tree.SyntaxToken;
 import org.sonar.plugins.java.api.tree.SyntaxTrivia;
@@ -30,8 +30,8 @@ import org.sonar.plugins.java.api.tree.Tree;
 
 public class CommentLinesVisitor extends SubscriptionVisitor {
 
-  private Set<Integer> comments = new HashSet<>();
-  private Set<Integer> noSonarLines = new HashSet<>();
+  private final LineSet comments = new LineSet();
+  private final LineSet noSonarLines = new LineSet();
   private boolean seenFirstToken;
 
   @Override
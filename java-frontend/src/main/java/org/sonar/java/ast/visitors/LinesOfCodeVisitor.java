@@ -19,18 +19,17 @@
  */
 package org.sonar.java.ast.visitors;
 
+import org.sonar.java.collections.LineSet;
 import org.sonar.java.model.InternalSyntaxToken;
 import org.sonar.plugins.java.api.tree.SyntaxToken;
 import org.sonar.plugins.java.api.tree.Tree;
 
 import java.util.Collections;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
 
 public class LinesOfCodeVisitor extends SubscriptionVisitor{
 
-  private Set<Integer> lines = new HashSet<>();
+  private final LineSet lines = new LineSet();
 
   public int linesOfCode(Tree tree) {
     lines.clear();
@@ -27,6 +27,7 @@ import java.util.Map;
 import java.util.Set;
 import org.sonar.api.batch.sensor.highlighting.NewHighlighting;
 import org.sonar.api.batch.sensor.highlighting.TypeOfText;
+import org.sonar.java.SemanticAwareVisitor;
 import org.sonar.java.SonarComponents;
 import org.sonar.java.ast.api.JavaKeyword;
 import org.sonar.java.ast.api.JavaRestrictedKeyword;
@@ -37,7 +38,7 @@ import org.sonar.plugins.java.api.tree.SyntaxToken;
 import org.sonar.plugins.java.api.tree.SyntaxTrivia;
 import org.sonar.plugins.java.api.tree.Tree;
 
-public class SyntaxHighlighterVisitor extends SubscriptionVisitor {
+public class SyntaxHighlighterVisitor extends SubscriptionVisitor implements SemanticAwareVisitor {
 
   private final SonarComponents sonarComponents;
   private final Map<Tree.Kind, TypeOfText> typesByKind;
@@ -167,4 +168,9 @@ public class SyntaxHighlighterVisitor extends SubscriptionVisitor {
     boolean isJavadoc = lines[0].trim().startsWith("/**");
     highlighting.highlight(startLine, startColumn, endLine, endColumn, isJavadoc ? TypeOfText.STRUCTURED_COMMENT : TypeOfText.COMMENT);
   }
+
+  @Override
+  public boolean requiresSemantic() {
+    return false;
+  }
 }
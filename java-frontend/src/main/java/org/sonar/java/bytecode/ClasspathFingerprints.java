@@ -0,0 +1,186 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2020 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java.bytecode;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.CheckForNull;
+import javax.annotation.Nullable;
+import org.sonar.api.utils.log.Logger;
+import org.sonar.api.utils.log.Loggers;
+
+/**
+ * Fingerprints of classpath entries, telling analyses whether classes were added, removed or recompiled since a previous analysis.
+ */
+public final class ClasspathFingerprints {
+
+  private static final Logger LOG = Loggers.get(ClasspathFingerprints.class);
+  // versions of all the watchers, for the version of a new watcher to differ from the versions of the previous watchers of a directory
+  private static final AtomicLong VERSIONS = new AtomicLong();
+
+  private ClasspathFingerprints() {
+    // only static methods
+  }
+
+  /**
+   * Unlike the modification time of the directory, the hash changes when classes are recompiled in place. Files are only stat once, the
+   * walk reading their attributes along with the entries of their directory.
+   *
+   * @return a hash of the relative paths, modification times and sizes of the files of the directory, independent of the walk order. An
+   * unreadable directory gets a different hash at each call, being considered as modified.
+   */
+  public static long contentHash(Path directory) {
+    long[] hash = {0L};
+    try {
+      Files.walkFileTree(directory, new SimpleFileVisitor<Path>() {
+        @Override
+        public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) {
+          if (attributes.isRegularFile()) {
+            hash[0] += Objects.hash(directory.relativize(file).toString(), attributes.lastModifiedTime().toMillis(), attributes.size());
+          }
+          return FileVisitResult.CONTINUE;
+        }
+      });
+      return hash[0];
+    } catch (IOException e) {
+      LOG.debug("Unable to fingerprint classpath directory '{}': {}", directory, e.getMessage());
+      return System.nanoTime();
+    }
+  }
+
+  /**
+   * Watches a classpath directory and its sub-directories, for repeated analyses to notice changes without walking the directory again.
+   */
+  public static final class DirectoryWatcher implements Closeable {
+
+    private final Path directory;
+    private final WatchService watchService;
+    private long version = VERSIONS.incrementAndGet();
+    private boolean valid = true;
+
+    private DirectoryWatcher(Path directory, WatchService watchService) {
+      this.directory = directory;
+      this.watchService = watchService;
+    }
+
+    /**
+     * Watch services polling the file system, used where the platform does not notify file changes, would notice changes seconds after
+     * they happen: directories are then walked at each analysis.
+     *
+     * @return a watcher of the directory, or null when the directory can not be watched with file change notifications
+     */
+    @CheckForNull
+    public static DirectoryWatcher watch(Path directory) {
+      WatchService watchService = null;
+      try {
+        watchService = directory.getFileSystem().newWatchService();
+        if (watchService.getClass().getSimpleName().startsWith("Polling")) {
+          closeQuietly(watchService);
+          return null;
+        }
+        DirectoryWatcher watcher = new DirectoryWatcher(directory, watchService);
+        watcher.register(directory);
+        return watcher;
+      } catch (IOException | UnsupportedOperationException e) {
+        LOG.debug("Unable to watch classpath directory '{}': {}", directory, e.getMessage());
+        closeQuietly(watchService);
+        return null;
+      }
+    }
+
+    private void register(Path root) throws IOException {
+      Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+        @Override
+        public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attributes) throws IOException {
+          dir.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_DELETE, StandardWatchEventKinds.ENTRY_MODIFY);
+          return FileVisitResult.CONTINUE;
+        }
+      });
+    }
+
+    /**
+     * Changes are notified asynchronously by the platform: a change is seen by the calls following its notification.
+     *
+     * @return a number changing each time files of the directory are added, removed or modified, unique among all the watchers
+     */
+    public synchronized long version() {
+      WatchKey key;
+      while ((key = watchService.poll()) != null) {
+        version = VERSIONS.incrementAndGet();
+        for (WatchEvent<?> event : key.pollEvents()) {
+          if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE) {
+            registerCreatedDirectory(((Path) key.watchable()).resolve((Path) event.context()));
+          }
+        }
+        if (!key.reset() && key.watchable().equals(directory)) {
+          // the directory itself was removed, a directory created again at the same place would not be watched
+          valid = false;
+        }
+      }
+      return version;
+    }
+
+    private void registerCreatedDirectory(Path path) {
+      if (!Files.isDirectory(path)) {
+        return;
+      }
+      try {
+        register(path);
+      } catch (IOException e) {
+        LOG.debug("Unable to watch classpath directory '{}': {}", path, e.getMessage());
+        valid = false;
+      }
+    }
+
+    /**
+     * @return false when changes of the directory may no longer be notified, the watcher having to be replaced
+     */
+    public synchronized boolean isValid() {
+      return valid;
+    }
+
+    @Override
+    public void close() {
+      closeQuietly(watchService);
+    }
+
+    private static void closeQuietly(@Nullable WatchService watchService) {
+      if (watchService == null) {
+        return;
+      }
+      try {
+        watchService.close();
+      } catch (IOException e) {
+        LOG.debug("Unable to close watch service: {}", e.getMessage());
+      }
+    }
+  }
+}
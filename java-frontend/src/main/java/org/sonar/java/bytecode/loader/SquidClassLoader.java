@@ -117,6 +117,13 @@ public class SquidClassLoader extends ClassLoader implements Closeable {
     }
   }
 
+  /**
+   * Forgets which loader provides each resource, to free memory. Resources are looked up again on next access.
+   */
+  public void clearCache() {
+    loaderCache.invalidateAll();
+  }
+
   private Optional<Loader> findLoaderWithResource(String resourceName) {
     for (Loader loader : loaders) {
       URL url = loader.findResource(resourceName);
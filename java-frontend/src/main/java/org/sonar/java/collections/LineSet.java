@@ -0,0 +1,103 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2020 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java.collections;
+
+import java.util.AbstractSet;
+import java.util.BitSet;
+import java.util.Iterator;
+
+/**
+ * Set of line numbers backed by a {@link BitSet}: lines of a file are small and dense, so that one bit per line is more
+ * compact than boxed integers, and operations taking primitive line numbers do not box.
+ */
+public final class LineSet extends AbstractSet<Integer> {
+
+  private final BitSet lines = new BitSet();
+
+  public boolean add(int line) {
+    if (lines.get(line)) {
+      return false;
+    }
+    lines.set(line);
+    return true;
+  }
+
+  @Override
+  public boolean add(Integer line) {
+    return add(line.intValue());
+  }
+
+  /**
+   * Adds all the lines from {@code firstLine} to {@code lastLine}, both inclusive.
+   */
+  public void addRange(int firstLine, int lastLine) {
+    if (firstLine <= lastLine) {
+      lines.set(firstLine, lastLine + 1);
+    }
+  }
+
+  /**
+   * Removes all the lines from {@code firstLine} to {@code lastLine}, both inclusive.
+   */
+  public void removeRange(int firstLine, int lastLine) {
+    if (firstLine <= lastLine) {
+      lines.clear(firstLine, lastLine + 1);
+    }
+  }
+
+  public boolean contains(int line) {
+    return line >= 0 && lines.get(line);
+  }
+
+  @Override
+  public boolean contains(Object o) {
+    return o instanceof Integer && contains(((Integer) o).intValue());
+  }
+
+  @Override
+  public boolean remove(Object o) {
+    if (!contains(o)) {
+      return false;
+    }
+    lines.clear((Integer) o);
+    return true;
+  }
+
+  @Override
+  public int size() {
+    return lines.cardinality();
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return lines.isEmpty();
+  }
+
+  @Override
+  public void clear() {
+    lines.clear();
+  }
+
+  @Override
+  public Iterator<Integer> iterator() {
+    return lines.stream().iterator();
+  }
+
+}
@@ -23,7 +23,6 @@ import java.io.File;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
 import javax.annotation.Nullable;
 import org.sonar.api.batch.fs.InputComponent;
 import org.sonar.api.batch.fs.InputFile;
@@ -118,8 +117,18 @@ public class DefaultJavaFileScannerContext implements JavaFileScannerContext {
 
   @Override
   public void reportIssue(JavaCheck javaCheck, Tree syntaxNode, String message, List<Location> secondary, @Nullable Integer cost) {
-    List<List<Location>> flows = secondary.stream().map(Collections::singletonList).collect(Collectors.toList());
-    reportIssueWithFlow(javaCheck, syntaxNode, message, flows, cost);
+    reportIssueWithFlow(javaCheck, syntaxNode, message, singletonFlows(secondary), cost);
+  }
+
+  private static List<List<Location>> singletonFlows(List<Location> secondary) {
+    if (secondary.isEmpty()) {
+      return Collections.emptyList();
+    }
+    List<List<Location>> flows = new ArrayList<>(secondary.size());
+    for (Location location : secondary) {
+      flows.add(Collections.singletonList(location));
+    }
+    return flows;
   }
 
   @Override
@@ -138,8 +147,7 @@ public class DefaultJavaFileScannerContext implements JavaFileScannerContext {
   public void reportIssue(JavaCheck javaCheck, Tree startTree, Tree endTree, String message, List<Location> secondary, @Nullable Integer cost) {
     throwIfEndOfAnalysisCheck(javaCheck);
 
-    List<List<Location>> flows = secondary.stream().map(Collections::singletonList).collect(Collectors.toList());
-    reportIssue(createAnalyzerMessage(inputFile, javaCheck, startTree, endTree, message, flows, cost));
+    reportIssue(createAnalyzerMessage(inputFile, javaCheck, startTree, endTree, message, singletonFlows(secondary), cost));
   }
 
   @Override
@@ -165,8 +173,10 @@ public class DefaultJavaFileScannerContext implements JavaFileScannerContext {
     AnalyzerMessage.TextSpan textSpan = endTree != null ? AnalyzerMessage.textSpanBetween(startTree, endTree) : AnalyzerMessage.textSpanFor(startTree);
     AnalyzerMessage analyzerMessage = new AnalyzerMessage(javaCheck, inputFile, textSpan, message, cost != null ? cost : 0);
     for (List<Location> flow : flows) {
-      List<AnalyzerMessage> sonarqubeFlow =
-      flow.stream().map(l -> new AnalyzerMessage(javaCheck, inputFile, AnalyzerMessage.textSpanFor(l.syntaxNode), l.msg, 0)).collect(Collectors.toList());
+      List<AnalyzerMessage> sonarqubeFlow = new ArrayList<>(flow.size());
+      for (Location location : flow) {
+        sonarqubeFlow.add(new AnalyzerMessage(javaCheck, inputFile, AnalyzerMessage.textSpanFor(location.syntaxNode), location.msg, 0));
+      }
       analyzerMessage.flows.add(sonarqubeFlow);
     }
     return analyzerMessage;
@@ -0,0 +1,60 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2020 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java.model;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Cheap index of the content of a compilation unit, built once while parsing the file.
+ * It allows to quickly rule out files which can not contain what a check is looking for, without visiting the tree.
+ *
+ * @see org.sonar.java.FileContentAwareVisitor
+ */
+public final class FileContentIndex {
+
+  private final Set<String> identifiers;
+
+  FileContentIndex(Set<String> identifiers) {
+    this.identifiers = identifiers;
+  }
+
+  /**
+   * @param name simple name of a type, package, method or variable, as written in the source
+   * @return true if an identifier with the given name appears at least once in the file, including imports
+   */
+  public boolean hasIdentifier(String name) {
+    return identifiers.contains(name);
+  }
+
+  public boolean hasAnyIdentifier(String... names) {
+    for (String name : names) {
+      if (identifiers.contains(name)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  public boolean hasAnyIdentifier(Collection<String> names) {
+    return names.stream().anyMatch(identifiers::contains);
+  }
+
+}
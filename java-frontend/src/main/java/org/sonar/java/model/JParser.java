@@ -20,6 +20,8 @@
 package org.sonar.java.model;
 
 import com.sonar.sslr.api.RecognitionException;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.compiler.IProblem;
 import org.eclipse.jdt.core.compiler.InvalidInputException;
@@ -139,6 +141,7 @@ import org.eclipse.jdt.internal.formatter.Token;
 import org.eclipse.jdt.internal.formatter.TokenManager;
 import org.sonar.api.utils.log.Logger;
 import org.sonar.api.utils.log.Loggers;
+import org.sonar.java.CancellationToken;
 import org.sonar.java.ast.parser.ArgumentListTreeImpl;
 import org.sonar.java.ast.parser.BlockStatementListTreeImpl;
 import org.sonar.java.ast.parser.BoundListTreeImpl;
@@ -233,16 +236,27 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Deque;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 
 @ParametersAreNonnullByDefault
 public class JParser {
 
   private static final Logger LOG = Loggers.get(JParser.class);
 
+  private static final String PARSING_PHASE = "parsing";
+
+  /**
+   * Texts of keywords, separators and operators, indexed by token type (see {@link TerminalTokens}).
+   * Filled while parsing: concurrent writes of a same slot are harmless, as they write equal interned values.
+   */
+  private static final String[] FIXED_TOKEN_TEXTS = new String[TerminalTokens.TokenNameERROR + 1];
+
   public static final String MAXIMUM_SUPPORTED_JAVA_VERSION = "13";
 
   /**
@@ -254,6 +268,21 @@ public class JParser {
     String unitName,
     String source,
     List<File> classpath
+  ) {
+    return parse(version, unitName, source, classpath, true);
+  }
+
+  /**
+   * @param unitName see {@link ASTParser#setUnitName(String)}
+   * @param resolveBindings when false, only the syntax tree is built: classpath is ignored and trees do not carry symbols nor types
+   * @throws RecognitionException in case of syntax errors
+   */
+  public static CompilationUnitTree parse(
+    String version,
+    String unitName,
+    String source,
+    List<File> classpath,
+    boolean resolveBindings
   ) {
     ASTParser astParser = ASTParser.newParser(AST.JLS13);
     Map<String, String> options = new HashMap<>();
@@ -265,27 +294,39 @@ public class JParser {
 
     astParser.setCompilerOptions(options);
 
-    astParser.setEnvironment(
-      classpath.stream().map(File::getAbsolutePath).toArray(String[]::new),
-      new String[]{},
-      new String[]{},
-      true
-    );
+    if (resolveBindings) {
+      astParser.setEnvironment(
+        classpath.stream().map(File::getAbsolutePath).toArray(String[]::new),
+        new String[]{},
+        new String[]{},
+        true
+      );
+    }
     astParser.setUnitName(unitName);
 
-    astParser.setResolveBindings(true);
-    astParser.setBindingsRecovery(true);
+    astParser.setResolveBindings(resolveBindings);
+    astParser.setBindingsRecovery(resolveBindings);
 
     char[] sourceChars = source.toCharArray();
     astParser.setSource(sourceChars);
 
+    CancellationToken cancellationToken = CancellationToken.current();
     CompilationUnit astNode;
     try {
-      astNode = (CompilationUnit) astParser.createAST(null);
+      astNode = (CompilationUnit) astParser.createAST(new NullProgressMonitor() {
+        @Override
+        public boolean isCanceled() {
+          // polled by ECJ between its compilation phases
+          return cancellationToken.isCancelled();
+        }
+      });
+    } catch (OperationCanceledException e) {
+      throw new CancellationToken.CancelledException(PARSING_PHASE);
     } catch (Exception e) {
       LOG.error("ECJ: Unable to parse file", e);
       throw new RecognitionException(-1, "ECJ: Unable to parse file.", e);
     }
+    cancellationToken.checkCancelled(PARSING_PHASE);
     for (IProblem problem : astNode.getProblems()) {
       if (!problem.isError()) {
         continue;
@@ -302,12 +343,17 @@ public class JParser {
     JParser converter = new JParser();
     converter.sema = new JSema(astNode.getAST());
     converter.compilationUnit = astNode;
-    converter.tokenManager = new TokenManager(lex(version, unitName, sourceChars), source, new DefaultCodeFormatterOptions(new HashMap<>()));
+    List<Token> tokens = lex(version, unitName, sourceChars);
+    converter.tokenManager = new TokenManager(tokens, source, new DefaultCodeFormatterOptions(new HashMap<>()));
+    converter.identifierTexts = identifierTexts(tokens, source);
 
     JavaTree.CompilationUnitTreeImpl tree = converter.convertCompilationUnit(astNode);
     tree.sema = converter.sema;
+    tree.contentIndex = contentIndex(converter.identifierTexts);
 
-    ASTUtils.mayTolerateMissingType(astNode.getAST());
+    if (resolveBindings) {
+      ASTUtils.mayTolerateMissingType(astNode.getAST());
+    }
 
     setParents(tree);
     return tree;
@@ -330,6 +376,32 @@ public class JParser {
     return ((JavaTree) node).getChildren().iterator();
   }
 
+  /**
+   * @return text of identifier tokens indexed by token index, identical identifiers sharing the same instance
+   */
+  private static String[] identifierTexts(List<Token> tokens, String source) {
+    String[] result = new String[tokens.size()];
+    Map<String, String> distinctTexts = new HashMap<>();
+    for (int i = 0; i < result.length; i++) {
+      Token token = tokens.get(i);
+      if (token.tokenType == TerminalTokens.TokenNameIdentifier) {
+        String text = source.substring(token.originalStart, token.originalEnd + 1);
+        result[i] = distinctTexts.computeIfAbsent(text, Function.identity());
+      }
+    }
+    return result;
+  }
+
+  private static FileContentIndex contentIndex(String[] identifierTexts) {
+    Set<String> identifiers = new HashSet<>();
+    for (String identifierText : identifierTexts) {
+      if (identifierText != null) {
+        identifiers.add(identifierText);
+      }
+    }
+    return new FileContentIndex(identifiers);
+  }
+
   private static List<Token> lex(String version, String unitName, char[] sourceChars) {
     List<Token> tokens = new ArrayList<>();
     Scanner scanner = new Scanner(
@@ -362,6 +434,8 @@ public class JParser {
 
   private TokenManager tokenManager;
 
+  private String[] identifierTexts;
+
   private JSema sema;
 
   private final Deque<JLabelSymbol> labels = new LinkedList<>();
@@ -463,12 +537,55 @@ public class JParser {
     return new InternalSyntaxToken(
       compilationUnit.getLineNumber(t.originalStart),
       compilationUnit.getColumnNumber(t.originalStart),
-      t.toString(tokenManager.getSource()),
+      tokenText(tokenIndex, t),
       collectComments(tokenIndex),
       0, 0, false
     );
   }
 
+  /**
+   * Avoids to keep one String per token: texts of keywords, separators and operators are shared by all the parsed files,
+   * texts of identifiers are shared within the file.
+   */
+  private String tokenText(int tokenIndex, Token t) {
+    String identifierText = identifierTexts[tokenIndex];
+    if (identifierText != null) {
+      return identifierText;
+    }
+    String source = tokenManager.getSource();
+    int tokenType = t.tokenType;
+    if (tokenType < 0 || tokenType >= FIXED_TOKEN_TEXTS.length || hasVariableText(tokenType)) {
+      return t.toString(source);
+    }
+    String fixedText = FIXED_TOKEN_TEXTS[tokenType];
+    int length = t.originalEnd - t.originalStart + 1;
+    // same token type can still be written differently, using unicode escapes
+    if (fixedText != null && fixedText.length() == length && source.regionMatches(t.originalStart, fixedText, 0, length)) {
+      return fixedText;
+    }
+    String text = t.toString(source);
+    if (fixedText == null && text.indexOf('\\') < 0) {
+      FIXED_TOKEN_TEXTS[tokenType] = text.intern();
+    }
+    return text;
+  }
+
+  private static boolean hasVariableText(int tokenType) {
+    switch (tokenType) {
+      case TerminalTokens.TokenNameIdentifier:
+      case TerminalTokens.TokenNameIntegerLiteral:
+      case TerminalTokens.TokenNameLongLiteral:
+      case TerminalTokens.TokenNameFloatingPointLiteral:
+      case TerminalTokens.TokenNameDoubleLiteral:
+      case TerminalTokens.TokenNameCharacterLiteral:
+      case TerminalTokens.TokenNameStringLiteral:
+      case TerminalTokens.TokenNameTextBlock:
+        return true;
+      default:
+        return false;
+    }
+  }
+
   private InternalSyntaxToken createSpecialToken(int tokenIndex) {
     Token t = tokenManager.get(tokenIndex);
     List<SyntaxTrivia> comments = t.tokenType == TerminalTokens.TokenNameGREATER
@@ -488,7 +605,10 @@ public class JParser {
     while (commentIndex > 0 && tokenManager.get(commentIndex - 1).isComment()) {
       commentIndex--;
     }
-    List<SyntaxTrivia> comments = new ArrayList<>();
+    if (commentIndex == tokenIndex) {
+      return Collections.emptyList();
+    }
+    List<SyntaxTrivia> comments = new ArrayList<>(tokenIndex - commentIndex);
     for (int i = commentIndex; i < tokenIndex; i++) {
       Token t = tokenManager.get(i);
       comments.add(new InternalSyntaxTrivia(
@@ -26,13 +26,13 @@ import com.sonar.sslr.api.RecognitionException;
 import java.io.File;
 import java.io.InterruptedIOException;
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.Collections;
 import java.util.EnumMap;
 import java.util.List;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import javax.annotation.Nullable;
 import org.sonar.api.batch.fs.InputFile;
 import org.sonar.api.utils.AnnotationUtils;
@@ -41,18 +41,29 @@ import org.sonar.api.utils.log.Loggers;
 import org.sonar.check.Rule;
 import org.sonar.java.AnalysisError;
 import org.sonar.java.AnalysisException;
+import org.sonar.java.AnalysisSession;
+import org.sonar.java.AnalysisTimings;
+import org.sonar.java.CancellationToken;
 import org.sonar.java.CheckFailureException;
 import org.sonar.java.EndOfAnalysisCheck;
 import org.sonar.java.ExceptionHandler;
+import org.sonar.java.FileContentAwareVisitor;
+import org.sonar.java.HeapPressureMonitor;
 import org.sonar.java.IllegalRuleParameterException;
 import org.sonar.java.JavaVersionAwareVisitor;
+import org.sonar.java.Measurer;
+import org.sonar.java.SemanticAwareVisitor;
 import org.sonar.java.SonarComponents;
+import org.sonar.java.ast.visitors.FileLinesVisitor;
 import org.sonar.java.ast.visitors.SonarSymbolTableVisitor;
 import org.sonar.java.ast.visitors.SubscriptionVisitor;
+import org.sonar.java.ast.visitors.SyntaxHighlighterVisitor;
 import org.sonar.java.bytecode.ClassLoaderBuilder;
 import org.sonar.java.bytecode.loader.SquidClassLoader;
+import org.sonar.java.se.ExplorationOptions;
 import org.sonar.java.se.SymbolicExecutionMode;
 import org.sonar.java.se.SymbolicExecutionVisitor;
+import org.sonar.java.se.checks.SECheck;
 import org.sonar.java.se.xproc.BehaviorCache;
 import org.sonar.plugins.java.api.IssuableSubscriptionVisitor;
 import org.sonar.plugins.java.api.JavaCheck;
@@ -67,18 +78,28 @@ import org.sonar.plugins.java.api.tree.Tree.Kind;
 public class VisitorsBridge {
 
   private static final Logger LOG = Loggers.get(VisitorsBridge.class);
+  private static final String TREE_WALK_PHASE = "tree walk";
 
   private final BehaviorCache behaviorCache;
   private final List<JavaFileScanner> allScanners;
   private List<JavaFileScanner> executableScanners;
   private final SonarComponents sonarComponents;
   private final boolean symbolicExecutionEnabled;
+  @Nullable
+  private ExplorationOptions explorationOptions;
+  private boolean semanticRequired;
   protected InputFile currentFile;
   protected JavaVersion javaVersion;
   private final List<File> classpath;
   private final SquidClassLoader classLoader;
+  // state owned by the analysis session, providing the class loader and the bytecode behaviors when there is a session
+  @Nullable
+  private final AnalysisSession.ClasspathState classpathState;
+  @Nullable
+  private final HeapPressureMonitor heapPressureMonitor;
   private IssuableSubsciptionVisitorsRunner issuableSubscriptionVisitorsRunner;
   private static final Predicate<JavaFileScanner> IS_ISSUABLE_SUBSCRIPTION_VISITOR = IssuableSubscriptionVisitor.class::isInstance;
+  private static final int[] NO_VISITORS = new int[0];
 
   @VisibleForTesting
   public VisitorsBridge(JavaFileScanner visitor) {
@@ -103,9 +124,20 @@ public class VisitorsBridge {
     this.executableScanners = allScanners.stream().filter(IS_ISSUABLE_SUBSCRIPTION_VISITOR.negate()).collect(Collectors.toList());
     this.issuableSubscriptionVisitorsRunner = new IssuableSubsciptionVisitorsRunner(allScanners);
     this.sonarComponents = sonarComponents;
-    this.classLoader = ClassLoaderBuilder.create(projectClasspath);
     this.symbolicExecutionEnabled = symbolicExecutionMode.isEnabled();
-    this.behaviorCache = new BehaviorCache(classLoader, symbolicExecutionMode.isCrossFileEnabled());
+    this.semanticRequired = requiresSemantic(allScanners);
+    this.heapPressureMonitor = sonarComponents != null && sonarComponents.isHeapPressureMonitoringEnabled() ? new HeapPressureMonitor(maxHeapPressureLevel(sonarComponents)) : null;
+    AnalysisSession analysisSession = sonarComponents != null ? sonarComponents.analysisSession() : null;
+    if (analysisSession != null) {
+      // class loader and bytecode behaviors are owned by the session, kept warm for next analyses
+      this.classpathState = analysisSession.classpathState(projectClasspath);
+      this.classLoader = classpathState.classLoader();
+      this.behaviorCache = new BehaviorCache(classLoader, symbolicExecutionMode.isCrossFileEnabled(), classpathState.bytecodeBehaviors());
+    } else {
+      this.classpathState = null;
+      this.classLoader = ClassLoaderBuilder.create(projectClasspath);
+      this.behaviorCache = new BehaviorCache(classLoader, symbolicExecutionMode.isCrossFileEnabled());
+    }
   }
 
   public JavaVersion getJavaVersion() {
@@ -116,34 +148,91 @@ public class VisitorsBridge {
     return classpath;
   }
 
+  /**
+   * @return false when none of the executed scanners relies on symbols or types, meaning that files can be parsed without resolving bindings.
+   * Only happens in SonarLint context without symbolic execution, see {@link SemanticAwareVisitor}.
+   */
+  public boolean requiresSemantic() {
+    return semanticRequired;
+  }
+
   public void setJavaVersion(JavaVersion javaVersion) {
     this.javaVersion = javaVersion;
     List<JavaFileScanner> scannersForJavaVersion = executableScanners(allScanners, javaVersion);
     this.executableScanners = scannersForJavaVersion.stream().filter(IS_ISSUABLE_SUBSCRIPTION_VISITOR.negate()).collect(Collectors.toList());
     this.issuableSubscriptionVisitorsRunner = new IssuableSubsciptionVisitorsRunner(scannersForJavaVersion);
+    this.semanticRequired = requiresSemantic(scannersForJavaVersion);
+  }
+
+  private boolean requiresSemantic(List<JavaFileScanner> scanners) {
+    return symbolicExecutionEnabled || isSymbolTableRequired() || scanners.stream().anyMatch(VisitorsBridge::requiresSemantic);
+  }
+
+  private static boolean requiresSemantic(JavaFileScanner scanner) {
+    return !(scanner instanceof SemanticAwareVisitor) || ((SemanticAwareVisitor) scanner).requiresSemantic();
+  }
+
+  private boolean isSymbolTableRequired() {
+    return sonarComponents != null && !sonarComponents.isSonarLintContext();
   }
 
   public void visitFile(@Nullable Tree parsedTree) {
+    visitFile(parsedTree, false);
+  }
+
+  /**
+   * @param lightweight when true, only metrics and checks relying on the syntax tree are executed, without symbol table, highlighting
+   *                    nor symbolic execution, see {@link org.sonar.java.LightweightAnalysisPolicy}
+   */
+  public void visitFile(@Nullable Tree parsedTree, boolean lightweight) {
+    boolean withSemantic = semanticRequired && !lightweight;
     JavaTree.CompilationUnitTreeImpl tree = new JavaTree.CompilationUnitTreeImpl(null, new ArrayList<>(), new ArrayList<>(), null, null);
     boolean fileParsed = parsedTree != null;
     if (fileParsed && parsedTree.is(Tree.Kind.COMPILATION_UNIT)) {
       tree = (JavaTree.CompilationUnitTreeImpl) parsedTree;
-      createSonarSymbolTable(tree);
+      if (withSemantic) {
+        createSonarSymbolTable(tree);
+      }
+    }
+
+    // without resolved bindings, the semantic model would only provide unknown symbols and types
+    Sema semanticModel = withSemantic ? tree.sema : null;
+    JavaFileScannerContext javaFileScannerContext = createScannerContext(tree, semanticModel, sonarComponents, fileParsed);
+
+    FileContentIndex contentIndex = tree.contentIndex;
+    Predicate<JavaFileScanner> isApplicable = scanner -> (!lightweight || runsInLightweightMode(scanner)) && isApplicable(scanner, contentIndex);
+    List<JavaFileScanner> applicableScanners = executableScanners.stream().filter(isApplicable).collect(Collectors.toList());
+
+    if (heapPressureMonitor != null && heapPressureMonitor.shouldDropCaches()) {
+      dropCaches();
     }
 
-    JavaFileScannerContext javaFileScannerContext = createScannerContext(tree, tree.sema, sonarComponents, fileParsed);
+    try {
+      runScanners(javaFileScannerContext, applicableScanners, isApplicable, lightweight);
+    } catch (CancellationToken.CancelledException e) {
+      // issues raised by symbolic execution are only reported at the end of the analysis of the file, they must not leak to the next one
+      applicableScanners.stream().filter(SECheck.class::isInstance).map(SECheck.class::cast).forEach(SECheck::discardIssues);
+      throw e;
+    }
+  }
 
+  private void runScanners(JavaFileScannerContext javaFileScannerContext, List<JavaFileScanner> applicableScanners, Predicate<JavaFileScanner> isApplicable,
+    boolean lightweight) {
+    CancellationToken cancellationToken = CancellationToken.current();
     // Symbolic execution checks
-    if (symbolicExecutionEnabled) {
+    if (symbolicExecutionEnabled && !lightweight) {
       try {
-        runScanner(javaFileScannerContext, new SymbolicExecutionVisitor(executableScanners, behaviorCache), AnalysisError.Kind.SE_ERROR);
-        behaviorCache.cleanup();
+        runScanner(javaFileScannerContext, new SymbolicExecutionVisitor(applicableScanners, behaviorCache, explorationOptions(), heapPressureMonitor), AnalysisError.Kind.SE_ERROR);
       } catch (CheckFailureException e) {
         interruptIfFailFast(e);
+      } finally {
+        // behaviors of the file are dropped even when its analysis is cancelled
+        behaviorCache.cleanup();
       }
     }
 
-    for (JavaFileScanner scanner : executableScanners) {
+    for (JavaFileScanner scanner : applicableScanners) {
+      cancellationToken.checkCancelled(TREE_WALK_PHASE);
       try {
         runScanner(javaFileScannerContext, scanner, AnalysisError.Kind.CHECK_ERROR);
       } catch (CheckFailureException e) {
@@ -152,12 +241,40 @@ public class VisitorsBridge {
     }
 
     try {
-      issuableSubscriptionVisitorsRunner.run(javaFileScannerContext);
+      issuableSubscriptionVisitorsRunner.run(javaFileScannerContext, isApplicable);
     } catch (CheckFailureException e) {
       interruptIfFailFast(e);
     }
   }
 
+  private void dropCaches() {
+    // class loader and shared bytecode behaviors of an analysis session are kept warm for next analyses, only the session can drop them
+    boolean ownsCaches = classpathState == null;
+    behaviorCache.clearBytecodeBehaviors(ownsCaches);
+    if (ownsCaches) {
+      classLoader.clearCache();
+    }
+    heapPressureMonitor.degraded(HeapPressureMonitor.Level.DROP_CACHES);
+  }
+
+  private static HeapPressureMonitor.Level maxHeapPressureLevel(SonarComponents sonarComponents) {
+    // lowering budgets or skipping symbolic execution changes the issues raised, only done on demand
+    return sonarComponents.isHeapPressureSymbolicExecutionDegradationEnabled() ? HeapPressureMonitor.Level.SKIP_SE : HeapPressureMonitor.Level.DROP_CACHES;
+  }
+
+  private ExplorationOptions explorationOptions() {
+    if (explorationOptions == null) {
+      explorationOptions = ExplorationOptions.DEFAULT;
+      if (sonarComponents != null) {
+        explorationOptions = explorationOptions
+          .withStrategy(sonarComponents.explorationStrategy())
+          .withStateSubsumption(sonarComponents.isStateSubsumptionEnabled())
+          .withLoopWidening(sonarComponents.isLoopWideningEnabled());
+      }
+    }
+    return explorationOptions;
+  }
+
   private void interruptIfFailFast(CheckFailureException e) {
     if (sonarComponents != null && sonarComponents.shouldFailAnalysisOnException()) {
       throw new AnalysisException("Failing check", e);
@@ -165,7 +282,20 @@ public class VisitorsBridge {
   }
 
   private void runScanner(JavaFileScannerContext javaFileScannerContext, JavaFileScanner scanner, AnalysisError.Kind kind) throws CheckFailureException {
-    runScanner(() -> scanner.scanFile(javaFileScannerContext), scanner, kind);
+    AnalysisTimings analysisTimings = analysisTimings();
+    long start = analysisTimings == null ? 0L : System.nanoTime();
+    try {
+      runScanner(() -> scanner.scanFile(javaFileScannerContext), scanner, kind);
+    } finally {
+      if (analysisTimings != null) {
+        analysisTimings.addScanner(scanner.getClass(), System.nanoTime() - start);
+      }
+    }
+  }
+
+  @Nullable
+  private AnalysisTimings analysisTimings() {
+    return sonarComponents == null ? null : sonarComponents.analysisTimings();
   }
 
   private void runScanner(Runnable action, JavaFileScanner scanner, AnalysisError.Kind kind) throws CheckFailureException {
@@ -174,6 +304,8 @@ public class VisitorsBridge {
     } catch (IllegalRuleParameterException e) {
       // bad configuration of a rule parameter, we want to fail analysis fast.
       throw new AnalysisException("Bad configuration of rule parameter", e);
+    } catch (CancellationToken.CancelledException e) {
+      throw e;
     } catch (Exception e) {
       Throwable rootCause = Throwables.getRootCause(e);
       if (rootCause instanceof InterruptedIOException || rootCause instanceof InterruptedException) {
@@ -198,6 +330,17 @@ public class VisitorsBridge {
     return "";
   }
 
+  private static boolean runsInLightweightMode(JavaFileScanner scanner) {
+    if (scanner instanceof SyntaxHighlighterVisitor) {
+      return false;
+    }
+    return scanner instanceof Measurer || scanner instanceof FileLinesVisitor || !requiresSemantic(scanner);
+  }
+
+  private static boolean isApplicable(JavaFileScanner scanner, @Nullable FileContentIndex contentIndex) {
+    return contentIndex == null || !(scanner instanceof FileContentAwareVisitor) || ((FileContentAwareVisitor) scanner).isApplicable(contentIndex);
+  }
+
   private static List<JavaFileScanner> executableScanners(List<JavaFileScanner> scanners, JavaVersion javaVersion) {
     ImmutableList.Builder<JavaFileScanner> results = ImmutableList.builder();
     for (JavaFileScanner scanner : scanners) {
@@ -248,29 +391,77 @@ public class VisitorsBridge {
       .filter(s -> s instanceof EndOfAnalysisCheck)
       .map(EndOfAnalysisCheck.class::cast)
       .forEach(EndOfAnalysisCheck::endOfAnalysis);
-    classLoader.close();
+    if (heapPressureMonitor != null) {
+      heapPressureMonitor.logSummary();
+      if (heapPressureMonitor.symbolicExecutionDegraded()) {
+        sonarComponents.addAnalysisWarning("Symbolic execution was degraded as the heap was close to its limit, some issues may be missing. "
+          + "Increase the maximum heap size of the analysis to get all of them.");
+      }
+    }
+    if (classpathState != null) {
+      classpathState.release();
+    } else {
+      classLoader.close();
+    }
   }
 
   private class IssuableSubsciptionVisitorsRunner {
-    private EnumMap<Tree.Kind, List<SubscriptionVisitor>> checks;
-    private List<SubscriptionVisitor> subscriptionVisitors;
+    // visitors are referenced by their index in all the subscription visitors, to accumulate their time in a primitive array
+    private final SubscriptionVisitor[] allSubscriptionVisitors;
+    private final EnumMap<Tree.Kind, int[]> allChecks;
+    private final long[] nanosByVisitor;
+    private EnumMap<Tree.Kind, int[]> checks;
+    private CancellationToken cancellationToken = CancellationToken.NONE;
+    @Nullable
+    private AnalysisTimings analysisTimings;
 
     IssuableSubsciptionVisitorsRunner(List<JavaFileScanner> executableScanners) {
-      checks = new EnumMap<>(Tree.Kind.class);
-      subscriptionVisitors = executableScanners.stream()
+      allSubscriptionVisitors = executableScanners.stream()
         .filter(IS_ISSUABLE_SUBSCRIPTION_VISITOR)
         .map(SubscriptionVisitor.class::cast)
-        .collect(Collectors.toList());
+        .toArray(SubscriptionVisitor[]::new);
+      nanosByVisitor = new long[allSubscriptionVisitors.length];
+      allChecks = checksByKind(IntStream.range(0, allSubscriptionVisitors.length).toArray());
+    }
 
-      subscriptionVisitors
-        .forEach(s -> s.nodesToVisit()
-          .forEach(k -> checks.computeIfAbsent(k, key -> new ArrayList<>()).add(s)));
+    private EnumMap<Tree.Kind, int[]> checksByKind(int[] visitorIndexes) {
+      EnumMap<Tree.Kind, List<Integer>> indexesByKind = new EnumMap<>(Tree.Kind.class);
+      for (int index : visitorIndexes) {
+        allSubscriptionVisitors[index].nodesToVisit()
+          .forEach(k -> indexesByKind.computeIfAbsent(k, key -> new ArrayList<>()).add(index));
+      }
+      EnumMap<Tree.Kind, int[]> result = new EnumMap<>(Tree.Kind.class);
+      indexesByKind.forEach((k, indexes) -> result.put(k, indexes.stream().mapToInt(Integer::intValue).toArray()));
+      return result;
     }
 
-    public void run(JavaFileScannerContext javaFileScannerContext) throws CheckFailureException {
-      forEach(subscriptionVisitors, s -> s.setContext(javaFileScannerContext));
-      visit(javaFileScannerContext.getTree());
-      forEach(subscriptionVisitors, s -> s.leaveFile(javaFileScannerContext));
+    public void run(JavaFileScannerContext javaFileScannerContext, Predicate<JavaFileScanner> isApplicable) throws CheckFailureException {
+      int[] subscriptionVisitors = IntStream.range(0, allSubscriptionVisitors.length).filter(i -> isApplicable.test(allSubscriptionVisitors[i])).toArray();
+      // only re-index visitors by kind when some of them are skipped for this file
+      checks = subscriptionVisitors.length == allSubscriptionVisitors.length ? allChecks : checksByKind(subscriptionVisitors);
+      cancellationToken = CancellationToken.current();
+      analysisTimings = analysisTimings();
+      try {
+        forEach(subscriptionVisitors, s -> s.setContext(javaFileScannerContext));
+        try {
+          visit(javaFileScannerContext.getTree());
+        } finally {
+          // visitors reset their state of the file when leaving it, even when its analysis is cancelled
+          forEach(subscriptionVisitors, s -> s.leaveFile(javaFileScannerContext));
+        }
+      } finally {
+        addTimings(subscriptionVisitors);
+      }
+    }
+
+    private void addTimings(int[] visitorIndexes) {
+      if (analysisTimings == null) {
+        return;
+      }
+      for (int index : visitorIndexes) {
+        analysisTimings.addScanner(allSubscriptionVisitors[index].getClass(), nanosByVisitor[index]);
+        nanosByVisitor[index] = 0L;
+      }
     }
 
     private void visitChildren(Tree tree) throws CheckFailureException {
@@ -285,8 +476,9 @@ public class VisitorsBridge {
     }
 
     private void visit(Tree tree) throws CheckFailureException {
+      cancellationToken.checkCancelled(TREE_WALK_PHASE);
       Kind kind = tree.kind();
-      List<SubscriptionVisitor> subscribed = checks.getOrDefault(kind, Collections.emptyList());
+      int[] subscribed = checks.getOrDefault(kind, NO_VISITORS);
       Consumer<SubscriptionVisitor> callback;
       boolean isToken = (kind == Tree.Kind.TOKEN);
       if (isToken) {
@@ -296,7 +488,7 @@ public class VisitorsBridge {
       }
       forEach(subscribed, callback);
       if (isToken) {
-        forEach(checks.getOrDefault(Tree.Kind.TRIVIA, Collections.emptyList()), s -> ((SyntaxToken) tree).trivias().forEach(s::visitTrivia));
+        forEach(checks.getOrDefault(Tree.Kind.TRIVIA, NO_VISITORS), s -> ((SyntaxToken) tree).trivias().forEach(s::visitTrivia));
       } else {
         visitChildren(tree);
       }
@@ -305,9 +497,25 @@ public class VisitorsBridge {
       }
     }
 
-    private final void forEach(Collection<SubscriptionVisitor> visitors, Consumer<SubscriptionVisitor> callback) throws CheckFailureException {
-      for (SubscriptionVisitor visitor : visitors) {
-        runScanner(() -> callback.accept(visitor), visitor, AnalysisError.Kind.CHECK_ERROR);
+    private final void forEach(int[] visitorIndexes, Consumer<SubscriptionVisitor> callback) throws CheckFailureException {
+      if (analysisTimings == null) {
+        for (int index : visitorIndexes) {
+          SubscriptionVisitor visitor = allSubscriptionVisitors[index];
+          runScanner(() -> callback.accept(visitor), visitor, AnalysisError.Kind.CHECK_ERROR);
+        }
+        return;
+      }
+      // consecutive visitors share the time stamp between them
+      long start = System.nanoTime();
+      for (int index : visitorIndexes) {
+        SubscriptionVisitor visitor = allSubscriptionVisitors[index];
+        try {
+          runScanner(() -> callback.accept(visitor), visitor, AnalysisError.Kind.CHECK_ERROR);
+        } finally {
+          long end = System.nanoTime();
+          nanosByVisitor[index] += end - start;
+          start = end;
+        }
       }
     }
   }
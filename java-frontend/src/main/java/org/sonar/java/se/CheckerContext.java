@@ -25,6 +25,7 @@ import org.sonar.java.se.symbolicvalues.SymbolicValue;
 import org.sonar.plugins.java.api.tree.Tree;
 
 import java.util.Set;
+import java.util.function.Supplier;
 
 public interface CheckerContext {
 
@@ -34,6 +35,8 @@ public interface CheckerContext {
 
   void reportIssue(Tree tree, SECheck check, String message, Set<Flow> flows);
 
+  void reportIssue(Tree tree, SECheck check, String message, Supplier<Set<Flow>> flows);
+
   void addTransition(ProgramState state);
 
   void addExceptionalYield(SymbolicValue target, ProgramState exceptionalState, String exceptionFullyQualifiedName, SECheck check);
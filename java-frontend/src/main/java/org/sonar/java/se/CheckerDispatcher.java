@@ -19,11 +19,18 @@
  */
 package org.sonar.java.se;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.EnumSet;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import javax.annotation.CheckForNull;
 import javax.annotation.Nullable;
+import org.sonar.java.CancellationToken;
 import org.sonar.java.cfg.CFG;
 import org.sonar.java.se.checks.SECheck;
 import org.sonar.java.se.constraint.ConstraintManager;
@@ -35,8 +42,13 @@ import org.sonar.plugins.java.api.tree.MethodTree;
 import org.sonar.plugins.java.api.tree.Tree;
 
 public class CheckerDispatcher implements CheckerContext {
+  private static final Set<Tree.Kind> ALL_KINDS = EnumSet.allOf(Tree.Kind.class);
+
   private final ExplodedGraphWalker explodedGraphWalker;
   private final List<SECheck> checks;
+  // checks to call on each kind of tree, in the order of the checks
+  private final Map<Tree.Kind, List<SECheck>> preStatementChecks;
+  private final Map<Tree.Kind, List<SECheck>> postStatementChecks;
   private int currentCheckerIndex = -1;
   private boolean transition = false;
   private Exception interruptionCause = null;
@@ -46,14 +58,35 @@ public class CheckerDispatcher implements CheckerContext {
   MethodYield methodYield = null;
 
   public CheckerDispatcher(ExplodedGraphWalker explodedGraphWalker, List<SECheck> checks) {
+    this(explodedGraphWalker, checks, true);
+  }
+
+  /**
+   * @param dispatchByKind false to call every check on every tree, whatever the kinds of trees the checks declare
+   */
+  public CheckerDispatcher(ExplodedGraphWalker explodedGraphWalker, List<SECheck> checks, boolean dispatchByKind) {
     this.explodedGraphWalker = explodedGraphWalker;
     this.checks = checks;
+    this.preStatementChecks = checksByKind(checks, dispatchByKind ? SECheck::preStatementKinds : check -> ALL_KINDS);
+    this.postStatementChecks = checksByKind(checks, dispatchByKind ? SECheck::postStatementKinds : check -> ALL_KINDS);
+  }
+
+  private static Map<Tree.Kind, List<SECheck>> checksByKind(List<SECheck> checks, Function<SECheck, Set<Tree.Kind>> kinds) {
+    Map<Tree.Kind, List<SECheck>> checksByKind = new EnumMap<>(Tree.Kind.class);
+    for (SECheck check : checks) {
+      kinds.apply(check).forEach(kind -> checksByKind.computeIfAbsent(kind, k -> new ArrayList<>()).add(check));
+    }
+    return checksByKind;
+  }
+
+  private static List<SECheck> checksFor(Map<Tree.Kind, List<SECheck>> checksByKind, Tree syntaxNode) {
+    return checksByKind.getOrDefault(syntaxNode.kind(), Collections.emptyList());
   }
 
   public boolean executeCheckPreStatement(Tree syntaxNode) {
     this.syntaxNode = syntaxNode;
     ProgramState ps;
-    for (SECheck checker : checks) {
+    for (SECheck checker : checksFor(preStatementChecks, syntaxNode)) {
       ps = checker.checkPreStatement(this, syntaxNode);
       if (ps == null) {
         return false;
@@ -89,6 +122,11 @@ public class CheckerDispatcher implements CheckerContext {
     check.reportIssue(tree, message, flows);
   }
 
+  @Override
+  public void reportIssue(Tree tree, SECheck check, String message, Supplier<Set<Flow>> flows) {
+    check.reportIssue(tree, message, flows);
+  }
+
   @Override
   public void addTransition(ProgramState state) {
     ProgramState oldState = explodedGraphWalker.programState;
@@ -102,8 +140,9 @@ public class CheckerDispatcher implements CheckerContext {
 
   private void executePost() {
     this.transition = false;
-    if (currentCheckerIndex < checks.size()) {
-      explodedGraphWalker.programState = checks.get(currentCheckerIndex).checkPostStatement(this, syntaxNode);
+    List<SECheck> postChecks = checksFor(postStatementChecks, syntaxNode);
+    if (currentCheckerIndex < postChecks.size()) {
+      explodedGraphWalker.programState = postChecks.get(currentCheckerIndex).checkPostStatement(this, syntaxNode);
     } else {
       CFG.Block block = (CFG.Block) explodedGraphWalker.programPosition.block;
       if (explodedGraphWalker.programPosition.i< block.elements().size()) {
@@ -131,8 +170,14 @@ public class CheckerDispatcher implements CheckerContext {
   }
 
   public void executeCheckEndOfExecution() {
-    for (SECheck checker : checks) {
-      checker.checkEndOfExecution(this);
+    for (int i = 0; i < checks.size(); i++) {
+      try {
+        checks.get(i).checkEndOfExecution(this);
+      } catch (CancellationToken.CancelledException e) {
+        // checks which did not handle the end of the execution yet still have to drop their state of the method
+        interruptedExecution(e, checks.subList(i + 1, checks.size()));
+        throw e;
+      }
     }
   }
 
@@ -154,8 +199,12 @@ public class CheckerDispatcher implements CheckerContext {
   }
 
   public void interruptedExecution(Exception interruptionCause) {
+    interruptedExecution(interruptionCause, checks);
+  }
+
+  private void interruptedExecution(Exception interruptionCause, List<SECheck> interruptedChecks) {
     this.interruptionCause = interruptionCause;
-    checks.forEach(c -> c.interruptedExecution(this));
+    interruptedChecks.forEach(c -> c.interruptedExecution(this));
     this.interruptionCause = null;
   }
 
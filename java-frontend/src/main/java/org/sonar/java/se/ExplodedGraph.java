@@ -30,15 +30,19 @@ import javax.annotation.Nullable;
 
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.function.Supplier;
 
 public class ExplodedGraph {
 
   private final Map<Node, Node> nodes = new HashMap<>();
   private final Multimap<ProgramPoint, Node> nodesByProgramPoint = LinkedListMultimap.create();
+  private final Map<List<Object>, Set<Flow>> flows = new HashMap<>();
 
   /**
    * Returns node associated with given (programPoint,programState) pair. If no node for this pair exists, it is created.
@@ -56,10 +60,31 @@ public class ExplodedGraph {
     return result;
   }
 
+  /**
+   * Forgets a node which has just been created, when it is not explored.
+   */
+  void remove(Node node) {
+    nodes.remove(node);
+    nodesByProgramPoint.remove(node.programPoint, node);
+  }
+
   public Map<Node, Node> nodes() {
     return nodes;
   }
 
+  /**
+   * Returns the flows identified by the given key, computing them only if they were not already requested, for instance by another check
+   * reporting an issue on the same node.
+   */
+  Set<Flow> flow(List<Object> key, Supplier<Set<Flow>> flowComputation) {
+    Set<Flow> result = flows.get(key);
+    if (result == null) {
+      result = flowComputation.get();
+      flows.put(key, result);
+    }
+    return new HashSet<>(result);
+  }
+
   public static final class Node {
 
     public final ProgramPoint programPoint;
@@ -98,6 +123,10 @@ public class ExplodedGraph {
       return collection;
     }
 
+    ExplodedGraph explodedGraph() {
+      return explodedGraph;
+    }
+
     @Nullable
     public Node parent() {
       return parents().stream().findFirst().orElse(null);
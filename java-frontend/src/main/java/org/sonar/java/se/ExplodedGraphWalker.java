@@ -28,11 +28,9 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.Deque;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -43,6 +41,7 @@ import javax.annotation.CheckForNull;
 import javax.annotation.Nullable;
 import org.sonar.api.utils.log.Logger;
 import org.sonar.api.utils.log.Loggers;
+import org.sonar.java.CancellationToken;
 import org.sonar.java.DebugCheck;
 import org.sonar.java.cfg.CFG;
 import org.sonar.java.cfg.LiveVariables;
@@ -107,6 +106,11 @@ public class ExplodedGraphWalker {
    * Arbitrary number to limit symbolic execution.
    */
   private static final int MAX_STEPS = 16_000;
+  /**
+   * Lowered limit of steps, used when the heap is under pressure.
+   */
+  @VisibleForTesting
+  static final int REDUCED_MAX_STEPS = MAX_STEPS / 4;
   public static final int MAX_NESTED_BOOLEAN_STATES = 10_000;
   // would correspond to 10 parameters annotated with @Nullable
   private static final int MAX_STARTING_STATES = 1_024;
@@ -133,7 +137,7 @@ public class ExplodedGraphWalker {
   private ExplodedGraph explodedGraph;
 
   @VisibleForTesting
-  Deque<ExplodedGraph.Node> workList;
+  WorkList workList;
   ExplodedGraph.Node node;
   ProgramPoint programPosition;
   ProgramState programState;
@@ -144,8 +148,13 @@ public class ExplodedGraphWalker {
 
   private final Sema semanticModel;
   private final BehaviorCache behaviorCache;
+  private final ExplorationOptions explorationOptions;
+  private Map<ProgramPoint, Map<ProgramState, ExplodedGraph.Node>> liveStatesAtJoinPoints;
+  @Nullable
+  private LoopWidening loopHeadsWidening;
   @VisibleForTesting
   int steps;
+  private int maxSteps = MAX_STEPS;
 
   ConstraintManager constraintManager;
   private boolean cleanup = true;
@@ -188,6 +197,7 @@ public class ExplodedGraphWalker {
     this.checkerDispatcher = new CheckerDispatcher(this, checks);
     this.behaviorCache = behaviorCache;
     this.semanticModel = semanticModel;
+    this.explorationOptions = ExplorationOptions.DEFAULT;
   }
 
   @VisibleForTesting
@@ -198,10 +208,15 @@ public class ExplodedGraphWalker {
 
   @VisibleForTesting
   protected ExplodedGraphWalker(List<SECheck> seChecks, BehaviorCache behaviorCache, Sema semanticModel) {
+    this(seChecks, behaviorCache, semanticModel, ExplorationOptions.DEFAULT);
+  }
+
+  protected ExplodedGraphWalker(List<SECheck> seChecks, BehaviorCache behaviorCache, Sema semanticModel, ExplorationOptions explorationOptions) {
     this.alwaysTrueOrFalseExpressionCollector = new AlwaysTrueOrFalseExpressionCollector();
-    this.checkerDispatcher = new CheckerDispatcher(this, seChecks);
+    this.checkerDispatcher = new CheckerDispatcher(this, seChecks, explorationOptions.dispatchByKind());
     this.behaviorCache = behaviorCache;
     this.semanticModel = semanticModel;
+    this.explorationOptions = explorationOptions;
   }
 
   public MethodBehavior visitMethod(MethodTree tree) {
@@ -226,7 +241,9 @@ public class ExplodedGraphWalker {
     explodedGraph = new ExplodedGraph();
     methodTree = tree;
     constraintManager = new ConstraintManager();
-    workList = new LinkedList<>();
+    workList = explorationOptions.strategy().newWorkList();
+    liveStatesAtJoinPoints = new HashMap<>();
+    loopHeadsWidening = explorationOptions.loopWidening() ? new LoopWidening(cfg) : null;
     // Linked hashSet is required to guarantee order of yields to be generated
     endOfExecutionPath = new LinkedHashSet<>();
     if(DEBUG_MODE_ACTIVATED) {
@@ -234,6 +251,24 @@ public class ExplodedGraphWalker {
     }
     programState = ProgramState.EMPTY_STATE;
     steps = 0;
+    try {
+      explore(tree, cfg);
+    } catch (CancellationToken.CancelledException e) {
+      // checks keep a state per explored method, which has to be dropped for the analysis of the next files
+      checkerDispatcher.interruptedExecution(e);
+      throw e;
+    }
+    checkerDispatcher.executeCheckEndOfExecution();
+    // Cleanup:
+    workList = null;
+    loopHeadsWidening = null;
+    node = null;
+    programState = null;
+    constraintManager = null;
+  }
+
+  private void explore(MethodTree tree, CFG cfg) {
+    CancellationToken cancellationToken = CancellationToken.current();
     for (ProgramState startingState : startingStates(tree, programState)) {
       enqueue(new ProgramPoint(cfg.entryBlock()), startingState);
     }
@@ -242,8 +277,8 @@ public class ExplodedGraphWalker {
       if (steps > maxSteps()) {
         throwMaxSteps(tree);
       }
-      // LIFO:
-      setNode(workList.removeFirst());
+      cancellationToken.checkCancelled("symbolic execution");
+      setNode(workList.remove());
       CFG.Block block = (CFG.Block) programPosition.block;
       if (block.successors().isEmpty()) {
         endOfExecutionPath.add(node);
@@ -274,12 +309,6 @@ public class ExplodedGraphWalker {
     }
 
     handleEndOfExecutionPath(false);
-    checkerDispatcher.executeCheckEndOfExecution();
-    // Cleanup:
-    workList = null;
-    node = null;
-    programState = null;
-    constraintManager = null;
   }
 
   private void throwTooManyTransitiveRelationsException(MethodTree tree, RelationalSymbolicValue.TransitiveRelationExceededException e) {
@@ -1119,16 +1148,50 @@ public class ExplodedGraphWalker {
       }
     }
     checkExplodedGraphTooBig(programState);
-    ProgramState ps = programState.visitedPoint(programPoint, nbOfExecution + 1);
+    ProgramState ps = programState;
+    if (loopHeadsWidening != null && nbOfExecution > 0 && programPoint.i == 0) {
+      ps = loopHeadsWidening.widen((CFG.Block) programPoint.block, ps);
+    }
+    ps = ps.visitedPoint(programPoint, nbOfExecution + 1);
     ExplodedGraph.Node cachedNode = explodedGraph.node(programPoint, ps);
     if (!cachedNode.isNew() && exitPath == cachedNode.exitPath) {
       // has been enqueued earlier
       cachedNode.addParent(node, methodYield);
       return;
     }
+    if (cachedNode.isNew() && !exitPath) {
+      ExplodedGraph.Node subsumingNode = subsumingNode(programPoint, ps, cachedNode);
+      if (subsumingNode != null) {
+        // the dropped node is replaced by the subsuming one, which keeps track of the path through this parent for flow computation
+        explodedGraph.remove(cachedNode);
+        subsumingNode.addParent(node, methodYield);
+        return;
+      }
+    }
     cachedNode.exitPath = exitPath;
     cachedNode.addParent(node, methodYield);
-    workList.addFirst(cachedNode);
+    workList.add(cachedNode);
+  }
+
+  /**
+   * When state subsumption is enabled, a state entering a join block (including loop heads) is dropped if a previously enqueued state
+   * for the same program point only differs from it on symbols which are not live at the entry of the block.
+   * Both states are compared once cleaned up of dead symbols and unreachable constraints, in the same way as it is done when leaving a block.
+   *
+   * @return the node of the previously enqueued state, or null when the state of the given node is not subsumed
+   */
+  @CheckForNull
+  private ExplodedGraph.Node subsumingNode(ProgramPoint programPoint, ProgramState programState, ExplodedGraph.Node newNode) {
+    if (!explorationOptions.stateSubsumption() || programPoint.i != 0) {
+      return null;
+    }
+    CFG.Block block = (CFG.Block) programPoint.block;
+    if (block == exitBlock || block.predecessors().size() < 2) {
+      return null;
+    }
+    Collection<SymbolicValue> protectedSVs = methodBehavior == null ? Collections.emptyList() : methodBehavior.parameters();
+    ProgramState liveState = programState.cleanupDeadSymbols(liveVariables.getIn(block), protectedSVs).cleanupConstraints(protectedSVs);
+    return liveStatesAtJoinPoints.computeIfAbsent(programPoint, k -> new HashMap<>()).putIfAbsent(liveState, newNode);
   }
 
   private static boolean isRestartingForEachLoop(ProgramPoint programPoint) {
@@ -1144,9 +1207,13 @@ public class ExplodedGraphWalker {
     }
   }
 
+  void reduceBudgets() {
+    maxSteps = REDUCED_MAX_STEPS;
+  }
+
   @VisibleForTesting
   protected int maxSteps() {
-    return MAX_STEPS;
+    return maxSteps;
   }
 
   AlwaysTrueOrFalseExpressionCollector alwaysTrueOrFalseExpressionCollector() {
@@ -1163,7 +1230,14 @@ public class ExplodedGraphWalker {
     @VisibleForTesting
     final List<SECheck> seChecks = new ArrayList<>();
 
+    private final ExplorationOptions explorationOptions;
+
     public ExplodedGraphWalkerFactory(List<JavaFileScanner> scanners) {
+      this(scanners, ExplorationOptions.DEFAULT);
+    }
+
+    public ExplodedGraphWalkerFactory(List<JavaFileScanner> scanners, ExplorationOptions explorationOptions) {
+      this.explorationOptions = explorationOptions;
       List<SECheck> debugChecks = new ArrayList<>();
       List<SECheck> checks = new ArrayList<>();
       for (JavaFileScanner scanner : scanners) {
@@ -1194,7 +1268,7 @@ public class ExplodedGraphWalker {
     }
 
     public ExplodedGraphWalker createWalker(BehaviorCache behaviorCache, Sema semanticModel) {
-      return new ExplodedGraphWalker(seChecks, behaviorCache, semanticModel);
+      return new ExplodedGraphWalker(seChecks, behaviorCache, semanticModel, explorationOptions);
     }
 
     @SuppressWarnings("unchecked")
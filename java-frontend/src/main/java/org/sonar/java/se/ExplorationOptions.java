@@ -0,0 +1,87 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2020 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java.se;
+
+/**
+ * How the {@link ExplodedGraphWalker} explores methods: the order in which nodes are explored, the reductions of the number of
+ * explored states, and the trees on which the checks are called.
+ */
+public final class ExplorationOptions {
+
+  public static final ExplorationOptions DEFAULT = new ExplorationOptions(ExplorationStrategy.DEFAULT, false, false, true);
+
+  private final ExplorationStrategy strategy;
+  private final boolean stateSubsumption;
+  private final boolean loopWidening;
+  private final boolean dispatchByKind;
+
+  private ExplorationOptions(ExplorationStrategy strategy, boolean stateSubsumption, boolean loopWidening, boolean dispatchByKind) {
+    this.strategy = strategy;
+    this.stateSubsumption = stateSubsumption;
+    this.loopWidening = loopWidening;
+    this.dispatchByKind = dispatchByKind;
+  }
+
+  public ExplorationOptions withStrategy(ExplorationStrategy strategy) {
+    return new ExplorationOptions(strategy, stateSubsumption, loopWidening, dispatchByKind);
+  }
+
+  public ExplorationOptions withStateSubsumption(boolean stateSubsumption) {
+    return new ExplorationOptions(strategy, stateSubsumption, loopWidening, dispatchByKind);
+  }
+
+  public ExplorationOptions withLoopWidening(boolean loopWidening) {
+    return new ExplorationOptions(strategy, stateSubsumption, loopWidening, dispatchByKind);
+  }
+
+  public ExplorationOptions withDispatchByKind(boolean dispatchByKind) {
+    return new ExplorationOptions(strategy, stateSubsumption, loopWidening, dispatchByKind);
+  }
+
+  public ExplorationStrategy strategy() {
+    return strategy;
+  }
+
+  /**
+   * @return true when states entering a join block are dropped if an equivalent state, on live symbols, was already enqueued
+   */
+  public boolean stateSubsumption() {
+    return stateSubsumption;
+  }
+
+  /**
+   * @return true when the values of the variables assigned in a loop are generalized when the loop head is entered again
+   */
+  public boolean loopWidening() {
+    return loopWidening;
+  }
+
+  /**
+   * @return true when the checks are only called on the kinds of trees they declare, false when they are called on every tree
+   */
+  public boolean dispatchByKind() {
+    return dispatchByKind;
+  }
+
+  @Override
+  public String toString() {
+    return strategy + (stateSubsumption ? " + SUBSUMPTION" : "") + (loopWidening ? " + WIDENING" : "") + (dispatchByKind ? "" : " + ALL KINDS");
+  }
+}
@@ -0,0 +1,230 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2020 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java.se;
+
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import javax.annotation.CheckForNull;
+import javax.annotation.Nullable;
+import org.sonar.api.utils.log.Logger;
+import org.sonar.api.utils.log.Loggers;
+import org.sonar.java.cfg.CFG;
+
+/**
+ * Order in which the {@link ExplodedGraphWalker} explores the nodes of the exploded graph. As the exploration of a method stops after a
+ * maximum number of steps, the strategy decides which parts of the method are explored when the limit is reached.
+ */
+public enum ExplorationStrategy {
+
+  /**
+   * Last enqueued node first: a path is followed up to its end before going back to the other branches.
+   */
+  DEPTH_FIRST {
+    @Override
+    public WorkList newWorkList() {
+      return new DequeWorkList(true);
+    }
+  },
+
+  /**
+   * First enqueued node first: all the paths progress together.
+   */
+  BREADTH_FIRST {
+    @Override
+    public WorkList newWorkList() {
+      return new DequeWorkList(false);
+    }
+  },
+
+  /**
+   * Nodes of the blocks which have been entered the fewest times first, so that blocks never explored are reached before exploring
+   * again the ones already explored. Last enqueued node first between nodes of blocks explored the same number of times.
+   */
+  UNVISITED_BLOCKS_FIRST {
+    @Override
+    public WorkList newWorkList() {
+      return new UnvisitedBlocksFirstWorkList();
+    }
+  },
+
+  /**
+   * Nodes in the order of the blocks of the CFG, starting from the entry block, so that all the paths leading to a block are explored up
+   * to it before exploring it. Last enqueued node first between nodes of the same program point.
+   */
+  BLOCK_ORDER {
+    @Override
+    public WorkList newWorkList() {
+      return new PriorityWorkList(Comparator.<PriorityWorkList.Entry>comparingInt(entry -> -entry.node.programPoint.block.id())
+        .thenComparingInt(entry -> entry.node.programPoint.i)
+        .thenComparingLong(entry -> -entry.sequence));
+    }
+  };
+
+  private static final Logger LOG = Loggers.get(ExplorationStrategy.class);
+
+  public static final ExplorationStrategy DEFAULT = DEPTH_FIRST;
+
+  public abstract WorkList newWorkList();
+
+  public static ExplorationStrategy fromName(@Nullable String name) {
+    if (name == null) {
+      return DEFAULT;
+    }
+    try {
+      return valueOf(name.trim().toUpperCase(Locale.ENGLISH));
+    } catch (IllegalArgumentException e) {
+      LOG.warn("Unknown symbolic execution exploration strategy '{}', using {}.", name, DEFAULT);
+      return DEFAULT;
+    }
+  }
+
+  private static class DequeWorkList implements WorkList {
+
+    private final Deque<ExplodedGraph.Node> nodes = new ArrayDeque<>();
+    private final boolean lastInFirstOut;
+
+    private DequeWorkList(boolean lastInFirstOut) {
+      this.lastInFirstOut = lastInFirstOut;
+    }
+
+    @Override
+    public void add(ExplodedGraph.Node node) {
+      if (lastInFirstOut) {
+        nodes.addFirst(node);
+      } else {
+        nodes.addLast(node);
+      }
+    }
+
+    @Override
+    public ExplodedGraph.Node remove() {
+      return nodes.removeFirst();
+    }
+
+    @CheckForNull
+    @Override
+    public ExplodedGraph.Node peek() {
+      return nodes.peekFirst();
+    }
+
+    @Override
+    public int size() {
+      return nodes.size();
+    }
+  }
+
+  private static class PriorityWorkList implements WorkList {
+
+    final PriorityQueue<Entry> entries;
+    private long sequence = 0;
+
+    private PriorityWorkList(Comparator<Entry> comparator) {
+      entries = new PriorityQueue<>(comparator);
+    }
+
+    @Override
+    public void add(ExplodedGraph.Node node) {
+      entries.add(new Entry(node, sequence, priority(node)));
+      sequence++;
+    }
+
+    int priority(ExplodedGraph.Node node) {
+      return 0;
+    }
+
+    @Override
+    public ExplodedGraph.Node remove() {
+      return entries.remove().node;
+    }
+
+    @CheckForNull
+    @Override
+    public ExplodedGraph.Node peek() {
+      Entry entry = entries.peek();
+      return entry == null ? null : entry.node;
+    }
+
+    @Override
+    public int size() {
+      return entries.size();
+    }
+
+    static class Entry {
+      final ExplodedGraph.Node node;
+      final long sequence;
+      final int priority;
+
+      Entry(ExplodedGraph.Node node, long sequence, int priority) {
+        this.node = node;
+        this.sequence = sequence;
+        this.priority = priority;
+      }
+    }
+  }
+
+  /**
+   * The number of times the block of a node has been entered is recorded when the node is enqueued. It is refreshed lazily, when the node
+   * reaches the head of the queue, by enqueuing it again if its block has been entered in the meantime.
+   */
+  private static class UnvisitedBlocksFirstWorkList extends PriorityWorkList {
+
+    private final Map<CFG.IBlock<?>, Integer> explorationsByBlock = new HashMap<>();
+
+    private UnvisitedBlocksFirstWorkList() {
+      super(Comparator.<Entry>comparingInt(entry -> entry.priority).thenComparingLong(entry -> -entry.sequence));
+    }
+
+    @Override
+    int priority(ExplodedGraph.Node node) {
+      return explorationsByBlock.getOrDefault(node.programPoint.block, 0);
+    }
+
+    @Override
+    public ExplodedGraph.Node remove() {
+      refreshHead();
+      ExplodedGraph.Node node = super.remove();
+      if (node.programPoint.i == 0) {
+        explorationsByBlock.merge(node.programPoint.block, 1, Integer::sum);
+      }
+      return node;
+    }
+
+    @CheckForNull
+    @Override
+    public ExplodedGraph.Node peek() {
+      refreshHead();
+      return super.peek();
+    }
+
+    private void refreshHead() {
+      Entry head = entries.peek();
+      while (head != null && head.priority < priority(head.node)) {
+        entries.remove();
+        entries.add(new Entry(head.node, head.sequence, priority(head.node)));
+        head = entries.peek();
+      }
+    }
+  }
+}
@@ -32,7 +32,9 @@ import java.util.stream.Stream;
 public class Flow {
 
   private final List<JavaFileScannerContext.Location> elements;
-  private boolean exceptional;
+  private final boolean exceptional;
+  // flows are immutable and are hashed over and over when exploring execution paths
+  private int hashCode;
 
   private Flow(List<JavaFileScannerContext.Location> elements, boolean exceptional) {
     this.elements = elements;
@@ -41,7 +43,10 @@ public class Flow {
 
   @Override
   public int hashCode() {
-    return Objects.hash(elements, exceptional);
+    if (hashCode == 0) {
+      hashCode = Objects.hash(elements, exceptional);
+    }
+    return hashCode;
   }
 
   @Override
@@ -23,9 +23,11 @@ import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
 import java.util.ArrayDeque;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Deque;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -41,6 +43,7 @@ import javax.annotation.CheckForNull;
 import javax.annotation.Nullable;
 import org.sonar.api.utils.log.Logger;
 import org.sonar.api.utils.log.Loggers;
+import org.sonar.java.CancellationToken;
 import org.sonar.java.cfg.CFG;
 import org.sonar.java.collections.PCollections;
 import org.sonar.java.collections.PSet;
@@ -84,6 +87,11 @@ public class FlowComputation {
   private final List<Class<? extends Constraint>> domains;
   private final boolean skipExceptionMessages;
 
+  // execution paths carrying different flows can reach the same edge: what only depends on the edge (and on the tracked symbols) is computed once
+  private final Map<ExplodedGraph.Edge, Set<LearnedConstraint>> learnedConstraintsByEdge = new HashMap<>();
+  private final Map<ExplodedGraph.Edge, Set<Flow>> yieldsFlowsByEdge = new HashMap<>();
+  private final Map<List<Object>, AssociationStep> associationSteps = new HashMap<>();
+
   private FlowComputation(Set<SymbolicValue> symbolicValues, Predicate<Constraint> addToFlow,
                           Predicate<Constraint> terminateTraversal, List<Class<? extends Constraint>> domains, boolean skipExceptionMessages) {
     this.addToFlow = addToFlow;
@@ -111,11 +119,13 @@ public class FlowComputation {
   }
 
   public static Set<Flow> flow(ExplodedGraph.Node currentNode, @Nullable SymbolicValue currentVal, List<Class<? extends Constraint>> domains) {
-    return flow(currentNode, setFromNullable(currentVal), constraint -> true, c -> false, domains, Collections.emptySet(), false);
+    return flow(currentNode, currentVal, domains, null);
   }
 
   public static Set<Flow> flow(ExplodedGraph.Node currentNode, @Nullable SymbolicValue currentVal, List<Class<? extends Constraint>> domains, @Nullable Symbol trackSymbol) {
-    return flow(currentNode, setFromNullable(currentVal), c -> true, c -> false, domains, setFromNullable(trackSymbol), false);
+    // same flows are often requested by different checks for the same node, like the nullness of a dereferenced value
+    return currentNode.explodedGraph().flow(Arrays.asList(currentNode, currentVal, domains, trackSymbol),
+      () -> flow(currentNode, setFromNullable(currentVal), c -> true, c -> false, domains, setFromNullable(trackSymbol), false));
   }
 
   public static Set<Flow> flowWithoutExceptions(ExplodedGraph.Node currentNode, @Nullable SymbolicValue currentVal, Predicate<Constraint> addToFlow,
@@ -162,7 +172,9 @@ public class FlowComputation {
     node.edges().stream().flatMap(e -> startPath(e, trackedSymbols, sameConstraints)).forEach(workList::push);
     int flowSteps = 0;
     Set<ExecutionPath> visited = new HashSet<>(workList);
+    CancellationToken cancellationToken = CancellationToken.current();
     while (!workList.isEmpty()) {
+      cancellationToken.checkCancelled("flow computation");
       ExecutionPath path = workList.pop();
       if (path.finished) {
         flows.add(path.flow);
@@ -189,6 +201,19 @@ public class FlowComputation {
     return new ExecutionPath(null, PCollections.emptySet(), trackedSymbols, sameConstraints, Flow.empty(), false).addEdge(edge);
   }
 
+  /**
+   * Learned association of an edge for a given set of tracked symbols, and the resulting tracked symbols.
+   */
+  private static class AssociationStep {
+    private final Flow flow;
+    private final PSet<Symbol> trackedSymbols;
+
+    AssociationStep(Flow flow, PSet<Symbol> trackedSymbols) {
+      this.flow = flow;
+      this.trackedSymbols = trackedSymbols;
+    }
+  }
+
   private static class SameConstraints {
     private final List<Class<? extends Constraint>> domains;
     private final Node node;
@@ -257,6 +282,7 @@ public class FlowComputation {
     final PSet<ExplodedGraph.Edge> visited;
     final Flow flow;
     final boolean finished;
+    private final int hashCode;
 
     private ExecutionPath(@Nullable ExplodedGraph.Edge edge, PSet<ExplodedGraph.Edge> visited, PSet<Symbol> trackedSymbols, SameConstraints sameConstraints,
                           Flow flow, boolean finished) {
@@ -266,6 +292,7 @@ public class FlowComputation {
       this.visited = visited;
       this.flow = flow;
       this.finished = finished;
+      this.hashCode = edge == null ? 0 : Objects.hash(trackedSymbols, edge.parent, flow);
     }
 
     @Override
@@ -284,19 +311,17 @@ public class FlowComputation {
 
     @Override
     public int hashCode() {
-      return Objects.hash(trackedSymbols, lastEdge.parent, flow);
+      return hashCode;
     }
 
     Stream<ExecutionPath> addEdge(ExplodedGraph.Edge edge) {
       Flow.Builder flowBuilder = Flow.builder();
       flowBuilder.addAll(flow);
 
-      Flow laFlow = learnedAssociation(edge)
-        .map(la -> flowFromLearnedAssociation(la, edge.parent))
-        .orElse(Flow.empty());
-      flowBuilder.addAll(laFlow);
+      AssociationStep associationStep = associationSteps.computeIfAbsent(Arrays.asList(edge, trackedSymbols), k -> associationStep(edge));
+      flowBuilder.addAll(associationStep.flow);
 
-      PSet<Symbol> newTrackSymbols = newTrackedSymbols(edge);
+      PSet<Symbol> newTrackSymbols = associationStep.trackedSymbols;
       SameConstraints newSameConstraints = newTrackSymbols == trackedSymbols ? sameConstraints : new SameConstraints(sameConstraints, newTrackSymbols);
 
       if (!skipExceptionMessages) {
@@ -321,7 +346,7 @@ public class FlowComputation {
       }
 
       Flow currentFlow = flowBuilder.build();
-      Set<Flow> yieldsFlows = flowFromYields(edge);
+      Set<Flow> yieldsFlows = yieldsFlowsByEdge.computeIfAbsent(edge, this::flowFromYields);
       if (yieldsFlows.isEmpty()) {
         return Stream.of(new ExecutionPath(edge, visited.add(edge), newTrackSymbols, newSameConstraints, Flow.of(currentFlow), endOfPath));
       }
@@ -419,6 +444,13 @@ public class FlowComputation {
       return learnedConstraints.stream().map(LearnedConstraint::constraint).anyMatch(terminateTraversal);
     }
 
+    private AssociationStep associationStep(ExplodedGraph.Edge edge) {
+      Flow laFlow = learnedAssociation(edge)
+        .map(la -> flowFromLearnedAssociation(la, edge.parent))
+        .orElse(Flow.empty());
+      return new AssociationStep(laFlow, newTrackedSymbols(edge));
+    }
+
     private Optional<LearnedAssociation> learnedAssociation(ExplodedGraph.Edge edge) {
       return edge.learnedAssociations().stream()
         .filter(la -> trackedSymbols.contains(la.symbol))
@@ -551,6 +583,10 @@ public class FlowComputation {
     }
 
     Set<LearnedConstraint> learnedConstraints(ExplodedGraph.Edge edge) {
+      return learnedConstraintsByEdge.computeIfAbsent(edge, this::learnedConstraintsInDomains);
+    }
+
+    private Set<LearnedConstraint> learnedConstraintsInDomains(ExplodedGraph.Edge edge) {
       Set<LearnedConstraint> learnedConstraints = edge.learnedConstraints();
       ImmutableSet.Builder<LearnedConstraint> lcByDomainBuilder = ImmutableSet.builder();
       // guarantee that we will keep the same domain order when reporting
@@ -0,0 +1,106 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2020 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java.se;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.sonar.java.cfg.CFG;
+import org.sonar.java.cfg.CFGLoop;
+import org.sonar.java.model.ExpressionUtils;
+import org.sonar.java.se.symbolicvalues.SymbolicValue;
+import org.sonar.plugins.java.api.semantic.Symbol;
+import org.sonar.plugins.java.api.tree.AssignmentExpressionTree;
+import org.sonar.plugins.java.api.tree.BaseTreeVisitor;
+import org.sonar.plugins.java.api.tree.ClassTree;
+import org.sonar.plugins.java.api.tree.ExpressionTree;
+import org.sonar.plugins.java.api.tree.IdentifierTree;
+import org.sonar.plugins.java.api.tree.LambdaExpressionTree;
+import org.sonar.plugins.java.api.tree.Tree;
+import org.sonar.plugins.java.api.tree.UnaryExpressionTree;
+
+/**
+ * Widens the program states reaching a loop head once the loop has already been entered: local variables assigned in the loop are bound
+ * to a symbolic value specific to the loop, keeping the nullness, boolean and resource constraints of their current value but forgetting
+ * the relations they were part of.
+ * States computed by successive iterations of the loop are then equal and the loop is explored in a bounded number of passes, rather than
+ * being unrolled until the maximum number of visits of its program points is reached.
+ */
+class LoopWidening {
+
+  private final Map<Tree, CFGLoop> loops;
+  private final Map<Tree, Map<Symbol, SymbolicValue>> widenedValuesByLoop = new HashMap<>();
+
+  LoopWidening(CFG cfg) {
+    loops = CFGLoop.getCFGLoops(cfg);
+  }
+
+  ProgramState widen(CFG.Block loopHead, ProgramState programState) {
+    Tree loop = loopHead.terminator();
+    if (loop == null || !loops.containsKey(loop)) {
+      return programState;
+    }
+    return programState.resetLoopVariables(widenedValuesByLoop.computeIfAbsent(loop, LoopWidening::widenedValues));
+  }
+
+  private static Map<Symbol, SymbolicValue> widenedValues(Tree loop) {
+    AssignedLocalVariablesCollector collector = new AssignedLocalVariablesCollector();
+    loop.accept(collector);
+    return collector.widenedValues;
+  }
+
+  private static class AssignedLocalVariablesCollector extends BaseTreeVisitor {
+
+    private final Map<Symbol, SymbolicValue> widenedValues = new HashMap<>();
+
+    @Override
+    public void visitAssignmentExpression(AssignmentExpressionTree tree) {
+      addVariable(tree.variable());
+      super.visitAssignmentExpression(tree);
+    }
+
+    @Override
+    public void visitUnaryExpression(UnaryExpressionTree tree) {
+      if (tree.is(Tree.Kind.POSTFIX_INCREMENT, Tree.Kind.PREFIX_INCREMENT, Tree.Kind.POSTFIX_DECREMENT, Tree.Kind.PREFIX_DECREMENT)) {
+        addVariable(tree.expression());
+      }
+      super.visitUnaryExpression(tree);
+    }
+
+    @Override
+    public void visitClass(ClassTree tree) {
+      // local variables can not be assigned from anonymous classes
+    }
+
+    @Override
+    public void visitLambdaExpression(LambdaExpressionTree lambdaExpressionTree) {
+      // local variables can not be assigned from lambdas
+    }
+
+    private void addVariable(ExpressionTree variable) {
+      ExpressionTree expression = ExpressionUtils.skipParentheses(variable);
+      if (expression.is(Tree.Kind.IDENTIFIER)) {
+        Symbol symbol = ((IdentifierTree) expression).symbol();
+        if (symbol.isVariableSymbol() && symbol.owner().isMethodSymbol()) {
+          widenedValues.computeIfAbsent(symbol, s -> new SymbolicValue());
+        }
+      }
+    }
+  }
+}
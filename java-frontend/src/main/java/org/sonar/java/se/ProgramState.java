@@ -27,6 +27,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.function.BiConsumer;
@@ -55,6 +56,9 @@ public class ProgramState {
 
   private static final Set<Class<? extends Constraint>> NON_DISPOSABLE_CONSTRAINTS = ImmutableSet.of(UnclosedResourcesCheck.ResourceConstraint.class,
     CustomUnclosedResourcesCheck.CustomResourceConstraint.class, LocksNotUnlockedCheck.LockConstraint.class, StreamConsumedCheck.StreamPipelineConstraint.class);
+  // domains which are carried from the current value of a variable to the value it is widened to at a loop head
+  private static final Set<Class<? extends Constraint>> WIDENED_CONSTRAINTS = ImmutableSet.<Class<? extends Constraint>>builder()
+    .add(ObjectConstraint.class, BooleanConstraint.class).addAll(NON_DISPOSABLE_CONSTRAINTS).build();
   private Set<RelationalSymbolicValue> knownRelations;
 
   public static class Pop {
@@ -465,6 +469,49 @@ public class ProgramState {
     return newProgramState;
   }
 
+  ProgramState resetLoopVariables(Map<Symbol, SymbolicValue> widenedValues) {
+    ProgramState newProgramState = this;
+    for (Map.Entry<Symbol, SymbolicValue> entry : widenedValues.entrySet()) {
+      SymbolicValue value = values.get(entry.getKey());
+      SymbolicValue widenedValue = entry.getValue();
+      if (value != null && value != widenedValue) {
+        // relations learned on the widened value during previous iterations are forgotten, only the nullness, boolean and resource
+        // constraints of the current value are kept: other domains, like the ones of numerical values, are likely to change at each iteration
+        newProgramState = newProgramState.forgetConstraints(widenedValue).put(entry.getKey(), widenedValue);
+        ConstraintsByDomain valueConstraints = getConstraints(value);
+        if (valueConstraints != null) {
+          newProgramState = newProgramState.addWidenedConstraints(widenedValue, valueConstraints);
+        }
+      }
+    }
+    return newProgramState;
+  }
+
+  private ProgramState addWidenedConstraints(SymbolicValue widenedValue, ConstraintsByDomain valueConstraints) {
+    ConstraintsByDomain widenedConstraints = ConstraintsByDomain.empty();
+    for (Class<? extends Constraint> domain : WIDENED_CONSTRAINTS) {
+      Constraint constraint = valueConstraints.get(domain);
+      if (constraint != null) {
+        widenedConstraints = widenedConstraints.put(constraint);
+      }
+    }
+    return widenedConstraints.isEmpty() ? this : addConstraints(widenedValue, widenedConstraints);
+  }
+
+  private ProgramState forgetConstraints(SymbolicValue symbolicValue) {
+    PMap<SymbolicValue, ConstraintsByDomain> newConstraints = constraints;
+    List<SymbolicValue> outdated = new ArrayList<>();
+    constraints.forEach((sv, constraintsByDomain) -> {
+      if (sv.equals(symbolicValue) || sv.references(symbolicValue)) {
+        outdated.add(sv);
+      }
+    });
+    for (SymbolicValue sv : outdated) {
+      newConstraints = newConstraints.remove(sv);
+    }
+    return outdated.isEmpty() ? this : new ProgramState(this, newConstraints);
+  }
+
   public static boolean isField(Symbol symbol) {
     return symbol.isVariableSymbol() && !symbol.owner().isMethodSymbol();
   }
@@ -22,11 +22,16 @@ package org.sonar.java.se;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.Lists;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import javax.annotation.Nullable;
 import org.sonar.api.utils.log.Logger;
 import org.sonar.api.utils.log.Loggers;
+import org.sonar.java.HeapPressureMonitor;
 import org.sonar.java.ast.visitors.SubscriptionVisitor;
 import org.sonar.java.model.JUtils;
 import org.sonar.java.model.Sema;
+import org.sonar.java.se.checks.SECheck;
 import org.sonar.java.se.xproc.BehaviorCache;
 import org.sonar.java.se.xproc.MethodBehavior;
 import org.sonar.plugins.java.api.JavaFileScanner;
@@ -41,18 +46,62 @@ public class SymbolicExecutionVisitor extends SubscriptionVisitor {
   @VisibleForTesting
   public BehaviorCache behaviorCache;
   private final ExplodedGraphWalker.ExplodedGraphWalkerFactory egwFactory;
+  @Nullable
+  private final HeapPressureMonitor heapPressureMonitor;
+  private boolean reducedBudgets = false;
+  private boolean skipRemainingMethods = false;
+  private int nestedExecutions = 0;
+  @Nullable
+  private Set<Integer> noSonarLines;
 
   public SymbolicExecutionVisitor(List<JavaFileScanner> executableScanners, BehaviorCache behaviorCache) {
-    egwFactory = new ExplodedGraphWalker.ExplodedGraphWalkerFactory(executableScanners);
+    this(executableScanners, behaviorCache, ExplorationOptions.DEFAULT);
+  }
+
+  public SymbolicExecutionVisitor(List<JavaFileScanner> executableScanners, BehaviorCache behaviorCache, ExplorationOptions explorationOptions) {
+    this(executableScanners, behaviorCache, explorationOptions, null);
+  }
+
+  public SymbolicExecutionVisitor(List<JavaFileScanner> executableScanners, BehaviorCache behaviorCache, ExplorationOptions explorationOptions,
+    @Nullable HeapPressureMonitor heapPressureMonitor) {
+    egwFactory = new ExplodedGraphWalker.ExplodedGraphWalkerFactory(executableScanners, explorationOptions);
     this.behaviorCache = behaviorCache;
+    this.heapPressureMonitor = heapPressureMonitor;
   }
 
   @Override
   public void scanFile(JavaFileScannerContext context) {
     behaviorCache.setFileContext(this, (Sema) context.getSemanticModel());
+    noSonarLines = null;
+    reducedBudgets = false;
+    skipRemainingMethods = false;
     super.scanFile(context);
   }
 
+  /**
+   * @return false when the remaining methods of the file should not be explored
+   */
+  private boolean adaptToHeapPressure() {
+    if (heapPressureMonitor == null) {
+      return true;
+    }
+    if (skipRemainingMethods) {
+      return false;
+    }
+    HeapPressureMonitor.Level level = heapPressureMonitor.check();
+    if (level == HeapPressureMonitor.Level.SKIP_SE) {
+      LOG.debug("Skipping symbolic execution of the remaining methods of the file under heap pressure");
+      heapPressureMonitor.degraded(level);
+      skipRemainingMethods = true;
+      return false;
+    }
+    reducedBudgets = level.isAtLeast(HeapPressureMonitor.Level.REDUCE_SE_BUDGETS);
+    if (reducedBudgets) {
+      heapPressureMonitor.degraded(HeapPressureMonitor.Level.REDUCE_SE_BUDGETS);
+    }
+    return true;
+  }
+
   @Override
   public List<Tree.Kind> nodesToVisit() {
     return Lists.newArrayList(Tree.Kind.METHOD, Tree.Kind.CONSTRUCTOR);
@@ -60,11 +109,29 @@ public class SymbolicExecutionVisitor extends SubscriptionVisitor {
 
   @Override
   public void visitNode(Tree tree) {
-    execute((MethodTree) tree);
+    if (adaptToHeapPressure()) {
+      execute((MethodTree) tree);
+    }
   }
 
   public void execute(MethodTree methodTree) {
+    // behaviors of invoked methods can be computed within the exploration of their caller, sharing the same checks
+    nestedExecutions++;
+    try {
+      explore(methodTree);
+    } finally {
+      nestedExecutions--;
+    }
+    if (nestedExecutions == 0) {
+      computeDeferredFlows();
+    }
+  }
+
+  private void explore(MethodTree methodTree) {
     ExplodedGraphWalker walker = getWalker();
+    if (reducedBudgets) {
+      walker.reduceBudgets();
+    }
     try {
       Symbol.MethodSymbol methodSymbol = methodTree.symbol();
       if (methodCanNotBeOverriden(methodSymbol)) {
@@ -86,6 +153,21 @@ public class SymbolicExecutionVisitor extends SubscriptionVisitor {
     }
   }
 
+  /**
+   * Flows of the issues raised on the explored methods are computed as soon as their exploration is over, for the suppliers of these flows
+   * not to retain the exploded graphs of all the methods of the file.
+   */
+  private void computeDeferredFlows() {
+    List<SECheck> checks = egwFactory.seChecks.stream().filter(SECheck::hasDeferredFlows).collect(Collectors.toList());
+    if (checks.isEmpty()) {
+      return;
+    }
+    if (noSonarLines == null) {
+      noSonarLines = SECheck.noSonarLines(context.getTree());
+    }
+    checks.forEach(check -> check.computeDeferredFlows(noSonarLines));
+  }
+
   @VisibleForTesting
   protected ExplodedGraphWalker getWalker() {
     return egwFactory.createWalker(behaviorCache, (Sema) context.getSemanticModel());
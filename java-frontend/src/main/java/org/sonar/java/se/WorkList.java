@@ -0,0 +1,48 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2020 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java.se;
+
+import javax.annotation.CheckForNull;
+
+/**
+ * Nodes of the exploded graph waiting to be explored by the {@link ExplodedGraphWalker}, the order in which they are explored being
+ * defined by an {@link ExplorationStrategy}.
+ */
+public interface WorkList {
+
+  void add(ExplodedGraph.Node node);
+
+  /**
+   * Removes the next node to explore.
+   */
+  ExplodedGraph.Node remove();
+
+  /**
+   * @return the next node to explore, without removing it, or null if there is none
+   */
+  @CheckForNull
+  ExplodedGraph.Node peek();
+
+  int size();
+
+  default boolean isEmpty() {
+    return size() == 0;
+  }
+}
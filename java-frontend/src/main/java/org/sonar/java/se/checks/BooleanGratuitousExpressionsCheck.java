@@ -25,12 +25,23 @@ import org.sonar.java.se.CheckerContext;
 import org.sonar.java.se.Flow;
 import org.sonar.plugins.java.api.tree.Tree;
 
+import java.util.Collections;
 import java.util.Set;
 import java.util.stream.Collectors;
 
 @Rule(key = "S2589")
 public class BooleanGratuitousExpressionsCheck extends SECheck {
 
+  @Override
+  public Set<Tree.Kind> preStatementKinds() {
+    return Collections.emptySet();
+  }
+
+  @Override
+  public Set<Tree.Kind> postStatementKinds() {
+    return Collections.emptySet();
+  }
+
   @Override
   public void checkEndOfExecution(CheckerContext context) {
     AlwaysTrueOrFalseExpressionCollector atof = context.alwaysTrueOrFalseExpressions();
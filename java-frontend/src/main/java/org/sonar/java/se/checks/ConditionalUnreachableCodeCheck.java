@@ -25,6 +25,7 @@ import org.sonar.java.se.CheckerContext;
 import org.sonar.java.se.Flow;
 import org.sonar.plugins.java.api.tree.Tree;
 
+import java.util.Collections;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -33,6 +34,16 @@ public class ConditionalUnreachableCodeCheck extends SECheck {
 
   public static final String MESSAGE = "Change this condition so that it does not always evaluate to \"%s\"";
 
+  @Override
+  public Set<Tree.Kind> preStatementKinds() {
+    return Collections.emptySet();
+  }
+
+  @Override
+  public Set<Tree.Kind> postStatementKinds() {
+    return Collections.emptySet();
+  }
+
   @Override
   public void checkEndOfExecution(CheckerContext context) {
     AlwaysTrueOrFalseExpressionCollector atof = context.alwaysTrueOrFalseExpressions();
@@ -24,6 +24,7 @@ import com.google.common.annotations.VisibleForTesting;
 import org.sonar.check.Rule;
 import org.sonar.java.model.ExpressionUtils;
 import org.sonar.java.se.CheckerContext;
+import org.sonar.java.se.ExplodedGraph;
 import org.sonar.java.se.Flow;
 import org.sonar.java.se.FlowComputation;
 import org.sonar.java.se.ProgramState;
@@ -119,6 +120,16 @@ public class DivisionByZeroCheck extends SECheck {
     }
   }
 
+  @Override
+  public Set<Tree.Kind> preStatementKinds() {
+    return kindsOf(AssignmentExpressionTree.class, BinaryExpressionTree.class, TypeCastTree.class, UnaryExpressionTree.class);
+  }
+
+  @Override
+  public Set<Tree.Kind> postStatementKinds() {
+    return kindsOf(LiteralTree.class, AssignmentExpressionTree.class, BinaryExpressionTree.class, TypeCastTree.class, UnaryExpressionTree.class);
+  }
+
   @Override
   public ProgramState checkPreStatement(CheckerContext context, Tree syntaxNode) {
     PreStatementVisitor visitor = new PreStatementVisitor(context);
@@ -265,15 +276,15 @@ public class DivisionByZeroCheck extends SECheck {
       String operation = tree.is(Tree.Kind.REMAINDER, Tree.Kind.REMAINDER_ASSIGNMENT) ? "modulation" : "division";
       String expressionName = expression.is(Tree.Kind.IDENTIFIER) ? ("\"" + ((IdentifierTree) expression).name() + "\"") : "this expression";
       List<Class<? extends Constraint>> domains = Collections.singletonList(ZeroConstraint.class);
-      Set<Flow> flows = FlowComputation.flow(context.getNode(), denominator, domains, denominatorSymbol).stream()
-        .filter(f -> !f.isEmpty())
-        .map(f -> Flow.builder()
-          .add(new JavaFileScannerContext.Location("Division by zero.", tree))
-          .addAll(f)
-          .build())
-        .collect(Collectors.toSet());
+      ExplodedGraph.Node node = context.getNode();
       context.reportIssue(expression, DivisionByZeroCheck.this, "Make sure " + expressionName + " can't be zero before doing this " + operation + ".",
-        flows);
+        () -> FlowComputation.flow(node, denominator, domains, denominatorSymbol).stream()
+          .filter(f -> !f.isEmpty())
+          .map(f -> Flow.builder()
+            .add(new JavaFileScannerContext.Location("Division by zero.", tree))
+            .addAll(f)
+            .build())
+          .collect(Collectors.toSet()));
     }
 
     private ExpressionTree getDenominator(Tree tree) {
@@ -97,6 +97,16 @@ public class InvariantReturnCheck extends SECheck {
     issues.clear();
   }
 
+  @Override
+  public Set<Tree.Kind> preStatementKinds() {
+    return Collections.emptySet();
+  }
+
+  @Override
+  public Set<Tree.Kind> postStatementKinds() {
+    return Collections.emptySet();
+  }
+
   @Override
   public void checkEndOfExecutionPath(CheckerContext context, ConstraintManager constraintManager) {
     if (context.getState().exitingOnRuntimeException()) {
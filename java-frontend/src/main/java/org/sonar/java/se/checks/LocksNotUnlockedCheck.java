@@ -39,6 +39,7 @@ import org.sonar.plugins.java.api.tree.Tree;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 
 @Rule(key = "S2222")
 public class LocksNotUnlockedCheck extends SECheck {
@@ -165,6 +166,16 @@ public class LocksNotUnlockedCheck extends SECheck {
     return ProgramState.isField(expression.symbol());
   }
 
+  @Override
+  public Set<Tree.Kind> preStatementKinds() {
+    return kindsOf(MethodInvocationTree.class);
+  }
+
+  @Override
+  public Set<Tree.Kind> postStatementKinds() {
+    return kindsOf(MethodInvocationTree.class);
+  }
+
   @Override
   public ProgramState checkPreStatement(CheckerContext context, Tree syntaxNode) {
     final PreStatementVisitor visitor = new PreStatementVisitor(context);
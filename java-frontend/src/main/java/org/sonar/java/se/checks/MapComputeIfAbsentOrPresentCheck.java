@@ -94,6 +94,16 @@ public class MapComputeIfAbsentOrPresentCheck extends SECheck implements JavaVer
     return super.checkPostStatement(context, syntaxNode);
   }
 
+  @Override
+  public Set<Tree.Kind> preStatementKinds() {
+    return kindsOf(MethodInvocationTree.class);
+  }
+
+  @Override
+  public Set<Tree.Kind> postStatementKinds() {
+    return kindsOf(MethodInvocationTree.class);
+  }
+
   @Override
   public ProgramState checkPreStatement(CheckerContext context, Tree syntaxNode) {
     if (syntaxNode.is(Tree.Kind.METHOD_INVOCATION)) {
@@ -41,6 +41,7 @@ import org.sonar.plugins.java.api.semantic.Symbol;
 import org.sonar.plugins.java.api.semantic.Type;
 import org.sonar.plugins.java.api.tree.ExpressionTree;
 import org.sonar.plugins.java.api.tree.IdentifierTree;
+import org.sonar.plugins.java.api.tree.LiteralTree;
 import org.sonar.plugins.java.api.tree.MethodInvocationTree;
 import org.sonar.plugins.java.api.tree.Tree;
 import org.sonar.plugins.java.api.tree.UnaryExpressionTree;
@@ -116,6 +117,16 @@ public class MinMaxRangeCheck extends SECheck {
     }
   }
 
+  @Override
+  public Set<Tree.Kind> preStatementKinds() {
+    return kindsOf(MethodInvocationTree.class);
+  }
+
+  @Override
+  public Set<Tree.Kind> postStatementKinds() {
+    return kindsOf(LiteralTree.class, UnaryExpressionTree.class, IdentifierTree.class, MethodInvocationTree.class);
+  }
+
   @Override
   public ProgramState checkPreStatement(CheckerContext context, Tree syntaxNode) {
     ProgramState programState = context.getState();
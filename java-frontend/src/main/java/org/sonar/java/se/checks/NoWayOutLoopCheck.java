@@ -42,11 +42,13 @@ import org.sonar.plugins.java.api.tree.UnaryExpressionTree;
 import org.sonar.plugins.java.api.tree.WhileStatementTree;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Deque;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 @Rule(key = "S2189")
 public class NoWayOutLoopCheck extends SECheck {
@@ -66,6 +68,16 @@ public class NoWayOutLoopCheck extends SECheck {
     contexts.push(context);
   }
 
+  @Override
+  public Set<Tree.Kind> preStatementKinds() {
+    return kindsOf(WhileStatementTree.class, ForStatementTree.class);
+  }
+
+  @Override
+  public Set<Tree.Kind> postStatementKinds() {
+    return Collections.emptySet();
+  }
+
   @Override
   public ProgramState checkPreStatement(CheckerContext context, Tree syntaxNode) {
     if (contexts.peek().isThreadRunMethod()) {
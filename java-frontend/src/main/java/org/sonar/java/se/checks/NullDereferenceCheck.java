@@ -40,6 +40,9 @@ import org.sonar.plugins.java.api.tree.IdentifierTree;
 import org.sonar.plugins.java.api.tree.MemberSelectExpressionTree;
 import org.sonar.plugins.java.api.tree.MethodInvocationTree;
 import org.sonar.plugins.java.api.tree.MethodTree;
+import org.sonar.plugins.java.api.tree.SwitchStatementTree;
+import org.sonar.plugins.java.api.tree.SynchronizedStatementTree;
+import org.sonar.plugins.java.api.tree.ThrowStatementTree;
 import org.sonar.plugins.java.api.tree.Tree;
 
 import javax.annotation.Nullable;
@@ -82,6 +85,16 @@ public class NullDereferenceCheck extends SECheck {
     detectedIssues.push(new HashSet<>());
   }
 
+  @Override
+  public Set<Tree.Kind> preStatementKinds() {
+    return kindsOf(MethodInvocationTree.class, ArrayAccessExpressionTree.class, MemberSelectExpressionTree.class, SynchronizedStatementTree.class);
+  }
+
+  @Override
+  public Set<Tree.Kind> postStatementKinds() {
+    return kindsOf(MethodInvocationTree.class, SwitchStatementTree.class, ThrowStatementTree.class);
+  }
+
   @Override
   public ProgramState checkPreStatement(CheckerContext context, Tree syntaxNode) {
     SymbolicValue peekValue = context.getState().peekValue();
@@ -164,12 +177,12 @@ public class NullDereferenceCheck extends SECheck {
     if (!SymbolicValue.NULL_LITERAL.equals(currentVal)) {
       val = currentVal;
     }
+    SymbolicValue flowValue = val;
     Symbol dereferencedSymbol = dereferencedSymbol(syntaxNode);
-    Set<Flow> flows = FlowComputation.flow(node, val, Lists.newArrayList(ObjectConstraint.class), dereferencedSymbol).stream()
+    reportIssue(syntaxNode, message, () -> FlowComputation.flow(node, flowValue, Lists.newArrayList(ObjectConstraint.class), dereferencedSymbol).stream()
       .filter(f -> !f.isEmpty())
       .map(f -> addDereferenceMessage(f, syntaxNode))
-      .collect(Collectors.toSet());
-    reportIssue(syntaxNode, message, flows);
+      .collect(Collectors.toSet()));
   }
 
   @Nullable
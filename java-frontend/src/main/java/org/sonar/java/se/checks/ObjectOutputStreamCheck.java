@@ -34,6 +34,7 @@ import org.sonar.plugins.java.api.tree.NewClassTree;
 import org.sonar.plugins.java.api.tree.Tree;
 
 import java.util.Collections;
+import java.util.Set;
 
 @Rule(key = "S2689")
 public class ObjectOutputStreamCheck extends SECheck {
@@ -96,6 +97,16 @@ public class ObjectOutputStreamCheck extends SECheck {
     return programState;
   }
 
+  @Override
+  public Set<Tree.Kind> preStatementKinds() {
+    return kindsOf(NewClassTree.class);
+  }
+
+  @Override
+  public Set<Tree.Kind> postStatementKinds() {
+    return kindsOf(NewClassTree.class, MethodInvocationTree.class, MemberSelectExpressionTree.class, IdentifierTree.class);
+  }
+
   @Override
   public ProgramState checkPreStatement(CheckerContext context, Tree syntaxNode) {
     if (syntaxNode.is(Tree.Kind.NEW_CLASS)) {
@@ -22,6 +22,7 @@ package org.sonar.java.se.checks;
 import com.google.common.collect.Lists;
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 import org.apache.commons.lang.StringUtils;
 import org.sonar.check.Rule;
 import org.sonar.java.model.ExpressionUtils;
@@ -47,6 +48,16 @@ import static org.sonar.java.se.NullableAnnotationUtils.nonNullAnnotationOnParam
 @Rule(key = "S4449")
 public class ParameterNullnessCheck extends SECheck {
 
+  @Override
+  public Set<Tree.Kind> preStatementKinds() {
+    return kindsOf(MethodInvocationTree.class, NewClassTree.class);
+  }
+
+  @Override
+  public Set<Tree.Kind> postStatementKinds() {
+    return Collections.emptySet();
+  }
+
   @Override
   public ProgramState checkPreStatement(CheckerContext context, Tree syntaxNode) {
     ProgramState state = context.getState();
@@ -70,6 +70,16 @@ public class RedundantAssignmentsCheck extends SECheck {
     assignmentsByMethod.push(ArrayListMultimap.create());
   }
 
+  @Override
+  public Set<Tree.Kind> preStatementKinds() {
+    return Collections.emptySet();
+  }
+
+  @Override
+  public Set<Tree.Kind> postStatementKinds() {
+    return kindsOf(AssignmentExpressionTree.class);
+  }
+
   @Override
   public ProgramState checkPostStatement(CheckerContext context, Tree syntaxNode) {
     if (syntaxNode.is(Tree.Kind.ASSIGNMENT)) {
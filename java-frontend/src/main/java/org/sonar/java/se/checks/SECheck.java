@@ -19,6 +19,7 @@
  */
 package org.sonar.java.se.checks;
 
+import org.sonar.java.ast.visitors.CommentLinesVisitor;
 import org.sonar.java.cfg.CFG;
 import org.sonar.java.se.CheckerContext;
 import org.sonar.java.se.Flow;
@@ -26,23 +27,57 @@ import org.sonar.java.se.ProgramState;
 import org.sonar.java.se.constraint.ConstraintManager;
 import org.sonar.plugins.java.api.JavaFileScanner;
 import org.sonar.plugins.java.api.JavaFileScannerContext;
+import org.sonar.plugins.java.api.tree.CompilationUnitTree;
 import org.sonar.plugins.java.api.tree.MethodTree;
 import org.sonar.plugins.java.api.tree.Tree;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 public abstract class SECheck implements JavaFileScanner {
 
+  private static final Set<Tree.Kind> ALL_KINDS = Collections.unmodifiableSet(EnumSet.allOf(Tree.Kind.class));
+
   protected Set<SEIssue> issues = new HashSet<>();
 
   public void init(MethodTree methodTree, CFG cfg) {
 
   }
 
+  /**
+   * Kinds of the trees on which {@link #checkPreStatement(CheckerContext, Tree)} has to be called, all of them by default.
+   * Queried once per exploded graph walker: the check will not be called on trees of any other kind.
+   */
+  public Set<Tree.Kind> preStatementKinds() {
+    return ALL_KINDS;
+  }
+
+  /**
+   * Kinds of the trees on which {@link #checkPostStatement(CheckerContext, Tree)} has to be called, all of them by default.
+   * Queried once per exploded graph walker: the check will not be called on trees of any other kind.
+   */
+  public Set<Tree.Kind> postStatementKinds() {
+    return ALL_KINDS;
+  }
+
+  /**
+   * Kinds of the trees implementing one of the given interfaces, for checks handling trees with a {@link CheckerTreeNodeVisitor}.
+   */
+  @SafeVarargs
+  protected static Set<Tree.Kind> kindsOf(Class<? extends Tree>... treeInterfaces) {
+    List<Class<? extends Tree>> interfaces = Arrays.asList(treeInterfaces);
+    return Arrays.stream(Tree.Kind.values())
+      .filter(kind -> interfaces.contains(kind.getAssociatedInterface()))
+      .collect(Collectors.toCollection(() -> EnumSet.noneOf(Tree.Kind.class)));
+  }
+
   public ProgramState checkPreStatement(CheckerContext context, Tree syntaxNode) {
     return context.getState();
   }
@@ -61,25 +96,73 @@ public abstract class SECheck implements JavaFileScanner {
 
   @Override
   public void scanFile(JavaFileScannerContext context) {
-    for (SEIssue seIssue : issues) {
-      context.reportIssueWithFlow(this, seIssue.getTree(), seIssue.getMessage(), seIssue.getFlows(), null);
+    try {
+      if (hasDeferredFlows()) {
+        computeDeferredFlows(noSonarLines(context.getTree()));
+      }
+      for (SEIssue seIssue : issues) {
+        context.reportIssueWithFlow(this, seIssue.getTree(), seIssue.getMessage(), seIssue.getFlows(), null);
+      }
+    } finally {
+      issues.clear();
     }
+  }
+
+  /**
+   * Drops the issues raised on a file whose analysis is cancelled before they are reported.
+   */
+  public void discardIssues() {
     issues.clear();
   }
 
+  public boolean hasDeferredFlows() {
+    return issues.stream().anyMatch(seIssue -> !seIssue.deferredFlows.isEmpty());
+  }
+
+  /**
+   * Computes the deferred flows of the issues reported so far, once the exploration of the methods they were raised on is over:
+   * suppliers of flows then do not retain exploded graphs until the end of the analysis of the file.
+   * Flows of issues on lines with a NOSONAR comment are not computed, as the issues will be discarded by NOSONAR filter.
+   */
+  public void computeDeferredFlows(Set<Integer> noSonarLines) {
+    for (SEIssue seIssue : issues) {
+      if (!noSonarLines.contains(seIssue.tree.firstToken().line())) {
+        seIssue.deferredFlows.forEach(deferredFlow -> seIssue.flows.addAll(deferredFlow.get()));
+      }
+      seIssue.deferredFlows.clear();
+    }
+  }
+
+  public static Set<Integer> noSonarLines(CompilationUnitTree tree) {
+    CommentLinesVisitor commentLinesVisitor = new CommentLinesVisitor();
+    commentLinesVisitor.analyzeCommentLines(tree);
+    return commentLinesVisitor.noSonarLines();
+  }
+
   public void reportIssue(Tree tree, String message) {
     reportIssue(tree, message, Collections.emptySet());
   }
 
   public void reportIssue(Tree tree, String message, Set<Flow> flows) {
-    issues.add(issues.stream()
+    seIssue(tree, message).flows.addAll(flows);
+  }
+
+  /**
+   * Report an issue whose flows are computed only once the exploration of the current method is over, see {@link #computeDeferredFlows(Set)}.
+   */
+  public void reportIssue(Tree tree, String message, Supplier<Set<Flow>> flows) {
+    seIssue(tree, message).deferredFlows.add(flows);
+  }
+
+  private SEIssue seIssue(Tree tree, String message) {
+    return issues.stream()
       .filter(seIssue -> seIssue.tree.equals(tree))
       .findFirst()
-      .map(seIssue -> {
-        seIssue.flows.addAll(flows);
+      .orElseGet(() -> {
+        SEIssue seIssue = new SEIssue(tree, message, Collections.emptySet());
+        issues.add(seIssue);
         return seIssue;
-      })
-      .orElse(new SEIssue(tree, message, flows)));
+      });
   }
 
   public void interruptedExecution(CheckerContext context) {
@@ -90,6 +173,7 @@ public abstract class SECheck implements JavaFileScanner {
     private final Tree tree;
     private final String message;
     private final Set<Flow> flows;
+    private final List<Supplier<Set<Flow>>> deferredFlows = new ArrayList<>();
 
     public SEIssue(Tree tree, String message, Set<Flow> flows) {
       this.tree = tree;
@@ -27,6 +27,7 @@ import org.sonar.java.se.ProgramState;
 import org.sonar.java.se.constraint.ConstraintManager;
 import org.sonar.java.se.symbolicvalues.SymbolicValue;
 import org.sonar.plugins.java.api.JavaFileScannerContext;
+import org.sonar.plugins.java.api.tree.Tree;
 
 import java.util.Collections;
 import java.util.List;
@@ -40,6 +41,16 @@ import static org.sonar.java.se.checks.StreamConsumedCheck.StreamPipelineConstra
 @Rule(key = "S3958")
 public class StreamNotConsumedCheck extends SECheck {
 
+  @Override
+  public Set<Tree.Kind> preStatementKinds() {
+    return Collections.emptySet();
+  }
+
+  @Override
+  public Set<Tree.Kind> postStatementKinds() {
+    return Collections.emptySet();
+  }
+
   @Override
   public void checkEndOfExecutionPath(CheckerContext context, ConstraintManager constraintManager) {
     if (context.getState().exitValue() instanceof SymbolicValue.ExceptionalSymbolicValue) {
@@ -137,6 +137,16 @@ public class UnclosedResourcesCheck extends SECheck {
     this.visitedMethodOwnerType = methodTree.symbol().owner().type();
   }
 
+  @Override
+  public Set<Tree.Kind> preStatementKinds() {
+    return kindsOf(NewClassTree.class, ReturnStatementTree.class, AssignmentExpressionTree.class, MethodInvocationTree.class, IdentifierTree.class);
+  }
+
+  @Override
+  public Set<Tree.Kind> postStatementKinds() {
+    return kindsOf(NewClassTree.class, MethodInvocationTree.class);
+  }
+
   @Override
   public ProgramState checkPreStatement(CheckerContext context, Tree syntaxNode) {
     final PreStatementVisitor visitor = new PreStatementVisitor(context);
@@ -28,10 +28,12 @@ import java.util.Optional;
 import java.util.function.Predicate;
 import javax.annotation.Nullable;
 import org.sonar.check.Rule;
+import org.sonar.java.FileContentAwareVisitor;
 import org.sonar.java.matcher.MethodMatcher;
 import org.sonar.java.matcher.MethodMatcherCollection;
 import org.sonar.java.matcher.TypeCriteria;
 import org.sonar.java.model.ExpressionUtils;
+import org.sonar.java.model.FileContentIndex;
 import org.sonar.java.se.CheckerContext;
 import org.sonar.java.se.FlowComputation;
 import org.sonar.java.se.ProgramState;
@@ -58,7 +60,7 @@ import org.sonar.plugins.java.api.tree.Tree;
 import org.sonar.plugins.java.api.tree.VariableTree;
 
 @Rule(key = "S2755")
-public class XxeProcessingCheck extends SECheck {
+public class XxeProcessingCheck extends SECheck implements FileContentAwareVisitor {
 
   private static final String BOOLEAN = "boolean";
   private static final String NEW_INSTANCE = "newInstance";
@@ -258,6 +260,18 @@ public class XxeProcessingCheck extends SECheck {
     .add(AttributeStyleSheet.values())
     .build();
 
+  /**
+   * Factories, readers and builders can be created in the file, or obtained from other files and then referenced through their type,
+   * their package or the methods configuring and using them.
+   */
+  private static final List<String> APPLICABILITY_IDENTIFIERS = ImmutableList.of(
+    // 'javax.xml' and 'org.xml.sax' packages, 'org.jdom2' and 'org.dom4j' libraries
+    "xml", "jdom2", "dom4j",
+    "XMLInputFactory", "DocumentBuilderFactory", "DocumentBuilder", "SAXParserFactory", "SAXParser", "SchemaFactory", "Schema", "Validator",
+    "TransformerFactory", "Transformer", "XMLReaderFactory", "XMLReader", "SAXBuilder", "SAXReader",
+    NEW_INSTANCE, "newFactory", "createXMLReader", "newDocumentBuilder", "newSAXParser", "getXMLReader", "newSchema", "newValidator",
+    "newTransformer", "setFeature", "setProperty", "setAttribute");
+
   private static final List<Class<? extends Constraint>> FLOW_CONSTRAINT_DOMAIN = ImmutableList.<Class<? extends Constraint>>builder()
     .add(AttributeDTD.class)
     .add(AttributeSchema.class)
@@ -271,6 +285,11 @@ public class XxeProcessingCheck extends SECheck {
     return visitor.programState;
   }
 
+  @Override
+  public boolean isApplicable(FileContentIndex index) {
+    return index.hasAnyIdentifier(APPLICABILITY_IDENTIFIERS);
+  }
+
   private class PreStatementVisitor extends CheckerTreeNodeVisitor {
 
     private final ConstraintManager constraintManager;
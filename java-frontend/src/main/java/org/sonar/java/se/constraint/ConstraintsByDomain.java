@@ -19,66 +19,107 @@
  */
 package org.sonar.java.se.constraint;
 
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiConsumer;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import javax.annotation.Nullable;
-import org.sonar.java.collections.PCollections;
-import org.sonar.java.collections.PMap;
 
+/**
+ * Immutable set of constraints, at most one per domain. Each domain (i.e. the class of the constraints) is given a small integer slot when
+ * first used, and the constraints are stored in an array indexed by those slots which is copied on each update.
+ */
 public class ConstraintsByDomain {
 
-  private final PMap<Class<? extends Constraint>, Constraint> constraintPMap;
+  private static final AtomicInteger NEXT_SLOT = new AtomicInteger();
+  private static final ClassValue<Integer> SLOTS = new ClassValue<Integer>() {
+    @Override
+    protected Integer computeValue(Class<?> domain) {
+      return NEXT_SLOT.getAndIncrement();
+    }
+  };
+
+  private static final ConstraintsByDomain EMPTY = new ConstraintsByDomain(new Constraint[0]);
 
-  private static final ConstraintsByDomain EMPTY = new ConstraintsByDomain(PCollections.emptyMap());
+  /**
+   * Constraints indexed by the slot of their domain, never ending with a null element.
+   */
+  private final Constraint[] constraints;
+  private final int hashCode;
 
-  private ConstraintsByDomain(PMap<Class<? extends Constraint>, Constraint> constraintPMap) {
-    this.constraintPMap = constraintPMap;
+  private ConstraintsByDomain(Constraint[] constraints) {
+    this.constraints = constraints;
+    this.hashCode = Arrays.hashCode(constraints);
   }
 
   public static ConstraintsByDomain empty() {
     return EMPTY;
   }
 
+  private static int slot(Class<? extends Constraint> domain) {
+    return SLOTS.get(domain);
+  }
+
   public ConstraintsByDomain remove(Class<? extends Constraint> domain) {
-    PMap<Class<? extends Constraint>, Constraint> remove = constraintPMap.remove(domain);
-    if (remove == constraintPMap) {
+    int slot = slot(domain);
+    if (slot >= constraints.length || constraints[slot] == null) {
       return this;
     }
-    return remove.isEmpty() ? EMPTY : new ConstraintsByDomain(remove);
+    int length = constraints.length;
+    if (slot == length - 1) {
+      length--;
+      while (length > 0 && constraints[length - 1] == null) {
+        length--;
+      }
+      return length == 0 ? EMPTY : new ConstraintsByDomain(Arrays.copyOf(constraints, length));
+    }
+    Constraint[] newConstraints = constraints.clone();
+    newConstraints[slot] = null;
+    return new ConstraintsByDomain(newConstraints);
   }
 
   @Nullable
   public Constraint get(Class<? extends Constraint> domain) {
-    return constraintPMap.get(domain);
+    int slot = slot(domain);
+    return slot < constraints.length ? constraints[slot] : null;
   }
 
   public boolean hasConstraint(Constraint constraint) {
-    return constraint.equals(constraintPMap.get(constraint.getClass()));
+    return constraint.equals(get(constraint.getClass()));
   }
 
   public void forEach(BiConsumer<Class<? extends Constraint>, Constraint> action) {
-    constraintPMap.forEach(action);
+    for (Constraint constraint : constraints) {
+      if (constraint != null) {
+        action.accept(constraint.getClass(), constraint);
+      }
+    }
   }
 
   public boolean isEmpty() {
-    return constraintPMap.isEmpty();
+    return constraints.length == 0;
   }
 
   public ConstraintsByDomain put(Constraint constraint) {
-    PMap<Class<? extends Constraint>, Constraint> newConstraints = constraintPMap.put(constraint.getClass(), constraint);
-    return newConstraints == constraintPMap ? this : new ConstraintsByDomain(newConstraints);
+    int slot = slot(constraint.getClass());
+    if (slot < constraints.length && constraint.equals(constraints[slot])) {
+      return this;
+    }
+    Constraint[] newConstraints = Arrays.copyOf(constraints, Math.max(constraints.length, slot + 1));
+    newConstraints[slot] = constraint;
+    return new ConstraintsByDomain(newConstraints);
   }
 
   public Stream<Constraint> stream() {
     Stream.Builder<Constraint> builder = Stream.builder();
-    constraintPMap.forEach((d, constraint) -> builder.add(constraint));
+    forEach((d, constraint) -> builder.add(constraint));
     return builder.build();
   }
 
   public Stream<Class<? extends Constraint>> domains() {
     Stream.Builder<Class<? extends Constraint>> builder = Stream.builder();
-    constraintPMap.forEach((domain, constraint) -> builder.add(domain));
+    forEach((domain, constraint) -> builder.add(domain));
     return builder.build();
   }
 
@@ -91,7 +132,7 @@ public class ConstraintsByDomain {
       return false;
     }
     ConstraintsByDomain that = (ConstraintsByDomain) o;
-    return constraintPMap.equals(that.constraintPMap);
+    return hashCode == that.hashCode && Arrays.equals(constraints, that.constraints);
   }
 
   @Override
@@ -101,6 +142,6 @@ public class ConstraintsByDomain {
 
   @Override
   public int hashCode() {
-    return constraintPMap.hashCode();
+    return hashCode;
   }
 }
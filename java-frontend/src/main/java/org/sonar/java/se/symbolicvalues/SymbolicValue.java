@@ -25,6 +25,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 import javax.annotation.CheckForNull;
 import javax.annotation.Nullable;
 import org.sonar.java.resolve.Symbols;
@@ -40,6 +41,9 @@ import org.sonar.plugins.java.api.semantic.Type;
 
 public class SymbolicValue {
 
+  // shared by all the analyses running in the JVM: ids must stay unique when several walkers create values concurrently
+  private static final AtomicInteger ID_GENERATOR = new AtomicInteger();
+
   public static final SymbolicValue NULL_LITERAL = new SymbolicValue() {
 
     @Override
@@ -81,12 +85,10 @@ public class SymbolicValue {
     FALSE_LITERAL
   );
 
-  private static int idGenerator;
   private final int id;
 
   public SymbolicValue() {
-    id = idGenerator;
-    idGenerator++;
+    id = ID_GENERATOR.getAndIncrement();
   }
 
   @Override
@@ -34,6 +34,11 @@ import org.sonar.java.se.SymbolicExecutionVisitor;
 import org.sonar.plugins.java.api.semantic.Symbol;
 import org.sonar.plugins.java.api.tree.MethodTree;
 
+/**
+ * Method behaviors computed by one analysis, which owns its cache: the file context and the behaviors are not meant to be shared between
+ * concurrent analyses, each of them creating its own cache, walkers and symbolic values. Behaviors computed from bytecode are published
+ * to a shared map once explored, from which later analyses of the same classpath can read them.
+ */
 public class BehaviorCache {
 
   private final SquidClassLoader classLoader;
@@ -43,6 +48,9 @@ public class BehaviorCache {
   @VisibleForTesting
   public final Map<String, MethodBehavior> behaviors = new LinkedHashMap<>();
   private final Map<String, MethodBehavior> bytecodeBehaviors = new LinkedHashMap<>();
+  // behaviors computed from bytecode shared with the other analyses of a session, if any
+  @Nullable
+  private final Map<String, MethodBehavior> sharedBytecodeBehaviors;
 
   // methods known to be well covered using bytecode-generated behavior
   private static final Set<String> WHITELIST = ImmutableSet.of(
@@ -103,8 +111,17 @@ public class BehaviorCache {
   }
 
   public BehaviorCache(SquidClassLoader classLoader, boolean crossFileEnabled) {
+    this(classLoader, crossFileEnabled, null);
+  }
+
+  /**
+   * @param sharedBytecodeBehaviors behaviors computed from bytecode by other analyses, to which explored ones are published, or null when
+   * behaviors are not shared
+   */
+  public BehaviorCache(SquidClassLoader classLoader, boolean crossFileEnabled, @Nullable Map<String, MethodBehavior> sharedBytecodeBehaviors) {
     this.classLoader = classLoader;
     this.crossFileEnabled = crossFileEnabled;
+    this.sharedBytecodeBehaviors = sharedBytecodeBehaviors;
   }
 
   public void setFileContext(@Nullable SymbolicExecutionVisitor sev,@Nullable Sema semanticModel) {
@@ -114,6 +131,26 @@ public class BehaviorCache {
 
   public void cleanup() {
     behaviors.clear();
+    if (sharedBytecodeBehaviors == null) {
+      return;
+    }
+    bytecodeBehaviors.forEach((signature, mb) -> {
+      if (mb.isVisited()) {
+        sharedBytecodeBehaviors.putIfAbsent(signature, mb);
+      }
+    });
+  }
+
+  /**
+   * Drops behaviors computed from bytecode to free memory. They are computed again on demand.
+   *
+   * @param includingShared whether behaviors shared with other analyses should be dropped as well
+   */
+  public void clearBytecodeBehaviors(boolean includingShared) {
+    bytecodeBehaviors.clear();
+    if (includingShared && sharedBytecodeBehaviors != null) {
+      sharedBytecodeBehaviors.clear();
+    }
   }
 
   public MethodBehavior methodBehaviorForSymbol(Symbol.MethodSymbol symbol) {
@@ -155,6 +192,10 @@ public class BehaviorCache {
       return null;
     }
 
+    MethodBehavior shared = sharedBytecodeBehavior(signature);
+    if (shared != null) {
+      return shared;
+    }
     if (!bytecodeBehaviors.containsKey(signature)) {
       new BytecodeEGWalker(this, semanticModel).getMethodBehavior(signature, classLoader);
     }
@@ -175,7 +216,13 @@ public class BehaviorCache {
       return mb;
     }
     // check for bytecode signatures
-    return bytecodeBehaviors.get(signature);
+    mb = bytecodeBehaviors.get(signature);
+    return mb != null ? mb : sharedBytecodeBehavior(signature);
+  }
+
+  @CheckForNull
+  private MethodBehavior sharedBytecodeBehavior(String signature) {
+    return sharedBytecodeBehaviors == null ? null : sharedBytecodeBehaviors.get(signature);
   }
 
   private static boolean isKnownSignature(String signature) {
@@ -0,0 +1,9 @@
+import javax.annotation.Generated;
+
+@Generated("protoc")
+public class GeneratedClass {
+  void foo() {
+    Object o = null;
+    o.toString();
+  }
+}
@@ -0,0 +1,10 @@
+class CancelledExploration {
+  void invoke() {
+    Object o = new Object();
+    o.toString();
+  }
+
+  void slow() {
+    invoke();
+  }
+}
@@ -0,0 +1,7 @@
+class ExplorationAfterCancellation {
+
+  void invoke() {
+    Object o = new Object();
+    o.hashCode();
+  }
+}
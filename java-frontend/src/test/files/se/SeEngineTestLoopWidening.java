@@ -0,0 +1,25 @@
+abstract class A {
+
+  abstract boolean cond();
+
+  void counter(Object o) {
+    int i = 0;
+    int j = 0;
+    while (cond()) {
+      i++;
+      j += i;
+      if (i > j) {
+        o = null;
+      }
+    }
+    o.toString(); // Noncompliant
+  }
+
+  void reassigned() {
+    Object o = new Object();
+    for (int i = 0; i < 100; i++) {
+      o.toString(); // Noncompliant
+      o = cond() ? null : new Object();
+    }
+  }
+}
@@ -0,0 +1,36 @@
+abstract class A {
+
+  abstract boolean cond();
+
+  void merging_branches(Object o) {
+    int i = 0;
+    if (cond()) {
+      Object a = new Object();
+      a.toString();
+    }
+    if (cond()) {
+      Object b = null;
+      System.out.println(b);
+    }
+    if (cond()) {
+      i = 1;
+    }
+    if (cond()) {
+      System.out.println(i);
+    }
+    if (o == null) {
+      o.toString(); // Noncompliant
+    }
+  }
+
+  void loop(Object o) {
+    for (int i = 0; i < 10; i++) {
+      Object local = cond() ? null : new Object();
+      if (local != null) {
+        local.toString();
+      }
+    }
+    Object p = cond() ? null : o;
+    p.toString(); // Noncompliant
+  }
+}
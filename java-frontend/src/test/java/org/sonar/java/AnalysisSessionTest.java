@@ -0,0 +1,142 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2020 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.sonar.java.se.xproc.MethodBehavior;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AnalysisSessionTest {
+
+  @Rule
+  public TemporaryFolder temp = new TemporaryFolder();
+
+  @Test
+  public void classpath_state_should_be_reused_while_classpath_is_unchanged() throws IOException {
+    List<File> classpath = Collections.singletonList(temp.newFolder("classes"));
+    AnalysisSession session = new AnalysisSession();
+    AnalysisSession.ClasspathState state = session.classpathState(classpath);
+    state.bytecodeBehaviors().put("A#foo()V", new MethodBehavior("A#foo()V"));
+
+    assertThat(session.classpathState(classpath)).isSameAs(state);
+    assertThat(session.classpathState(Collections.singletonList(new File(classpath.get(0).getPath())))).isSameAs(state);
+    assertThat(session.classpathState(Collections.emptyList())).isNotSameAs(state);
+    assertThat(state.bytecodeBehaviors()).containsOnlyKeys("A#foo()V");
+    session.stop();
+  }
+
+  @Test
+  public void classpath_state_should_be_dropped_when_an_entry_changes() throws IOException {
+    File classes = temp.newFolder("classes");
+    List<File> classpath = Collections.singletonList(classes);
+    AnalysisSession session = new AnalysisSession();
+    session.start();
+    AnalysisSession.ClasspathState state = session.classpathState(classpath);
+
+    assertThat(classes.setLastModified(classes.lastModified() - 10_000L)).isTrue();
+    AnalysisSession.ClasspathState newState = session.classpathState(classpath);
+    assertThat(newState).isNotSameAs(state);
+    assertThat(newState.bytecodeBehaviors()).isEmpty();
+    assertThat(session.classpathState(classpath)).isSameAs(newState);
+
+    assertThat(new File(classes, "A.class").createNewFile()).isTrue();
+    assertThat(classes.setLastModified(classes.lastModified() + 10_000L)).isTrue();
+    assertThat(session.classpathState(classpath)).isNotSameAs(newState);
+    session.stop();
+  }
+
+  @Test
+  public void classpath_state_should_be_dropped_when_a_class_is_recompiled_in_place() throws Exception {
+    File classes = temp.newFolder("classes");
+    File classFile = new File(classes, "A.class");
+    Files.write(classFile.toPath(), new byte[] {1});
+    long directoryLastModified = classes.lastModified();
+    List<File> classpath = Collections.singletonList(classes);
+    AnalysisSession session = new AnalysisSession();
+    AnalysisSession.ClasspathState state = session.classpathState(classpath);
+    state.bytecodeBehaviors().put("A#foo()V", new MethodBehavior("A#foo()V"));
+    state.release();
+
+    Files.write(classFile.toPath(), new byte[] {1, 2});
+    assertThat(classFile.setLastModified(classFile.lastModified() + 10_000L)).isTrue();
+    assertThat(classes.setLastModified(directoryLastModified)).isTrue();
+    assertThat(stateAfterChange(session, classpath, state)).isNotSameAs(state);
+    assertThat(state.bytecodeBehaviors()).isEmpty();
+    session.stop();
+  }
+
+  @Test
+  public void classpath_state_should_be_dropped_when_a_class_is_added_to_a_new_package() throws Exception {
+    File classes = temp.newFolder("classes");
+    List<File> classpath = Collections.singletonList(classes);
+    AnalysisSession session = new AnalysisSession();
+    AnalysisSession.ClasspathState state = session.classpathState(classpath);
+    state.release();
+    File pkg = new File(classes, "pkg");
+    assertThat(pkg.mkdir()).isTrue();
+    AnalysisSession.ClasspathState newState = stateAfterChange(session, classpath, state);
+    assertThat(newState).isNotSameAs(state);
+    newState.release();
+
+    Files.write(new File(pkg, "A.class").toPath(), new byte[] {1});
+    assertThat(stateAfterChange(session, classpath, newState)).isNotSameAs(newState);
+    session.stop();
+  }
+
+  @Test
+  public void least_recently_used_classpath_states_should_be_dropped_once_released() throws IOException {
+    AnalysisSession session = new AnalysisSession();
+    List<File> firstClasspath = Collections.singletonList(temp.newFolder("first"));
+    AnalysisSession.ClasspathState first = session.classpathState(firstClasspath);
+    first.bytecodeBehaviors().put("A#foo()V", new MethodBehavior("A#foo()V"));
+    for (int i = 0; i < 8; i++) {
+      session.classpathState(Collections.singletonList(temp.newFolder("classes" + i))).release();
+    }
+
+    // still used by a running analysis
+    assertThat(first.bytecodeBehaviors()).containsOnlyKeys("A#foo()V");
+    first.release();
+    assertThat(first.bytecodeBehaviors()).isEmpty();
+    assertThat(session.classpathState(firstClasspath)).isNotSameAs(first);
+    session.stop();
+  }
+
+  /**
+   * Changes of watched directories are notified asynchronously: the state is queried until it changes, or until a few seconds passed.
+   */
+  private static AnalysisSession.ClasspathState stateAfterChange(AnalysisSession session, List<File> classpath, AnalysisSession.ClasspathState previous)
+    throws InterruptedException {
+    AnalysisSession.ClasspathState state = session.classpathState(classpath);
+    for (int i = 0; i < 500 && state == previous; i++) {
+      state.release();
+      Thread.sleep(10);
+      state = session.classpathState(classpath);
+    }
+    return state;
+  }
+}
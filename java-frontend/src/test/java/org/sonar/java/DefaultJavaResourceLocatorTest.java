@@ -21,9 +21,13 @@ package org.sonar.java;
 
 import com.google.common.collect.Lists;
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
 import java.util.Set;
 import org.junit.BeforeClass;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.sonar.api.batch.fs.InputFile;
 import org.sonar.java.ast.JavaAstScanner;
 import org.sonar.java.model.VisitorsBridge;
@@ -34,6 +38,9 @@ import static org.mockito.Mockito.when;
 
 public class DefaultJavaResourceLocatorTest {
 
+  @Rule
+  public TemporaryFolder temp = new TemporaryFolder();
+
   private static DefaultJavaResourceLocator javaResourceLocator;
 
   @BeforeClass
@@ -74,6 +81,34 @@ public class DefaultJavaResourceLocatorTest {
     assertThat(javaResourceLocator.classFilesToAnalyze()).hasSize(5);
   }
 
+  @Test
+  public void classFilesToAnalyze_takes_first_binary_dir_declaring_class() throws Exception {
+    File firstDir = temp.newFolder("first");
+    File secondDir = temp.newFolder("second");
+    File missingDir = new File(temp.getRoot(), "missing");
+    File duplicatedInFirstDir = createClassFile(firstDir, "org/foo/A.class");
+    createClassFile(secondDir, "org/foo/A.class");
+    File innerClass = createClassFile(secondDir, "org/foo/A$B.class");
+    createClassFile(secondDir, "org/foo/C.class");
+    createClassFile(firstDir, "org/foo/D.txt");
+    JavaClasspath javaClasspath = mock(JavaClasspath.class);
+    when(javaClasspath.getBinaryDirs()).thenReturn(Lists.newArrayList(missingDir, firstDir, secondDir));
+    DefaultJavaResourceLocator jrl = new DefaultJavaResourceLocator(javaClasspath);
+    InputFile inputFile = mock(InputFile.class);
+    jrl.resourcesByClass.put("org/foo/A", inputFile);
+    jrl.resourcesByClass.put("org/foo/A$B", inputFile);
+    jrl.resourcesByClass.put("org/foo/D", inputFile);
+
+    assertThat(jrl.classFilesToAnalyze()).containsExactly(duplicatedInFirstDir, innerClass);
+  }
+
+  private static File createClassFile(File binaryDir, String relativePath) throws IOException {
+    File classFile = new File(binaryDir, relativePath);
+    Files.createDirectories(classFile.getParentFile().toPath());
+    Files.createFile(classFile.toPath());
+    return classFile;
+  }
+
   static class A { // NOSONAR
 
     interface I {
@@ -0,0 +1,62 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2020 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class FileAnalysisWatchdogTest {
+
+  @Test
+  public void should_cancel_token_of_current_file_after_timeout() throws Exception {
+    try (FileAnalysisWatchdog watchdog = new FileAnalysisWatchdog(10)) {
+      CancellationToken token = watchdog.start();
+      assertThat(CancellationToken.current()).isSameAs(token);
+      while (!token.isCancelled()) {
+        Thread.sleep(1);
+      }
+      assertThatThrownBy(() -> token.checkCancelled("tree walk"))
+        .isInstanceOf(CancellationToken.CancelledException.class)
+        .hasMessage("Analysis cancelled during tree walk");
+
+      watchdog.stop();
+      assertThat(CancellationToken.current()).isSameAs(CancellationToken.NONE);
+    }
+  }
+
+  @Test
+  public void should_not_cancel_token_once_file_is_analyzed() throws Exception {
+    try (FileAnalysisWatchdog watchdog = new FileAnalysisWatchdog(10)) {
+      CancellationToken token = watchdog.start();
+      watchdog.stop();
+      Thread.sleep(50);
+      assertThat(token.isCancelled()).isFalse();
+      token.checkCancelled("tree walk");
+    }
+  }
+
+  @Test
+  public void default_token_is_never_cancelled() {
+    CancellationToken.NONE.cancel();
+    assertThat(CancellationToken.NONE.isCancelled()).isFalse();
+  }
+}
@@ -0,0 +1,123 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2020 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java;
+
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.Rule;
+import org.junit.Test;
+import org.sonar.api.utils.log.LogTester;
+import org.sonar.api.utils.log.LoggerLevel;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+public class HeapPressureMonitorTest {
+
+  @Rule
+  public LogTester logTester = new LogTester();
+
+  @Test
+  public void level_should_follow_heap_usage() {
+    AtomicReference<Double> heapUsageRatio = new AtomicReference<>(0.5);
+    HeapPressureMonitor monitor = new HeapPressureMonitor(heapUsageRatio::get);
+    assertThat(monitor.check()).isEqualTo(HeapPressureMonitor.Level.NONE);
+    heapUsageRatio.set(0.75);
+    assertThat(monitor.check()).isEqualTo(HeapPressureMonitor.Level.DROP_CACHES);
+    heapUsageRatio.set(0.85);
+    assertThat(monitor.check()).isEqualTo(HeapPressureMonitor.Level.REDUCE_SE_BUDGETS);
+    heapUsageRatio.set(0.95);
+    assertThat(monitor.check()).isEqualTo(HeapPressureMonitor.Level.SKIP_SE);
+    assertThat(monitor.check()).isEqualTo(HeapPressureMonitor.Level.SKIP_SE);
+    heapUsageRatio.set(0.2);
+    assertThat(monitor.check()).isEqualTo(HeapPressureMonitor.Level.NONE);
+
+    assertThat(logTester.logs(LoggerLevel.WARN)).containsExactly(
+      "Heap usage at 75% of maximum heap size: dropping caches",
+      "Heap usage at 85% of maximum heap size: lowering symbolic execution budgets",
+      "Heap usage at 95% of maximum heap size: skipping symbolic execution");
+    assertThat(logTester.logs(LoggerLevel.INFO)).containsExactly("Heap usage at 20% of maximum heap size: heap usage back to normal");
+  }
+
+  @Test
+  public void level_should_only_be_left_clearly_below_its_threshold() {
+    AtomicReference<Double> heapUsageRatio = new AtomicReference<>(0.85);
+    HeapPressureMonitor monitor = new HeapPressureMonitor(heapUsageRatio::get);
+    assertThat(monitor.check()).isEqualTo(HeapPressureMonitor.Level.REDUCE_SE_BUDGETS);
+    heapUsageRatio.set(0.78);
+    assertThat(monitor.check()).isEqualTo(HeapPressureMonitor.Level.REDUCE_SE_BUDGETS);
+    heapUsageRatio.set(0.72);
+    assertThat(monitor.check()).isEqualTo(HeapPressureMonitor.Level.DROP_CACHES);
+    heapUsageRatio.set(0.68);
+    assertThat(monitor.check()).isEqualTo(HeapPressureMonitor.Level.DROP_CACHES);
+    heapUsageRatio.set(0.6);
+    assertThat(monitor.check()).isEqualTo(HeapPressureMonitor.Level.NONE);
+  }
+
+  @Test
+  public void level_should_not_exceed_maximum() {
+    AtomicReference<Double> heapUsageRatio = new AtomicReference<>(0.95);
+    HeapPressureMonitor monitor = new HeapPressureMonitor(heapUsageRatio::get, HeapPressureMonitor.Level.DROP_CACHES);
+    assertThat(monitor.check()).isEqualTo(HeapPressureMonitor.Level.DROP_CACHES);
+    heapUsageRatio.set(0.5);
+    assertThat(monitor.check()).isEqualTo(HeapPressureMonitor.Level.NONE);
+
+    assertThat(logTester.logs(LoggerLevel.WARN)).containsExactly("Heap usage at 95% of maximum heap size: dropping caches");
+  }
+
+  @Test
+  public void caches_should_be_dropped_once_per_transition() {
+    AtomicReference<Double> heapUsageRatio = new AtomicReference<>(0.5);
+    HeapPressureMonitor monitor = new HeapPressureMonitor(heapUsageRatio::get);
+    assertThat(monitor.shouldDropCaches()).isFalse();
+    heapUsageRatio.set(0.75);
+    assertThat(monitor.shouldDropCaches()).isTrue();
+    assertThat(monitor.shouldDropCaches()).isFalse();
+    heapUsageRatio.set(0.95);
+    assertThat(monitor.shouldDropCaches()).isFalse();
+    heapUsageRatio.set(0.68);
+    assertThat(monitor.shouldDropCaches()).isFalse();
+    heapUsageRatio.set(0.5);
+    assertThat(monitor.shouldDropCaches()).isFalse();
+    heapUsageRatio.set(0.75);
+    assertThat(monitor.shouldDropCaches()).isTrue();
+  }
+
+  @Test
+  public void degradations_should_be_counted() {
+    HeapPressureMonitor monitor = new HeapPressureMonitor(() -> 0.0);
+    monitor.logSummary();
+    assertThat(logTester.logs()).isEmpty();
+
+    monitor.degraded(HeapPressureMonitor.Level.DROP_CACHES);
+    assertThat(monitor.symbolicExecutionDegraded()).isFalse();
+    monitor.degraded(HeapPressureMonitor.Level.SKIP_SE);
+    assertThat(monitor.symbolicExecutionDegraded()).isTrue();
+    monitor.degraded(HeapPressureMonitor.Level.DROP_CACHES);
+    assertThat(monitor.degradations()).containsOnly(entry(HeapPressureMonitor.Level.DROP_CACHES, 2), entry(HeapPressureMonitor.Level.SKIP_SE, 1));
+    monitor.logSummary();
+    assertThat(logTester.logs(LoggerLevel.INFO)).containsExactly(
+      "Analysis degraded under heap pressure: dropping caches 2 times, skipping symbolic execution 1 times");
+  }
+
+  @Test
+  public void should_poll_runtime_heap_usage() {
+    assertThat(new HeapPressureMonitor(HeapPressureMonitor.Level.SKIP_SE).check()).isNotNull();
+  }
+}
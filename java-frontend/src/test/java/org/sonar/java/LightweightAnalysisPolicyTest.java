@@ -0,0 +1,88 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2020 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java;
+
+import java.nio.charset.StandardCharsets;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LightweightAnalysisPolicyTest {
+
+  private static final LightweightAnalysisPolicy POLICY = new LightweightAnalysisPolicy(true, 5, 200L);
+
+  @Test
+  public void should_detect_generated_annotation_on_top_level_type() {
+    assertThat(reason("@Generated(\"protoc\")\nclass A {}")).isEqualTo("marked as generated");
+    assertThat(reason("import javax.annotation.Generated;\n@javax.annotation.processing.Generated(\"jaxb\") public final class A {}"))
+      .isEqualTo("marked as generated");
+    // only the top-level type is considered
+    assertThat(reason("class A {\n  @Generated(\"x\") void foo() {}\n}")).isNull();
+    assertThat(reason("import javax.annotation.Generated;\nclass A {}")).isNull();
+    assertThat(reason("package p;\nimport javax.annotation.Generated;\n@Entity @Generated(value = \"x)\", comments = {\"a\"}) public class A {}"))
+      .isEqualTo("marked as generated");
+    assertThat(reason("@Entity(name = \"@Generated\") public class A {\n  @Generated(\"x\") void foo() {}\n}")).isNull();
+    assertThat(reason("@interface Generated {}")).isNull();
+  }
+
+  @Test
+  public void should_detect_generated_header_comment() {
+    assertThat(reason("// Generated by the protocol buffer compiler.  DO NOT EDIT!\nclass A {}")).isEqualTo("marked as generated");
+    assertThat(reason("// Generated from Java.g4 by ANTLR 4.7\nclass A {}")).isEqualTo("marked as generated");
+    assertThat(reason("/* Generated By:JavaCC: Do not edit this line. */\nclass A {}")).isEqualTo("marked as generated");
+    assertThat(reason("/**\n * @generated\n */\npublic class A {}")).isEqualTo("marked as generated");
+    assertThat(reason("/*\n * This file was automatically generated by the thrift compiler\n */\nclass A {}")).isEqualTo("marked as generated");
+    assertThat(reason("class A {\n  // do not edit\n}")).isNull();
+    // comments inside the first type or after its modifiers are not considered, even when the whole file has no line break
+    assertThat(reason("@Entity public class A { /* DO NOT EDIT */ }")).isNull();
+    assertThat(reason("public /* DO NOT EDIT */ class A {}")).isNull();
+    // ordinary documentation mentioning generated values
+    assertThat(reason("/**\n * Identifier generated by the database.\n */\nclass A {}")).isNull();
+    assertThat(reason("/** Holds the sequences generated from the seed. */\nclass A {}")).isNull();
+  }
+
+  @Test
+  public void should_detect_oversized_files() {
+    assertThat(reason("class A {\n\n\n\n}")).isNull();
+    assertThat(reason("class A {\n\n\n\n\n}")).isEqualTo("longer than 5 lines");
+    StringBuilder longLine = new StringBuilder("class A {}");
+    for (int i = 0; i < 190; i++) {
+      longLine.append(' ');
+    }
+    assertThat(reason(longLine.toString())).isNull();
+    assertThat(reason(longLine.append(' ').toString())).isEqualTo("larger than 200 bytes");
+    // non ASCII characters take more than one byte
+    String accents = longLine.substring(10, 110).replace(' ', '\u00e9');
+    String content = "class A { String s = \"" + accents + "\"; }";
+    assertThat(reason(content)).isEqualTo("larger than 200 bytes");
+    assertThat(POLICY.lightweightReason(content, StandardCharsets.ISO_8859_1)).isNull();
+  }
+
+  @Test
+  public void should_not_limit_files_when_disabled() {
+    String content = "// DO NOT EDIT\nclass A {\n\n\n\n\n\n}";
+    assertThat(new LightweightAnalysisPolicy(false, 0, 0L).lightweightReason(content, StandardCharsets.UTF_8)).isNull();
+    assertThat(LightweightAnalysisPolicy.DISABLED.lightweightReason(content, StandardCharsets.UTF_8)).isNull();
+  }
+
+  private static String reason(String content) {
+    return POLICY.lightweightReason(content, StandardCharsets.UTF_8);
+  }
+}
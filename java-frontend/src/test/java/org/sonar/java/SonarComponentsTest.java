@@ -48,12 +48,14 @@ import org.sonar.api.batch.sensor.highlighting.NewHighlighting;
 import org.sonar.api.batch.sensor.internal.SensorContextTester;
 import org.sonar.api.batch.sensor.issue.Issue;
 import org.sonar.api.batch.sensor.symbol.NewSymbolTable;
+import org.sonar.api.config.internal.MapSettings;
 import org.sonar.api.internal.SonarRuntimeImpl;
 import org.sonar.api.measures.FileLinesContext;
 import org.sonar.api.measures.FileLinesContextFactory;
 import org.sonar.api.rule.RuleKey;
 import org.sonar.api.utils.Version;
 import org.sonar.check.Rule;
+import org.sonar.java.se.ExplorationStrategy;
 import org.sonar.plugins.java.api.CheckRegistrar;
 import org.sonar.plugins.java.api.JavaCheck;
 import org.sonar.plugins.java.api.JspCodeVisitor;
@@ -283,6 +285,66 @@ public class SonarComponentsTest {
 
   }
 
+  @Test
+  public void exploration_strategy_is_read_from_configuration() {
+    SensorContextTester context = SensorContextTester.create(new File(""));
+    SonarComponents sonarComponents = new SonarComponents(fileLinesContextFactory, context.fileSystem(), null, null, checkFactory);
+    assertThat(sonarComponents.explorationStrategy()).isEqualTo(ExplorationStrategy.DEPTH_FIRST);
+
+    sonarComponents.setSensorContext(context);
+    assertThat(sonarComponents.explorationStrategy()).isEqualTo(ExplorationStrategy.DEPTH_FIRST);
+
+    context.setSettings(new MapSettings().setProperty(SonarComponents.SE_EXPLORATION_STRATEGY_KEY, "unvisited_blocks_first"));
+    assertThat(sonarComponents.explorationStrategy()).isEqualTo(ExplorationStrategy.UNVISITED_BLOCKS_FIRST);
+  }
+
+  @Test
+  public void state_subsumption_is_read_from_configuration() {
+    SensorContextTester context = SensorContextTester.create(new File(""));
+    SonarComponents sonarComponents = new SonarComponents(fileLinesContextFactory, context.fileSystem(), null, null, checkFactory);
+    assertThat(sonarComponents.isStateSubsumptionEnabled()).isFalse();
+
+    sonarComponents.setSensorContext(context);
+    assertThat(sonarComponents.isStateSubsumptionEnabled()).isFalse();
+
+    context.setSettings(new MapSettings().setProperty(SonarComponents.SE_STATE_SUBSUMPTION_KEY, true));
+    assertThat(sonarComponents.isStateSubsumptionEnabled()).isTrue();
+  }
+
+  @Test
+  public void loop_widening_is_read_from_configuration() {
+    SensorContextTester context = SensorContextTester.create(new File(""));
+    SonarComponents sonarComponents = new SonarComponents(fileLinesContextFactory, context.fileSystem(), null, null, checkFactory);
+    assertThat(sonarComponents.isLoopWideningEnabled()).isFalse();
+
+    sonarComponents.setSensorContext(context);
+    assertThat(sonarComponents.isLoopWideningEnabled()).isFalse();
+
+    context.setSettings(new MapSettings().setProperty(SonarComponents.SE_LOOP_WIDENING_KEY, true));
+    assertThat(sonarComponents.isLoopWideningEnabled()).isTrue();
+  }
+
+  @Test
+  public void heap_pressure_degradations_are_read_from_configuration() {
+    SensorContextTester context = SensorContextTester.create(new File(""));
+    SonarComponents sonarComponents = new SonarComponents(fileLinesContextFactory, context.fileSystem(), null, null, checkFactory);
+    assertThat(sonarComponents.isHeapPressureMonitoringEnabled()).isFalse();
+    assertThat(sonarComponents.isHeapPressureSymbolicExecutionDegradationEnabled()).isFalse();
+
+    sonarComponents.setSensorContext(context);
+    assertThat(sonarComponents.isHeapPressureMonitoringEnabled()).isTrue();
+    assertThat(sonarComponents.isHeapPressureSymbolicExecutionDegradationEnabled()).isFalse();
+
+    context.setSettings(new MapSettings().setProperty(SonarComponents.HEAP_PRESSURE_SE_DEGRADATION_KEY, true));
+    assertThat(sonarComponents.isHeapPressureSymbolicExecutionDegradationEnabled()).isTrue();
+
+    context.setSettings(new MapSettings()
+      .setProperty(SonarComponents.HEAP_PRESSURE_MONITORING_KEY, false)
+      .setProperty(SonarComponents.HEAP_PRESSURE_SE_DEGRADATION_KEY, true));
+    assertThat(sonarComponents.isHeapPressureMonitoringEnabled()).isFalse();
+    assertThat(sonarComponents.isHeapPressureSymbolicExecutionDegradationEnabled()).isFalse();
+  }
+
   @Test
   public void fail_on_empty_location() {
     JavaCheck expectedCheck = new CustomCheck();
@@ -404,6 +466,20 @@ public class SonarComponentsTest {
     assertThat(sonarComponents.jspCodeVisitors()).isEmpty();
   }
 
+  @Test
+  public void should_return_rule_key_of_registered_checks() {
+    ActiveRules activeRules = new ActiveRulesBuilder()
+      .addRule(new NewActiveRule.Builder().setRuleKey(RuleKey.of("custom", "jsp")).build())
+      .build();
+    CheckFactory checkFactory = new CheckFactory(activeRules);
+
+    SonarComponents sonarComponents = new SonarComponents(null, null, null, null, checkFactory, new CheckRegistrar[]{getRegistrar(new JspCodeCheck())});
+    JavaCheck registeredCheck = sonarComponents.jspCodeVisitors().get(0);
+    assertThat(sonarComponents.getRuleKey(registeredCheck)).isEqualTo(RuleKey.of("custom", "jsp"));
+    // lookup is done by instance, not by class
+    assertThat(sonarComponents.getRuleKey(new JspCodeCheck())).isNull();
+  }
+
   @Rule(key = "jsp")
   public static class JspCodeCheck implements JspCodeVisitor {
 
@@ -27,7 +27,9 @@ import java.io.InterruptedIOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 import org.hamcrest.BaseMatcher;
 import org.hamcrest.Description;
 import org.junit.Before;
@@ -44,18 +46,25 @@ import org.sonar.api.utils.Version;
 import org.sonar.api.utils.log.LogTester;
 import org.sonar.api.utils.log.LoggerLevel;
 import org.sonar.java.AnalysisException;
+import org.sonar.java.AnalysisTimings;
+import org.sonar.java.AnalysisWarningsWrapper;
+import org.sonar.java.CancellationToken;
 import org.sonar.java.ExceptionHandler;
 import org.sonar.java.Measurer;
+import org.sonar.java.SemanticAwareVisitor;
 import org.sonar.java.SonarComponents;
 import org.sonar.java.TestUtils;
 import org.sonar.java.cfg.CFG;
 import org.sonar.java.model.JavaVersionImpl;
 import org.sonar.java.model.VisitorsBridge;
+import org.sonar.java.se.CheckerContext;
+import org.sonar.java.se.ProgramState;
 import org.sonar.java.se.SymbolicExecutionMode;
 import org.sonar.java.se.checks.SECheck;
 import org.sonar.plugins.java.api.JavaFileScanner;
 import org.sonar.plugins.java.api.JavaFileScannerContext;
 import org.sonar.plugins.java.api.tree.MethodTree;
+import org.sonar.plugins.java.api.tree.Tree;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.fail;
@@ -152,6 +161,104 @@ public class JavaAstScannerTest {
     verifyNoMoreInteractions(visitor);
   }
 
+  @Test
+  public void should_measure_time_spent_in_parsing_when_analysis_timings_are_set() {
+    JavaFileScanner visitor = scannerContext -> {};
+    AnalysisTimings analysisTimings = new AnalysisTimings();
+    SonarComponents sonarComponents = new SonarComponents(null, context.fileSystem(), null, null, null);
+    sonarComponents.setSensorContext(context);
+    sonarComponents.setAnalysisTimings(analysisTimings);
+    JavaAstScanner scanner = new JavaAstScanner(sonarComponents);
+    scanner.setVisitorBridge(new VisitorsBridge(Lists.newArrayList(visitor), new ArrayList<>(), sonarComponents));
+    scanner.scan(Collections.singletonList(TestUtils.inputFile("src/test/files/metrics/Classes.java")));
+
+    assertThat(analysisTimings.parseNanos()).isPositive();
+    assertThat(analysisTimings.nanosByScanner()).containsKey(visitor.getClass());
+  }
+
+  @Test
+  public void should_skip_rest_of_file_when_exceeding_file_analysis_timeout() {
+    InputFile slowFile = TestUtils.inputFile("src/test/files/metrics/Classes.java");
+    InputFile otherFile = TestUtils.inputFile("src/test/files/metrics/Methods.java");
+    JavaFileScanner slowVisitor = scannerContext -> {
+      while (scannerContext.getInputFile() == slowFile && !CancellationToken.current().isCancelled()) {
+        Thread.yield();
+      }
+    };
+    List<InputFile> visitedFiles = new ArrayList<>();
+    JavaFileScanner recordingVisitor = scannerContext -> visitedFiles.add(scannerContext.getInputFile());
+    context.setSettings(new MapSettings().setProperty(SonarComponents.FILE_ANALYSIS_TIMEOUT_KEY, 2000));
+    SonarComponents sonarComponents = new SonarComponents(null, context.fileSystem(), null, null, null);
+    sonarComponents.setSensorContext(context);
+    AnalysisWarningsWrapper analysisWarnings = mock(AnalysisWarningsWrapper.class);
+    sonarComponents.setAnalysisWarnings(analysisWarnings);
+    JavaAstScanner scanner = new JavaAstScanner(sonarComponents);
+    scanner.setVisitorBridge(new VisitorsBridge(Arrays.asList(slowVisitor, recordingVisitor), new ArrayList<>(), sonarComponents));
+    scanner.scan(Arrays.asList(slowFile, otherFile));
+
+    assertThat(visitedFiles).containsExactly(otherFile);
+    String message = "Analysis of file '" + slowFile + "' was interrupted during tree walk, as it exceeded the time limit of 2000 ms set by "
+      + SonarComponents.FILE_ANALYSIS_TIMEOUT_KEY;
+    assertThat(logTester.logs(LoggerLevel.WARN)).containsExactly(message);
+    verify(analysisWarnings).addUnique(message);
+    assertThat(CancellationToken.current()).isSameAs(CancellationToken.NONE);
+  }
+
+  @Test
+  public void should_not_report_symbolic_execution_issues_of_cancelled_file_on_next_file() {
+    InputFile cancelledFile = TestUtils.inputFile("src/test/files/se/CancelledExploration.java");
+    InputFile otherFile = TestUtils.inputFile("src/test/files/se/ExplorationAfterCancellation.java");
+    MethodInvocationRecorder methodInvocationRecorder = new MethodInvocationRecorder();
+    context.setSettings(new MapSettings().setProperty(SonarComponents.FILE_ANALYSIS_TIMEOUT_KEY, 500));
+    SonarComponents sonarComponents = new SonarComponents(null, context.fileSystem(), null, null, null);
+    sonarComponents.setSensorContext(context);
+    sonarComponents.setAnalysisWarnings(mock(AnalysisWarningsWrapper.class));
+    JavaAstScanner scanner = new JavaAstScanner(sonarComponents);
+    scanner.setVisitorBridge(new VisitorsBridge(Arrays.asList(new SlowMethodCheck(), methodInvocationRecorder), new ArrayList<>(), sonarComponents,
+      SymbolicExecutionMode.ENABLED_WITHOUT_X_FILE));
+    scanner.scan(Arrays.asList(cancelledFile, otherFile));
+
+    assertThat(logTester.logs(LoggerLevel.WARN)).containsExactly("Analysis of file '" + cancelledFile
+      + "' was interrupted during symbolic execution, as it exceeded the time limit of 500 ms set by " + SonarComponents.FILE_ANALYSIS_TIMEOUT_KEY);
+    assertThat(methodInvocationRecorder.reportedIssues).containsExactly(otherFile + ":5");
+  }
+
+  @Test
+  public void should_analyze_generated_files_in_lightweight_mode() {
+    InputFile generatedFile = TestUtils.inputFile("src/test/files/lightweight/GeneratedClass.java");
+    InputFile otherFile = TestUtils.inputFile("src/test/files/metrics/Methods.java");
+    List<InputFile> semanticVisitedFiles = new ArrayList<>();
+    JavaFileScanner semanticVisitor = scannerContext -> semanticVisitedFiles.add(scannerContext.getInputFile());
+    SyntaxOnlyVisitor syntaxOnlyVisitor = new SyntaxOnlyVisitor();
+    context.setSettings(new MapSettings().setProperty(SonarComponents.LIGHTWEIGHT_GENERATED_FILES_KEY, true));
+    SonarComponents sonarComponents = new SonarComponents(null, context.fileSystem(), null, null, null);
+    sonarComponents.setSensorContext(context);
+    JavaAstScanner scanner = new JavaAstScanner(sonarComponents);
+    scanner.setVisitorBridge(new VisitorsBridge(Arrays.asList(semanticVisitor, syntaxOnlyVisitor), new ArrayList<>(), sonarComponents));
+    scanner.scan(Arrays.asList(generatedFile, otherFile));
+
+    assertThat(semanticVisitedFiles).containsExactly(otherFile);
+    assertThat(syntaxOnlyVisitor.visitedFiles).containsExactly(generatedFile, otherFile);
+    assertThat(syntaxOnlyVisitor.semanticModels).containsExactly(false, true);
+    assertThat(logTester.logs(LoggerLevel.INFO)).contains("File '" + generatedFile + "' is marked as generated: analyzing it in lightweight mode, "
+      + "skipping binding resolution, symbol table, highlighting, symbolic execution and rules requiring semantic");
+  }
+
+  @Test
+  public void should_fully_analyze_generated_files_by_default() {
+    InputFile generatedFile = TestUtils.inputFile("src/test/files/lightweight/GeneratedClass.java");
+    List<InputFile> semanticVisitedFiles = new ArrayList<>();
+    JavaFileScanner semanticVisitor = scannerContext -> semanticVisitedFiles.add(scannerContext.getInputFile());
+    SonarComponents sonarComponents = new SonarComponents(null, context.fileSystem(), null, null, null);
+    sonarComponents.setSensorContext(context);
+    JavaAstScanner scanner = new JavaAstScanner(sonarComponents);
+    scanner.setVisitorBridge(new VisitorsBridge(Collections.singletonList(semanticVisitor), new ArrayList<>(), sonarComponents));
+    scanner.scan(Collections.singletonList(generatedFile));
+
+    assertThat(semanticVisitedFiles).containsExactly(generatedFile);
+    assertThat(logTester.logs(LoggerLevel.INFO)).filteredOn(log -> log.contains("lightweight mode")).isEmpty();
+  }
+
   @Test
   public void should_interrupt_analysis_when_InterruptedException_is_thrown() {
     InputFile inputFile = TestUtils.inputFile("src/test/files/metrics/NoSonar.java");
@@ -251,6 +358,23 @@ public class JavaAstScannerTest {
     JavaAstScanner.scanSingleFileForTests(file, visitorsBridge, new JavaVersionImpl(), sonarComponents);
   }
 
+  private static class SyntaxOnlyVisitor implements JavaFileScanner, SemanticAwareVisitor {
+
+    private final List<InputFile> visitedFiles = new ArrayList<>();
+    private final List<Boolean> semanticModels = new ArrayList<>();
+
+    @Override
+    public void scanFile(JavaFileScannerContext context) {
+      visitedFiles.add(context.getInputFile());
+      semanticModels.add(context.getSemanticModel() != null);
+    }
+
+    @Override
+    public boolean requiresSemantic() {
+      return false;
+    }
+  }
+
   private static class CheckThrowingSOError implements JavaFileScanner {
 
     @Override
@@ -318,4 +442,41 @@ public class JavaAstScannerTest {
     }
   }
 
+  private static class SlowMethodCheck extends SECheck {
+    private boolean slowMethod;
+
+    @Override
+    public void init(MethodTree methodTree, CFG cfg) {
+      slowMethod = "slow".equals(methodTree.simpleName().name());
+    }
+
+    @Override
+    public ProgramState checkPreStatement(CheckerContext context, Tree syntaxNode) {
+      while (slowMethod && !CancellationToken.current().isCancelled()) {
+        Thread.yield();
+      }
+      return context.getState();
+    }
+  }
+
+  private static class MethodInvocationRecorder extends SECheck {
+    private final List<String> reportedIssues = new ArrayList<>();
+
+    @Override
+    public Set<Tree.Kind> preStatementKinds() {
+      return EnumSet.of(Tree.Kind.METHOD_INVOCATION);
+    }
+
+    @Override
+    public ProgramState checkPreStatement(CheckerContext context, Tree syntaxNode) {
+      reportIssue(syntaxNode, "method invocation");
+      return context.getState();
+    }
+
+    @Override
+    public void scanFile(JavaFileScannerContext context) {
+      issues.forEach(issue -> reportedIssues.add(context.getInputFile() + ":" + issue.getTree().firstToken().line()));
+      issues.clear();
+    }
+  }
 }
@@ -0,0 +1,109 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2020 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java.bytecode;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assume.assumeTrue;
+
+public class ClasspathFingerprintsTest {
+
+  @Rule
+  public TemporaryFolder temp = new TemporaryFolder();
+
+  @Test
+  public void content_hash_should_change_when_a_file_is_rewritten_in_place() throws Exception {
+    Path classes = temp.newFolder("classes").toPath();
+    Path classFile = Files.createDirectory(classes.resolve("pkg")).resolve("A.class");
+    Files.write(classFile, new byte[] {1});
+    long hash = ClasspathFingerprints.contentHash(classes);
+    assertThat(ClasspathFingerprints.contentHash(classes)).isEqualTo(hash);
+
+    Files.write(classFile, new byte[] {1, 2});
+    assertThat(ClasspathFingerprints.contentHash(classes)).isNotEqualTo(hash);
+  }
+
+  @Test
+  public void content_hash_of_a_missing_directory_should_change_at_each_call() throws Exception {
+    Path missing = temp.getRoot().toPath().resolve("missing");
+    assertThat(ClasspathFingerprints.contentHash(missing)).isNotEqualTo(ClasspathFingerprints.contentHash(missing));
+  }
+
+  @Test
+  public void watcher_version_should_change_when_files_change() throws Exception {
+    Path classes = temp.newFolder("classes").toPath();
+    Path classFile = Files.createDirectory(classes.resolve("pkg")).resolve("A.class");
+    Files.write(classFile, new byte[] {1});
+    ClasspathFingerprints.DirectoryWatcher watcher = ClasspathFingerprints.DirectoryWatcher.watch(classes);
+    assumeTrue(watcher != null);
+    long version = watcher.version();
+    assertThat(watcher.version()).isEqualTo(version);
+
+    Files.write(classFile, new byte[] {1, 2});
+    long rewritten = versionAfterChange(watcher, version);
+    assertThat(rewritten).isNotEqualTo(version);
+
+    // classes of a package created after the watcher are watched too
+    Path newPackage = Files.createDirectory(classes.resolve("other"));
+    long created = versionAfterChange(watcher, rewritten);
+    assertThat(created).isNotEqualTo(rewritten);
+    Files.write(newPackage.resolve("B.class"), new byte[] {1});
+    assertThat(versionAfterChange(watcher, created)).isNotEqualTo(created);
+    assertThat(watcher.isValid()).isTrue();
+    watcher.close();
+  }
+
+  @Test
+  public void watcher_should_be_invalid_once_its_directory_is_removed() throws Exception {
+    File classes = temp.newFolder("classes");
+    ClasspathFingerprints.DirectoryWatcher watcher = ClasspathFingerprints.DirectoryWatcher.watch(classes.toPath());
+    assumeTrue(watcher != null);
+    assertThat(classes.delete()).isTrue();
+    for (int i = 0; i < 500 && watcher.isValid(); i++) {
+      watcher.version();
+      Thread.sleep(10);
+    }
+    assertThat(watcher.isValid()).isFalse();
+    watcher.close();
+  }
+
+  @Test
+  public void missing_directory_should_not_be_watched() {
+    assertThat(ClasspathFingerprints.DirectoryWatcher.watch(temp.getRoot().toPath().resolve("missing"))).isNull();
+  }
+
+  /**
+   * Changes are notified asynchronously: the version is queried until it changes, or until a few seconds passed.
+   */
+  private static long versionAfterChange(ClasspathFingerprints.DirectoryWatcher watcher, long previous) throws InterruptedException {
+    long version = watcher.version();
+    for (int i = 0; i < 500 && version == previous; i++) {
+      Thread.sleep(10);
+      version = watcher.version();
+    }
+    return version;
+  }
+}
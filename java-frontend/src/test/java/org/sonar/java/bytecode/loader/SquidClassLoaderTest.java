@@ -87,6 +87,14 @@ public class SquidClassLoaderTest {
     classLoader.loadClass("foo.Unknown");
   }
 
+  @Test
+  public void should_find_resources_after_clearing_cache() throws Exception {
+    classLoader = new SquidClassLoader(Collections.singletonList(new File("src/test/files/bytecode/lib/hello.jar")));
+    assertThat(classLoader.getResource("org/sonar/tests/Hello.class")).isNotNull();
+    classLoader.clearCache();
+    assertThat(classLoader.getResource("org/sonar/tests/Hello.class")).isNotNull();
+  }
+
   @Test
   public void createFromAar() throws Exception {
     File jar = new File("src/test/files/classpath/lib/oklog-1.0.1.aar");
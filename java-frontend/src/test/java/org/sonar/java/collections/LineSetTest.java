@@ -0,0 +1,82 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2020 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java.collections;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LineSetTest {
+
+  @Test
+  public void add_and_contains() {
+    LineSet lines = new LineSet();
+    assertThat(lines.isEmpty()).isTrue();
+    assertThat(lines.add(3)).isTrue();
+    assertThat(lines.add(3)).isFalse();
+    assertThat(lines.add(Integer.valueOf(5))).isTrue();
+
+    assertThat(lines.contains(3)).isTrue();
+    assertThat(lines.contains(4)).isFalse();
+    assertThat(lines.contains(-1)).isFalse();
+    assertThat(lines.contains((Object) 5)).isTrue();
+    assertThat(lines.contains((Object) "5")).isFalse();
+    assertThat(lines.contains((Object) null)).isFalse();
+    assertThat(lines).hasSize(2).containsExactly(3, 5);
+  }
+
+  @Test
+  public void ranges() {
+    LineSet lines = new LineSet();
+    lines.addRange(2, 6);
+    lines.addRange(10, 10);
+    lines.addRange(12, 11);
+    assertThat(lines).containsExactly(2, 3, 4, 5, 6, 10);
+
+    lines.removeRange(3, 4);
+    lines.removeRange(9, 8);
+    assertThat(lines).containsExactly(2, 5, 6, 10);
+  }
+
+  @Test
+  public void remove_and_clear() {
+    LineSet lines = new LineSet();
+    lines.addRange(1, 3);
+    assertThat(lines.remove(2)).isTrue();
+    assertThat(lines.remove(2)).isFalse();
+    assertThat(lines.remove("1")).isFalse();
+    assertThat(lines).containsExactly(1, 3);
+
+    lines.clear();
+    assertThat(lines.isEmpty()).isTrue();
+    assertThat(lines.size()).isZero();
+  }
+
+  @Test
+  public void equals_other_sets() {
+    LineSet lines = new LineSet();
+    lines.addRange(1, 3);
+    assertThat(lines).isEqualTo(new HashSet<>(Arrays.asList(1, 2, 3)));
+    assertThat(lines.hashCode()).isEqualTo(new HashSet<>(Arrays.asList(1, 2, 3)).hashCode());
+  }
+
+}
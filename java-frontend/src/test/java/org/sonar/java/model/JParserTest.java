@@ -21,18 +21,23 @@ package org.sonar.java.model;
 
 import com.sonar.sslr.api.RecognitionException;
 import java.io.File;
+import java.util.Arrays;
 import java.util.Collections;
 import org.junit.Test;
 import org.sonar.plugins.java.api.tree.BlockTree;
 import org.sonar.plugins.java.api.tree.ClassTree;
 import org.sonar.plugins.java.api.tree.CompilationUnitTree;
 import org.sonar.plugins.java.api.tree.EnumConstantTree;
+import org.sonar.plugins.java.api.tree.ExpressionTree;
 import org.sonar.plugins.java.api.tree.MethodTree;
+import org.sonar.plugins.java.api.tree.ReturnStatementTree;
 import org.sonar.plugins.java.api.tree.VariableTree;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
@@ -132,6 +137,78 @@ public class JParserTest {
     assertSame(s1.type(), s2.type());
   }
 
+  @Test
+  public void should_not_resolve_bindings_when_not_requested() {
+    CompilationUnitTree t = JParser.parse(
+      JParser.MAXIMUM_SUPPORTED_JAVA_VERSION,
+      "C",
+      "class C { Object f; void m() { f.toString(); } }",
+      Collections.emptyList(),
+      false);
+    ClassTree c = (ClassTree) t.types().get(0);
+    assertTrue(c.symbol().isUnknown());
+    VariableTree f = (VariableTree) c.members().get(0);
+    assertTrue(f.type().symbolType().isUnknown());
+    assertTrue(f.symbol().usages().isEmpty());
+    assertTrue(((JavaTree.CompilationUnitTreeImpl) t).sema.getClassType("java.lang.Object").isUnknown());
+  }
+
+  @Test
+  public void should_index_identifiers() {
+    JavaTree.CompilationUnitTreeImpl t = (JavaTree.CompilationUnitTreeImpl) test("import java.util.List;\n"
+      + "class C { /* Map */ String s = \"Set\"; void m(List<Object> l) { l.size(); } }");
+    FileContentIndex index = t.contentIndex;
+    assertNotNull(index);
+    assertTrue(index.hasIdentifier("java"));
+    assertTrue(index.hasIdentifier("List"));
+    assertTrue(index.hasIdentifier("size"));
+    assertTrue(index.hasAnyIdentifier("Map", "Set", "C"));
+    assertTrue(index.hasAnyIdentifier(Arrays.asList("unknown", "m")));
+    // keywords, comments and literals are not indexed
+    assertFalse(index.hasAnyIdentifier("class", "void", "Map", "Set"));
+    assertFalse(index.hasAnyIdentifier(Collections.emptyList()));
+  }
+
+  @Test
+  public void should_share_token_texts() {
+    CompilationUnitTree t1 = test("class C { int f; int m() { return f + f; } }");
+    CompilationUnitTree t2 = test("class D { int g; }");
+    ClassTree c = (ClassTree) t1.types().get(0);
+    VariableTree field = (VariableTree) c.members().get(0);
+    MethodTree method = (MethodTree) c.members().get(1);
+    ClassTree d = (ClassTree) t2.types().get(0);
+    VariableTree otherField = (VariableTree) d.members().get(0);
+
+    // keywords are shared between files
+    assertSame(c.declarationKeyword().text(), d.declarationKeyword().text());
+    assertSame(field.type().firstToken().text(), otherField.type().firstToken().text());
+    // identifiers are shared within a file
+    BlockTree body = method.block();
+    assertNotNull(body);
+    ExpressionTree returned = ((ReturnStatementTree) body.body().get(0)).expression();
+    assertNotNull(returned);
+    assertSame(field.simpleName().identifierToken().text(), returned.firstToken().text());
+  }
+
+  @Test
+  public void should_not_share_token_texts_written_with_unicode_escapes() {
+    CompilationUnitTree t = test("class C { int f; \\u0069nt g; int h; }");
+    ClassTree c = (ClassTree) t.types().get(0);
+    assertEquals("\\u0069nt", ((VariableTree) c.members().get(1)).type().firstToken().text());
+    assertSame(
+      ((VariableTree) c.members().get(0)).type().firstToken().text(),
+      ((VariableTree) c.members().get(2)).type().firstToken().text());
+  }
+
+  @Test
+  public void tokens_without_comments_should_share_empty_trivias() {
+    CompilationUnitTree t = test("class C { /* comment */ int f; }");
+    ClassTree c = (ClassTree) t.types().get(0);
+    VariableTree field = (VariableTree) c.members().get(0);
+    assertEquals(1, field.firstToken().trivias().size());
+    assertSame(Collections.emptyList(), c.declarationKeyword().trivias());
+  }
+
   private static void testExpression(String expression) {
     test("class C { Object m() { return " + expression + " ; } }");
   }
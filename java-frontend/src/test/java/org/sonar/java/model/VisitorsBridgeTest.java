@@ -39,7 +39,12 @@ import org.sonar.api.config.internal.MapSettings;
 import org.sonar.api.utils.log.LogTester;
 import org.sonar.api.utils.log.LoggerLevel;
 import org.sonar.java.AnalysisException;
+import org.sonar.java.AnalysisSession;
+import org.sonar.java.AnalysisTimings;
 import org.sonar.java.CheckFailureException;
+import org.sonar.java.FileContentAwareVisitor;
+import org.sonar.java.JavaVersionAwareVisitor;
+import org.sonar.java.SemanticAwareVisitor;
 import org.sonar.java.SonarComponents;
 import org.sonar.java.TestUtils;
 import org.sonar.java.ast.visitors.SubscriptionVisitor;
@@ -50,6 +55,7 @@ import org.sonar.java.se.checks.SECheck;
 import org.sonar.plugins.java.api.IssuableSubscriptionVisitor;
 import org.sonar.plugins.java.api.JavaFileScanner;
 import org.sonar.plugins.java.api.JavaFileScannerContext;
+import org.sonar.plugins.java.api.JavaVersion;
 import org.sonar.plugins.java.api.tree.CompilationUnitTree;
 import org.sonar.plugins.java.api.tree.SyntaxToken;
 import org.sonar.plugins.java.api.tree.SyntaxTrivia;
@@ -58,9 +64,14 @@ import org.sonar.plugins.java.api.tree.Tree.Kind;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 public class VisitorsBridgeTest {
 
@@ -294,6 +305,178 @@ public class VisitorsBridgeTest {
     verify(sonarComponents, never()).symbolizableFor(any());
   }
 
+  @Test
+  public void should_not_require_semantic_when_all_scanners_are_syntactic() {
+    List<JavaFileScanner> syntacticScanners = Arrays.asList(new SyntacticScanner(), new SyntacticScanner());
+    VisitorsBridge bridge = new VisitorsBridge(syntacticScanners, Collections.emptyList(), null);
+    assertThat(bridge.requiresSemantic()).isFalse();
+
+    bridge.setCurrentFile(INPUT_FILE);
+    bridge.visitFile(COMPILATION_UNIT_TREE);
+    assertThat(syntacticScanners).allSatisfy(scanner -> assertThat(((SyntacticScanner) scanner).semanticModel).isNull());
+  }
+
+  @Test
+  public void should_require_semantic_as_soon_as_one_scanner_needs_it() {
+    List<JavaFileScanner> scanners = Arrays.asList(new SyntacticScanner(), context -> {});
+    assertThat(new VisitorsBridge(scanners, Collections.emptyList(), null).requiresSemantic()).isTrue();
+
+    SyntacticScanner syntacticScanner = new SyntacticScanner();
+    VisitorsBridge bridge = new VisitorsBridge(Collections.singletonList(syntacticScanner), Collections.emptyList(), null, SymbolicExecutionMode.ENABLED_WITHOUT_X_FILE);
+    assertThat(bridge.requiresSemantic()).isTrue();
+    bridge.setCurrentFile(INPUT_FILE);
+    bridge.visitFile(COMPILATION_UNIT_TREE);
+    assertThat(syntacticScanner.semanticModel).isNotNull();
+
+    // symbol table is computed for SonarQube
+    SonarComponents sonarComponents = mock(SonarComponents.class);
+    assertThat(new VisitorsBridge(Collections.singletonList(new SyntacticScanner()), Collections.emptyList(), sonarComponents).requiresSemantic()).isTrue();
+    when(sonarComponents.isSonarLintContext()).thenReturn(true);
+    assertThat(new VisitorsBridge(Collections.singletonList(new SyntacticScanner()), Collections.emptyList(), sonarComponents).requiresSemantic()).isFalse();
+  }
+
+  @Test
+  public void should_measure_time_spent_in_scanners_when_analysis_timings_are_set() {
+    AnalysisTimings analysisTimings = new AnalysisTimings();
+    SonarComponents sonarComponents = mock(SonarComponents.class);
+    when(sonarComponents.isSonarLintContext()).thenReturn(true);
+    when(sonarComponents.analysisTimings()).thenReturn(analysisTimings);
+    VisitorsBridge bridge = new VisitorsBridge(Collections.singletonList(new SyntacticScanner()), Collections.emptyList(), sonarComponents);
+    bridge.setCurrentFile(INPUT_FILE);
+    bridge.visitFile(COMPILATION_UNIT_TREE);
+    assertThat(analysisTimings.nanosByScanner()).containsOnlyKeys(SyntacticScanner.class);
+  }
+
+  @Test
+  public void should_measure_time_spent_in_subscription_visitors_once_per_file() {
+    AnalysisTimings analysisTimings = spy(new AnalysisTimings());
+    SonarComponents sonarComponents = mock(SonarComponents.class);
+    when(sonarComponents.isSonarLintContext()).thenReturn(true);
+    when(sonarComponents.analysisTimings()).thenReturn(analysisTimings);
+    ContentAwareSubscriptionVisitor visitor = new ContentAwareSubscriptionVisitor("println");
+    VisitorsBridge bridge = new VisitorsBridge(Collections.singletonList(visitor), Collections.emptyList(), sonarComponents);
+    bridge.setCurrentFile(INPUT_FILE);
+    bridge.visitFile(COMPILATION_UNIT_TREE);
+    bridge.visitFile(COMPILATION_UNIT_TREE);
+
+    assertThat(visitor.visitedClasses).isPositive();
+    verify(analysisTimings, times(2)).addScanner(eq(ContentAwareSubscriptionVisitor.class), anyLong());
+    assertThat(analysisTimings.nanosByScanner().get(ContentAwareSubscriptionVisitor.class)).isPositive();
+  }
+
+  @Test
+  public void should_take_class_loader_from_analysis_session_when_set() {
+    AnalysisSession analysisSession = spy(new AnalysisSession());
+    SonarComponents sonarComponents = mock(SonarComponents.class);
+    when(sonarComponents.analysisSession()).thenReturn(analysisSession);
+    List<File> classpath = Collections.emptyList();
+    AnalysisSession.ClasspathState classpathState = analysisSession.classpathState(classpath);
+
+    new VisitorsBridge(Collections.singletonList(new SyntacticScanner()), classpath, sonarComponents).endOfAnalysis();
+    new VisitorsBridge(Collections.singletonList(new SyntacticScanner()), classpath, sonarComponents).endOfAnalysis();
+    verify(analysisSession, times(3)).classpathState(classpath);
+    assertThat(analysisSession.classpathState(classpath)).isSameAs(classpathState);
+  }
+
+  @Test
+  public void should_only_consider_scanners_compatible_with_java_version() {
+    VisitorsBridge bridge = new VisitorsBridge(Arrays.asList(new SyntacticScanner(), new Java8SemanticScanner()), Collections.emptyList(), null);
+    assertThat(bridge.requiresSemantic()).isTrue();
+    bridge.setJavaVersion(new JavaVersionImpl(7));
+    assertThat(bridge.requiresSemantic()).isFalse();
+    bridge.setJavaVersion(new JavaVersionImpl(8));
+    assertThat(bridge.requiresSemantic()).isTrue();
+  }
+
+  @Test
+  public void should_skip_scanners_not_applicable_to_file_content() {
+    ContentAwareScanner applicableScanner = new ContentAwareScanner("println");
+    ContentAwareScanner notApplicableScanner = new ContentAwareScanner("Unknown");
+    ContentAwareSubscriptionVisitor applicableVisitor = new ContentAwareSubscriptionVisitor("println");
+    ContentAwareSubscriptionVisitor notApplicableVisitor = new ContentAwareSubscriptionVisitor("Unknown");
+    VisitorsBridge bridge = new VisitorsBridge(Arrays.asList(applicableScanner, notApplicableScanner, applicableVisitor, notApplicableVisitor), Collections.emptyList(), null);
+    bridge.setCurrentFile(INPUT_FILE);
+    bridge.visitFile(COMPILATION_UNIT_TREE);
+
+    assertThat(applicableScanner.scanned).isTrue();
+    assertThat(notApplicableScanner.scanned).isFalse();
+    assertThat(applicableVisitor.visitedClasses).isEqualTo(1);
+    assertThat(notApplicableVisitor.visitedClasses).isZero();
+
+    // without index, everything is executed
+    bridge.visitFile(null);
+    assertThat(notApplicableScanner.scanned).isTrue();
+  }
+
+  private static class ContentAwareScanner implements JavaFileScanner, FileContentAwareVisitor {
+    private final String identifier;
+    private boolean scanned = false;
+
+    ContentAwareScanner(String identifier) {
+      this.identifier = identifier;
+    }
+
+    @Override
+    public void scanFile(JavaFileScannerContext context) {
+      scanned = true;
+    }
+
+    @Override
+    public boolean isApplicable(FileContentIndex index) {
+      return index.hasIdentifier(identifier);
+    }
+  }
+
+  private static class ContentAwareSubscriptionVisitor extends IssuableSubscriptionVisitor implements FileContentAwareVisitor {
+    private final String identifier;
+    private int visitedClasses = 0;
+
+    ContentAwareSubscriptionVisitor(String identifier) {
+      this.identifier = identifier;
+    }
+
+    @Override
+    public List<Tree.Kind> nodesToVisit() {
+      return Collections.singletonList(Tree.Kind.CLASS);
+    }
+
+    @Override
+    public void visitNode(Tree tree) {
+      visitedClasses++;
+    }
+
+    @Override
+    public boolean isApplicable(FileContentIndex index) {
+      return index.hasIdentifier(identifier);
+    }
+  }
+
+  private static class SyntacticScanner implements JavaFileScanner, SemanticAwareVisitor {
+    private Sema semanticModel;
+
+    @Override
+    public void scanFile(JavaFileScannerContext context) {
+      semanticModel = (Sema) context.getSemanticModel();
+    }
+
+    @Override
+    public boolean requiresSemantic() {
+      return false;
+    }
+  }
+
+  private static class Java8SemanticScanner implements JavaFileScanner, JavaVersionAwareVisitor {
+    @Override
+    public void scanFile(JavaFileScannerContext context) {
+      // do nothing
+    }
+
+    @Override
+    public boolean isCompatibleWithJavaVersion(JavaVersion version) {
+      return version.isJava8Compatible();
+    }
+  }
+
   private static String ruleKeyFromErrorLog(String errorLog) {
     String newString = errorLog.substring("Unable to run check class ".length(), errorLog.indexOf(" on file"));
     if (newString.contains("SymbolicExecutionVisitor")) {
@@ -19,8 +19,10 @@
  */
 package org.sonar.java.se;
 
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 import org.junit.Rule;
@@ -30,6 +32,7 @@ import org.sonar.api.utils.log.LoggerLevel;
 import org.sonar.java.model.Sema;
 import org.sonar.java.se.checks.NullDereferenceCheck;
 import org.sonar.java.se.checks.SECheck;
+import org.sonar.java.se.xproc.BehaviorCache;
 import org.sonar.java.se.xproc.ExceptionalYield;
 import org.sonar.java.se.xproc.MethodBehavior;
 import org.sonar.plugins.java.api.JavaFileScannerContext;
@@ -238,6 +241,36 @@ public class BehaviorCacheTest {
     assertThat(testedPost).containsOnly("foo", "bar", "isBlank");
   }
 
+  @Test
+  public void bytecode_behaviors_are_shared_once_explored() {
+    String signature = "org.apache.commons.lang.StringUtils#isBlank(Ljava/lang/String;)Z";
+    Map<String, MethodBehavior> sharedBytecodeBehaviors = new HashMap<>();
+    BehaviorCache behaviorCache = new BehaviorCache(SETestUtils.CLASSLOADER, true, sharedBytecodeBehaviors);
+    MethodBehavior methodBehavior = behaviorCache.get(signature);
+    assertThat(methodBehavior.isComplete()).isTrue();
+    assertThat(sharedBytecodeBehaviors).isEmpty();
+
+    behaviorCache.cleanup();
+    assertThat(sharedBytecodeBehaviors).containsEntry(signature, methodBehavior);
+
+    // behaviors are not computed again by a cache sharing them
+    BehaviorCache otherBehaviorCache = new BehaviorCache(SETestUtils.CLASSLOADER, true, sharedBytecodeBehaviors);
+    assertThat(otherBehaviorCache.peek(signature)).isSameAs(methodBehavior);
+    assertThat(otherBehaviorCache.get(signature)).isSameAs(methodBehavior);
+  }
+
+  @Test
+  public void bytecode_behaviors_are_not_published_without_shared_map() {
+    String signature = "org.apache.commons.lang.StringUtils#isBlank(Ljava/lang/String;)Z";
+    BehaviorCache behaviorCache = new BehaviorCache(SETestUtils.CLASSLOADER, true);
+    MethodBehavior methodBehavior = behaviorCache.get(signature);
+    behaviorCache.cleanup();
+    assertThat(behaviorCache.peek(signature)).isSameAs(methodBehavior);
+
+    behaviorCache.clearBytecodeBehaviors(false);
+    assertThat(behaviorCache.peek(signature)).isNull();
+  }
+
   private static void verifyNoIssueOnFile(String fileName) {
     createSymbolicExecutionVisitorAndSemantic(fileName, false, nullDereferenceCheck);
     // verify we did not raise any issue, if we did, the context will get them reported.
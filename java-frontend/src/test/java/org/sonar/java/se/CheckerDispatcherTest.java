@@ -20,16 +20,22 @@
 package org.sonar.java.se;
 
 import com.google.common.collect.Lists;
+import com.sonar.sslr.api.RecognitionException;
 import org.junit.Test;
 import org.sonar.java.cfg.CFG;
+import org.sonar.java.model.JavaTree;
 import org.sonar.java.se.checks.NullDereferenceCheck;
 import org.sonar.java.se.checks.SECheck;
 import org.sonar.plugins.java.api.tree.Tree;
 
+import java.io.File;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 public class CheckerDispatcherTest {
 
@@ -37,7 +43,7 @@ public class CheckerDispatcherTest {
   public void test_only_one_execution_of_post_statement_by_check() {
     List<SECheck> checks = Lists.newArrayList(new NullDereferenceCheck(), new CheckTest(), new CheckTest(), new CheckTest());
     CheckerDispatcher checkerDispatcher = new CheckerDispatcher(mockExplodedGraphWalker(), checks);
-    checkerDispatcher.executeCheckPostStatement(mock(Tree.class));
+    checkerDispatcher.executeCheckPostStatement(tree(Tree.Kind.IDENTIFIER));
     for (SECheck check : checks) {
       if(check instanceof CheckTest) {
         assertThat(((CheckTest) check).postStatementExecution).isEqualTo(1);
@@ -45,6 +51,57 @@ public class CheckerDispatcherTest {
     }
   }
 
+  @Test
+  public void checks_are_only_executed_on_the_kinds_of_trees_they_handle() {
+    CheckTest allKinds = new CheckTest();
+    CheckTest identifiers = new CheckTest() {
+      @Override
+      public Set<Tree.Kind> preStatementKinds() {
+        return EnumSet.of(Tree.Kind.IDENTIFIER);
+      }
+
+      @Override
+      public Set<Tree.Kind> postStatementKinds() {
+        return EnumSet.of(Tree.Kind.IDENTIFIER);
+      }
+    };
+    CheckerDispatcher checkerDispatcher = new CheckerDispatcher(mockExplodedGraphWalker(), Lists.newArrayList(allKinds, identifiers));
+
+    checkerDispatcher.executeCheckPreStatement(tree(Tree.Kind.IDENTIFIER));
+    checkerDispatcher.executeCheckPostStatement(tree(Tree.Kind.IDENTIFIER));
+    checkerDispatcher.executeCheckPreStatement(tree(Tree.Kind.METHOD_INVOCATION));
+    checkerDispatcher.executeCheckPostStatement(tree(Tree.Kind.METHOD_INVOCATION));
+
+    assertThat(allKinds.preStatementExecution).isEqualTo(2);
+    assertThat(allKinds.postStatementExecution).isEqualTo(2);
+    assertThat(identifiers.preStatementExecution).isEqualTo(1);
+    assertThat(identifiers.postStatementExecution).isEqualTo(1);
+  }
+
+  @Test
+  public void checks_find_the_same_issues_when_executed_on_every_tree() throws Exception {
+    ExplorationStrategyBenchmark.Result declaredKinds = new ExplorationStrategyBenchmark.Result(ExplorationOptions.DEFAULT);
+    ExplorationStrategyBenchmark.Result allKinds = new ExplorationStrategyBenchmark.Result(ExplorationOptions.DEFAULT.withDispatchByKind(false));
+    for (File file : ExplorationStrategyBenchmark.javaFiles(new File("src/test/files/se"))) {
+      JavaTree.CompilationUnitTreeImpl cut;
+      try {
+        cut = ExplorationStrategyBenchmark.parse(file);
+      } catch (RecognitionException e) {
+        continue;
+      }
+      declaredKinds.add(ExplorationStrategyBenchmark.run(file, cut, declaredKinds.options));
+      allKinds.add(ExplorationStrategyBenchmark.run(file, cut, allKinds.options));
+    }
+    assertThat(declaredKinds.issues).isNotEmpty();
+    assertThat(declaredKinds.issues).isEqualTo(allKinds.issues);
+  }
+
+  private static Tree tree(Tree.Kind kind) {
+    Tree tree = mock(Tree.class);
+    when(tree.kind()).thenReturn(kind);
+    return tree;
+  }
+
   private static ExplodedGraphWalker mockExplodedGraphWalker() {
     ExplodedGraphWalker explodedGraphWalker = mock(ExplodedGraphWalker.class);
     explodedGraphWalker.programPosition = new ProgramPoint(new CFG.Block(1));
@@ -54,8 +111,15 @@ public class CheckerDispatcherTest {
   }
 
   private static class CheckTest extends SECheck {
+    int preStatementExecution = 0;
     int postStatementExecution = 0;
 
+    @Override
+    public ProgramState checkPreStatement(CheckerContext context, Tree syntaxNode) {
+      preStatementExecution++;
+      return context.getState();
+    }
+
     @Override
     public ProgramState checkPostStatement(CheckerContext context, Tree syntaxNode) {
       postStatementExecution++;
@@ -19,6 +19,11 @@
  */
 package org.sonar.java.se;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 import org.junit.Test;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -54,6 +59,26 @@ public class ExplodedGraphTest {
     assertThat(child.parents()).hasSize(2);
   }
 
+  @Test
+  public void test_flows_are_computed_once_per_key() {
+    ExplodedGraph eg = new ExplodedGraph();
+    ExplodedGraph.Node node = eg.node(mockProgramPoint("node"), null);
+    assertThat(node.explodedGraph()).isSameAs(eg);
+    AtomicInteger computations = new AtomicInteger();
+    Supplier<Set<Flow>> flowComputation = () -> {
+      computations.incrementAndGet();
+      return Collections.singleton(Flow.empty());
+    };
+
+    Set<Flow> flows = eg.flow(Arrays.asList(node, "key"), flowComputation);
+    flows.clear();
+    assertThat(eg.flow(Arrays.asList(node, "key"), flowComputation)).containsExactly(Flow.empty());
+    assertThat(computations.get()).isEqualTo(1);
+
+    eg.flow(Arrays.asList(node, "other key"), flowComputation);
+    assertThat(computations.get()).isEqualTo(2);
+  }
+
   private ProgramPoint mockProgramPoint(String toString) {
     ProgramPoint mock = mock(ProgramPoint.class);
     when(mock.toString()).thenReturn(toString);
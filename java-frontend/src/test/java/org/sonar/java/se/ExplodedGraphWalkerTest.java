@@ -20,18 +20,28 @@
 package org.sonar.java.se;
 
 import com.google.common.reflect.ClassPath;
+import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.junit.Test;
+import org.sonar.api.batch.fs.InputFile;
+import org.sonar.java.CancellationToken;
+import org.sonar.java.FileAnalysisWatchdog;
+import org.sonar.java.TestUtils;
 import org.sonar.java.bytecode.loader.SquidClassLoader;
 import org.sonar.java.cfg.CFG;
+import org.sonar.java.model.DefaultJavaFileScannerContext;
+import org.sonar.java.model.JParserTestUtils;
 import org.sonar.java.model.JUtils;
+import org.sonar.java.model.JavaTree;
+import org.sonar.java.model.JavaVersionImpl;
 import org.sonar.java.model.Sema;
 import org.sonar.java.se.checks.BooleanGratuitousExpressionsCheck;
 import org.sonar.java.se.checks.ConditionalUnreachableCodeCheck;
@@ -102,6 +112,58 @@ public class ExplodedGraphWalkerTest {
     assertThat(steps[0]).isGreaterThan(steps[1]);
   }
 
+  @Test
+  public void test_state_subsumption() {
+    File file = new File("src/test/files/se/SeEngineTestStateSubsumption.java");
+    ExplorationStrategyBenchmark.Result withoutSubsumption = ExplorationStrategyBenchmark.run(file, ExplorationOptions.DEFAULT);
+    ExplorationStrategyBenchmark.Result withSubsumption = ExplorationStrategyBenchmark.run(file, ExplorationOptions.DEFAULT.withStateSubsumption(true));
+    assertThat(withoutSubsumption.issues).containsExactlyInAnyOrder(
+      file.getPath() + ":22:NullDereferenceCheck",
+      file.getPath() + ":34:NullDereferenceCheck");
+    assertThat(withSubsumption.issues).isEqualTo(withoutSubsumption.issues);
+    assertThat(withSubsumption.steps).isLessThan(withoutSubsumption.steps);
+  }
+
+  @Test
+  public void subsumed_states_are_linked_to_subsuming_node() {
+    File file = new File("src/test/files/se/SeEngineTestStateSubsumption.java");
+    Set<String> edgesWithoutSubsumption = programPointEdges(file, ExplorationOptions.DEFAULT);
+    Set<String> edgesWithSubsumption = programPointEdges(file, ExplorationOptions.DEFAULT.withStateSubsumption(true));
+    assertThat(edgesWithoutSubsumption).isNotEmpty();
+    assertThat(edgesWithSubsumption).isEqualTo(edgesWithoutSubsumption);
+  }
+
+  private static Set<String> programPointEdges(File file, ExplorationOptions options) {
+    Set<ExplodedGraph> explodedGraphs = Collections.newSetFromMap(new IdentityHashMap<>());
+    SECheck collector = new SECheck() {
+      @Override
+      public ProgramState checkPreStatement(CheckerContext context, Tree syntaxNode) {
+        explodedGraphs.add(context.getNode().explodedGraph());
+        return context.getState();
+      }
+    };
+    InputFile inputFile = TestUtils.inputFile(file);
+    JavaTree.CompilationUnitTreeImpl cut = (JavaTree.CompilationUnitTreeImpl) JParserTestUtils.parse(inputFile.file(), SETestUtils.CLASS_PATH);
+    SymbolicExecutionVisitor visitor = new SymbolicExecutionVisitor(Collections.singletonList(collector), new BehaviorCache(SETestUtils.CLASSLOADER, true), options);
+    visitor.scanFile(new DefaultJavaFileScannerContext(cut, inputFile, cut.sema, null, new JavaVersionImpl(8), true));
+    return explodedGraphs.stream()
+      .flatMap(explodedGraph -> explodedGraph.nodes().keySet().stream())
+      .flatMap(node -> node.parents().stream().map(parent -> parent.programPoint + " -> " + node.programPoint))
+      .collect(Collectors.toSet());
+  }
+
+  @Test
+  public void test_loop_widening() {
+    File file = new File("src/test/files/se/SeEngineTestLoopWidening.java");
+    ExplorationStrategyBenchmark.Result withoutWidening = ExplorationStrategyBenchmark.run(file, ExplorationOptions.DEFAULT);
+    ExplorationStrategyBenchmark.Result withWidening = ExplorationStrategyBenchmark.run(file, ExplorationOptions.DEFAULT.withLoopWidening(true));
+    assertThat(withoutWidening.issues).containsExactlyInAnyOrder(
+      file.getPath() + ":15:NullDereferenceCheck",
+      file.getPath() + ":21:NullDereferenceCheck");
+    assertThat(withWidening.issues).isEqualTo(withoutWidening.issues);
+    assertThat(withWidening.steps).isLessThan(withoutWidening.steps);
+  }
+
   @Test
   public void reproducer() throws Exception {
     JavaCheckVerifier.verify("src/test/files/se/Reproducer.java", seChecks());
@@ -151,10 +213,10 @@ public class ExplodedGraphWalkerTest {
 
               if (getNode) {
                 if (firstExceptionalNode == null) {
-                  firstExceptionalNode = workList.peekFirst();
+                  firstExceptionalNode = workList.peek();
                 }
                 assertThat(workList.size()).as("Should have created a new node in the graph for each of the exceptions").isEqualTo(workListSize + 1);
-                assertThat(workList.peekFirst().programState.peekValue()).as("Exceptional Symbolic Value should stay on the stack").isEqualTo(exceptionSV);
+                assertThat(workList.peek().programState.peekValue()).as("Exceptional Symbolic Value should stay on the stack").isEqualTo(exceptionSV);
                 tested[0]++;
               }
             };
@@ -204,7 +266,7 @@ public class ExplodedGraphWalkerTest {
               assertThat(workList.size()).isEqualTo(workListSize + 1);
               if (shouldEnqueueFalseBranch) {
                 assertThat(programPoints[1]).isNull();
-                programPoints[1] = workList.peekFirst().programPoint;
+                programPoints[1] = workList.peek().programPoint;
               }
             }
           };
@@ -241,6 +303,38 @@ public class ExplodedGraphWalkerTest {
     });
   }
 
+  @Test
+  public void test_cancelled_exploration() throws Exception {
+    List<String> cancelledPhases = new ArrayList<>();
+    List<Exception> interruptionCauses = new ArrayList<>();
+    SECheck check = new SECheck() {
+      @Override
+      public void interruptedExecution(CheckerContext context) {
+        interruptionCauses.add(((CheckerDispatcher) context).interruptionCause());
+      }
+    };
+    JavaCheckVerifier.verifyNoIssue("src/test/files/se/SeEngineTestCase.java", new SymbolicExecutionVisitor(Collections.emptyList(), new BehaviorCache(new SquidClassLoader(new ArrayList<>()))) {
+      @Override
+      public void visitNode(Tree tree) {
+        try (FileAnalysisWatchdog watchdog = new FileAnalysisWatchdog(1)) {
+          CancellationToken token = watchdog.start();
+          while (!token.isCancelled()) {
+            Thread.yield();
+          }
+          MethodTree methodTree = (MethodTree) tree;
+          new ExplodedGraphWalker(Collections.singletonList(check), this.behaviorCache, (Sema) context.getSemanticModel())
+            .visitMethod(methodTree, methodBehaviorForSymbol(methodTree.symbol()));
+          fail("exploration should be cancelled");
+        } catch (CancellationToken.CancelledException exception) {
+          cancelledPhases.add(exception.phase());
+        }
+      }
+    });
+    assertThat(cancelledPhases).isNotEmpty().containsOnly("symbolic execution");
+    // checks are notified of the interruption, to drop their state of the method
+    assertThat(interruptionCauses).hasSameSizeAs(cancelledPhases).allMatch(CancellationToken.CancelledException.class::isInstance);
+  }
+
   @Test
   public void test_max_number_starting_states() throws Exception {
     JavaCheckVerifier.verifyNoIssue("src/test/files/se/MaxStartingStates.java",
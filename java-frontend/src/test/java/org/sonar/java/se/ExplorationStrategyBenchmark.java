@@ -0,0 +1,178 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2020 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java.se;
+
+import com.sonar.sslr.api.RecognitionException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.sonar.api.batch.fs.InputFile;
+import org.sonar.java.TestUtils;
+import org.sonar.java.model.JParserTestUtils;
+import org.sonar.java.model.JavaTree;
+import org.sonar.java.model.JavaVersionImpl;
+import org.sonar.java.model.VisitorsBridgeForTests.TestJavaFileScannerContext;
+import org.sonar.java.se.checks.BooleanGratuitousExpressionsCheck;
+import org.sonar.java.se.checks.ConditionalUnreachableCodeCheck;
+import org.sonar.java.se.checks.DivisionByZeroCheck;
+import org.sonar.java.se.checks.InvariantReturnCheck;
+import org.sonar.java.se.checks.LocksNotUnlockedCheck;
+import org.sonar.java.se.checks.MapComputeIfAbsentOrPresentCheck;
+import org.sonar.java.se.checks.MinMaxRangeCheck;
+import org.sonar.java.se.checks.NoWayOutLoopCheck;
+import org.sonar.java.se.checks.NonNullSetToNullCheck;
+import org.sonar.java.se.checks.NullDereferenceCheck;
+import org.sonar.java.se.checks.ObjectOutputStreamCheck;
+import org.sonar.java.se.checks.OptionalGetBeforeIsPresentCheck;
+import org.sonar.java.se.checks.ParameterNullnessCheck;
+import org.sonar.java.se.checks.RedundantAssignmentsCheck;
+import org.sonar.java.se.checks.SECheck;
+import org.sonar.java.se.checks.StreamConsumedCheck;
+import org.sonar.java.se.checks.StreamNotConsumedCheck;
+import org.sonar.java.se.checks.UnclosedResourcesCheck;
+import org.sonar.java.se.checks.XxeProcessingCheck;
+import org.sonar.java.se.xproc.BehaviorCache;
+import org.sonar.plugins.java.api.JavaFileScanner;
+
+/**
+ * Runs the symbolic execution checks on the SE test sources with each {@link ExplorationStrategy}.
+ * The default strategy is also run with state subsumption, then with loop widening, then with the checks called on every tree.
+ * Reports the number of steps, the time spent in symbolic execution, the step throughput and the number of issues of each run.
+ * To be run from the java-frontend directory once the tests are compiled, optionally with the directory of the sources to analyze.
+ */
+public class ExplorationStrategyBenchmark {
+
+  private static final String DEFAULT_SOURCES = "src/test/files/se";
+
+  public static void main(String[] args) throws IOException {
+    List<File> files = javaFiles(new File(args.length > 0 ? args[0] : DEFAULT_SOURCES));
+    System.out.printf("%d files%n", files.size());
+    for (ExplorationStrategy strategy : ExplorationStrategy.values()) {
+      print(runAll(files, ExplorationOptions.DEFAULT.withStrategy(strategy)));
+    }
+    print(runAll(files, ExplorationOptions.DEFAULT.withStateSubsumption(true)));
+    print(runAll(files, ExplorationOptions.DEFAULT.withLoopWidening(true)));
+    print(runAll(files, ExplorationOptions.DEFAULT.withDispatchByKind(false)));
+  }
+
+  private static Result runAll(List<File> files, ExplorationOptions options) {
+    Result total = new Result(options);
+    for (File file : files) {
+      try {
+        total.add(run(file, options));
+      } catch (RecognitionException e) {
+        // files which can not be parsed are ignored
+      }
+    }
+    return total;
+  }
+
+  private static void print(Result total) {
+    System.out.printf("%-30s steps: %9d   time: %7d ms   throughput: %6.1f steps/ms   issues: %5d%n", total.options, total.steps, total.nanos / 1_000_000,
+      total.steps * 1_000_000d / Math.max(1, total.nanos), total.issues.size());
+  }
+
+  static Result run(File file, ExplorationOptions options) {
+    return run(file, parse(file), options);
+  }
+
+  static JavaTree.CompilationUnitTreeImpl parse(File file) {
+    return (JavaTree.CompilationUnitTreeImpl) JParserTestUtils.parse(file, SETestUtils.CLASS_PATH);
+  }
+
+  static Result run(File file, JavaTree.CompilationUnitTreeImpl cut, ExplorationOptions options) {
+    InputFile inputFile = TestUtils.inputFile(file);
+    TestJavaFileScannerContext context = new TestJavaFileScannerContext(cut, inputFile, cut.sema, null, new JavaVersionImpl(8), true);
+    List<SECheck> checks = checks();
+    List<ExplodedGraphWalker> walkers = new ArrayList<>();
+    SymbolicExecutionVisitor visitor = new SymbolicExecutionVisitor(new ArrayList<JavaFileScanner>(checks), new BehaviorCache(SETestUtils.CLASSLOADER, true), options) {
+      @Override
+      protected ExplodedGraphWalker getWalker() {
+        ExplodedGraphWalker walker = super.getWalker();
+        walkers.add(walker);
+        return walker;
+      }
+    };
+
+    Result result = new Result(options);
+    long start = System.nanoTime();
+    visitor.scanFile(context);
+    result.nanos = System.nanoTime() - start;
+    checks.forEach(check -> check.scanFile(context));
+    result.steps = walkers.stream().mapToLong(walker -> walker.steps).sum();
+    result.issues = context.getIssues().stream()
+      .map(issue -> file.getPath() + ":" + issue.getLine() + ":" + issue.getCheck().getClass().getSimpleName())
+      .collect(Collectors.toSet());
+    return result;
+  }
+
+  static List<SECheck> checks() {
+    return Arrays.asList(
+      new NullDereferenceCheck(),
+      new DivisionByZeroCheck(),
+      new UnclosedResourcesCheck(),
+      new LocksNotUnlockedCheck(),
+      new NonNullSetToNullCheck(),
+      new NoWayOutLoopCheck(),
+      new OptionalGetBeforeIsPresentCheck(),
+      new StreamConsumedCheck(),
+      new RedundantAssignmentsCheck(),
+      new BooleanGratuitousExpressionsCheck(),
+      new ConditionalUnreachableCodeCheck(),
+      new InvariantReturnCheck(),
+      new MapComputeIfAbsentOrPresentCheck(),
+      new MinMaxRangeCheck(),
+      new ObjectOutputStreamCheck(),
+      new ParameterNullnessCheck(),
+      new StreamNotConsumedCheck(),
+      new XxeProcessingCheck());
+  }
+
+  static List<File> javaFiles(File dir) throws IOException {
+    try (Stream<Path> paths = Files.walk(dir.toPath())) {
+      return paths.filter(path -> path.toString().endsWith(".java")).map(Path::toFile).sorted().collect(Collectors.toList());
+    }
+  }
+
+  static class Result {
+    final ExplorationOptions options;
+    long steps;
+    long nanos;
+    Set<String> issues = new HashSet<>();
+
+    Result(ExplorationOptions options) {
+      this.options = options;
+    }
+
+    void add(Result other) {
+      steps += other.steps;
+      nanos += other.nanos;
+      issues.addAll(other.issues);
+    }
+  }
+}
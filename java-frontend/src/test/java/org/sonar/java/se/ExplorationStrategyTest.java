@@ -0,0 +1,166 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2020 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java.se;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.Rule;
+import org.junit.Test;
+import org.sonar.api.utils.log.LogTester;
+import org.sonar.api.utils.log.LoggerLevel;
+import org.sonar.java.cfg.CFG;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ExplorationStrategyTest {
+
+  @Rule
+  public LogTester logTester = new LogTester();
+
+  private final ExplodedGraph explodedGraph = new ExplodedGraph();
+  private final Map<Integer, CFG.IBlock<?>> blocks = new HashMap<>();
+
+  @Test
+  public void depth_first() {
+    WorkList workList = ExplorationStrategy.DEPTH_FIRST.newWorkList();
+    ExplodedGraph.Node a = node(1, 0);
+    ExplodedGraph.Node b = node(2, 0);
+    ExplodedGraph.Node c = node(3, 0);
+    assertThat(workList.isEmpty()).isTrue();
+    assertThat(workList.peek()).isNull();
+    workList.add(a);
+    workList.add(b);
+    workList.add(c);
+    assertThat(workList.size()).isEqualTo(3);
+    assertThat(workList.peek()).isSameAs(c);
+    assertThat(workList.remove()).isSameAs(c);
+    assertThat(workList.remove()).isSameAs(b);
+    assertThat(workList.remove()).isSameAs(a);
+    assertThat(workList.isEmpty()).isTrue();
+  }
+
+  @Test
+  public void breadth_first() {
+    WorkList workList = ExplorationStrategy.BREADTH_FIRST.newWorkList();
+    ExplodedGraph.Node a = node(1, 0);
+    ExplodedGraph.Node b = node(2, 0);
+    workList.add(a);
+    workList.add(b);
+    assertThat(workList.peek()).isSameAs(a);
+    assertThat(workList.remove()).isSameAs(a);
+    assertThat(workList.remove()).isSameAs(b);
+    assertThat(workList.isEmpty()).isTrue();
+  }
+
+  @Test
+  public void block_order() {
+    WorkList workList = ExplorationStrategy.BLOCK_ORDER.newWorkList();
+    ExplodedGraph.Node exit = node(0, 0);
+    ExplodedGraph.Node entry = node(5, 0);
+    ExplodedGraph.Node middleEnd = node(3, 1);
+    ExplodedGraph.Node middleStart = node(3, 0);
+    workList.add(exit);
+    workList.add(middleEnd);
+    workList.add(entry);
+    workList.add(middleStart);
+    assertThat(workList.peek()).isSameAs(entry);
+    assertThat(workList.remove()).isSameAs(entry);
+    assertThat(workList.remove()).isSameAs(middleStart);
+    assertThat(workList.remove()).isSameAs(middleEnd);
+    assertThat(workList.remove()).isSameAs(exit);
+    assertThat(workList.peek()).isNull();
+  }
+
+  @Test
+  public void unvisited_blocks_first() {
+    WorkList workList = ExplorationStrategy.UNVISITED_BLOCKS_FIRST.newWorkList();
+    workList.add(node(1, 0));
+    assertThat(workList.remove()).isEqualTo(node(1, 0));
+
+    // block 1 has already been entered once: block 2 comes first, even if enqueued before
+    ExplodedGraph.Node unvisited = node(2, 0);
+    ExplodedGraph.Node visited = node(1, 0, 1);
+    workList.add(unvisited);
+    workList.add(visited);
+    assertThat(workList.peek()).isSameAs(unvisited);
+    assertThat(workList.remove()).isSameAs(unvisited);
+
+    // last enqueued first between unvisited blocks, the other node of block 3 being postponed once block 3 is entered
+    ExplodedGraph.Node other = node(4, 0);
+    ExplodedGraph.Node first = node(3, 0);
+    ExplodedGraph.Node second = node(3, 0, 1);
+    workList.add(other);
+    workList.add(first);
+    workList.add(second);
+    assertThat(workList.remove()).isSameAs(second);
+    assertThat(workList.peek()).isSameAs(other);
+    assertThat(workList.remove()).isSameAs(other);
+    assertThat(workList.size()).isEqualTo(2);
+    assertThat(workList.remove()).isSameAs(first);
+    assertThat(workList.remove()).isSameAs(visited);
+    assertThat(workList.isEmpty()).isTrue();
+  }
+
+  @Test
+  public void from_name() {
+    assertThat(ExplorationStrategy.fromName(null)).isEqualTo(ExplorationStrategy.DEPTH_FIRST);
+    assertThat(ExplorationStrategy.fromName("breadth_first")).isEqualTo(ExplorationStrategy.BREADTH_FIRST);
+    assertThat(ExplorationStrategy.fromName(" BLOCK_ORDER ")).isEqualTo(ExplorationStrategy.BLOCK_ORDER);
+    assertThat(logTester.logs(LoggerLevel.WARN)).isEmpty();
+    assertThat(ExplorationStrategy.fromName("random")).isEqualTo(ExplorationStrategy.DEPTH_FIRST);
+    assertThat(logTester.logs(LoggerLevel.WARN)).containsExactly("Unknown symbolic execution exploration strategy 'random', using DEPTH_FIRST.");
+  }
+
+  @Test
+  public void all_strategies_find_the_same_issues_when_methods_are_fully_explored() {
+    File file = new File("src/test/files/se/NullDereferenceCheck.java");
+    ExplorationStrategyBenchmark.Result depthFirst = ExplorationStrategyBenchmark.run(file, ExplorationOptions.DEFAULT.withStrategy(ExplorationStrategy.DEPTH_FIRST));
+    assertThat(depthFirst.issues).isNotEmpty();
+    for (ExplorationStrategy strategy : ExplorationStrategy.values()) {
+      ExplorationStrategyBenchmark.Result result = ExplorationStrategyBenchmark.run(file, ExplorationOptions.DEFAULT.withStrategy(strategy));
+      assertThat(result.issues).as(strategy.name()).isEqualTo(depthFirst.issues);
+      assertThat(result.steps).as(strategy.name()).isPositive();
+    }
+  }
+
+  private ExplodedGraph.Node node(int blockId, int index) {
+    return node(blockId, index, 0);
+  }
+
+  private ExplodedGraph.Node node(int blockId, int index, int visits) {
+    CFG.IBlock<?> block = blocks.computeIfAbsent(blockId, id -> {
+      CFG.IBlock<?> mock = mock(CFG.IBlock.class);
+      when(mock.id()).thenReturn(id);
+      when(mock.elements()).thenReturn((List) Collections.nCopies(2, null));
+      return mock;
+    });
+    ProgramPoint programPoint = new ProgramPoint(block);
+    for (int i = 0; i < index; i++) {
+      programPoint = programPoint.next();
+    }
+    ProgramState programState = visits == 0 ? ProgramState.EMPTY_STATE : ProgramState.EMPTY_STATE.visitedPoint(programPoint, visits);
+    return explodedGraph.node(programPoint, programState);
+  }
+}
@@ -19,6 +19,7 @@
  */
 package org.sonar.java.se;
 
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterables;
 import java.util.List;
@@ -26,6 +27,7 @@ import java.util.Set;
 import org.assertj.core.api.Assertions;
 import org.junit.Test;
 import org.sonar.java.se.ProgramState.Pop;
+import org.sonar.java.se.checks.DivisionByZeroCheck;
 import org.sonar.java.se.checks.UnclosedResourcesCheck;
 import org.sonar.java.se.constraint.BooleanConstraint;
 import org.sonar.java.se.constraint.Constraint;
@@ -246,4 +248,32 @@ public class ProgramStateTest {
     assertThat(ps3).isSameAs(ps2);
 
   }
+
+  @Test
+  public void test_reset_loop_variables() throws Exception {
+    Symbol.VariableSymbol symbol = variable("a");
+    Symbol.VariableSymbol other = variable("b");
+    SymbolicValue sv = new SymbolicValue();
+    SymbolicValue otherSV = new SymbolicValue();
+    SymbolicValue widenedSV = new SymbolicValue();
+    RelationalSymbolicValue relSV = new RelationalSymbolicValue(RelationalSymbolicValue.Kind.LESS_THAN);
+    SymbolicValueTestUtil.computedFrom(relSV, widenedSV, otherSV);
+    ProgramState ps = ProgramState.EMPTY_STATE
+      .put(symbol, sv)
+      .put(other, otherSV)
+      .addConstraint(sv, ObjectConstraint.NOT_NULL)
+      .addConstraint(sv, DivisionByZeroCheck.ZeroConstraint.ZERO)
+      .addConstraint(widenedSV, ObjectConstraint.NULL)
+      .addConstraint(relSV, BooleanConstraint.TRUE);
+
+    ProgramState widened = ps.resetLoopVariables(ImmutableMap.of(symbol, widenedSV));
+    assertThat(widened.getValue(symbol)).isSameAs(widenedSV);
+    assertThat(widened.getValue(other)).isSameAs(otherSV);
+    assertThat(widened.getConstraint(widenedSV, ObjectConstraint.class)).isEqualTo(ObjectConstraint.NOT_NULL);
+    assertThat(widened.getConstraint(widenedSV, DivisionByZeroCheck.ZeroConstraint.class)).isNull();
+    assertThat(widened.getConstraints(relSV)).isNull();
+
+    assertThat(widened.resetLoopVariables(ImmutableMap.of(symbol, widenedSV))).isSameAs(widened);
+    assertThat(ps.resetLoopVariables(ImmutableMap.of(variable("c"), new SymbolicValue()))).isSameAs(ps);
+  }
 }
@@ -0,0 +1,108 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2020 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java.se;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import org.junit.Test;
+import org.sonar.api.batch.fs.InputFile;
+import org.sonar.java.AnalyzerMessage;
+import org.sonar.java.TestUtils;
+import org.sonar.java.model.JParserTestUtils;
+import org.sonar.java.model.JavaTree;
+import org.sonar.java.model.JavaVersionImpl;
+import org.sonar.java.model.VisitorsBridgeForTests.TestJavaFileScannerContext;
+import org.sonar.java.se.checks.SECheck;
+import org.sonar.java.se.xproc.BehaviorCache;
+import org.sonar.plugins.java.api.JavaFileScanner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SymbolicExecutionConcurrencyTest {
+
+  private static final int THREADS = 4;
+  private static final int ROUNDS = 2;
+  private static final List<String> FILES = Arrays.asList(
+    "src/test/files/se/NullDereferenceCheck.java",
+    "src/test/files/se/UnclosedResourcesCheck.java",
+    "src/test/files/se/DivisionByZeroCheck.java",
+    "src/test/files/se/LocksNotUnlockedCheck.java",
+    "src/test/files/se/NonNullSetToNullCheck.java",
+    "src/test/files/se/OptionalGetBeforeIsPresentCheck.java",
+    "src/test/files/se/StreamConsumedCheck.java",
+    "src/test/files/se/XProcFlowMessages.java");
+
+  @Test
+  public void concurrent_analyses_report_the_same_issues_as_sequential_ones() throws Exception {
+    Map<String, List<String>> expectedIssues = new HashMap<>();
+    for (String file : FILES) {
+      expectedIssues.put(file, issues(file));
+    }
+    assertThat(expectedIssues.values()).allMatch(issues -> !issues.isEmpty());
+
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    try {
+      Map<Future<List<String>>, String> analyses = new HashMap<>();
+      for (int round = 0; round < ROUNDS; round++) {
+        for (String file : FILES) {
+          analyses.put(executor.submit(() -> issues(file)), file);
+        }
+      }
+      for (Map.Entry<Future<List<String>>, String> analysis : analyses.entrySet()) {
+        assertThat(analysis.getKey().get()).isEqualTo(expectedIssues.get(analysis.getValue()));
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  /**
+   * Analyzes the file with its own checks, visitor and behavior cache, as each analysis of a SonarLint session or file worker would do.
+   */
+  private static List<String> issues(String path) {
+    InputFile inputFile = TestUtils.inputFile(new File(path));
+    JavaTree.CompilationUnitTreeImpl cut = (JavaTree.CompilationUnitTreeImpl) JParserTestUtils.parse(inputFile.file(), SETestUtils.CLASS_PATH);
+    TestJavaFileScannerContext context = new TestJavaFileScannerContext(cut, inputFile, cut.sema, null, new JavaVersionImpl(8), true);
+    List<SECheck> checks = ExplorationStrategyBenchmark.checks();
+    SymbolicExecutionVisitor visitor = new SymbolicExecutionVisitor(new ArrayList<JavaFileScanner>(checks), new BehaviorCache(SETestUtils.CLASSLOADER, true));
+    visitor.scanFile(context);
+    checks.forEach(check -> check.scanFile(context));
+    return context.getIssues().stream()
+      .map(SymbolicExecutionConcurrencyTest::toString)
+      .sorted()
+      .collect(Collectors.toList());
+  }
+
+  private static String toString(AnalyzerMessage issue) {
+    String flows = issue.flows.stream()
+      .map(flow -> flow.stream().map(location -> location.getLine() + ":" + location.getMessage()).collect(Collectors.joining(", ", "[", "]")))
+      .sorted()
+      .collect(Collectors.joining());
+    return issue.getLine() + " " + issue.getCheck().getClass().getSimpleName() + " " + issue.getMessage() + " " + flows;
+  }
+}
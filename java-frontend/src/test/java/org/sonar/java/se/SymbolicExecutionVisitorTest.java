@@ -0,0 +1,91 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2020 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java.se;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Test;
+import org.sonar.api.batch.fs.InputFile;
+import org.sonar.java.HeapPressureMonitor;
+import org.sonar.java.TestUtils;
+import org.sonar.java.model.DefaultJavaFileScannerContext;
+import org.sonar.java.model.JParserTestUtils;
+import org.sonar.java.model.JavaTree;
+import org.sonar.java.model.JavaVersionImpl;
+import org.sonar.java.se.xproc.BehaviorCache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+public class SymbolicExecutionVisitorTest {
+
+  @Test
+  public void exploration_should_be_skipped_under_heap_pressure() {
+    HeapPressureMonitor heapPressureMonitor = new HeapPressureMonitor(() -> 0.95);
+    TestSymbolicExecutionVisitor sev = new TestSymbolicExecutionVisitor(heapPressureMonitor);
+    scan(sev, "src/test/resources/se/MethodBehavior.java");
+
+    assertThat(sev.walkers).isEmpty();
+    assertThat(sev.behaviorCache.behaviors).isEmpty();
+    assertThat(heapPressureMonitor.degradations()).containsOnly(entry(HeapPressureMonitor.Level.SKIP_SE, 1));
+  }
+
+  @Test
+  public void budgets_should_be_lowered_under_heap_pressure() {
+    HeapPressureMonitor heapPressureMonitor = new HeapPressureMonitor(() -> 0.85);
+    TestSymbolicExecutionVisitor sev = new TestSymbolicExecutionVisitor(heapPressureMonitor);
+    scan(sev, "src/test/resources/se/MethodBehavior.java");
+
+    assertThat(sev.walkers).isNotEmpty().allMatch(walker -> walker.maxSteps() == ExplodedGraphWalker.REDUCED_MAX_STEPS);
+    assertThat(heapPressureMonitor.degradations()).containsOnlyKeys(HeapPressureMonitor.Level.REDUCE_SE_BUDGETS);
+  }
+
+  @Test
+  public void budgets_should_not_be_lowered_without_heap_pressure() {
+    TestSymbolicExecutionVisitor sev = new TestSymbolicExecutionVisitor(new HeapPressureMonitor(() -> 0.1));
+    scan(sev, "src/test/resources/se/MethodBehavior.java");
+
+    assertThat(sev.walkers).isNotEmpty().allMatch(walker -> walker.maxSteps() > ExplodedGraphWalker.REDUCED_MAX_STEPS);
+    assertThat(sev.behaviorCache.behaviors).isNotEmpty();
+  }
+
+  private static void scan(SymbolicExecutionVisitor sev, String fileName) {
+    InputFile inputFile = TestUtils.inputFile(fileName);
+    JavaTree.CompilationUnitTreeImpl cut = (JavaTree.CompilationUnitTreeImpl) JParserTestUtils.parse(inputFile.file(), SETestUtils.CLASS_PATH);
+    sev.scanFile(new DefaultJavaFileScannerContext(cut, inputFile, cut.sema, null, new JavaVersionImpl(8), true));
+  }
+
+  private static class TestSymbolicExecutionVisitor extends SymbolicExecutionVisitor {
+
+    private final List<ExplodedGraphWalker> walkers = new ArrayList<>();
+
+    TestSymbolicExecutionVisitor(HeapPressureMonitor heapPressureMonitor) {
+      super(Collections.emptyList(), new BehaviorCache(SETestUtils.CLASSLOADER), ExplorationOptions.DEFAULT, heapPressureMonitor);
+    }
+
+    @Override
+    protected ExplodedGraphWalker getWalker() {
+      ExplodedGraphWalker walker = super.getWalker();
+      walkers.add(walker);
+      return walker;
+    }
+  }
+}
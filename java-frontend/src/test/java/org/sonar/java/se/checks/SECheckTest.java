@@ -0,0 +1,107 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2020 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java.se.checks;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.sonar.java.model.JParserTestUtils;
+import org.sonar.java.se.Flow;
+import org.sonar.java.se.SETestUtils;
+import org.sonar.plugins.java.api.JavaFileScannerContext;
+import org.sonar.plugins.java.api.tree.AssignmentExpressionTree;
+import org.sonar.plugins.java.api.tree.ClassTree;
+import org.sonar.plugins.java.api.tree.CompilationUnitTree;
+import org.sonar.plugins.java.api.tree.MethodInvocationTree;
+import org.sonar.plugins.java.api.tree.MethodTree;
+import org.sonar.plugins.java.api.tree.Tree;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class SECheckTest {
+
+  private static final Flow FLOW = Flow.of(new JavaFileScannerContext.Location("flow", mock(Tree.class)));
+
+  @Test
+  public void deferred_flows_are_computed_once_when_issues_are_reported() {
+    CompilationUnitTree cut = JParserTestUtils.parse("class A {\n  void f() {}\n  void g() {} // NOSONAR\n}");
+    List<Tree> methods = ((ClassTree) cut.types().get(0)).members();
+    Tree f = ((MethodTree) methods.get(0)).simpleName();
+    Tree g = ((MethodTree) methods.get(1)).simpleName();
+    AtomicInteger computations = new AtomicInteger();
+    Supplier<Set<Flow>> flows = () -> {
+      computations.incrementAndGet();
+      return Collections.singleton(FLOW);
+    };
+
+    SECheck check = new SECheck() {
+    };
+    check.reportIssue(f, "issue on f", flows);
+    check.reportIssue(f, "issue on f", Collections.emptySet());
+    check.reportIssue(g, "issue on g", flows);
+    assertThat(computations.get()).isZero();
+
+    JavaFileScannerContext context = mock(JavaFileScannerContext.class);
+    when(context.getTree()).thenReturn(cut);
+    check.scanFile(context);
+
+    // flows of issue on NOSONAR line are not computed
+    assertThat(computations.get()).isEqualTo(1);
+    ArgumentCaptor<Set<List<JavaFileScannerContext.Location>>> reportedFlows = ArgumentCaptor.forClass(Set.class);
+    verify(context).reportIssueWithFlow(eq(check), eq(f), eq("issue on f"), reportedFlows.capture(), isNull());
+    assertThat(reportedFlows.getValue()).containsExactly(FLOW.elements());
+    verify(context).reportIssueWithFlow(check, g, "issue on g", Collections.emptySet(), null);
+  }
+
+  @Test
+  public void deferred_flows_are_computed_once_methods_are_explored() {
+    NullDereferenceCheck check = new NullDereferenceCheck();
+    SETestUtils.createSymbolicExecutionVisitor("src/test/files/se/NullDereferenceCheck.java", check);
+    assertThat(check.issues).isNotEmpty();
+    assertThat(check.hasDeferredFlows()).isFalse();
+    assertThat(check.issues).filteredOn(seIssue -> !seIssue.getFlows().isEmpty()).isNotEmpty();
+  }
+
+  @Test
+  public void checks_are_called_on_all_kinds_of_trees_by_default() {
+    SECheck check = new SECheck() {
+    };
+    assertThat(check.preStatementKinds()).containsExactlyInAnyOrder(Tree.Kind.values());
+    assertThat(check.postStatementKinds()).containsExactlyInAnyOrder(Tree.Kind.values());
+  }
+
+  @Test
+  public void kinds_of_tree_interfaces() {
+    assertThat(SECheck.kindsOf(MethodInvocationTree.class)).containsExactly(Tree.Kind.METHOD_INVOCATION);
+    assertThat(SECheck.kindsOf(MethodInvocationTree.class, AssignmentExpressionTree.class))
+      .contains(Tree.Kind.METHOD_INVOCATION, Tree.Kind.ASSIGNMENT, Tree.Kind.PLUS_ASSIGNMENT)
+      .doesNotContain(Tree.Kind.PLUS, Tree.Kind.IDENTIFIER);
+    assertThat(SECheck.kindsOf()).isEmpty();
+  }
+}
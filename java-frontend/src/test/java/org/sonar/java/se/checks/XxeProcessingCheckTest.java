@@ -19,9 +19,14 @@
  */
 package org.sonar.java.se.checks;
 
+import java.util.Collections;
 import org.junit.Test;
+import org.sonar.java.model.JParser;
+import org.sonar.java.model.JavaTree;
 import org.sonar.java.se.JavaCheckVerifier;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
 public class XxeProcessingCheckTest {
 
   @Test
@@ -64,4 +69,21 @@ public class XxeProcessingCheckTest {
     JavaCheckVerifier.verify("src/test/files/se/XxeProcessingCheck_SaxReader.java", new XxeProcessingCheck());
   }
 
+  @Test
+  public void applicable_to_files_using_factories_from_other_files() {
+    // factory created by a helper of another file, only referenced through its type
+    assertThat(isApplicable("import javax.xml.parsers.DocumentBuilderFactory;\n"
+      + "class A { void f(DocumentBuilderFactory factory) throws Exception { factory.newDocumentBuilder(); } }")).isTrue();
+    // factory type inferred from the helper
+    assertThat(isApplicable("class A { void f() throws Exception { var factory = Helper.factory(); factory.newDocumentBuilder(); } }")).isTrue();
+    assertThat(isApplicable("class A { void f() throws Exception { var factory = Helper.factory(); factory.setFeature(\"feature\", true); } }")).isTrue();
+    assertThat(isApplicable("class A { void f(org.dom4j.Document d) { } }")).isTrue();
+    assertThat(isApplicable("import java.util.List;\nclass A { void f(List<String> l) { l.add(\"xml\"); } }")).isFalse();
+  }
+
+  private static boolean isApplicable(String source) {
+    JavaTree.CompilationUnitTreeImpl tree = (JavaTree.CompilationUnitTreeImpl) JParser.parse("11", "A", source, Collections.emptyList());
+    return new XxeProcessingCheck().isApplicable(tree.contentIndex);
+  }
+
 }
@@ -126,4 +126,21 @@ public class ConstraintsByDomainTest {
     assertThat(c.hasConstraint(ObjectConstraint.NULL)).isTrue();
     assertThat(c.hasConstraint(ObjectConstraint.NOT_NULL)).isFalse();
   }
+
+  @Test
+  public void test_equals_does_not_depend_on_updates_order() {
+    ConstraintsByDomain c1 = ConstraintsByDomain.empty().put(ObjectConstraint.NOT_NULL).put(BooleanConstraint.TRUE);
+    ConstraintsByDomain c2 = ConstraintsByDomain.empty().put(BooleanConstraint.TRUE).put(ObjectConstraint.NOT_NULL);
+    assertThat(c1).isEqualTo(c2);
+    assertThat(c1.hashCode()).isEqualTo(c2.hashCode());
+
+    ConstraintsByDomain withoutBoolean = c1.remove(BooleanConstraint.class);
+    ConstraintsByDomain withoutObject = c1.remove(ObjectConstraint.class);
+    assertThat(withoutBoolean).isEqualTo(ConstraintsByDomain.empty().put(ObjectConstraint.NOT_NULL));
+    assertThat(withoutObject).isEqualTo(ConstraintsByDomain.empty().put(BooleanConstraint.TRUE));
+    assertThat(withoutBoolean.remove(ObjectConstraint.class)).isSameAs(ConstraintsByDomain.empty());
+    assertThat(withoutObject.remove(BooleanConstraint.class)).isSameAs(ConstraintsByDomain.empty());
+    assertThat(withoutObject.get(ObjectConstraint.class)).isNull();
+    assertThat(withoutObject.get(BooleanConstraint.class)).isEqualTo(BooleanConstraint.TRUE);
+  }
 }
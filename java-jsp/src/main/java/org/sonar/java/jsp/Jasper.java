@@ -19,17 +19,24 @@
  */
 package org.sonar.java.jsp;
 
+import com.google.common.hash.Hashing;
 import java.io.File;
+import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
+import javax.annotation.Nullable;
 import org.apache.jasper.JspC;
+import org.apache.jasper.compiler.JspUtil;
 import org.sonar.api.batch.fs.FileSystem;
 import org.sonar.api.batch.fs.InputFile;
 import org.sonar.api.batch.sensor.SensorContext;
@@ -46,41 +53,81 @@ public class Jasper {
 
   private static final Logger LOG = Loggers.get(Jasper.class);
 
+  private static final String GENERATED_PACKAGE_DIR = "org/apache/jsp";
+
   public List<InputFile> generateFiles(SensorContext context, List<File> javaClasspath) {
     try {
-      List<Path> jspFiles = jspFiles(context.fileSystem());
+      List<InputFile> jspFiles = jspFiles(context.fileSystem());
       LOG.debug("Found {} JSP files.", jspFiles.size());
+      if (jspFiles.isEmpty()) {
+        return Collections.emptyList();
+      }
       Path outputDir = outputDir(context);
-      Jasper.compileJspFiles(jspFiles, javaClasspath, outputDir);
-      try (Stream<Path> fileStream = Files.walk(outputDir)) {
-        List<InputFile> generatedFiles = fileStream
-          .filter(p -> p.toString().endsWith(".java"))
-          .map(path -> new GeneratedFile(path, findSource(path, context.fileSystem())))
-          .collect(Collectors.toList());
-        LOG.debug("Generated {} Java files.", generatedFiles.size());
-        return generatedFiles;
+      Map<Path, List<InputFile>> jspFilesByUriRoot = new LinkedHashMap<>();
+      for (InputFile jspFile : jspFiles) {
+        jspFilesByUriRoot.computeIfAbsent(uriRoot(jspFile.path()), root -> new ArrayList<>()).add(jspFile);
+      }
+      Map<Path, InputFile> jspFilesByGeneratedFile = new HashMap<>();
+      List<InputFile> generatedFiles = new ArrayList<>();
+      for (Map.Entry<Path, List<InputFile>> entry : jspFilesByUriRoot.entrySet()) {
+        Path webappOutputDir = webappOutputDir(outputDir, entry.getKey());
+        generateWebappFiles(entry.getValue(), entry.getKey(), webappOutputDir, javaClasspath, jspFilesByGeneratedFile);
+        try (Stream<Path> fileStream = Files.walk(webappOutputDir)) {
+          fileStream
+            .filter(p -> p.toString().endsWith(".java"))
+            .map(path -> new GeneratedFile(path, findSource(path, jspFilesByGeneratedFile, context.fileSystem())))
+            .forEach(generatedFiles::add);
+        }
       }
+      LOG.debug("Generated {} Java files.", generatedFiles.size());
+      return generatedFiles;
     } catch (Exception e) {
       LOG.warn("Failed to transpile JSP files.", e);
       return Collections.emptyList();
     }
   }
 
-  private static List<Path> jspFiles(FileSystem fs) {
+  /**
+   * Transpiles the pages of one web application, reusing the Java files generated by a previous analysis for the pages which did not change.
+   */
+  private static void generateWebappFiles(List<InputFile> jspFiles, Path uriRoot, Path webappOutputDir, List<File> javaClasspath,
+    Map<Path, InputFile> jspFilesByGeneratedFile) throws IOException {
+    Files.createDirectories(webappOutputDir);
+    JspCache cache = JspCache.load(webappOutputDir, uriRoot, javaClasspath);
+    Map<Path, Path> outdatedJspFilesByGeneratedFile = new LinkedHashMap<>();
+    for (InputFile jspFile : jspFiles) {
+      Path jspPath = jspFile.path().toRealPath();
+      Path generatedFile = generatedFile(webappOutputDir, uriRoot, jspPath);
+      jspFilesByGeneratedFile.put(generatedFile, jspFile);
+      if (!cache.isUpToDate(jspPath, generatedFile)) {
+        // JspC skips pages whose generated file is as recent as the page, ignoring changes of included files
+        Files.deleteIfExists(generatedFile);
+        outdatedJspFilesByGeneratedFile.put(generatedFile, jspPath);
+      }
+    }
+    LOG.debug("Transpiling {} JSP files, {} are up to date.", outdatedJspFilesByGeneratedFile.size(),
+      jspFiles.size() - outdatedJspFilesByGeneratedFile.size());
+    Jasper.compileJspFiles(new ArrayList<>(outdatedJspFilesByGeneratedFile.values()), javaClasspath, uriRoot, webappOutputDir);
+    outdatedJspFilesByGeneratedFile.forEach((generatedFile, jspFile) -> cache.update(jspFile, generatedFile));
+    cache.save();
+  }
+
+  private static List<InputFile> jspFiles(FileSystem fs) {
     Iterable<InputFile> inputFiles = fs.inputFiles(fs.predicates().hasLanguage("jsp"));
     return StreamSupport.stream(inputFiles.spliterator(), false)
-      .map(InputFile::path)
       .collect(Collectors.toList());
   }
 
-  private static void compileJspFiles(List<Path> jspFiles, List<File> javaClasspath, Path outputDir) {
+  private static void compileJspFiles(List<Path> jspFiles, List<File> javaClasspath, Path uriRoot, Path outputDir) {
     if (jspFiles.isEmpty()) {
       return;
     }
     String classpath = javaClasspath.stream().map(File::getAbsolutePath).collect(Collectors.joining(File.pathSeparator));
     List<String> args = new ArrayList<>(asList("-v", "-failFast",
       "-cache", "false",
+      "-threadCount", String.valueOf(Runtime.getRuntime().availableProcessors()),
       "-javaEncoding", StandardCharsets.UTF_8.toString(),
+      "-uriroot", uriRoot.toString(),
       "-d", outputDir.toString(),
       "-classpath", classpath));
     jspFiles.stream().map(Path::toString).forEach(args::add);
@@ -94,10 +141,49 @@ public class Jasper {
     }
   }
 
-  private static InputFile findSource(Path path, FileSystem fs) {
+  /**
+   * Same lookup as JspC, which uses the first directory containing a "WEB-INF" directory among the ancestors of a page.
+   */
+  private static Path uriRoot(Path jspFile) throws IOException {
+    for (Path dir = jspFile.toRealPath(); dir != null; dir = dir.getParent()) {
+      if (Files.isDirectory(dir.resolve("WEB-INF"))) {
+        return dir;
+      }
+    }
+    throw new AnalysisException("Unable to find the root directory of the web application containing " + jspFile);
+  }
+
+  /**
+   * Pages of distinct web applications can have the same path relative to their root, each application gets its own output directory.
+   */
+  private static Path webappOutputDir(Path outputDir, Path uriRoot) {
+    return outputDir.resolve(Hashing.sha256().hashString(uriRoot.toString(), StandardCharsets.UTF_8).toString().substring(0, 16));
+  }
+
+  /**
+   * Same naming as Jasper: the generated class is in a package derived from the directory of the page, relative to the root of the web
+   * application.
+   */
+  private static Path generatedFile(Path outputDir, Path uriRoot, Path jspFile) {
+    Path relativePath = uriRoot.relativize(jspFile);
+    Path packageDir = outputDir.resolve(GENERATED_PACKAGE_DIR);
+    Path parent = relativePath.getParent();
+    if (parent != null) {
+      String derivedPackage = JspUtil.makeJavaPackage(parent.toString().replace(File.separatorChar, '/'));
+      packageDir = packageDir.resolve(derivedPackage.replace('.', File.separatorChar));
+    }
+    return packageDir.resolve(JspUtil.makeJavaIdentifier(relativePath.getFileName().toString()) + ".java");
+  }
+
+  @Nullable
+  private static InputFile findSource(Path path, Map<Path, InputFile> jspFilesByGeneratedFile, FileSystem fs) {
+    InputFile jspFile = jspFilesByGeneratedFile.get(path);
+    if (jspFile != null) {
+      return jspFile;
+    }
+    // tag files are not part of the analyzed JSP files
     String javaFilename = path.getFileName().toString();
     String jspFilename = javaFilename.substring(0, javaFilename.length() - "_jsp.java".length()) + ".jsp";
-    // TODO we need to use source map to reliably find JSP file from which java file was generated
     return fs.inputFile(fs.predicates().hasFilename(jspFilename));
   }
 
@@ -105,5 +191,4 @@ public class Jasper {
     return sensorContext.fileSystem().workDir().toPath().resolve("jsp");
   }
 
-
 }
@@ -0,0 +1,210 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2020 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java.jsp;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import javax.annotation.Nullable;
+import org.sonar.api.utils.log.Logger;
+import org.sonar.api.utils.log.Loggers;
+import org.sonar.java.bytecode.ClasspathFingerprints;
+
+/**
+ * Java files generated for JSP pages by a previous analysis sharing the same working directory. A generated file is reused as long as
+ * the content of its page, the files the page depends on (included pages, tag libraries) and the classpath did not change.
+ */
+class JspCache {
+
+  private static final Logger LOG = Loggers.get(JspCache.class);
+
+  private static final String CACHE_FILENAME = "jsp-cache.properties";
+  private static final String SEPARATOR = File.pathSeparator;
+  private static final Pattern DEPENDANT = Pattern.compile("_jspx_dependants\\.put\\(\"([^\"]*)\"");
+
+  private final Path outputDir;
+  private final Path uriRoot;
+  private final String classpathFingerprint;
+  private final Properties previousEntries;
+  private final Properties entries = new Properties();
+
+  private JspCache(Path outputDir, Path uriRoot, String classpathFingerprint, Properties previousEntries) {
+    this.outputDir = outputDir;
+    this.uriRoot = uriRoot;
+    this.classpathFingerprint = classpathFingerprint;
+    this.previousEntries = previousEntries;
+  }
+
+  static JspCache load(Path outputDir, Path uriRoot, List<File> javaClasspath) {
+    Hasher hasher = Hashing.sha256().newHasher();
+    javaClasspath.forEach(file -> hasher.putString(fingerprint(file.toPath()), StandardCharsets.UTF_8));
+    Properties previousEntries = new Properties();
+    Path cacheFile = outputDir.resolve(CACHE_FILENAME);
+    if (Files.isRegularFile(cacheFile)) {
+      try (Reader reader = Files.newBufferedReader(cacheFile, StandardCharsets.UTF_8)) {
+        previousEntries.load(reader);
+      } catch (IOException | IllegalArgumentException e) {
+        LOG.debug("Unable to read JSP cache, all JSP files will be transpiled.", e);
+        previousEntries.clear();
+      }
+    }
+    return new JspCache(outputDir, uriRoot, hasher.hash().toString(), previousEntries);
+  }
+
+  /**
+   * @return true when the Java file previously generated for the page can be reused, in which case it is kept in the cache
+   */
+  boolean isUpToDate(Path jspFile, Path generatedFile) {
+    String key = key(generatedFile);
+    String previousEntry = previousEntries.getProperty(key);
+    if (previousEntry == null || !Files.isRegularFile(generatedFile)) {
+      return false;
+    }
+    String[] hashAndDependencies = previousEntry.split(SEPARATOR);
+    List<Path> dependencies = new ArrayList<>();
+    for (int i = 1; i < hashAndDependencies.length; i++) {
+      dependencies.add(Paths.get(hashAndDependencies[i]));
+    }
+    String hash = hash(jspFile, dependencies);
+    if (!hashAndDependencies[0].equals(hash)) {
+      return false;
+    }
+    entries.setProperty(key, previousEntry);
+    return true;
+  }
+
+  /**
+   * Records the Java file just generated for the page. Pages depending on files which can not be tracked are not recorded, so that they
+   * are always transpiled.
+   */
+  void update(Path jspFile, Path generatedFile) {
+    if (!Files.isRegularFile(generatedFile)) {
+      return;
+    }
+    List<Path> dependencies = new ArrayList<>();
+    try {
+      for (String line : Files.readAllLines(generatedFile, StandardCharsets.UTF_8)) {
+        Matcher matcher = DEPENDANT.matcher(line);
+        if (matcher.find()) {
+          Path dependency = resolveDependency(matcher.group(1));
+          if (dependency == null) {
+            return;
+          }
+          dependencies.add(dependency);
+        }
+      }
+    } catch (IOException e) {
+      LOG.debug("Unable to read generated file " + generatedFile, e);
+      return;
+    }
+    String hash = hash(jspFile, dependencies);
+    if (hash != null) {
+      StringBuilder entry = new StringBuilder(hash);
+      dependencies.forEach(dependency -> entry.append(SEPARATOR).append(dependency));
+      entries.setProperty(key(generatedFile), entry.toString());
+    }
+  }
+
+  /**
+   * Stores the cache, deleting the Java files generated for pages which are not part of the analysis anymore.
+   */
+  void save() {
+    previousEntries.stringPropertyNames().stream()
+      .filter(key -> !entries.containsKey(key))
+      .forEach(key -> {
+        try {
+          Files.deleteIfExists(outputDir.resolve(key));
+        } catch (IOException e) {
+          LOG.debug("Unable to delete outdated generated file " + key, e);
+        }
+      });
+    try (OutputStream out = Files.newOutputStream(outputDir.resolve(CACHE_FILENAME))) {
+      entries.store(out, null);
+    } catch (IOException e) {
+      LOG.debug("Unable to write JSP cache.", e);
+    }
+  }
+
+  private String key(Path generatedFile) {
+    return outputDir.relativize(generatedFile).toString();
+  }
+
+  @Nullable
+  private String hash(Path jspFile, List<Path> dependencies) {
+    Hasher hasher = Hashing.sha256().newHasher().putString(classpathFingerprint, StandardCharsets.UTF_8);
+    try (InputStream in = Files.newInputStream(jspFile)) {
+      byte[] buffer = new byte[8192];
+      int read;
+      while ((read = in.read(buffer)) != -1) {
+        hasher.putBytes(buffer, 0, read);
+      }
+    } catch (IOException e) {
+      LOG.debug("Unable to read JSP file " + jspFile, e);
+      return null;
+    }
+    dependencies.forEach(dependency -> hasher.putString(fingerprint(dependency), StandardCharsets.UTF_8));
+    return hasher.hash().toString();
+  }
+
+  /**
+   * Jasper records dependencies either relative to the web application root, or as URLs of files and of entries of jar files.
+   */
+  @Nullable
+  private Path resolveDependency(String dependency) {
+    try {
+      if (dependency.startsWith("/")) {
+        return uriRoot.resolve(dependency.substring(1));
+      }
+      if (dependency.startsWith("jar:file:") && dependency.contains("!/")) {
+        return Paths.get(URI.create(dependency.substring("jar:".length(), dependency.indexOf("!/"))));
+      }
+      if (dependency.startsWith("file:")) {
+        return Paths.get(URI.create(dependency));
+      }
+    } catch (IllegalArgumentException e) {
+      LOG.debug("Unable to resolve JSP dependency " + dependency, e);
+    }
+    return null;
+  }
+
+  private static String fingerprint(Path path) {
+    File file = path.toFile();
+    if (file.isDirectory()) {
+      // tag handlers and classes recompiled in place do not change the directory itself
+      return file.getAbsolutePath() + ":" + ClasspathFingerprints.contentHash(path);
+    }
+    return file.getAbsolutePath() + ":" + file.lastModified() + ":" + file.length();
+  }
+
+}
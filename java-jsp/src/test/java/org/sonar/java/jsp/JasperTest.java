@@ -19,10 +19,12 @@
  */
 package org.sonar.java.jsp;
 
+import java.io.File;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Collections;
 import java.util.List;
 import org.junit.Rule;
 import org.junit.jupiter.api.BeforeEach;
@@ -35,6 +37,7 @@ import org.sonar.api.batch.fs.internal.TestInputFileBuilder;
 import org.sonar.api.batch.sensor.internal.SensorContextTester;
 import org.sonar.api.utils.log.LogTester;
 import org.sonar.api.utils.log.LoggerLevel;
+import org.sonar.java.model.GeneratedFile;
 
 import static java.util.Collections.emptyList;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -81,6 +84,102 @@ class JasperTest {
     assertThat(generatedCode).contains("      out.write(\"<html>\\n<body>\\n<h2>Hello World!</h2>\\n</body>\\n</html>\");");
   }
 
+  @Test
+  void test_unchanged_files_are_not_transpiled_again() throws Exception {
+    logTester.setLevel(LoggerLevel.DEBUG);
+    SensorContextTester ctx = jspContext("<html>\n" +
+      "<%@ include file=\"header.jspf\" %>\n" +
+      "</html>");
+    Path header = webInf.resolve("header.jspf");
+    Files.write(header, "<h1>header</h1>".getBytes(StandardCharsets.UTF_8));
+
+    List<InputFile> generatedFiles = new Jasper().generateFiles(ctx, emptyList());
+    assertThat(generatedFiles).hasSize(1);
+    assertThat(logTester.logs(LoggerLevel.DEBUG)).contains("Transpiling 1 JSP files, 0 are up to date.");
+
+    logTester.clear();
+    List<InputFile> cachedFiles = new Jasper().generateFiles(ctx, emptyList());
+    assertThat(cachedFiles).extracting(InputFile::path).containsExactly(generatedFiles.get(0).path());
+    assertThat(logTester.logs(LoggerLevel.DEBUG)).contains("Transpiling 0 JSP files, 1 are up to date.");
+
+    logTester.clear();
+    Files.write(header, "<h1>new header</h1>".getBytes(StandardCharsets.UTF_8));
+    header.toFile().setLastModified(System.currentTimeMillis() + 10_000);
+    generatedFiles = new Jasper().generateFiles(ctx, emptyList());
+    assertThat(logTester.logs(LoggerLevel.DEBUG)).contains("Transpiling 1 JSP files, 0 are up to date.");
+    assertThat(new String(Files.readAllBytes(generatedFiles.get(0).path()), StandardCharsets.UTF_8)).contains("new header");
+
+    logTester.clear();
+    createJspFile("<html></html>");
+    new Jasper().generateFiles(ctx, emptyList());
+    assertThat(logTester.logs(LoggerLevel.DEBUG)).contains("Transpiling 1 JSP files, 0 are up to date.");
+  }
+
+  @Test
+  void test_files_are_transpiled_again_when_classes_are_recompiled_in_classpath_directory() throws Exception {
+    logTester.setLevel(LoggerLevel.DEBUG);
+    SensorContextTester ctx = jspContext("<html></html>");
+    Path classes = Files.createDirectory(tempFolder.resolve("classes"));
+    Path classFile = Files.createDirectories(classes.resolve("tags")).resolve("Tag.class");
+    Files.write(classFile, new byte[] {1});
+    List<File> classpath = Collections.singletonList(classes.toFile());
+
+    new Jasper().generateFiles(ctx, classpath);
+    logTester.clear();
+    new Jasper().generateFiles(ctx, classpath);
+    assertThat(logTester.logs(LoggerLevel.DEBUG)).contains("Transpiling 0 JSP files, 1 are up to date.");
+
+    logTester.clear();
+    Files.write(classFile, new byte[] {2, 3});
+    classFile.toFile().setLastModified(System.currentTimeMillis() + 10_000);
+    new Jasper().generateFiles(ctx, classpath);
+    assertThat(logTester.logs(LoggerLevel.DEBUG)).contains("Transpiling 1 JSP files, 0 are up to date.");
+  }
+
+  @Test
+  void test_source_of_generated_files() throws Exception {
+    SensorContextTester ctx = jspContext("<html></html>");
+    Path otherJsp = webInf.resolve("other").resolve("test.jsp");
+    Files.createDirectory(otherJsp.getParent());
+    Files.write(otherJsp, "<html></html>".getBytes(StandardCharsets.UTF_8));
+    ctx.fileSystem().add(TestInputFileBuilder.create("", tempFolder.toFile(), otherJsp.toFile())
+      .setLanguage("jsp")
+      .setContents("<html></html>")
+      .build());
+
+    List<InputFile> generatedFiles = new Jasper().generateFiles(ctx, emptyList());
+
+    assertThat(generatedFiles)
+      .extracting(generatedFile -> ((GeneratedFile) generatedFile).getSource().path())
+      .containsExactlyInAnyOrder(webInf.resolve("test.jsp"), otherJsp);
+  }
+
+  @Test
+  void test_pages_of_several_web_applications() throws Exception {
+    logTester.setLevel(LoggerLevel.DEBUG);
+    SensorContextTester ctx = jspContext("<html></html>");
+    Path otherWebapp = tempFolder.resolve("other-webapp");
+    Files.createDirectories(otherWebapp.resolve("WEB-INF"));
+    Path otherJsp = otherWebapp.resolve("WEB-INF").resolve("test.jsp");
+    Files.write(otherJsp, "<html><body></body></html>".getBytes(StandardCharsets.UTF_8));
+    ctx.fileSystem().add(TestInputFileBuilder.create("", tempFolder.toFile(), otherJsp.toFile())
+      .setLanguage("jsp")
+      .setContents("<html><body></body></html>")
+      .build());
+
+    List<InputFile> generatedFiles = new Jasper().generateFiles(ctx, emptyList());
+    assertThat(generatedFiles)
+      .extracting(generatedFile -> ((GeneratedFile) generatedFile).getSource().path())
+      .containsExactlyInAnyOrder(webInf.resolve("test.jsp"), otherJsp);
+    assertThat(generatedFiles).extracting(InputFile::path).doesNotHaveDuplicates();
+
+    logTester.clear();
+    new Jasper().generateFiles(ctx, emptyList());
+    assertThat(logTester.logs(LoggerLevel.DEBUG))
+      .filteredOn("Transpiling 0 JSP files, 1 are up to date."::equals)
+      .hasSize(2);
+  }
+
   @Test
   void test_exception_handling() throws Exception {
     SensorContextTester ctx = jspContext("<%=");
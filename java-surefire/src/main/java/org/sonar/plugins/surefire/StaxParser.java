@@ -43,6 +43,8 @@ public class StaxParser {
     if (xmlInputFactory instanceof WstxInputFactory) {
       WstxInputFactory wstxInputfactory = (WstxInputFactory) xmlInputFactory;
       wstxInputfactory.configureForLowMemUsage();
+      // text content (e.g. potentially huge 'system-out' and 'system-err' sections) is only read when explicitly requested
+      wstxInputfactory.setProperty(WstxInputProperties.P_LAZY_PARSING, true);
       wstxInputfactory.getConfig().setUndeclaredEntityResolver((String publicID, String systemID, String baseURI, String namespace) -> namespace);
       wstxInputfactory.setProperty(WstxInputProperties.P_MAX_ATTRIBUTE_SIZE, Integer.MAX_VALUE);
     }
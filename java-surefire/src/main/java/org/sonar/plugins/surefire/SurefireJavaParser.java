@@ -26,6 +26,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.stream.Collectors;
 import javax.annotation.CheckForNull;
 import javax.xml.stream.XMLStreamException;
@@ -41,6 +42,7 @@ import org.sonar.java.AnalysisException;
 import org.sonar.plugins.java.api.JavaResourceLocator;
 import org.sonar.plugins.surefire.data.UnitTestClassReport;
 import org.sonar.plugins.surefire.data.UnitTestIndex;
+import org.sonar.plugins.surefire.data.UnitTestResult;
 
 /**
  * @since 2.4
@@ -92,20 +94,25 @@ public class SurefireJavaParser {
   }
 
   private void parseFiles(SensorContext context, List<File> reports) {
-    UnitTestIndex index = new UnitTestIndex();
-    parseFiles(reports, index);
+    UnitTestIndex index = parseFiles(reports);
     sanitize(index);
     save(index, context);
   }
 
-  private static void parseFiles(List<File> reports, UnitTestIndex index) {
-    StaxParser parser = new StaxParser(index);
-    for (File report : reports) {
-      try {
-        parser.parse(report);
-      } catch (XMLStreamException e) {
-        throw new AnalysisException("Fail to parse the Surefire report: " + report, e);
-      }
+  /**
+   * Reports are independent from each other: they are parsed concurrently, each one into its own partial index,
+   * partial indexes being merged following the order of the reports.
+   */
+  private static UnitTestIndex parseFiles(List<File> reports) {
+    return reports.parallelStream()
+      .collect(UnitTestIndex::new, SurefireJavaParser::parseFile, UnitTestIndex::addAll);
+  }
+
+  private static void parseFile(UnitTestIndex index, File report) {
+    try {
+      new StaxParser(index).parse(report);
+    } catch (XMLStreamException e) {
+      throw new AnalysisException("Fail to parse the Surefire report: " + report, e);
     }
   }
 
@@ -136,8 +143,10 @@ public class SurefireJavaParser {
 
   private Map<InputFile, UnitTestClassReport> mapToInputFile(Map<String, UnitTestClassReport> indexByClassname) {
     Map<InputFile, UnitTestClassReport> result = new HashMap<>();
+    // test suite class names are shared by many test cases: look up each class name only once
+    Map<String, Optional<InputFile>> resourcesByClassName = new HashMap<>();
     indexByClassname.forEach((className, index) -> {
-      InputFile resource = getUnitTestResource(className, index);
+      InputFile resource = getUnitTestResource(className, index, resourcesByClassName);
       if (resource != null) {
         UnitTestClassReport report = result.computeIfAbsent(resource, r -> new UnitTestClassReport());
         // in case of repeated/parameterized tests (JUnit 5.x) we may end up with tests having the same name
@@ -159,13 +168,15 @@ public class SurefireJavaParser {
   }
 
   @CheckForNull
-  private InputFile getUnitTestResource(String className, UnitTestClassReport unitTestClassReport) {
-    InputFile resource = javaResourceLocator.findResourceByClassName(className);
+  private InputFile getUnitTestResource(String className, UnitTestClassReport unitTestClassReport, Map<String, Optional<InputFile>> resourcesByClassName) {
+    InputFile resource = findResourceByClassName(className, resourcesByClassName);
     if (resource == null) {
       // fall back on testSuite class name (repeated and parameterized tests from JUnit 5.0 are using test name as classname)
       // Should be fixed with JUnit 5.1, see: https://github.com/junit-team/junit5/issues/1182
       return unitTestClassReport.getResults().stream()
-        .map(r -> javaResourceLocator.findResourceByClassName(r.getTestSuiteClassName()))
+        .map(UnitTestResult::getTestSuiteClassName)
+        .distinct()
+        .map(testSuiteClassName -> findResourceByClassName(testSuiteClassName, resourcesByClassName))
         .filter(Objects::nonNull)
         .findFirst()
         .orElse(null);
@@ -173,6 +184,11 @@ public class SurefireJavaParser {
     return resource;
   }
 
+  @CheckForNull
+  private InputFile findResourceByClassName(String className, Map<String, Optional<InputFile>> resourcesByClassName) {
+    return resourcesByClassName.computeIfAbsent(className, name -> Optional.ofNullable(javaResourceLocator.findResourceByClassName(name))).orElse(null);
+  }
+
   private static <T extends Serializable> void saveMeasure(SensorContext context, InputFile inputFile, Metric<T> metric, T value) {
     context.<T>newMeasure().forMetric(metric).on(inputFile).withValue(value).save();
   }
@@ -44,8 +44,7 @@ public final class UnitTestClassReport {
 
   public UnitTestClassReport add(UnitTestResult result) {
     initResults();
-    boolean hasName = results.stream().map(UnitTestResult::getName).anyMatch(result.getName()::equals);
-    if (hasName && StringUtils.contains(result.getName(), "$")) {
+    if (StringUtils.contains(result.getName(), "$") && results.stream().map(UnitTestResult::getName).anyMatch(result.getName()::equals)) {
       return this;
     }
     results.add(result);
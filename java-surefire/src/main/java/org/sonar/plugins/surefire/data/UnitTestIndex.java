@@ -71,5 +71,12 @@ public class UnitTestIndex {
     indexByClassname.remove(classname);
   }
 
+  /**
+   * Add all the results of the given index to the current one, keeping their order.
+   */
+  public void addAll(UnitTestIndex other) {
+    other.indexByClassname.forEach((classname, report) -> index(classname).add(report));
+  }
+
 
 }
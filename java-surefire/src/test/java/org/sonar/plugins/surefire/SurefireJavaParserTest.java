@@ -27,6 +27,7 @@ import java.util.stream.Stream;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.sonar.api.batch.fs.internal.TestInputFileBuilder;
 import org.sonar.api.batch.sensor.SensorContext;
 import org.sonar.api.batch.sensor.internal.SensorContextTester;
@@ -37,6 +38,7 @@ import org.sonar.plugins.java.api.JavaResourceLocator;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
@@ -189,6 +191,21 @@ public class SurefireJavaParserTest {
     assertThat(context.measure(":org.foo.Junit5_1ParameterizedTest", CoreMetrics.TEST_EXECUTION_TIME).value()).isEqualTo(48);
   }
 
+  @Test
+  public void should_look_up_each_class_name_only_once() throws URISyntaxException {
+    SensorContextTester context = mockContext();
+    JavaResourceLocator locator = mock(JavaResourceLocator.class);
+    parser = new SurefireJavaParser(locator);
+
+    parser.collect(context, getDirs("junitParameterizedTests"), true);
+
+    ArgumentCaptor<String> classNames = ArgumentCaptor.forClass(String.class);
+    verify(locator, atLeastOnce()).findResourceByClassName(classNames.capture());
+    assertThat(classNames.getAllValues())
+      .contains("org.foo.Junit4ParameterizedTest", "org.foo.Junit5_0ParameterizedTest")
+      .doesNotHaveDuplicates();
+  }
+
   @Test
   public void should_log_missing_resource_with_debug_level() throws Exception {
     SensorContextTester context = mockContext();
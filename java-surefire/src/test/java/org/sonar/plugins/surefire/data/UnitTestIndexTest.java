@@ -112,4 +112,24 @@ public class UnitTestIndexTest {
 
     assertThat(index.size(), is(0));
   }
+
+  @Test
+  public void shouldAddAllResultsOfOtherIndex() {
+    UnitTestIndex index = new UnitTestIndex();
+    index.index("org.sonar.Foo").add(new UnitTestResult().setName("a").setStatus(UnitTestResult.STATUS_OK).setDurationMilliseconds(500L));
+    UnitTestIndex other = new UnitTestIndex();
+    other.index("org.sonar.Foo").add(new UnitTestResult().setName("b").setStatus(UnitTestResult.STATUS_ERROR).setDurationMilliseconds(200L));
+    other.index("org.sonar.Bar").add(new UnitTestResult().setName("c").setStatus(UnitTestResult.STATUS_SKIPPED).setDurationMilliseconds(0L));
+
+    index.addAll(other);
+
+    assertThat(index.size(), is(2));
+    UnitTestClassReport report = index.get("org.sonar.Foo");
+    assertThat(report.getTests(), is(2));
+    assertThat(report.getErrors(), is(1));
+    assertThat(report.getResults().get(0).getName(), is("a"));
+    assertThat(report.getResults().get(1).getName(), is("b"));
+    assertThat(report.getDurationMilliseconds(), is(700L));
+    assertThat(index.get("org.sonar.Bar").getSkipped(), is(1));
+  }
 }
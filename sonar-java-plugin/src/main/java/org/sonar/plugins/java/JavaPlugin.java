@@ -25,6 +25,7 @@ import org.sonar.api.SonarEdition;
 import org.sonar.api.SonarProduct;
 import org.sonar.api.config.PropertyDefinition;
 import org.sonar.api.resources.Qualifiers;
+import org.sonar.java.AnalysisSession;
 import org.sonar.java.AnalysisWarningsWrapper;
 import org.sonar.java.DefaultJavaResourceLocator;
 import org.sonar.java.JavaClasspath;
@@ -45,6 +46,7 @@ public class JavaPlugin implements Plugin {
     ImmutableList.Builder<Object> builder = ImmutableList.builder();
     if (context.getRuntime().getProduct() == SonarProduct.SONARLINT) {
       builder.add(JavaSonarLintClasspath.class);
+      builder.add(AnalysisSession.class);
     } else {
       builder.addAll(SurefireExtensions.getExtensions());
       builder.add(DroppedPropertiesSensor.class);
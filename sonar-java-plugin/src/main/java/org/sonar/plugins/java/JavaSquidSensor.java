@@ -35,6 +35,8 @@ import org.sonar.api.config.Configuration;
 import org.sonar.api.issue.NoSonarFilter;
 import org.sonar.api.utils.log.Logger;
 import org.sonar.api.utils.log.Loggers;
+import org.sonar.java.AnalysisSession;
+import org.sonar.java.AnalysisWarningsWrapper;
 import org.sonar.java.JavaSquid;
 import org.sonar.java.Measurer;
 import org.sonar.java.SonarComponents;
@@ -60,20 +62,54 @@ public class JavaSquidSensor implements Sensor {
   private final NoSonarFilter noSonarFilter;
   @Nullable
   private final Jasper jasper;
+  @Nullable
+  private final AnalysisSession analysisSession;
+  private final AnalysisWarningsWrapper analysisWarnings;
 
   public JavaSquidSensor(SonarComponents sonarComponents, FileSystem fs, JavaResourceLocator javaResourceLocator,
                          Configuration settings, NoSonarFilter noSonarFilter) {
-    this(sonarComponents, fs, javaResourceLocator, settings, noSonarFilter, null);
+    this(sonarComponents, fs, javaResourceLocator, settings, noSonarFilter, null, null, AnalysisWarningsWrapper.NOOP_ANALYSIS_WARNINGS);
   }
 
   public JavaSquidSensor(SonarComponents sonarComponents, FileSystem fs, JavaResourceLocator javaResourceLocator,
                          Configuration settings, NoSonarFilter noSonarFilter, @Nullable Jasper jasper) {
+    this(sonarComponents, fs, javaResourceLocator, settings, noSonarFilter, jasper, null, AnalysisWarningsWrapper.NOOP_ANALYSIS_WARNINGS);
+  }
+
+  /**
+   * Will be called in SonarScanner context when Jasper is not available
+   */
+  public JavaSquidSensor(SonarComponents sonarComponents, FileSystem fs, JavaResourceLocator javaResourceLocator,
+                         Configuration settings, NoSonarFilter noSonarFilter, AnalysisWarningsWrapper analysisWarnings) {
+    this(sonarComponents, fs, javaResourceLocator, settings, noSonarFilter, null, null, analysisWarnings);
+  }
+
+  /**
+   * Will be called in SonarScanner context when Jasper is available
+   */
+  public JavaSquidSensor(SonarComponents sonarComponents, FileSystem fs, JavaResourceLocator javaResourceLocator,
+                         Configuration settings, NoSonarFilter noSonarFilter, @Nullable Jasper jasper, AnalysisWarningsWrapper analysisWarnings) {
+    this(sonarComponents, fs, javaResourceLocator, settings, noSonarFilter, jasper, null, analysisWarnings);
+  }
+
+  /**
+   * Will be called in SonarLint context, where the session outlives the analysis
+   */
+  public JavaSquidSensor(SonarComponents sonarComponents, FileSystem fs, JavaResourceLocator javaResourceLocator,
+                         Configuration settings, NoSonarFilter noSonarFilter, @Nullable AnalysisSession analysisSession) {
+    this(sonarComponents, fs, javaResourceLocator, settings, noSonarFilter, null, analysisSession, AnalysisWarningsWrapper.NOOP_ANALYSIS_WARNINGS);
+  }
+
+  private JavaSquidSensor(SonarComponents sonarComponents, FileSystem fs, JavaResourceLocator javaResourceLocator, Configuration settings,
+                          NoSonarFilter noSonarFilter, @Nullable Jasper jasper, @Nullable AnalysisSession analysisSession, AnalysisWarningsWrapper analysisWarnings) {
     this.noSonarFilter = noSonarFilter;
     this.sonarComponents = sonarComponents;
     this.fs = fs;
     this.javaResourceLocator = javaResourceLocator;
     this.settings = settings;
     this.jasper = jasper;
+    this.analysisSession = analysisSession;
+    this.analysisWarnings = analysisWarnings;
   }
 
   @Override
@@ -84,6 +120,8 @@ public class JavaSquidSensor implements Sensor {
   @Override
   public void execute(SensorContext context) {
     sonarComponents.setSensorContext(context);
+    sonarComponents.setAnalysisSession(analysisSession);
+    sonarComponents.setAnalysisWarnings(analysisWarnings);
 
     List<Class<? extends JavaCheck>> checks = ImmutableList.<Class<? extends JavaCheck>>builder()
       .addAll(CheckList.getJavaChecks())
@@ -20,11 +20,15 @@
 package org.sonar.plugins.java;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.Lists;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
+import javax.annotation.Nullable;
 import org.sonar.api.batch.fs.FilePredicate;
 import org.sonar.api.batch.fs.FileSystem;
 import org.sonar.api.batch.fs.InputFile;
@@ -37,6 +41,7 @@ import org.sonar.api.rule.RuleKey;
 import org.sonar.api.utils.log.Logger;
 import org.sonar.api.utils.log.Loggers;
 import org.sonar.java.checks.CheckList;
+import org.sonar.java.checks.xml.XmlFileKind;
 import org.sonarsource.analyzer.commons.ProgressReport;
 import org.sonarsource.analyzer.commons.xml.ParseException;
 import org.sonarsource.analyzer.commons.xml.XmlFile;
@@ -46,10 +51,19 @@ public class XmlFileSensor implements Sensor {
 
   private static final Logger LOG = Loggers.get(XmlFileSensor.class);
 
+  /**
+   * Number of files parsed concurrently before being scanned by the checks, bounding the number of DOMs kept in memory.
+   */
+  private static final int PARSING_BATCH_SIZE = 4 * Runtime.getRuntime().availableProcessors();
+
   private final Checks<SonarXmlCheck> checks;
+  private final Map<XmlFileKind, List<SonarXmlCheck>> checksByFileKind = new EnumMap<>(XmlFileKind.class);
 
   public XmlFileSensor(CheckFactory checkFactory) {
     this.checks = checkFactory.<SonarXmlCheck>create(CheckList.REPOSITORY_KEY).addAnnotatedChecks((Iterable) CheckList.getXmlChecks());
+    for (XmlFileKind kind : XmlFileKind.values()) {
+      checksByFileKind.put(kind, checks.all().stream().filter(check -> kind.isTargetedBy(check.getClass())).collect(Collectors.toList()));
+    }
   }
 
   @Override
@@ -78,13 +92,11 @@ public class XmlFileSensor implements Sensor {
     boolean successfullyCompleted = false;
     boolean cancelled = false;
     try {
-      for (InputFile inputFile : inputFiles) {
-        if (context.isCancelled()) {
-          cancelled = true;
+      for (List<InputFile> batch : Lists.partition(inputFiles, PARSING_BATCH_SIZE)) {
+        cancelled = scanFiles(context, batch, progressReport);
+        if (cancelled) {
           break;
         }
-        scanFile(context, inputFile);
-        progressReport.nextFile();
       }
       successfullyCompleted = !cancelled;
     } finally {
@@ -96,23 +108,45 @@ public class XmlFileSensor implements Sensor {
     }
   }
 
-  private void scanFile(SensorContext context, InputFile inputFile) {
-    XmlFile xmlFile;
+  /**
+   * Files are parsed concurrently, while checks, which are stateful, scan them one after the other on the calling thread.
+   *
+   * @return true if the analysis has been cancelled
+   */
+  private boolean scanFiles(SensorContext context, List<InputFile> inputFiles, ProgressReport progressReport) {
+    if (context.isCancelled()) {
+      return true;
+    }
+    List<XmlFile> xmlFiles = inputFiles.parallelStream()
+      .map(this::parse)
+      .collect(Collectors.toList());
+    for (int i = 0; i < inputFiles.size(); i++) {
+      if (context.isCancelled()) {
+        return true;
+      }
+      XmlFile xmlFile = xmlFiles.get(i);
+      if (xmlFile != null) {
+        checksByFileKind.get(XmlFileKind.of(inputFiles.get(i))).forEach(check -> scanFile(context, xmlFile, check, checks.ruleKey(check)));
+      }
+      progressReport.nextFile();
+    }
+    return false;
+  }
+
+  @Nullable
+  private XmlFile parse(InputFile inputFile) {
+    if (checksByFileKind.get(XmlFileKind.of(inputFile)).isEmpty()) {
+      return null;
+    }
     try {
-      xmlFile = XmlFile.create(inputFile);
+      return XmlFile.create(inputFile);
     } catch (ParseException | IOException e) {
       LOG.debug("Skipped '{}' due to parsing error", inputFile);
-      return;
     } catch (Exception e) {
       // Our own XML parsing may have failed somewhere, so logging as warning to appear in logs
       LOG.warn(String.format("Unable to analyse file '%s'.", inputFile), e);
-      return;
     }
-
-    checks.all().forEach(check -> {
-      RuleKey ruleKey = checks.ruleKey(check);
-      scanFile(context, xmlFile, check, ruleKey);
-    });
+    return null;
   }
 
   @VisibleForTesting
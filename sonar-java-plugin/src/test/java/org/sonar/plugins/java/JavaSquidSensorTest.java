@@ -25,6 +25,8 @@ import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
@@ -45,11 +47,15 @@ import org.sonar.api.measures.FileLinesContextFactory;
 import org.sonar.api.rule.RuleKey;
 import org.sonar.api.rules.RuleAnnotationUtils;
 import org.sonar.api.utils.Version;
+import org.sonar.java.AnalysisSession;
+import org.sonar.java.AnalysisWarningsWrapper;
 import org.sonar.java.AnalyzerMessage;
 import org.sonar.java.DefaultJavaResourceLocator;
 import org.sonar.java.JavaClasspath;
 import org.sonar.java.JavaTestClasspath;
+import org.sonar.java.SemanticAwareVisitor;
 import org.sonar.java.SonarComponents;
+import org.sonar.java.checks.TodoTagPresenceCheck;
 import org.sonar.java.checks.naming.BadMethodNameCheck;
 import org.sonar.java.jsp.Jasper;
 import org.sonar.java.model.GeneratedFile;
@@ -91,7 +97,7 @@ public class JavaSquidSensorTest {
 
   @Test
   public void test_issues_creation_on_main_file() throws IOException {
-    testIssueCreation(InputFile.Type.MAIN, 4);
+    testIssueCreation(InputFile.Type.MAIN, 6);
   }
 
   @Test
@@ -109,8 +115,8 @@ public class JavaSquidSensorTest {
     JavaSquidSensor jss = new JavaSquidSensor(sonarComponents, fs, javaResourceLocator, settings.asConfig(), noSonarFilter);
 
     jss.execute(context);
-    // argument 98 refers to the comment on line #98 in this file
-    verify(noSonarFilter, times(1)).noSonarInFile(fs.inputFiles().iterator().next(), Sets.newHashSet(98));
+    // argument 104 refers to the comment on line #104 in this file
+    verify(noSonarFilter, times(1)).noSonarInFile(fs.inputFiles().iterator().next(), Sets.newHashSet(104));
     verify(sonarComponents, times(expectedIssues)).reportIssue(any(AnalyzerMessage.class));
 
     settings.setProperty(Java.SOURCE_VERSION, "wrongFormat");
@@ -198,6 +204,36 @@ public class JavaSquidSensorTest {
     assertThat(context.<String>measure("projectKey", "sonarjava_feedback")).isNull();
   }
 
+  @Test
+  public void should_share_analysis_session_with_sonar_components() throws IOException {
+    SensorContextTester context = createContext(InputFile.Type.MAIN).setRuntime(SonarRuntimeImpl.forSonarLint(Version.create(6, 7)));
+    SonarComponents sonarComponents = createSonarComponentsMock(context);
+    AnalysisSession analysisSession = new AnalysisSession();
+    JavaSquidSensor jss = new JavaSquidSensor(sonarComponents, context.fileSystem(), mock(JavaResourceLocator.class),
+      new MapSettings().asConfig(), mock(NoSonarFilter.class), analysisSession);
+    jss.execute(context);
+    verify(sonarComponents).setAnalysisSession(analysisSession);
+    verify(sonarComponents).setAnalysisWarnings(AnalysisWarningsWrapper.NOOP_ANALYSIS_WARNINGS);
+  }
+
+  @Test
+  public void should_skip_binding_resolution_in_sonarlint_when_no_active_rule_requires_semantic() throws IOException {
+    SensorContextTester context = createContext(InputFile.Type.MAIN).setRuntime(SonarRuntimeImpl.forSonarLint(Version.create(6, 7)));
+    SonarComponents sonarComponents = createSonarComponentsMock(context);
+    MapSettings settings = new MapSettings();
+    DefaultJavaResourceLocator javaResourceLocator = new DefaultJavaResourceLocator(new JavaClasspath(settings.asConfig(), context.fileSystem()));
+    JavaSquidSensor jss = new JavaSquidSensor(sonarComponents, context.fileSystem(), javaResourceLocator, settings.asConfig(), mock(NoSonarFilter.class));
+    SemanticModelRecorder recorder = new SemanticModelRecorder();
+
+    when(sonarComponents.checkClasses()).thenReturn(new JavaCheck[] {new TodoTagPresenceCheck(), recorder});
+    jss.execute(context);
+    assertThat(recorder.withSemanticModel).containsExactly(false);
+
+    when(sonarComponents.checkClasses()).thenReturn(new JavaCheck[] {new TodoTagPresenceCheck(), new BadMethodNameCheck(), recorder});
+    jss.execute(context);
+    assertThat(recorder.withSemanticModel).containsExactly(false, true);
+  }
+
   @Test
   public void should_invoke_visitors_on_generated_code() throws Exception {
     Path base = tmp.newFolder().toPath();
@@ -228,4 +264,19 @@ public class JavaSquidSensorTest {
 
   interface JspCodeScanner extends JavaFileScanner, JspCodeVisitor {
   }
+
+  private static class SemanticModelRecorder implements JavaFileScanner, SemanticAwareVisitor {
+
+    private final List<Boolean> withSemanticModel = new ArrayList<>();
+
+    @Override
+    public void scanFile(JavaFileScannerContext context) {
+      withSemanticModel.add(context.getSemanticModel() != null);
+    }
+
+    @Override
+    public boolean requiresSemantic() {
+      return false;
+    }
+  }
 }
@@ -54,6 +54,14 @@ public class XmlFileSensorTest {
   public LogTester logTester = new LogTester();
 
   private static final RuleKey XML_RULE_KEY = RuleKey.of("java", "S3281");
+  private static final String FILE_WITH_ISSUE = "<ejb-jar>\n" +
+    "  <assembly-descriptor>\n" +
+    "    <interceptor-binding>\n" +
+    "      <ejb-name>*</ejb-name>\n" +
+    "      <interceptor-class>com.myco.ImportantInterceptor1</interceptor-class>" +
+    "    </interceptor-binding>\n" +
+    "  </assembly-descriptor>\n" +
+    "</ejb-jar>";
   private SensorContextTester context;
 
   @Before
@@ -140,6 +148,44 @@ public class XmlFileSensorTest {
     assertThat(logTester.logs(LoggerLevel.DEBUG).get(0)).isEqualTo("Skipped 'test.xml' due to parsing error");
   }
 
+  @Test
+  public void testDoNotParseFilesNotTargetedByActiveRules() throws Exception {
+    ActiveRulesBuilder activeRulesBuilder = new ActiveRulesBuilder();
+    // S3423: PomElementOrderCheck, only applies to "pom.xml" files
+    activeRulesBuilder.addRule(new NewActiveRule.Builder().setRuleKey(RuleKey.of("java", "S3423")).build());
+    XmlFileSensor sensor = new XmlFileSensor(new CheckFactory(activeRulesBuilder.build()));
+
+    context.fileSystem().add(TestInputFileBuilder.create("moduleKey", "test.xml")
+      .setCharset(StandardCharsets.UTF_8)
+      .setContents("<ejb-jar")
+      .build());
+    context.fileSystem().add(TestInputFileBuilder.create("moduleKey", "pom.xml")
+      .setCharset(StandardCharsets.UTF_8)
+      .setContents("<project")
+      .build());
+
+    sensor.execute(context);
+
+    assertThat(context.allIssues()).isEmpty();
+    assertThat(logTester.logs(LoggerLevel.DEBUG)).containsExactly("Skipped 'pom.xml' due to parsing error");
+  }
+
+  @Test
+  public void testIssuesOfAllFilesAreReported() throws Exception {
+    CheckFactory checkFactory = new CheckFactory(activeRules());
+    XmlFileSensor sensor = new XmlFileSensor(checkFactory);
+
+    for (int i = 0; i < 100; i++) {
+      context.fileSystem().add(TestInputFileBuilder.create("moduleKey", "test" + i + ".xml")
+        .setCharset(StandardCharsets.UTF_8)
+        .setContents(FILE_WITH_ISSUE)
+        .build());
+    }
+    sensor.execute(context);
+
+    assertThat(context.allIssues()).hasSize(100);
+  }
+
   @Test
   public void testDoNotFailAnalysisIfUnexpectedIssue() throws Exception {
     CheckFactory checkFactory = new CheckFactory(activeRules());
@@ -198,14 +244,7 @@ public class XmlFileSensorTest {
   private InputFile addFileWithIssue(String extension) {
     DefaultInputFile inputFile = TestInputFileBuilder.create("moduleKey", "test." + extension)
       .setCharset(StandardCharsets.UTF_8)
-      .setContents("<ejb-jar>\n" +
-        "  <assembly-descriptor>\n" +
-        "    <interceptor-binding>\n" +
-        "      <ejb-name>*</ejb-name>\n" +
-        "      <interceptor-class>com.myco.ImportantInterceptor1</interceptor-class>" +
-        "    </interceptor-binding>\n" +
-        "  </assembly-descriptor>\n" +
-        "</ejb-jar>")
+      .setContents(FILE_WITH_ISSUE)
       .setPublish(false)
       .build();
     context.fileSystem().add(inputFile);